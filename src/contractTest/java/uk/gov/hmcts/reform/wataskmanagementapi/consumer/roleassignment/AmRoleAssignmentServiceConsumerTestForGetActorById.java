@@ -23,6 +23,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.clients.RoleAssignmentServiceApi;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 import static au.com.dius.pact.consumer.dsl.LambdaDsl.newJsonBody;
 import static org.hamcrest.CoreMatchers.is;
@@ -56,7 +57,9 @@ public class AmRoleAssignmentServiceConsumerTestForGetActorById extends SpringBo
             roleAssignmentApi,
             authTokenGenerator,
             systemUserIdamToken,
-            MAX_ROLE_ASSIGNMENT_RECORDS
+            MAX_ROLE_ASSIGNMENT_RECORDS,
+            Executors.newSingleThreadExecutor(),
+            1
         );
     }
 
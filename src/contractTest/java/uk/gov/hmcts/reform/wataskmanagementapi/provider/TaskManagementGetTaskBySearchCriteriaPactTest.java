@@ -5,6 +5,7 @@ import au.com.dius.pact.provider.junit5.PactVerificationInvocationContextProvide
 import au.com.dius.pact.provider.junitsupport.Provider;
 import au.com.dius.pact.provider.junitsupport.State;
 import au.com.dius.pact.provider.spring.junit5.MockMvcTestTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestTemplate;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +21,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.TaskPermissions;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Warning;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.WarningValues;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics;
 
 import java.time.ZonedDateTime;
 import java.util.Collections;
@@ -50,7 +52,8 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         testTarget.setControllers(new TaskSearchController(
             accessControlService,
             cftQueryService,
-            cftTaskDatabaseService
+            cftTaskDatabaseService,
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa"))
         ));
 
         if (context != null) {
@@ -422,7 +425,7 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         when(userInfo.getUid()).thenReturn("dummyUserId");
         when(userInfo.getEmail()).thenReturn("test@test.com");
         when(accessControlResponse.get().getUserInfo()).thenReturn(userInfo);
-        when(accessControlService.getAccessControlResponse(anyString()))
+        when(accessControlService.getAccessControlResponse(anyString(), any(), any()))
             .thenReturn(accessControlResponse);
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(new GetTasksResponse<>(List.of(createTaskWithNoWarnings(), createTaskWithNoWarnings()), 2L));
@@ -434,7 +437,7 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         when(userInfo.getUid()).thenReturn("dummyUserId");
         when(userInfo.getEmail()).thenReturn("test@test.com");
         when(accessControlResponse.get().getUserInfo()).thenReturn(userInfo);
-        when(accessControlService.getAccessControlResponse(anyString()))
+        when(accessControlService.getAccessControlResponse(anyString(), any(), any()))
             .thenReturn(accessControlResponse);
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(new GetTasksResponse<>(List.of(createWaTask(), createWaTask()), 2L));
@@ -445,7 +448,7 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         UserInfo userInfo = mock(UserInfo.class);
         when(userInfo.getUid()).thenReturn("dummyUserId");
         when(accessControlResponse.get().getUserInfo()).thenReturn(userInfo);
-        when(accessControlService.getAccessControlResponse(anyString()))
+        when(accessControlService.getAccessControlResponse(anyString(), any(), any()))
             .thenReturn(accessControlResponse);
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(new GetTasksResponse<>(List.of(createTaskWithWarnings()), 1L));
@@ -457,7 +460,7 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         UserInfo userInfo = mock(UserInfo.class);
         when(userInfo.getUid()).thenReturn("dummyUserId");
         when(accessControlResponse.get().getUserInfo()).thenReturn(userInfo);
-        when(accessControlService.getAccessControlResponse(anyString()))
+        when(accessControlService.getAccessControlResponse(anyString(), any(), any()))
             .thenReturn(accessControlResponse);
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(new GetTasksResponse<>(List.of(createTaskWithNoWarnings()), 1L));
@@ -468,7 +471,7 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         UserInfo userInfo = mock(UserInfo.class);
         when(userInfo.getUid()).thenReturn("dummyUserId");
         when(accessControlResponse.get().getUserInfo()).thenReturn(userInfo);
-        when(accessControlService.getAccessControlResponse(anyString()))
+        when(accessControlService.getAccessControlResponse(anyString(), any(), any()))
             .thenReturn(accessControlResponse);
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(new GetTasksResponse<>(List.of(createTaskForRoleCategorySearch()), 1L));
@@ -479,7 +482,7 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         UserInfo userInfo = mock(UserInfo.class);
         when(userInfo.getUid()).thenReturn("dummyUserId");
         when(accessControlResponse.get().getUserInfo()).thenReturn(userInfo);
-        when(accessControlService.getAccessControlResponse(anyString()))
+        when(accessControlService.getAccessControlResponse(anyString(), any(), any()))
             .thenReturn(accessControlResponse);
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(new GetTasksResponse<>(List.of(createTaskForTaskTypeSearch()), 1L));
@@ -491,7 +494,7 @@ public class TaskManagementGetTaskBySearchCriteriaPactTest extends SpringBootCon
         when(userInfo.getUid()).thenReturn("dummyUserId");
         when(userInfo.getEmail()).thenReturn("test@test.com");
         when(accessControlResponse.get().getUserInfo()).thenReturn(userInfo);
-        when(accessControlService.getAccessControlResponse(anyString()))
+        when(accessControlService.getAccessControlResponse(anyString(), any(), any()))
             .thenReturn(accessControlResponse);
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(new GetTasksResponse<>(List.of(createTaskForTaskWithCompletionProcess()), 1L));
@@ -5,6 +5,7 @@ import au.com.dius.pact.provider.junit5.PactVerificationInvocationContextProvide
 import au.com.dius.pact.provider.junitsupport.Provider;
 import au.com.dius.pact.provider.junitsupport.State;
 import au.com.dius.pact.provider.spring.junit5.MockMvcTestTarget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestTemplate;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,6 +21,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.TaskPermissions;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Warning;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.WarningValues;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics;
 
 import java.time.ZonedDateTime;
 import java.util.Collections;
@@ -50,7 +52,8 @@ public class TaskManagementGetTaskBySearchForCompletablePactTest extends SpringB
         testTarget.setControllers(new TaskSearchController(
             accessControlService,
             cftQueryService,
-            cftTaskDatabaseService
+            cftTaskDatabaseService,
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa"))
         ));
 
         if (context != null) {
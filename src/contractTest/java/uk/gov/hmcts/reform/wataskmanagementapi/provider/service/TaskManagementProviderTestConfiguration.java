@@ -100,7 +100,8 @@ public class TaskManagementProviderTestConfiguration {
         roleAssignmentVerificationService = new RoleAssignmentVerificationService(
             cftTaskDatabaseService,
             cftQueryService,
-            cftSensitiveTaskEventLogsDatabaseService);
+            cftSensitiveTaskEventLogsDatabaseService,
+            accessControlService());
         return new TaskManagementService(
             camundaService,
             cftTaskDatabaseService,
@@ -120,7 +121,11 @@ public class TaskManagementProviderTestConfiguration {
     public AccessControlService accessControlService() {
         return new AccessControlService(
             idamService,
-            roleAssignmentService
+            roleAssignmentService,
+            false,
+            60,
+            15,
+            10000
         );
     }
 
@@ -32,6 +32,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 
 import static au.com.dius.pact.consumer.dsl.LambdaDsl.newJsonBody;
 import static java.util.Collections.singletonList;
@@ -65,7 +66,8 @@ public class RoleAssignmentQueryConsumerTest extends SpringBootContractBaseTest
         when(authTokenGenerator.generate()).thenReturn(SERVICE_AUTH_TOKEN);
         when(idamTokenGenerator.generate()).thenReturn(AUTH_TOKEN);
 
-        roleAssignmentService = new RoleAssignmentService(roleAssignmentApi, authTokenGenerator, idamTokenGenerator, 50);
+        roleAssignmentService = new RoleAssignmentService(roleAssignmentApi, authTokenGenerator, idamTokenGenerator, 50,
+            Executors.newSingleThreadExecutor(), 1);
     }
 
     @Pact(provider = "am_roleAssignment_queryAssignment", consumer = "wa_task_management_api")
@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.cft.cleanupsensitivedata;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
@@ -22,10 +24,18 @@ import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTSensitiveTaskEventLogsDatabaseService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskMapper;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SensitiveTaskEventLogWriter;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchCountService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
 
 @ActiveProfiles("integration")
 @DataJpaTest
@@ -39,15 +49,15 @@ public class CleanUpSensitiveLogsDataTest {
     @Autowired
     TaskResourceRepository taskResourceRepository;
 
-    @Autowired
-    private ExecutorService sensitiveTaskEventLogsExecutorService;
-
     @Autowired
     private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private CFTTaskDatabaseService cftTaskDatabaseService;
 
     private CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
@@ -60,12 +70,17 @@ public class CleanUpSensitiveLogsDataTest {
     @BeforeEach
     void setUp() {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper,
+            new TaskSearchCountService(taskResourceRepository, new SimpleMeterRegistry(), 1000, 30, 10000),
+            new RoleSignatureCache(new SimpleMeterRegistry(), 300, 500000),
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa")));
 
         cftSensitiveTaskEventLogsDatabaseService = new CFTSensitiveTaskEventLogsDatabaseService(
             sensitiveTaskEventLogsRepository,
             cftTaskDatabaseService,
-            sensitiveTaskEventLogsExecutorService
+            mock(SensitiveTaskEventLogWriter.class),
+            1,
+            6
         );
     }
 
@@ -82,6 +97,31 @@ public class CleanUpSensitiveLogsDataTest {
         Assertions.assertThat(remainingCount).isEqualTo(1);
     }
 
+    @Test
+    void should_drop_partitions_of_months_that_have_expired() {
+
+        LocalDateTime expiredMonth = LocalDateTime.now().minusMonths(3).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+        String partition = "cft_task_db.sensitive_task_event_logs_"
+                           + expiredMonth.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        Assertions.assertThat(sensitiveTaskEventLogsRepository.createPartitions(expiredMonth, expiredMonth))
+            .isEqualTo(1);
+        sensitiveTaskEventLogsRepository.insertAll("""
+            [{"id": "%s", "task_id": "taskId", "case_id": "caseId", "message": "message",
+              "user_data": {}, "task_data": [], "expiry_time": "%s", "log_event_time": "%s"}]
+            """.formatted(UUID.randomUUID(), expiredMonth.plusDays(1), expiredMonth));
+        Assertions.assertThat(sensitiveTaskEventLogsRepository.count()).isEqualTo(5);
+
+        int removedRecords = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(LocalDateTime.now());
+        Assertions.assertThat(removedRecords).isEqualTo(4);
+
+        Object remainingPartition = entityManager
+            .createNativeQuery("select cast(to_regclass(:partition) as text)")
+            .setParameter("partition", partition)
+            .getSingleResult();
+        Assertions.assertThat(remainingPartition).isNull();
+        Assertions.assertThat(sensitiveTaskEventLogsRepository.count()).isEqualTo(1);
+    }
+
     @Test
     void should_not_clean_up_tasks_where_expiry_time_is_greater_than_current_time() {
 
@@ -647,7 +647,7 @@ class ExecuteReconfigurationTaskOperationControllerTest {
                 () -> assertNotNull(task.getDueDateTime())
             );
         });
-        verify(taskReconfigurationTransactionHandler, times(4)).reconfigureTaskResource(secondTaskId);
+        verify(taskReconfigurationTransactionHandler, times(4)).reconfigureTaskResource(eq(secondTaskId), any());
     }
 
     @Test
@@ -33,6 +33,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskCompletionDmnCacheInvalidator;
 import uk.gov.hmcts.reform.wataskmanagementapi.utils.ServiceMocks;
 
 import java.time.OffsetDateTime;
@@ -78,6 +79,8 @@ class GetTaskRoleGranularPermissionsControllerTest {
     private RoleAssignmentServiceApi roleAssignmentServiceApi;
     @Autowired
     private CFTTaskDatabaseService cftTaskDatabaseService;
+    @Autowired
+    private TaskCompletionDmnCacheInvalidator taskCompletionDmnCacheInvalidator;
     @Mock
     private UserInfo mockedUserInfo;
     @Mock
@@ -109,6 +112,7 @@ class GetTaskRoleGranularPermissionsControllerTest {
     void beforeEach() {
         taskId = UUID.randomUUID().toString();
         lenient().when(serviceAuthTokenGenerator.generate()).thenReturn(SERVICE_AUTHORIZATION_TOKEN);
+        taskCompletionDmnCacheInvalidator.invalidate();
 
         when(mockedUserInfo.getUid())
             .thenReturn(IDAM_USER_ID);
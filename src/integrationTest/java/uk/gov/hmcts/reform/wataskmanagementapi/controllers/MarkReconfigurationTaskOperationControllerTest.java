@@ -1,12 +1,12 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.controllers;
 
-import jakarta.persistence.OptimisticLockException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
@@ -37,18 +37,25 @@ import uk.gov.hmcts.reform.wataskmanagementapi.utils.IntegrationTestUtils;
 import uk.gov.hmcts.reform.wataskmanagementapi.utils.TaskTestUtils;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -271,12 +278,8 @@ class MarkReconfigurationTaskOperationControllerTest {
 
         taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId6",null,null);
 
-        List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId6");
-        taskResourcesTobeLocked.stream().forEach(task -> {
-            when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(task.getTaskId(),
-                                                                                     List.of(ASSIGNED, UNASSIGNED)))
-                .thenThrow(new OptimisticLockException());
-        });
+        doThrow(new PessimisticLockingFailureException("locked"))
+            .when(cftTaskDatabaseService).markTasksToReconfigure(eq(List.of("caseId6")), anyString(), any());
 
         mockMvc.perform(
             post(ENDPOINT_BEING_TESTED)
@@ -297,45 +300,43 @@ class MarkReconfigurationTaskOperationControllerTest {
     }
 
     @Test
-    void should_partially_perform_mark_to_reconfigure_when_one_of_task_is_locked_by_another_process() throws Exception {
+    void should_partially_perform_mark_to_reconfigure_when_tasks_of_one_case_are_locked_by_another_process() throws Exception {
 
-        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId7",null,null);
-        taskTestUtils.createTaskAndRoleAssignments(UNASSIGNED, "caseId7",null,null);
+        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId7a",null,null);
+        taskTestUtils.createTaskAndRoleAssignments(UNASSIGNED, "caseId7b",null,null);
 
-        List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId7");
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(0).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException());
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(1).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(1)));
+        doThrow(new PessimisticLockingFailureException("locked"))
+            .when(cftTaskDatabaseService).markTasksToReconfigure(eq(List.of("caseId7a")), anyString(), any());
 
         mockMvc.perform(
             post(ENDPOINT_BEING_TESTED)
                 .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
-                .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId7")))
+                .content(integrationTestUtils.asJsonString(
+                    taskOperationRequest(MARK_TO_RECONFIGURE, "caseId7a", "caseId7b")))
         ).andExpectAll(
             status().is(HttpStatus.CONFLICT.value())
         );
 
-        List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId7");
-        //task1
-        assertNull(taskResources.get(0).getReconfigureRequestTime());
-        assertNull(taskResources.get(0).getLastUpdatedTimestamp());
-        assertNull(taskResources.get(0).getLastUpdatedUser());
-        assertNull(taskResources.get(0).getLastUpdatedAction());
-
-        //task2
-        assertNotNull(taskResources.get(1).getReconfigureRequestTime());
-        assertNotNull(taskResources.get(1).getLastUpdatedTimestamp());
-        assertEquals(SYSTEM_USER_1, taskResources.get(1).getLastUpdatedUser());
-        assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.get(1).getLastUpdatedAction());
+        //case1
+        cftTaskDatabaseService.findByCaseIdOnly("caseId7a").forEach(task -> {
+            assertNull(task.getReconfigureRequestTime());
+            assertNull(task.getLastUpdatedTimestamp());
+            assertNull(task.getLastUpdatedUser());
+            assertNull(task.getLastUpdatedAction());
+        });
 
+        //case2
+        cftTaskDatabaseService.findByCaseIdOnly("caseId7b").forEach(task -> {
+            assertNotNull(task.getReconfigureRequestTime());
+            assertNotNull(task.getLastUpdatedTimestamp());
+            assertEquals(SYSTEM_USER_1, task.getLastUpdatedUser());
+            assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), task.getLastUpdatedAction());
+        });
     }
 
     @Test
-    void should_partially_perform_mark_to_reconfigure_when_some_of_tasks_failed_to_be_marked_to_reconfigure() throws Exception {
+    void should_mark_all_tasks_of_a_case_to_reconfigure_in_one_statement() throws Exception {
 
         //4 tasks
         taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId8",null,null);
@@ -343,83 +344,30 @@ class MarkReconfigurationTaskOperationControllerTest {
         taskTestUtils.createTaskAndRoleAssignments(UNASSIGNED, "caseId8",null,null);
         taskTestUtils.createTaskAndRoleAssignments(UNASSIGNED, "caseId8",null,null);
 
-        //2 tasks failed, 2 tasks succeeded
-        List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId8");
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(0).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(0)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(1).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException());
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(2).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(2)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(3).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException());
-
         mockMvc.perform(
             post(ENDPOINT_BEING_TESTED)
                 .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId8")))
         ).andExpectAll(
-            status().is(HttpStatus.CONFLICT.value())
+            status().is(HttpStatus.OK.value())
         );
 
+        verify(cftTaskDatabaseService, times(1))
+            .markTasksToReconfigure(eq(List.of("caseId8")), eq(SYSTEM_USER_1), any());
+        verify(cftTaskDatabaseService, never()).findByIdAndStateInObtainPessimisticWriteLock(anyString(), any());
+
         List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId8");
-        //task1
-        assertNotNull(taskResources.stream()
-                          .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(0).getTaskId()))
-                          .findFirst().get().getReconfigureRequestTime());
-        assertNotNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(0).getTaskId()))
-            .findFirst().get().getLastUpdatedTimestamp());
-        assertEquals(SYSTEM_USER_1, taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(0).getTaskId()))
-            .findFirst().get().getLastUpdatedUser());
-        assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(0).getTaskId()))
-            .findFirst().get().getLastUpdatedAction());
-        //task2
-        assertNull(taskResources.stream()
-                       .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(1).getTaskId()))
-                       .findFirst().get().getReconfigureRequestTime());
-        assertNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(1).getTaskId()))
-            .findFirst().get().getLastUpdatedTimestamp());
-        assertNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(1).getTaskId()))
-            .findFirst().get().getLastUpdatedUser());
-        assertNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(1).getTaskId()))
-            .findFirst().get().getLastUpdatedAction());
-        //task3
-        assertNotNull(taskResources.stream()
-                          .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(2).getTaskId()))
-                          .findFirst().get().getReconfigureRequestTime());
-        assertNotNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(2).getTaskId()))
-            .findFirst().get().getLastUpdatedTimestamp());
-        assertEquals(SYSTEM_USER_1, taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(2).getTaskId()))
-            .findFirst().get().getLastUpdatedUser());
-        assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(2).getTaskId()))
-            .findFirst().get().getLastUpdatedAction());
-        //task4
-        assertNull(taskResources.stream()
-                       .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(3).getTaskId()))
-                       .findFirst().get().getReconfigureRequestTime());
-        assertNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(3).getTaskId()))
-            .findFirst().get().getLastUpdatedTimestamp());
-        assertNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(1).getTaskId()))
-            .findFirst().get().getLastUpdatedUser());
-        assertNull(taskResources.stream()
-            .filter(task -> task.getTaskId().equals(taskResourcesTobeLocked.get(1).getTaskId()))
-            .findFirst().get().getLastUpdatedAction());
+        assertEquals(4, taskResources.size());
+        OffsetDateTime reconfigureRequestTime = taskResources.get(0).getReconfigureRequestTime();
+        taskResources.forEach(task -> {
+            assertNotNull(task.getReconfigureRequestTime());
+            assertEquals(reconfigureRequestTime, task.getReconfigureRequestTime());
+            assertEquals(reconfigureRequestTime, task.getLastUpdatedTimestamp());
+            assertFalse(task.getIndexed());
+            assertEquals(SYSTEM_USER_1, task.getLastUpdatedUser());
+            assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), task.getLastUpdatedAction());
+        });
     }
 
     @Test
@@ -427,13 +375,9 @@ class MarkReconfigurationTaskOperationControllerTest {
 
         taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId9",null,null);
 
-        List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId9");
-        taskResourcesTobeLocked.stream().forEach(task -> {
-            when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-                task.getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-                .thenThrow(new OptimisticLockException())
-                .thenReturn(Optional.of(taskResourcesTobeLocked.get(0)));
-        });
+        doThrow(new PessimisticLockingFailureException("locked"))
+            .doCallRealMethod()
+            .when(cftTaskDatabaseService).markTasksToReconfigure(eq(List.of("caseId9")), anyString(), any());
 
         mockMvc.perform(
             post(ENDPOINT_BEING_TESTED)
@@ -454,71 +398,55 @@ class MarkReconfigurationTaskOperationControllerTest {
     }
 
     @Test
-    void should_retry_and_perform_mark_to_reconfigure_when_first_attempt_failed_to_mark_multiple_tasks_to_be_reconfigurable() throws Exception {
+    void should_retry_and_perform_mark_to_reconfigure_when_first_attempt_failed_to_mark_multiple_cases_to_be_reconfigurable() throws Exception {
 
         //4 tasks
-        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10",null,null);
-        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10",null,null);
-        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10",null,null);
-        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10",null,null);
-
-        //2 tasks failed, 2 tasks succeeded
-        List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId10");
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(0).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(0)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(1).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException())
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(1)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(2).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(2)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(3).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException())
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(3)));
+        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10a",null,null);
+        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10a",null,null);
+        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10b",null,null);
+        taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId10b",null,null);
+
+        //both cases fail first, then succeed
+        doThrow(new PessimisticLockingFailureException("locked"))
+            .doCallRealMethod()
+            .when(cftTaskDatabaseService).markTasksToReconfigure(eq(List.of("caseId10a")), anyString(), any());
+        doThrow(new PessimisticLockingFailureException("locked"))
+            .doCallRealMethod()
+            .when(cftTaskDatabaseService).markTasksToReconfigure(eq(List.of("caseId10b")), anyString(), any());
 
         mockMvc.perform(
             post(ENDPOINT_BEING_TESTED)
                 .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
-                .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId10")))
+                .content(integrationTestUtils.asJsonString(
+                    taskOperationRequest(MARK_TO_RECONFIGURE, "caseId10a", "caseId10b")))
         ).andExpectAll(
             status().is(HttpStatus.OK.value())
         );
 
-        List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId10");
-        assertNotNull(taskResources.get(0).getReconfigureRequestTime());
-        assertNotNull(taskResources.get(0).getLastUpdatedTimestamp());
-        assertEquals(SYSTEM_USER_1, taskResources.get(0).getLastUpdatedUser());
-        assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.get(0).getLastUpdatedAction());
-        assertNotNull(taskResources.get(1).getReconfigureRequestTime());
-        assertNotNull(taskResources.get(1).getLastUpdatedTimestamp());
-        assertEquals(SYSTEM_USER_1, taskResources.get(1).getLastUpdatedUser());
-        assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.get(1).getLastUpdatedAction());
-        assertNotNull(taskResources.get(2).getReconfigureRequestTime());
-        assertNotNull(taskResources.get(2).getLastUpdatedTimestamp());
-        assertEquals(SYSTEM_USER_1, taskResources.get(2).getLastUpdatedUser());
-        assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.get(2).getLastUpdatedAction());
-        assertNotNull(taskResources.get(3).getReconfigureRequestTime());
-        assertNotNull(taskResources.get(3).getLastUpdatedTimestamp());
-        assertEquals(SYSTEM_USER_1, taskResources.get(3).getLastUpdatedUser());
-        assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.get(3).getLastUpdatedAction());
+        List<TaskResource> taskResources = new ArrayList<>(cftTaskDatabaseService.findByCaseIdOnly("caseId10a"));
+        taskResources.addAll(cftTaskDatabaseService.findByCaseIdOnly("caseId10b"));
+        assertEquals(4, taskResources.size());
+        taskResources.forEach(task -> {
+            assertNotNull(task.getReconfigureRequestTime());
+            assertNotNull(task.getLastUpdatedTimestamp());
+            assertEquals(SYSTEM_USER_1, task.getLastUpdatedUser());
+            assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), task.getLastUpdatedAction());
+        });
     }
 
-    private TaskOperationRequest taskOperationRequest(TaskOperationType operationName, String caseId) {
+    private TaskOperationRequest taskOperationRequest(TaskOperationType operationName, String... caseIds) {
         TaskOperation operation = TaskOperation.builder()
             .type(operationName)
             .runId(UUID.randomUUID().toString())
             .maxTimeLimit(2)
             .retryWindowHours(120)
             .build();
-        return new TaskOperationRequest(operation, taskFilters(caseId));
+        return new TaskOperationRequest(operation, taskFilters(caseIds));
     }
 
-    private List<TaskFilter<?>> taskFilters(String caseId) {
-        TaskFilter<?> filter = new MarkTaskToReconfigureTaskFilter("case_id", List.of(caseId), TaskFilterOperator.IN);
+    private List<TaskFilter<?>> taskFilters(String... caseIds) {
+        TaskFilter<?> filter = new MarkTaskToReconfigureTaskFilter("case_id", List.of(caseIds), TaskFilterOperator.IN);
         return List.of(filter);
     }
 
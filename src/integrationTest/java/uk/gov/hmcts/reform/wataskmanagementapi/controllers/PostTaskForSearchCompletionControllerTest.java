@@ -32,6 +32,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.config.AllowedJurisdictionConfigu
 import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariable;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableInstance;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinition;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.enums.TestRolesWithGrantType;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.NoteResource;
@@ -40,6 +41,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskCompletionDmnCacheInvalidator;
 import uk.gov.hmcts.reform.wataskmanagementapi.utils.IntegrationTestUtils;
 import uk.gov.hmcts.reform.wataskmanagementapi.utils.ServiceMocks;
 
@@ -54,8 +56,10 @@ import java.util.UUID;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -93,6 +97,8 @@ class PostTaskForSearchCompletionControllerTest {
     @Autowired
     private CFTTaskDatabaseService cftTaskDatabaseService;
     @Autowired
+    private TaskCompletionDmnCacheInvalidator taskCompletionDmnCacheInvalidator;
+    @Autowired
     private TaskResourceRepository taskResourceRepository;
     @Mock
     private UserInfo mockedUserInfo;
@@ -126,6 +132,7 @@ class PostTaskForSearchCompletionControllerTest {
     @BeforeEach
     void beforeEach() {
         taskId = UUID.randomUUID().toString();
+        taskCompletionDmnCacheInvalidator.invalidate();
 
         when(authTokenGenerator.generate())
             .thenReturn(IDAM_AUTHORIZATION_TOKEN);
@@ -201,6 +208,51 @@ class PostTaskForSearchCompletionControllerTest {
             .evaluateDMN(any(), any(), any(), any());
     }
 
+    @Test
+    void should_evaluate_dmn_table_once_per_event_until_dmn_table_is_deployed_again() throws Exception {
+        mockServices.mockUserInfo();
+        mockServices.mockServiceAPIs();
+
+        List<Map<String, CamundaVariable>> mockedResponse = asList(Map.of(
+            "taskType", new CamundaVariable("reviewTheAppeal", "String"),
+            "completionMode", new CamundaVariable("Auto", "String"),
+            "workType", new CamundaVariable("decision_making_work", "String")
+        ));
+        when(camundaServiceApi.evaluateDMN(any(), any(), any(), anyMap()))
+            .thenReturn(mockedResponse);
+        when(camundaServiceApi.getDecisionDefinitions(any(), any(), anyBoolean()))
+            .thenReturn(List.of(new DecisionDefinition("completion:1", "wa-task-completion-ia-asylum", "ia", 1)))
+            .thenReturn(List.of(new DecisionDefinition("completion:2", "wa-task-completion-ia-asylum", "ia", 2)));
+        taskCompletionDmnCacheInvalidator.checkDeployments();
+
+        for (String caseId : List.of("some-caseId", "another-caseId")) {
+            mockMvc.perform(
+                    post("/task/search-for-completable")
+                        .header(AUTHORIZATION, IDAM_AUTHORIZATION_TOKEN)
+                        .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                        .content("{\"case_id\":\"" + caseId + "\",\"event_id\":\"decideAnApplication\","
+                                     + "\"case_jurisdiction\":\"ia\",\"case_type\":\"asylum\"}")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                )
+                .andExpect(status().isOk());
+        }
+        verify(camundaServiceApi, times(1))
+            .evaluateDMN(any(), any(), any(), any());
+
+        assertTrue(taskCompletionDmnCacheInvalidator.checkDeployments());
+        mockMvc.perform(
+                post("/task/search-for-completable")
+                    .header(AUTHORIZATION, IDAM_AUTHORIZATION_TOKEN)
+                    .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                    .content("{\"case_id\":\"some-caseId\",\"event_id\":\"decideAnApplication\","
+                                 + "\"case_jurisdiction\":\"ia\",\"case_type\":\"asylum\"}")
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+            )
+            .andExpect(status().isOk());
+        verify(camundaServiceApi, times(2))
+            .evaluateDMN(any(), any(), any(), any());
+    }
+
     @Test
     void should_return_a_200_and_empty_list_when_jurisdiction_not_IA_and_case_type_not_asylum() throws Exception {
         mockServices.mockUserInfo();
@@ -82,6 +82,7 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNA
 import static uk.gov.hmcts.reform.wataskmanagementapi.config.SecurityConfiguration.AUTHORIZATION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.config.SecurityConfiguration.SERVICE_AUTHORIZATION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchOperator.IN;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.CASE_ID;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.JURISDICTION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.WORK_TYPE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.utils.ServiceMocks.IDAM_AUTHORIZATION_TOKEN;
@@ -451,6 +452,84 @@ class PostTaskSearchControllerTest {
             ).andReturn();
     }
 
+    @Test
+    void should_return_a_200_with_task_and_permissions_of_the_users_roles_only() throws Exception {
+        String caseId = "searchCriteriaCaseId5";
+        mockServices.mockUserInfo();
+
+        // Role attribute is IA
+        List<RoleAssignment> roleAssignments = new ArrayList<>();
+        RoleAssignmentRequest roleAssignmentRequest = RoleAssignmentRequest.builder()
+            .testRolesWithGrantType(TestRolesWithGrantType.STANDARD_TRIBUNAL_CASE_WORKER_PUBLIC)
+            .roleAssignmentAttribute(
+                RoleAssignmentAttribute.builder()
+                    .jurisdiction("IA")
+                    .caseType("Asylum")
+                    .caseId(caseId)
+                    .build()
+            )
+            .build();
+        roleAssignmentHelper.createRoleAssignment(roleAssignments, roleAssignmentRequest);
+
+        when(roleAssignmentServiceApi.getRolesForUser(
+            any(), any(), any()
+        )).thenReturn(new RoleAssignmentResource(roleAssignments));
+
+        // Task created is IA, with a second role the user does not have
+        TaskRoleResource userTaskRole = new TaskRoleResource(
+            TestRolesWithGrantType.STANDARD_TRIBUNAL_CASE_WORKER_PUBLIC.getRoleName(),
+            true, true, true, false, false, false,
+            new String[]{}, 1, false,
+            TestRolesWithGrantType.STANDARD_TRIBUNAL_CASE_WORKER_PUBLIC.getRoleCategory().name()
+        );
+        TaskRoleResource otherTaskRole = new TaskRoleResource(
+            "senior-tribunal-caseworker",
+            true, true, true, true, true, false,
+            new String[]{}, 1, false,
+            TestRolesWithGrantType.STANDARD_TRIBUNAL_CASE_WORKER_PUBLIC.getRoleCategory().name()
+        );
+        TaskResource taskResource = new TaskResource(taskId, "someTaskName", "someTaskType", UNASSIGNED);
+        taskResource.setCreated(OffsetDateTime.now());
+        taskResource.setDueDateTime(OffsetDateTime.now());
+        taskResource.setJurisdiction("IA");
+        taskResource.setCaseTypeId("Asylum");
+        taskResource.setSecurityClassification(SecurityClassification.PUBLIC);
+        taskResource.setLocation("765324");
+        taskResource.setLocationName("Taylor House");
+        taskResource.setRegion("TestRegion");
+        taskResource.setCaseId(caseId);
+        taskResource.setIndexed(true);
+        userTaskRole.setTaskId(taskId);
+        otherTaskRole.setTaskId(taskId);
+        taskResource.setTaskRoleResources(Set.of(userTaskRole, otherTaskRole));
+        cftTaskDatabaseService.saveTask(taskResource);
+
+        when(idamWebApi.token(any())).thenReturn(new Token(IDAM_AUTHORIZATION_TOKEN, "scope"));
+        when(serviceAuthorisationApi.serviceToken(any())).thenReturn(SERVICE_AUTHORIZATION_TOKEN);
+
+        SearchTaskRequest searchTaskRequest = new SearchTaskRequest(List.of(
+            new SearchParameterList(JURISDICTION, IN, singletonList("IA")),
+            new SearchParameterList(CASE_ID, IN, singletonList(caseId))
+        ));
+
+        mockMvc.perform(
+            post("/task")
+                .header(AUTHORIZATION, IDAM_AUTHORIZATION_TOKEN)
+                .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                .content(integrationTestUtils.asJsonString(searchTaskRequest))
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+        ).andExpectAll(
+            status().isOk(),
+            jsonPath("total_records").value(1),
+            jsonPath("$.tasks.length()").value(1),
+            jsonPath("$.tasks[0].id").value(taskId),
+            jsonPath("$.tasks[0].permissions.values[0]").value("Read"),
+            jsonPath("$.tasks[0].permissions.values[1]").value("Own"),
+            jsonPath("$.tasks[0].permissions.values[2]").value("Execute"),
+            jsonPath("$.tasks[0].permissions.values.length()").value(3)
+        );
+    }
+
     @Test
     void should_return_200_empty_list_when_work_types_did_not_match() throws Exception {
 
@@ -1,6 +1,9 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.repository;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,12 +16,12 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.context.annotation.Import;
-import org.springframework.data.domain.Sort;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.BusinessContext;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.ExecutionType;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TaskSystem;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TerminationProcess;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskResourceCaseQueryBuilder;
 import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
@@ -37,6 +40,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.utils.AwaitilityIntegrationTestCo
 
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +61,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 
@@ -82,6 +87,8 @@ class TaskResourceRepositoryTest {
 
     @Autowired
     private TaskRoleResourceRepository taskRoleResourceRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
 
     @AfterEach
@@ -572,93 +579,143 @@ class TaskResourceRepositoryTest {
     }
 
     @Test
-    void given_multiple_tasks_created_when_find_by_task_ids_then_return_ordered_task_list() {
-        String taskId2 = UUID.randomUUID().toString();
-        TaskResource createdTask = createTask(taskId2, "tribunal-caseofficer", "IA",
-            "startAppeal", "someAssignee", "1623278362430412", CFTTaskState.ASSIGNED);
-        createdTask.setCaseName("TestCaseB");
+    void given_multiple_tasks_created_when_find_search_results_then_return_projected_tasks_with_matching_roles() {
+        String otherTaskId = UUID.randomUUID().toString();
+        TaskResource otherTask = createTask(otherTaskId, "case-manager", "IA",
+            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.UNASSIGNED);
+        transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(otherTask));
+
+        List<TaskResource> tasksResult = taskResourceRepository.findSearchResultsByTaskIds(
+            List.of(otherTaskId, taskId), Set.of("tribunal-caseofficer"));
+
+        assertEquals(List.of(otherTaskId, taskId), tasksResult.stream().map(TaskResource::getTaskId).toList());
+        TaskResource otherTaskResult = tasksResult.get(0);
+        assertEquals(CFTTaskState.UNASSIGNED, otherTaskResult.getState());
+        assertEquals("anotherAssignee", otherTaskResult.getAssignee());
+        assertTrue(otherTaskResult.getTaskRoleResources().isEmpty());
+        TaskResource taskResult = tasksResult.get(1);
+        assertEquals(task.getCaseName(), taskResult.getCaseName());
+        assertEquals(task.getNotes(), taskResult.getNotes());
+        assertEquals(task.getAdditionalProperties(), taskResult.getAdditionalProperties());
+        assertEquals("Routine work", taskResult.getWorkTypeResource().getLabel());
+        assertEquals("Manual", taskResult.getExecutionTypeCode().getExecutionName());
+        assertEquals(1, taskResult.getTaskRoleResources().size());
+        TaskRoleResource taskRoleResult = taskResult.getTaskRoleResources().iterator().next();
+        assertEquals("tribunal-caseofficer", taskRoleResult.getRoleName());
+        assertTrue(taskRoleResult.getRead());
+        assertArrayEquals(new String[]{"SPECIFIC", "STANDARD"}, taskRoleResult.getAuthorizations());
+    }
 
-        transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(createdTask));
+    @Test
+    void given_page_of_tasks_when_find_search_results_then_tasks_and_roles_are_read_in_two_statements() {
+        List<String> taskIds = new ArrayList<>(List.of(taskId));
+        for (int i = 0; i < 4; i++) {
+            String otherTaskId = UUID.randomUUID().toString();
+            taskIds.add(otherTaskId);
+            TaskResource otherTask = createTask(otherTaskId, "tribunal-caseofficer", "IA",
+                "startAppeal", "someAssignee", "1623278362430412", CFTTaskState.ASSIGNED);
+            transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(otherTask));
+        }
 
-        Sort sort = Sort.by(Sort.Order.asc("caseName"));
-        List<TaskResource> tasksResult = taskResourceRepository.findAllByTaskIdIn(List.of(taskId), sort);
-        assertEquals(1, tasksResult.size());
-
-        sort = Sort.by(Sort.Order.asc("caseName"));
-        tasksResult = taskResourceRepository.findAllByTaskIdIn(List.of(taskId, taskId2), sort);
-        assertEquals(2, tasksResult.size());
-        assertEquals(taskId, tasksResult.get(0).getTaskId());
-        assertEquals(taskId2, tasksResult.get(1).getTaskId());
-        assertEquals("TestCaseA", tasksResult.get(0).getCaseName());
-        assertEquals("TestCaseB", tasksResult.get(1).getCaseName());
-
-        sort = Sort.by(Sort.Order.desc("caseName"));
-        tasksResult = taskResourceRepository.findAllByTaskIdIn(List.of(taskId, taskId2), sort);
-        assertEquals(2, tasksResult.size());
-        assertEquals(taskId2, tasksResult.get(0).getTaskId());
-        assertEquals(taskId, tasksResult.get(1).getTaskId());
-        assertEquals("TestCaseB", tasksResult.get(0).getCaseName());
-        assertEquals("TestCaseA", tasksResult.get(1).getCaseName());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            transactionHelper.doInNewTransaction(() -> {
+                statistics.clear();
+                List<TaskResource> tasksResult = taskResourceRepository.findSearchResultsByTaskIds(
+                    taskIds, Set.of("tribunal-caseofficer"));
+
+                assertEquals(5, tasksResult.size());
+                tasksResult.forEach(taskResource -> {
+                    assertEquals(1, taskResource.getTaskRoleResources().size());
+                    assertNotNull(taskResource.getWorkTypeResource().getLabel());
+                    assertNotNull(taskResource.getExecutionTypeCode().getExecutionName());
+                });
+                assertEquals(2, statistics.getPrepareStatementCount());
+            });
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
     }
 
     @Test
-    void given_multiple_tasks_created_when_find_task_with_multiple_order_filed_then_return_ordered_task_list() {
+    void given_tasks_exist_with_index_flag_false_when_count_by_index_false_then_tasks_counted() {
         String taskId2 = UUID.randomUUID().toString();
-        TaskResource createdTask = createTask(taskId2, "tribunal-caseofficer", "IA",
-            "startAppeal", "someAssignee", "1623278362430412", CFTTaskState.ASSIGNED);
-        createdTask.setCaseName("TestCaseB");
-        createdTask.setCaseCategory("caseCategoryB");
+        TaskResource createdTask = createTask(taskId2, "case-manager", "IA",
+            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.ASSIGNED);
 
-        transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(createdTask));
+        transactionHelper.doInNewTransaction(() -> {
+            task.setIndexed(false);
+            createdTask.setIndexed(false);
+            taskResourceRepository.save(task);
+            taskResourceRepository.save(createdTask);
+        });
 
-        String taskId3 = UUID.randomUUID().toString();
-        TaskResource createdTask2 = createTask(taskId3, "tribunal-caseofficer", "IA",
-            "startAppeal", "someAssignee", "1623278362430412", CFTTaskState.ASSIGNED);
-        createdTask2.setCaseName("TestCaseB");
-        createdTask2.setCaseCategory("caseCategoryC");
-
-        transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(createdTask2));
-
-        Sort sort = Sort.by(Sort.Order.asc("caseName"),
-            Sort.Order.desc("caseCategory"));
-        List<TaskResource> tasksResult = taskResourceRepository.findAllByTaskIdIn(List.of(taskId, taskId2, taskId3),
-            sort);
-
-        assertEquals(3, tasksResult.size());
-        assertEquals(taskId, tasksResult.get(0).getTaskId());
-        assertEquals(taskId3, tasksResult.get(1).getTaskId());
-        assertEquals(taskId2, tasksResult.get(2).getTaskId());
-        assertEquals("TestCaseA", tasksResult.get(0).getCaseName());
-        assertEquals("TestCaseB", tasksResult.get(1).getCaseName());
-        assertEquals("TestCaseB", tasksResult.get(2).getCaseName());
-        assertEquals("caseCategoryA", tasksResult.get(0).getCaseCategory());
-        assertEquals("caseCategoryC", tasksResult.get(1).getCaseCategory());
-        assertEquals("caseCategoryB", tasksResult.get(2).getCaseCategory());
+        assertEquals(2, taskResourceRepository.countByIndexedFalseAndStateIn(List.of(CFTTaskState.ASSIGNED)));
     }
 
     @Test
-    void given_tasks_exist_with_index_flag_false_when_find_by_index_false_then_tasks_returned() {
+    void given_tasks_exist_with_index_flag_false_when_mark_tasks_indexed_then_tasks_indexed_in_batches() {
         String taskId2 = UUID.randomUUID().toString();
         TaskResource createdTask = createTask(taskId2, "case-manager", "IA",
-            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.ASSIGNED);
+            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.UNASSIGNED);
+        String completedTaskId = UUID.randomUUID().toString();
+        TaskResource completedTask = createTask(completedTaskId, "case-manager", "IA",
+            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.COMPLETED);
 
         transactionHelper.doInNewTransaction(() -> {
             task.setIndexed(false);
             createdTask.setIndexed(false);
+            completedTask.setIndexed(false);
+            taskResourceRepository.save(task);
+            taskResourceRepository.save(createdTask);
+            taskResourceRepository.save(completedTask);
+        });
+
+        List<CFTTaskState> states = List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED);
+        assertEquals(2, taskResourceRepository.countByIndexedFalseAndStateIn(states));
+        assertEquals(1, taskResourceRepository.markTasksIndexed(1));
+        assertEquals(1, taskResourceRepository.markTasksIndexed(10));
+        assertEquals(0, taskResourceRepository.markTasksIndexed(10));
+        assertEquals(0, taskResourceRepository.countByIndexedFalseAndStateIn(states));
+        assertFalse(taskResourceRepository.getByTaskId(completedTaskId).orElseThrow().getIndexed());
+    }
+
+    @Test
+    void given_active_tasks_of_cases_when_mark_tasks_to_reconfigure_then_only_unmarked_active_tasks_marked() {
+        String createdTaskId = UUID.randomUUID().toString();
+        TaskResource createdTask = createTask(createdTaskId, "case-manager", "IA",
+            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.UNASSIGNED);
+        String completedTaskId = UUID.randomUUID().toString();
+        TaskResource completedTask = createTask(completedTaskId, "case-manager", "IA",
+            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.COMPLETED);
+
+        transactionHelper.doInNewTransaction(() -> {
+            task.setIndexed(true);
             taskResourceRepository.save(task);
             taskResourceRepository.save(createdTask);
+            taskResourceRepository.save(completedTask);
         });
 
-        List<TaskResource> taskResult = taskResourceRepository
-            .findByIndexedFalseAndStateIn(List.of(CFTTaskState.ASSIGNED));
-        assertNotNull(taskResult);
-        assertEquals(2, taskResult.size());
-        assertThat(List.of(taskId2, taskId)).contains(taskResult.get(0).getTaskId());
-        assertThat(List.of(taskId2, taskId)).contains(taskResult.get(1).getTaskId());
+        OffsetDateTime requestTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<String> caseIds = List.of("1623278362430412", "1623278362430413");
+        assertEquals(2, taskResourceRepository.markTasksToReconfigure(
+            caseIds, requestTime, "system-user", "MarkForReconfigure"));
+        assertEquals(0, taskResourceRepository.markTasksToReconfigure(
+            caseIds, requestTime.plusMinutes(1), "system-user", "MarkForReconfigure"));
+
+        TaskResource markedTask = taskResourceRepository.getByTaskId(taskId).orElseThrow();
+        assertEquals(requestTime.toInstant(), markedTask.getReconfigureRequestTime().toInstant());
+        assertEquals(requestTime.toInstant(), markedTask.getLastUpdatedTimestamp().toInstant());
+        assertEquals("system-user", markedTask.getLastUpdatedUser());
+        assertEquals("MarkForReconfigure", markedTask.getLastUpdatedAction());
+        assertFalse(markedTask.getIndexed());
+        assertNotNull(taskResourceRepository.getByTaskId(createdTaskId).orElseThrow().getReconfigureRequestTime());
+        assertNull(taskResourceRepository.getByTaskId(completedTaskId).orElseThrow().getReconfigureRequestTime());
     }
 
     @Test
-    void given_tasks_exist_with_index_flag_true_when_find_by_index_false_then_tasks_not_returned() {
+    void given_tasks_exist_with_index_flag_true_when_count_by_index_false_then_tasks_not_counted() {
         String taskId2 = UUID.randomUUID().toString();
         TaskResource createdTask = createTask(taskId2, "case-manager", "IA",
             "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.UNASSIGNED);
@@ -670,15 +727,11 @@ class TaskResourceRepositoryTest {
             taskResourceRepository.save(createdTask);
         });
 
-        List<TaskResource> taskResult = taskResourceRepository
-            .findByIndexedFalseAndStateIn(List.of(CFTTaskState.UNASSIGNED));
-
-        assertNotNull(taskResult);
-        assertEquals(0, taskResult.size());
+        assertEquals(0, taskResourceRepository.countByIndexedFalseAndStateIn(List.of(CFTTaskState.UNASSIGNED)));
     }
 
     @Test
-    void given_tasks_exist_with_index_flag_true_when_find_by_index_true_state_completed_then_tasks_not_returned() {
+    void given_completed_tasks_exist_with_index_flag_false_when_count_by_index_false_then_tasks_not_counted() {
         String taskId2 = UUID.randomUUID().toString();
         TaskResource createdTask = createTask(taskId2, "case-manager", "IA",
             "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.COMPLETED);
@@ -690,11 +743,7 @@ class TaskResourceRepositoryTest {
             taskResourceRepository.save(createdTask);
         });
 
-        List<TaskResource> taskResult = taskResourceRepository
-            .findByIndexedFalseAndStateIn(List.of(CFTTaskState.UNASSIGNED));
-
-        assertNotNull(taskResult);
-        assertEquals(0, taskResult.size());
+        assertEquals(0, taskResourceRepository.countByIndexedFalseAndStateIn(List.of(CFTTaskState.UNASSIGNED)));
     }
 
 
@@ -732,6 +781,49 @@ class TaskResourceRepositoryTest {
 
     }
 
+    @Test
+    void given_completed_task_not_updated_since_archive_date_when_archive_tasks_then_task_is_moved_to_archive() {
+        String archivedTaskId = UUID.randomUUID().toString();
+        String recentTaskId = UUID.randomUUID().toString();
+        transactionHelper.doInNewTransaction(() -> taskResourceRepository.saveAll(List.of(
+            createTask(archivedTaskId, OffsetDateTime.parse("2021-05-09T20:15:45.345875+01:00")),
+            createTask(recentTaskId, OffsetDateTime.now()))));
+
+        int archived = taskResourceRepository.archiveTasks(OffsetDateTime.now().minusDays(90), 100);
+
+        assertEquals(1, archived);
+        assertFalse(taskResourceRepository.findById(archivedTaskId).isPresent());
+        assertTrue(taskResourceRepository.findById(recentTaskId).isPresent());
+        assertTrue(taskResourceRepository.findById(taskId).isPresent());
+
+        Optional<TaskResource> archivedTask = taskResourceRepository.findArchivedByTaskId(archivedTaskId);
+        assertTrue(archivedTask.isPresent());
+        assertEquals(CFTTaskState.COMPLETED, archivedTask.get().getState());
+        assertEquals(1, archivedTask.get().getTaskRoleResources().size());
+        assertTrue(taskResourceRepository.findArchivedByCaseId("1623278362430413").stream()
+            .anyMatch(task -> archivedTaskId.equals(task.getTaskId())));
+    }
+
+    @Test
+    void given_archived_task_when_case_tasks_are_marked_for_deletion_then_archived_task_is_found_and_marked() {
+        String archivedTaskId = UUID.randomUUID().toString();
+        String caseId = "1623278362430413";
+        transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(
+            createTask(archivedTaskId, OffsetDateTime.parse("2021-05-09T20:15:45.345875+01:00"))));
+        taskResourceRepository.archiveTasks(OffsetDateTime.now().minusDays(90), 100);
+
+        List<String> caseTaskIds = taskResourceRepository.getTaskIdsByCaseId(caseId).stream()
+            .map(TaskResourceCaseQueryBuilder::getTaskId)
+            .toList();
+        assertTrue(caseTaskIds.contains(archivedTaskId));
+
+        taskResourceRepository.updateTaskDeletionTimestampByTaskIds(List.of(archivedTaskId, taskId));
+
+        assertNotNull(taskResourceRepository.findArchivedByTaskId(archivedTaskId)
+            .orElseThrow().getCaseDeletionTimestamp());
+        assertNotNull(taskResourceRepository.getByTaskId(taskId).orElseThrow().getCaseDeletionTimestamp());
+    }
+
     private void checkTaskWasSaved(String taskId) {
         assertTrue(taskResourceRepository.getByTaskId(taskId).isPresent());
     }
@@ -1,8 +1,10 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,14 +27,15 @@ import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static uk.gov.hmcts.reform.wataskmanagementapi.RoleAssignmentHelper.IA_JURISDICTION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.RoleAssignmentHelper.PRIMARY_LOCATION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.utils.Common.WA_JURISDICTION;
@@ -51,9 +54,8 @@ public class CFTSensitiveTaskEventLogsDatabaseServiceTest {
     @Autowired
     SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
     @Autowired
-    ExecutorService sensitiveTaskEventLogsExecutorService;
-    @Autowired
     ObjectMapper objectMapper;
+    SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
     CFTTaskDatabaseService cftTaskDatabaseService;
     CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
     static RoleAssignmentHelper roleAssignmentHelper = new RoleAssignmentHelper();
@@ -61,32 +63,48 @@ public class CFTSensitiveTaskEventLogsDatabaseServiceTest {
     @BeforeEach
     void setUp() {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper,
+            new TaskSearchCountService(taskResourceRepository, new SimpleMeterRegistry(), 1000, 30, 10000),
+            new RoleSignatureCache(new SimpleMeterRegistry(), 300, 500000),
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa")));
+        sensitiveTaskEventLogWriter = new SensitiveTaskEventLogWriter(sensitiveTaskEventLogsRepository,
+            new SimpleMeterRegistry(), 10, 10, 50, 0);
+        sensitiveTaskEventLogWriter.start();
         cftSensitiveTaskEventLogsDatabaseService = new CFTSensitiveTaskEventLogsDatabaseService(
             sensitiveTaskEventLogsRepository,
             cftTaskDatabaseService,
-            sensitiveTaskEventLogsExecutorService
+            sensitiveTaskEventLogWriter,
+            1000,
+            6
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        sensitiveTaskEventLogWriter.stop();
+    }
+
     @Test
     @Transactional
-    void should_process_and_save_sensitive_task_event_log() throws InterruptedException {
+    void should_process_and_save_sensitive_task_event_log() {
         List<RoleAssignment> roleAssignments = roleAssignmentsTribunalCaseWorkerWithPublicAndPrivateClasification();
 
         String taskId = "8d6cc5cf-c973-11eb-bdba-0242ac111001";
 
-        cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
+        SensitiveTaskEventLog processed = cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
             taskId,
             roleAssignments,
             ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
         );
 
-        sensitiveTaskEventLogsExecutorService.awaitTermination(400, TimeUnit.MILLISECONDS);
+        await().ignoreExceptions().atMost(5, TimeUnit.SECONDS)
+            .until(() -> sensitiveTaskEventLogsRepository.getByTaskId(taskId).isPresent());
 
         Optional<SensitiveTaskEventLog> sensitiveTaskEventLog = sensitiveTaskEventLogsRepository.getByTaskId(taskId);
         assertThat(sensitiveTaskEventLog).isPresent();
+        assertThat(sensitiveTaskEventLog.get().getId()).isEqualTo(processed.getId());
         assertThat(sensitiveTaskEventLog.get().getTaskData()).isNotEmpty().hasSize(1);
+        assertThat(sensitiveTaskEventLog.get().getTaskData().get(0).getTaskId()).isEqualTo(taskId);
         assertThat(sensitiveTaskEventLog.get().getUserData()).isNotNull();
     }
 
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.config.JacksonConfiguration;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.enums.TestRolesWithGrantType;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
@@ -33,6 +35,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchReq
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -67,7 +70,10 @@ class CFTTaskDatabaseServiceSearchTest {
     @BeforeEach
     void setUp() {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper,
+            new TaskSearchCountService(taskResourceRepository, new SimpleMeterRegistry(), 1000, 30, 10000),
+            new RoleSignatureCache(new SimpleMeterRegistry(), 300, 500000),
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa")));
     }
 
     // ** Filter Signature **
@@ -131,6 +137,41 @@ class CFTTaskDatabaseServiceSearchTest {
             );
     }
 
+    @Test
+    void should_page_through_tasks_without_priorities_with_continuation_tokens() {
+        List<RoleAssignment> roleAssignments = roleAssignmentsTribunalCaseWorkerWithPublicAndPrivateClasification();
+        AccessControlResponse accessControlResponse = new AccessControlResponse(userInfo, roleAssignments);
+        indexRecord();
+        clearPriorities("8d6cc5cf-c973-11eb-aaaa-000000000001", true, true);
+        clearPriorities("8d6cc5cf-c973-11eb-aaaa-000000000002", true, false);
+        clearPriorities("8d6cc5cf-c973-11eb-aaaa-000000000003", false, true);
+
+        SearchRequest searchRequest = SearchRequest.builder()
+            .cftTaskStates(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED))
+            .jurisdictions(List.of("WA", "IA"))
+            .locations(List.of("765324", "765325"))
+            .roleCategories(List.of(RoleCategory.JUDICIAL, RoleCategory.CTSC))
+            .workTypes(List.of("hearing_work", "follow_up"))
+            .build();
+
+        List<String> expected = cftTaskDatabaseService.searchForTasks(0, 25, searchRequest, accessControlResponse)
+            .getTasks().stream().map(Task::getId).toList();
+
+        List<String> paged = new ArrayList<>();
+        SearchContinuationToken continuationToken = null;
+        do {
+            GetTasksResponse<Task> page = cftTaskDatabaseService.searchForTasksAfter(
+                2, continuationToken, searchRequest, accessControlResponse);
+            page.getTasks().forEach(task -> paged.add(task.getId()));
+            continuationToken = page.getContinuationToken() == null
+                ? null
+                : SearchContinuationToken.decode(page.getContinuationToken());
+        } while (continuationToken != null);
+
+        assertEquals(8, expected.size());
+        assertEquals(expected, paged);
+    }
+
     @Test
     void should_return_ordered_by_desc_task_list_and_count_when_search_find_some_tasks() {
         List<RoleAssignment> roleAssignments = roleAssignmentsTribunalCaseWorkerWithPublicAndPrivateClasification();
@@ -639,6 +680,17 @@ class CFTTaskDatabaseServiceSearchTest {
         });
     }
 
+    private void clearPriorities(String id, boolean majorPriority, boolean minorPriority) {
+        TaskResource task = taskResourceRepository.findById(id).orElseThrow();
+        if (majorPriority) {
+            task.setMajorPriority(null);
+        }
+        if (minorPriority) {
+            task.setMinorPriority(null);
+        }
+        taskResourceRepository.save(task);
+    }
+
     private void setTaskAsIndexed(String id) {
         Optional<TaskResource> taskResource = taskResourceRepository.findById(id);
         TaskResource task = taskResource.get();
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,16 +11,14 @@ import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
@@ -43,7 +42,10 @@ class CFTTaskDatabaseServiceTest {
 
     @BeforeAll
     void setUp() {
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper,
+            new TaskSearchCountService(taskResourceRepository, new SimpleMeterRegistry(), 1000, 30, 10000),
+            new RoleSignatureCache(new SimpleMeterRegistry(), 300, 500000),
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa")));
     }
 
     @BeforeEach
@@ -131,20 +133,14 @@ class CFTTaskDatabaseServiceTest {
     }
 
     @Test
-    void should_succeed_and_find_a_tasks_to_update_index() {
+    void should_succeed_and_count_tasks_to_update_index() {
 
         createAndSaveTask(ASSIGNED);
         createAndSaveTask(UNASSIGNED);
         createAndSaveTask(COMPLETED);
         createAndSaveTask(CANCELLED);
 
-        List<TaskResource> taskResourceToIndex = cftTaskDatabaseService.findTaskToUpdateIndex();
-
-        assertNotNull(taskResourceToIndex);
-        assertFalse(taskResourceToIndex.isEmpty());
-        assertEquals(2, taskResourceToIndex.size());
-        assertThat(taskResourceToIndex.stream().map(TaskResource::getState).toList(),
-            containsInAnyOrder(ASSIGNED, UNASSIGNED));
+        assertEquals(2, cftTaskDatabaseService.countTasksToUpdateIndex());
     }
 
     private TaskResource createAndSaveTask(CFTTaskState state) {
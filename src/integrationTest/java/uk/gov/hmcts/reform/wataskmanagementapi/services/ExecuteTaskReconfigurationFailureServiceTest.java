@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +24,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOpe
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchRequestCustomDeserializer;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.operation.ExecuteTaskReconfigurationFailureService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -51,7 +53,10 @@ public class ExecuteTaskReconfigurationFailureServiceTest {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
         CFTTaskDatabaseService cftTaskDatabaseService = new CFTTaskDatabaseService(
             taskResourceRepository,
-            cftTaskMapper
+            cftTaskMapper,
+            new TaskSearchCountService(taskResourceRepository, new SimpleMeterRegistry(), 1000, 30, 10000),
+            new RoleSignatureCache(new SimpleMeterRegistry(), 300, 500000),
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa"))
         );
         executeTaskReconfigurationFailureService = new ExecuteTaskReconfigurationFailureService(
             cftTaskDatabaseService);
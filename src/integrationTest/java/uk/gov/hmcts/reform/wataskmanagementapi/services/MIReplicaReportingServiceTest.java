@@ -937,6 +937,35 @@ class MIReplicaReportingServiceTest {
 
     }
 
+    @Test
+    void should_mark_archived_task_for_deletion_on_replica_when_case_is_deleted() {
+        OffsetDateTime lastUpdated = OffsetDateTime.parse("2000-01-01T00:00:00Z");
+        TaskResource taskResource = createAndSaveTask();
+        taskResource.setState(CFTTaskState.COMPLETED);
+        taskResource.setLastUpdatedTimestamp(lastUpdated);
+        taskResourceRepository.save(taskResource);
+        String taskId = taskResource.getTaskId();
+
+        await()
+            .until(
+                () -> replicaTaskResourceRepository.getByTaskId(taskId)
+                    .map(task -> task.getState() == CFTTaskState.COMPLETED)
+                    .orElse(false));
+
+        assertEquals(1, taskResourceRepository.archiveTasks(lastUpdated.plusSeconds(1), 10));
+        taskResourceRepository.updateTaskDeletionTimestampByTaskIds(List.of(taskId));
+
+        await()
+            .until(
+                () -> {
+                    Optional<ReplicaTaskResource> replicaTask = replicaTaskResourceRepository.getByTaskId(taskId);
+
+                    assertTrue(replicaTask.isPresent());
+                    assertNotNull(replicaTask.get().getCaseDeletionTimestamp());
+                    return true;
+                });
+    }
+
     @Test
     void given_unknown_task_id_what_happens() {
         List<TaskHistoryResource> taskHistoryResourceList
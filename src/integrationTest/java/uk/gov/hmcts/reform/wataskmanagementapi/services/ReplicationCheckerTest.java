@@ -32,6 +32,7 @@ import java.util.UUID;
 import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNASSIGNED;
@@ -123,6 +124,12 @@ public class ReplicationCheckerTest {
         assertEquals(1, tasks.size());
         List<?> notReplicated = (List<?>) resourceMap.get("notReplicatedTaskIds");
         assertEquals(0, notReplicated.size());
+        assertFalse((Boolean) resourceMap.get("replicationLagging"));
+        assertNotNull(resourceMap.get("currentLsn"));
+        assertNotNull(resourceMap.get("confirmedFlushLsn"));
+        assertNotNull(resourceMap.get("receivedLsn"));
+        assertTrue((Long) resourceMap.get("slotLagBytes") >= 0);
+        assertTrue((Long) resourceMap.get("subscriptionLagBytes") >= 0);
 
     }
 
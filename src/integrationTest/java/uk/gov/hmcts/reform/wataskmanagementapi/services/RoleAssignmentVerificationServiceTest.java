@@ -6,6 +6,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.AccessControlService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.CftQueryService;
@@ -39,6 +40,8 @@ public class RoleAssignmentVerificationServiceTest {
     PermissionRequirements permissionsRequired;
     @MockitoBean
     CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
+    @MockitoBean
+    AccessControlService accessControlService;
 
     RoleAssignmentVerificationService roleAssignmentVerificationService;
 
@@ -46,7 +49,8 @@ public class RoleAssignmentVerificationServiceTest {
     void setUp() {
         roleAssignmentVerificationService = new RoleAssignmentVerificationService(cftTaskDatabaseService,
             cftQueryService,
-            cftSensitiveTaskEventLogsDatabaseService);
+            cftSensitiveTaskEventLogsDatabaseService,
+            accessControlService);
     }
 
     @Test
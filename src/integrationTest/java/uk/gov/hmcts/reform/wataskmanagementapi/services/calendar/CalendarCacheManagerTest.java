@@ -37,7 +37,7 @@ public class CalendarCacheManagerTest {
     private DateTypeConfigurator dateTypeConfigurator;
 
     @MockitoSpyBean
-    private PublicHolidayService publicHolidayService;
+    private PublicHolidayClient publicHolidayClient;
 
     @DisplayName("(Access calendars successfully and retrieve results which are also cached)")
     @Test
@@ -96,7 +96,7 @@ public class CalendarCacheManagerTest {
                     .value(CamundaValue.stringValue(expectedDueDate + "T20:00"))
                     .build()
             ));
-        verify(publicHolidayService, times(1)).getPublicHolidays(CALENDAR_URI);
+        verify(publicHolidayClient, times(1)).fetchPublicHolidays(CALENDAR_URI);
     }
 
     @DisplayName("(Access calendars successfully if cached information is not available)")
@@ -159,7 +159,7 @@ public class CalendarCacheManagerTest {
                     .build()
             ));
 
-        verify(publicHolidayService, times(1)).getPublicHolidays(CALENDAR_URI);
+        verify(publicHolidayClient, times(1)).fetchPublicHolidays(CALENDAR_URI);
     }
 
     @Configuration
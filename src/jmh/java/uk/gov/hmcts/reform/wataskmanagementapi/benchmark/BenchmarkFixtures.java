@@ -0,0 +1,143 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.benchmark;
+
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAttributeDefinition;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleCategory;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.ExecutionType;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TaskSystem;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.ExecutionTypeResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.NoteResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds the role assignments and tasks the benchmarks run against.
+ * A user's role assignments are a handful of organisational roles, one per location they work in, and the rest
+ * are case roles, one per case they have been allocated, which is what grows into the thousands.
+ */
+final class BenchmarkFixtures {
+
+    static final String JURISDICTION = "IA";
+    static final String CASE_TYPE = "Asylum";
+    static final List<String> LOCATIONS = List.of("765324", "231596", "698118", "366559", "386417");
+
+    private static final List<String> ORGANISATION_ROLE_NAMES = List.of(
+        "tribunal-caseworker", "senior-tribunal-caseworker", "hearing-centre-admin", "task-supervisor", "judge");
+    private static final List<String> CASE_ROLE_NAMES = List.of(
+        "case-manager", "lead-judge", "hearing-judge", "ftpa-judge", "case-allocator");
+    private static final int ORGANISATION_ROLE_ASSIGNMENTS = 5;
+    private static final long FIRST_CASE_ID = 1_623_278_362_430_000L;
+
+    private BenchmarkFixtures() {
+        // fixtures only
+    }
+
+    static List<RoleAssignment> roleAssignments(int count) {
+        List<RoleAssignment> roleAssignments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            roleAssignments.add(i < ORGANISATION_ROLE_ASSIGNMENTS
+                ? organisationRoleAssignment(i)
+                : caseRoleAssignment(i));
+        }
+        return roleAssignments;
+    }
+
+    /**
+     * Returns the case id of the role assignment at the given index, the task is on the case of the first
+     * case role assignment.
+     */
+    static String caseId(int index) {
+        return String.valueOf(FIRST_CASE_ID + index);
+    }
+
+    static TaskResource task(String taskId) {
+        TaskResource task = new TaskResource(taskId, "Review the appeal", "reviewAppeal", CFTTaskState.ASSIGNED,
+            caseId(ORGANISATION_ROLE_ASSIGNMENTS), "someAssignee");
+        task.setTaskSystem(TaskSystem.SELF);
+        task.setSecurityClassification(SecurityClassification.PUBLIC);
+        task.setTitle("Review the appeal");
+        task.setDescription("[Review the appeal](/case/IA/Asylum/${[CASE_REFERENCE]}/trigger/reviewAppeal)");
+        task.setNotes(List.of(new NoteResource("WARNING_CODE", "WARNING", "userId", "Some warning")));
+        task.setMajorPriority(5000);
+        task.setMinorPriority(500);
+        task.setPriorityDate(OffsetDateTime.parse("2024-01-10T16:00:00Z"));
+        task.setCreated(OffsetDateTime.parse("2024-01-01T10:15:30Z"));
+        task.setDueDateTime(OffsetDateTime.parse("2024-01-10T16:00:00Z"));
+        task.setAutoAssigned(false);
+        task.setHasWarnings(true);
+        task.setRoleCategory(RoleCategory.LEGAL_OPERATIONS.name());
+        task.setJurisdiction(JURISDICTION);
+        task.setCaseTypeId(CASE_TYPE);
+        task.setCaseName("Bob Smith");
+        task.setCaseCategory("Protection");
+        task.setRegion("1");
+        task.setLocation(LOCATIONS.get(0));
+        task.setLocationName("Taylor House");
+        task.setWorkTypeResource(new WorkTypeResource("hearing_work", "Hearing work"));
+        task.setExecutionTypeCode(new ExecutionTypeResource(ExecutionType.MANUAL, "Manual", "Manual Description"));
+        task.setAdditionalProperties(Map.of("key1", "value1", "key2", "value2"));
+
+        Set<TaskRoleResource> taskRoles = new HashSet<>();
+        List<String> roleNames = new ArrayList<>(ORGANISATION_ROLE_NAMES);
+        roleNames.addAll(CASE_ROLE_NAMES);
+        for (String roleName : roleNames) {
+            TaskRoleResource taskRole = new TaskRoleResource(roleName, true, true, true, false, false, false,
+                new String[]{"IAC"}, 1, false, RoleCategory.LEGAL_OPERATIONS.name(), taskId, task.getCreated());
+            taskRole.setTaskResource(task);
+            taskRoles.add(taskRole);
+        }
+        task.setTaskRoleResources(taskRoles);
+        return task;
+    }
+
+    private static RoleAssignment organisationRoleAssignment(int index) {
+        return RoleAssignment.builder()
+            .id("org-" + index)
+            .roleType(RoleType.ORGANISATION)
+            .roleName(ORGANISATION_ROLE_NAMES.get(index % ORGANISATION_ROLE_NAMES.size()))
+            .classification(Classification.PUBLIC)
+            .grantType(GrantType.STANDARD)
+            .roleCategory(RoleCategory.LEGAL_OPERATIONS)
+            .beginTime(OffsetDateTime.now().minusYears(1))
+            .endTime(OffsetDateTime.now().plusYears(1))
+            .attributes(Map.of(
+                RoleAttributeDefinition.JURISDICTION.value(), JURISDICTION,
+                RoleAttributeDefinition.REGION.value(), "1",
+                RoleAttributeDefinition.BASE_LOCATION.value(), LOCATIONS.get(index % LOCATIONS.size()),
+                RoleAttributeDefinition.WORK_TYPES.value(), "hearing_work,routine_work,decision_making_work"
+            ))
+            .authorisations(List.of("IAC", "373"))
+            .build();
+    }
+
+    private static RoleAssignment caseRoleAssignment(int index) {
+        return RoleAssignment.builder()
+            .id("case-" + index)
+            .roleType(RoleType.CASE)
+            .roleName(CASE_ROLE_NAMES.get(index % CASE_ROLE_NAMES.size()))
+            .classification(index % 10 == 0 ? Classification.RESTRICTED : Classification.PUBLIC)
+            .grantType(GrantType.SPECIFIC)
+            .roleCategory(RoleCategory.LEGAL_OPERATIONS)
+            .beginTime(OffsetDateTime.now().minusYears(1))
+            .endTime(OffsetDateTime.now().plusYears(1))
+            .attributes(Map.of(
+                RoleAttributeDefinition.JURISDICTION.value(), JURISDICTION,
+                RoleAttributeDefinition.CASE_TYPE.value(), CASE_TYPE,
+                RoleAttributeDefinition.CASE_ID.value(), caseId(index)
+            ))
+            .build();
+    }
+}
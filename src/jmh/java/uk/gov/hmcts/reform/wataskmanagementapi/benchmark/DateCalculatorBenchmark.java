@@ -0,0 +1,183 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateTypeConfigurator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DueDateCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DueDateIntervalCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DueDateOriginEarliestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DueDateOriginLatestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DueDateOriginRefCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DueDateTimeCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.IntermediateDateCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.IntermediateDateIntervalCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.IntermediateDateOriginEarliestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.IntermediateDateOriginLatestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.IntermediateDateOriginRefCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.NextHearingDateCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.NextHearingDateIntervalCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.NextHearingDateOriginEarliestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.NextHearingDateOriginLatestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.NextHearingDateOriginRefCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.PriorityDateCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.PriorityDateIntervalCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.PriorityDateOriginEarliestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.PriorityDateOriginLatestCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.PriorityDateOriginRefCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.PriorityDateTimeCalculator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.PublicHolidaysCollection;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.WorkingDayIndicator;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DEFAULT_NON_WORKING_CALENDAR;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DUE_DATE_INTERVAL_DAYS;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DUE_DATE_MUST_BE_WORKING_DAYS;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DUE_DATE_NON_WORKING_CALENDAR;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DUE_DATE_NON_WORKING_DAYS_OF_WEEK;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DUE_DATE_ORIGIN;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DUE_DATE_SKIP_NON_WORKING_DAYS;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.DUE_DATE_TIME;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.PRIORITY_DATE_INTERVAL_DAYS;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.PRIORITY_DATE_NON_WORKING_CALENDAR;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.PRIORITY_DATE_ORIGIN_REF;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateCalculator.PRIORITY_DATE_SKIP_NON_WORKING_DAYS;
+
+/**
+ * Measures calculating the due and priority dates of a task from the configuration DMN, and moving a date by a
+ * number of working days, for short and long intervals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateCalculatorBenchmark {
+
+    private static final LocalDate ORIGIN = LocalDate.of(2024, 1, 10);
+    private static final List<String> CALENDARS = List.of(DEFAULT_NON_WORKING_CALENDAR);
+    private static final List<String> WEEKEND = List.of("SATURDAY", "SUNDAY");
+
+    @Param({"1", "20", "250"})
+    private int intervalDays;
+
+    private WorkingDayIndicator workingDayIndicator;
+    private DateTypeConfigurator dateTypeConfigurator;
+    private List<ConfigurationDmnEvaluationResponse> dmnConfigurationResponses;
+
+    @Setup
+    public void setUp() {
+        workingDayIndicator = new WorkingDayIndicator(new FixedPublicHolidaysCollection(englandAndWalesHolidays()));
+        dateTypeConfigurator = new DateTypeConfigurator(List.of(
+            new DueDateCalculator(),
+            new DueDateTimeCalculator(),
+            new DueDateIntervalCalculator(workingDayIndicator),
+            new DueDateOriginRefCalculator(workingDayIndicator),
+            new DueDateOriginEarliestCalculator(workingDayIndicator),
+            new DueDateOriginLatestCalculator(workingDayIndicator),
+            new PriorityDateCalculator(),
+            new PriorityDateTimeCalculator(),
+            new PriorityDateIntervalCalculator(workingDayIndicator),
+            new PriorityDateOriginRefCalculator(workingDayIndicator),
+            new PriorityDateOriginEarliestCalculator(workingDayIndicator),
+            new PriorityDateOriginLatestCalculator(workingDayIndicator),
+            new NextHearingDateCalculator(),
+            new NextHearingDateIntervalCalculator(workingDayIndicator),
+            new NextHearingDateOriginRefCalculator(workingDayIndicator),
+            new NextHearingDateOriginEarliestCalculator(workingDayIndicator),
+            new NextHearingDateOriginLatestCalculator(workingDayIndicator),
+            new IntermediateDateCalculator(),
+            new IntermediateDateIntervalCalculator(workingDayIndicator),
+            new IntermediateDateOriginRefCalculator(workingDayIndicator),
+            new IntermediateDateOriginEarliestCalculator(workingDayIndicator),
+            new IntermediateDateOriginLatestCalculator(workingDayIndicator)
+        ));
+        dmnConfigurationResponses = List.of(
+            response(DUE_DATE_ORIGIN, ORIGIN + "T10:00"),
+            response(DUE_DATE_INTERVAL_DAYS, String.valueOf(intervalDays)),
+            response(DUE_DATE_NON_WORKING_CALENDAR, DEFAULT_NON_WORKING_CALENDAR),
+            response(DUE_DATE_NON_WORKING_DAYS_OF_WEEK, String.join(",", WEEKEND)),
+            response(DUE_DATE_SKIP_NON_WORKING_DAYS, "true"),
+            response(DUE_DATE_MUST_BE_WORKING_DAYS, "Next"),
+            response(DUE_DATE_TIME, "18:00"),
+            response(PRIORITY_DATE_ORIGIN_REF, "dueDate"),
+            response(PRIORITY_DATE_INTERVAL_DAYS, "-3"),
+            response(PRIORITY_DATE_NON_WORKING_CALENDAR, DEFAULT_NON_WORKING_CALENDAR),
+            response(PRIORITY_DATE_SKIP_NON_WORKING_DAYS, "true")
+        );
+    }
+
+    @Benchmark
+    public List<ConfigurationDmnEvaluationResponse> configureDates() {
+        Map<String, Object> taskAttributes = new HashMap<>();
+        return dateTypeConfigurator.configureDates(dmnConfigurationResponses, false, false, taskAttributes);
+    }
+
+    @Benchmark
+    public LocalDate plusWorkingDays() {
+        return workingDayIndicator.plusWorkingDays(ORIGIN, intervalDays, CALENDARS, WEEKEND);
+    }
+
+    private static ConfigurationDmnEvaluationResponse response(String name, String value) {
+        return ConfigurationDmnEvaluationResponse.builder()
+            .name(CamundaValue.stringValue(name))
+            .value(CamundaValue.stringValue(value))
+            .canReconfigure(CamundaValue.booleanValue(false))
+            .build();
+    }
+
+    /**
+     * The fixed England and Wales bank holidays, enough to move a date across a few years of working days.
+     */
+    private static Set<LocalDate> englandAndWalesHolidays() {
+        Set<LocalDate> holidays = new HashSet<>();
+        for (int year = 2018; year <= 2030; year++) {
+            holidays.add(LocalDate.of(year, 1, 1));
+            holidays.add(LocalDate.of(year, 5, 1).with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY)));
+            holidays.add(LocalDate.of(year, 5, 31).with(TemporalAdjusters.lastInMonth(DayOfWeek.MONDAY)));
+            holidays.add(LocalDate.of(year, 8, 31).with(TemporalAdjusters.lastInMonth(DayOfWeek.MONDAY)));
+            holidays.add(LocalDate.of(year, 12, 25));
+            holidays.add(LocalDate.of(year, 12, 26));
+        }
+        return Set.copyOf(holidays);
+    }
+
+    /**
+     * Returns the same public holidays for every calendar without calling the calendar API, the same instance is
+     * returned every time so the working day calendars stay cached as they do when the calendars are unchanged.
+     */
+    private static final class FixedPublicHolidaysCollection extends PublicHolidaysCollection {
+
+        private final Set<LocalDate> publicHolidays;
+
+        private FixedPublicHolidaysCollection(Set<LocalDate> publicHolidays) {
+            super(null);
+            this.publicHolidays = publicHolidays;
+        }
+
+        @Override
+        public Set<LocalDate> getPublicHolidays(List<String> uris) {
+            return publicHolidays;
+        }
+    }
+}
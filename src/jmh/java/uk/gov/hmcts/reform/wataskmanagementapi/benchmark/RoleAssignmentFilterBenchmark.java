@@ -0,0 +1,82 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.benchmark;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirementBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentFilter;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.CustomPostgreSQL94Dialect;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.ExecutionTypeResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the role assignment predicate of the criteria search.
+ * The Hibernate metamodel is built without a database connection, so only the predicate building is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoleAssignmentFilterBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    private int roleAssignmentCount;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder builder;
+    private PermissionRequirements permissionsRequired;
+    private List<RoleAssignment> roleAssignments;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(TaskResource.class)
+            .addAnnotatedClass(TaskRoleResource.class)
+            .addAnnotatedClass(WorkTypeResource.class)
+            .addAnnotatedClass(ExecutionTypeResource.class)
+            .setProperty(AvailableSettings.DIALECT, CustomPostgreSQL94Dialect.class.getName())
+            .setProperty(AvailableSettings.ALLOW_METADATA_ON_BOOT, "false")
+            .buildSessionFactory();
+        builder = sessionFactory.getCriteriaBuilder();
+        permissionsRequired = PermissionRequirementBuilder.builder().buildSingleType(PermissionTypes.READ);
+        roleAssignments = BenchmarkFixtures.roleAssignments(roleAssignmentCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate buildRoleAssignmentConstraints() {
+        CriteriaQuery<TaskResource> query = builder.createQuery(TaskResource.class);
+        Root<TaskResource> root = query.from(TaskResource.class);
+        return RoleAssignmentFilter.buildRoleAssignmentConstraints(permissionsRequired, roleAssignments, builder, root);
+    }
+}
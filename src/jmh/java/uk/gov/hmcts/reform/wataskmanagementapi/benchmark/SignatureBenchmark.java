@@ -0,0 +1,70 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the role and filter signatures a task search is matched against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignatureBenchmark {
+
+    @Param({"10", "100", "500", "2000"})
+    private int roleAssignmentCount;
+
+    private List<RoleAssignment> roleAssignments;
+    private SearchRequest allWorkRequest;
+    private SearchRequest availableTasksRequest;
+
+    @Setup
+    public void setUp() {
+        roleAssignments = BenchmarkFixtures.roleAssignments(roleAssignmentCount);
+        allWorkRequest = SearchRequest.builder()
+            .requestContext(RequestContext.ALL_WORK)
+            .jurisdictions(List.of(BenchmarkFixtures.JURISDICTION))
+            .locations(BenchmarkFixtures.LOCATIONS)
+            .build();
+        availableTasksRequest = allWorkRequest.toBuilder()
+            .requestContext(RequestContext.AVAILABLE_TASKS)
+            .workTypes(List.of("hearing_work", "routine_work"))
+            .build();
+    }
+
+    @Benchmark
+    public Set<String> buildRoleSignaturesForAllWork() {
+        return RoleSignatureBuilder.buildRoleSignatures(roleAssignments, allWorkRequest);
+    }
+
+    @Benchmark
+    public Set<String> buildRoleSignaturesForAvailableTasks() {
+        return RoleSignatureBuilder.buildRoleSignatures(roleAssignments, availableTasksRequest);
+    }
+
+    @Benchmark
+    public Set<String> buildFilterSignatures() {
+        return SearchFilterSignatureBuilder.buildFilterSignatures(availableTasksRequest);
+    }
+}
@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures mapping a page of search results to tasks, together with the union of the user's permissions on each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private static final int PAGE_SIZE = 25;
+
+    @Param({"10", "100", "500", "2000"})
+    private int roleAssignmentCount;
+
+    private CFTTaskMapper cftTaskMapper;
+    private List<RoleAssignment> roleAssignments;
+    private List<TaskResource> tasks;
+
+    @Setup
+    public void setUp() {
+        cftTaskMapper = new CFTTaskMapper(new ObjectMapper());
+        roleAssignments = BenchmarkFixtures.roleAssignments(roleAssignmentCount);
+        tasks = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            tasks.add(BenchmarkFixtures.task("taskId" + i));
+        }
+    }
+
+    @Benchmark
+    public void mapToTaskAndExtractPermissionsUnion(Blackhole blackhole) {
+        for (TaskResource task : tasks) {
+            blackhole.consume(cftTaskMapper.mapToTaskAndExtractPermissionsUnion(task, roleAssignments));
+        }
+    }
+}
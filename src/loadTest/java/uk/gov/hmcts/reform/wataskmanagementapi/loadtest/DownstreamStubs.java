@@ -0,0 +1,323 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.Token;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserInfo;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.ActorIdType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleCategory;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.response.RoleAssignmentResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAttributeDefinition.JURISDICTION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAttributeDefinition.PRIMARY_LOCATION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAttributeDefinition.WORK_TYPES;
+
+/**
+ * Stands in for IDAM, S2S, role assignment, Camunda and CCD, so the application can be driven without any of them.
+ * User tokens are real JWTs signed with a key generated for the run and published on the JWKS endpoint, so the
+ * application validates them the same way it does in production. Every response can be delayed to see how latency
+ * in the services the application calls shows in its own.
+ */
+public class DownstreamStubs implements AutoCloseable {
+
+    public static final String CASEWORKER_SERVICE = "xui_webapp";
+    public static final String TASK_INITIATION_SERVICE = "wa_case_event_handler";
+    public static final String CAMUNDA_PATH = "/engine-rest";
+
+    private static final String SYSTEM_USER_ID = "load-test-system-user";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final int CONTAINER_THREADS = 200;
+    // Long enough to outlast any run, as the tokens are not renewed
+    private static final Duration TOKEN_VALIDITY = Duration.ofDays(1);
+
+    private final WireMockServer server;
+    private final ObjectMapper objectMapper;
+    private final RSAKey signingKey;
+    private final int delayMillis;
+
+    public DownstreamStubs(int delayMillis) {
+        this.server = new WireMockServer(wireMockConfig()
+                                             .dynamicPort()
+                                             .containerThreads(CONTAINER_THREADS)
+                                             .disableRequestJournal());
+        this.objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        this.signingKey = generateSigningKey();
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Starts the stand-ins and stubs everything the application calls while starting up, so it has to be called
+     * before the application is started.
+     */
+    public void start() {
+        server.start();
+        stubOpenIdConfiguration();
+        stubSystemUser();
+        stubServiceAuthorisation();
+        stubRoleAssignmentQuery();
+        stubCamunda();
+        stubCaseDetails();
+    }
+
+    public String baseUrl() {
+        return server.baseUrl();
+    }
+
+    public String camundaUrl() {
+        return baseUrl() + CAMUNDA_PATH;
+    }
+
+    /**
+     * Stubs the user's details and role assignments, and returns a bearer token the application accepts for them.
+     * As for most caseworkers, the role has a primary location but no base location, so the user can work on
+     * tasks in every location of their jurisdiction.
+     */
+    public String stubUser(LoadTestUser user, String primaryLocation) {
+        String bearerToken = "Bearer " + signedJwt(user.id());
+        List<String> idamRoles = List.of("caseworker-" + user.jurisdiction().id().toLowerCase(Locale.ROOT));
+        UserInfo userInfo = new UserInfo(user.email(), user.id(), idamRoles, user.id(), user.id(), "Load test");
+        server.stubFor(get(urlPathEqualTo("/o/userinfo"))
+                           .withHeader("Authorization", equalTo(bearerToken))
+                           .willReturn(json(userInfo)));
+
+        RoleAssignment roleAssignment = organisationRoleAssignment(user, primaryLocation);
+        server.stubFor(get(urlPathEqualTo("/am/role-assignments/actors/" + user.id()))
+                           .willReturn(json(new RoleAssignmentResource(List.of(roleAssignment)))));
+        return bearerToken;
+    }
+
+    /**
+     * Returns the ServiceAuthorization header of a call from the named service.
+     */
+    public String serviceAuthorization(String serviceName) {
+        return "Bearer s2s-" + serviceName;
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+
+    private void stubOpenIdConfiguration() {
+        String issuer = baseUrl() + "/o";
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("issuer", issuer);
+        configuration.put("authorization_endpoint", issuer + "/authorize");
+        configuration.put("token_endpoint", issuer + "/token");
+        configuration.put("userinfo_endpoint", issuer + "/userinfo");
+        configuration.put("jwks_uri", issuer + "/jwks");
+        configuration.put("response_types_supported", List.of("code"));
+        configuration.put("subject_types_supported", List.of("public"));
+        configuration.put("id_token_signing_alg_values_supported", List.of(JWSAlgorithm.RS256.getName()));
+        configuration.put("scopes_supported", List.of("openid", "profile", "roles"));
+
+        server.stubFor(get(urlPathEqualTo("/o/.well-known/openid-configuration")).willReturn(json(configuration)));
+        server.stubFor(get(urlPathEqualTo("/o/jwks")).willReturn(
+            aResponse()
+                .withHeader("Content-Type", APPLICATION_JSON)
+                .withBody(new JWKSet(signingKey.toPublicJWK()).toString())));
+    }
+
+    private void stubSystemUser() {
+        String accessToken = signedJwt(SYSTEM_USER_ID);
+        server.stubFor(post(urlPathEqualTo("/o/token"))
+                           .willReturn(json(new Token(accessToken, "openid profile roles"))));
+        server.stubFor(get(urlPathEqualTo("/o/userinfo"))
+                           .withHeader("Authorization", equalTo("Bearer " + accessToken))
+                           .willReturn(json(new UserInfo(SYSTEM_USER_ID + "@load-test.local", SYSTEM_USER_ID,
+                                                         List.of("caseworker-wa-task-configuration"),
+                                                         SYSTEM_USER_ID, SYSTEM_USER_ID, "Load test"))));
+    }
+
+    /**
+     * The application's own token has to be a JWT, as the token generator reads its expiry to know when to lease
+     * a new one. The tokens of calling services are only sent to the details endpoint, which names the service.
+     */
+    private void stubServiceAuthorisation() {
+        server.stubFor(post(urlPathEqualTo("/lease")).willReturn(
+            delayed(aResponse().withBody(signedJwt("wa_task_management_api")))));
+        for (String serviceName : List.of(CASEWORKER_SERVICE, TASK_INITIATION_SERVICE)) {
+            server.stubFor(get(urlPathEqualTo("/details"))
+                               .withHeader("Authorization", containing(serviceAuthorization(serviceName)))
+                               .willReturn(delayed(aResponse().withBody(serviceName))));
+        }
+    }
+
+    /**
+     * Case role assignments are queried when a task is initiated to auto-assign it, none are returned so
+     * initiated tasks are left unassigned.
+     */
+    private void stubRoleAssignmentQuery() {
+        server.stubFor(post(urlPathEqualTo("/am/role-assignments/query")).willReturn(
+            json(new RoleAssignmentResource(List.of())).withHeader("Total-Records", "0")));
+    }
+
+    private void stubCamunda() {
+        server.stubFor(post(urlPathMatching(CAMUNDA_PATH + "/decision-definition/key/wa-task-configuration-.*"))
+                           .willReturn(json(configurationDmnResponse())));
+        server.stubFor(post(urlPathMatching(CAMUNDA_PATH + "/decision-definition/key/wa-task-permissions-.*"))
+                           .willReturn(json(permissionsDmnResponse())));
+        server.stubFor(post(urlPathEqualTo(CAMUNDA_PATH + "/history/variable-instance"))
+                           .willReturn(json(List.of())));
+        server.stubFor(get(urlPathEqualTo(CAMUNDA_PATH + "/decision-definition/"))
+                           .willReturn(json(List.of())));
+        // Task actions, such as claim, complete and local variable updates, return no content
+        server.stubFor(any(urlPathMatching(CAMUNDA_PATH + "/.*"))
+                           .atPriority(10)
+                           .willReturn(delayed(aResponse().withStatus(204))));
+    }
+
+    private void stubCaseDetails() {
+        TaskCorpusGenerator.Jurisdiction jurisdiction = TaskCorpusGenerator.JURISDICTIONS.get(0);
+        server.stubFor(get(urlPathMatching("/cases/.*")).willReturn(json(new CaseDetails(
+            jurisdiction.id(),
+            jurisdiction.caseType(),
+            "PUBLIC",
+            Map.of("appealType", "protection")
+        ))));
+    }
+
+    private static List<ConfigurationDmnEvaluationResponse> configurationDmnResponse() {
+        Map<String, String> configuration = new LinkedHashMap<>();
+        configuration.put("caseName", "Load test case");
+        configuration.put("appealType", "protection");
+        configuration.put("region", "1");
+        configuration.put("location", "100000");
+        configuration.put("locationName", "Location 100000");
+        configuration.put("workType", "decision_making_work");
+        configuration.put("roleCategory", "LEGAL_OPERATIONS");
+        configuration.put("caseManagementCategory", "Protection");
+        return configuration.entrySet().stream()
+            .map(entry -> ConfigurationDmnEvaluationResponse.builder()
+                .name(CamundaValue.stringValue(entry.getKey()))
+                .value(CamundaValue.stringValue(entry.getValue()))
+                .canReconfigure(CamundaValue.booleanValue(false))
+                .build())
+            .toList();
+    }
+
+    private static List<PermissionsDmnEvaluationResponse> permissionsDmnResponse() {
+        return List.of(
+            permission(TaskCorpusGenerator.CASEWORKER_ROLE, "Read,Own,Claim,Unclaim,Manage,Complete", 1),
+            permission("senior-tribunal-caseworker", "Read,Manage,Assign,Unassign,Cancel", 2)
+        );
+    }
+
+    private static PermissionsDmnEvaluationResponse permission(String roleName, String permissions, int priority) {
+        return PermissionsDmnEvaluationResponse.builder()
+            .name(CamundaValue.stringValue(roleName))
+            .value(CamundaValue.stringValue(permissions))
+            .assignmentPriority(CamundaValue.integerValue(priority))
+            .autoAssignable(CamundaValue.booleanValue(false))
+            .roleCategory(CamundaValue.stringValue("LEGAL_OPERATIONS"))
+            .build();
+    }
+
+    private static RoleAssignment organisationRoleAssignment(LoadTestUser user, String primaryLocation) {
+        return RoleAssignment.builder()
+            .id(UUID.randomUUID().toString())
+            .actorIdType(ActorIdType.IDAM)
+            .actorId(user.id())
+            .roleType(RoleType.ORGANISATION)
+            .roleName(TaskCorpusGenerator.CASEWORKER_ROLE)
+            .classification(Classification.PUBLIC)
+            .grantType(GrantType.STANDARD)
+            .roleCategory(RoleCategory.LEGAL_OPERATIONS)
+            .beginTime(OffsetDateTime.now().minusYears(1))
+            .endTime(OffsetDateTime.now().plusYears(1))
+            .attributes(Map.of(
+                JURISDICTION.value(), user.jurisdiction().id(),
+                PRIMARY_LOCATION.value(), primaryLocation,
+                WORK_TYPES.value(), String.join(",", TaskCorpusGenerator.WORK_TYPES)
+            ))
+            .authorisations(List.of())
+            .build();
+    }
+
+    private ResponseDefinitionBuilder json(Object body) {
+        try {
+            return delayed(aResponse()
+                               .withHeader("Content-Type", APPLICATION_JSON)
+                               .withBody(objectMapper.writeValueAsString(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise stub response", e);
+        }
+    }
+
+    private ResponseDefinitionBuilder delayed(ResponseDefinitionBuilder response) {
+        return delayMillis > 0 ? response.withFixedDelay(delayMillis) : response;
+    }
+
+    private String signedJwt(String subject) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+            .issuer(baseUrl() + "/o")
+            .subject(subject)
+            .claim("tokenName", "access_token")
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plus(TOKEN_VALIDITY)))
+            .build();
+        SignedJWT jwt = new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+            claims
+        );
+        try {
+            jwt.sign(new RSASSASigner(signingKey));
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign load test token", e);
+        }
+        return jwt.serialize();
+    }
+
+    private static RSAKey generateSigningKey() {
+        try {
+            return new RSAKeyGenerator(2048).keyID(UUID.randomUUID().toString()).generate();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not generate load test signing key", e);
+        }
+    }
+}
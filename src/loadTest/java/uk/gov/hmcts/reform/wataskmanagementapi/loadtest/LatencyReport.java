@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.loadtest.LoadDriver.OUTCOME_TAG;
+import static uk.gov.hmcts.reform.wataskmanagementapi.loadtest.LoadDriver.SCENARIO_TAG;
+
+/**
+ * The latency of each scenario over a measured run, by outcome, with the requests dropped because too many were in
+ * flight and those not sent because the scenario ran out of tasks.
+ */
+@Slf4j
+public record LatencyReport(double durationSeconds,
+                            List<ScenarioLatency> latencies,
+                            Map<String, Double> dropped,
+                            Map<String, Double> exhausted) {
+
+    private static final String ROW_FORMAT = "%-10s %-8s %9s %9s %9s %9s %9s %9s %9s %9s";
+
+    public static LatencyReport from(MeterRegistry registry, Duration duration) {
+        double durationSeconds = duration.toMillis() / 1000.0;
+        List<ScenarioLatency> latencies = registry.find(LoadDriver.REQUEST_METER).timers().stream()
+            .map(timer -> ScenarioLatency.from(timer, durationSeconds))
+            .sorted(Comparator.comparing(ScenarioLatency::scenario).thenComparing(ScenarioLatency::outcome))
+            .toList();
+        return new LatencyReport(
+            durationSeconds,
+            latencies,
+            countsByScenario(registry, LoadDriver.DROPPED_METER),
+            countsByScenario(registry, LoadDriver.EXHAUSTED_METER)
+        );
+    }
+
+    public void log() {
+        StringBuilder table = new StringBuilder(System.lineSeparator())
+            .append(String.format(ROW_FORMAT, "scenario", "outcome", "count", "req/s", "mean ms", "p50 ms", "p90 ms",
+                                  "p95 ms", "p99 ms", "max ms"));
+        for (ScenarioLatency latency : latencies) {
+            table.append(System.lineSeparator()).append(String.format(
+                ROW_FORMAT,
+                latency.scenario(),
+                latency.outcome(),
+                latency.count(),
+                format(latency.throughput()),
+                format(latency.meanMillis()),
+                format(latency.percentileMillis().get("p50")),
+                format(latency.percentileMillis().get("p90")),
+                format(latency.percentileMillis().get("p95")),
+                format(latency.percentileMillis().get("p99")),
+                format(latency.maxMillis())
+            ));
+        }
+        log.info("Latency over {} seconds:{}", durationSeconds, table);
+        if (!dropped.isEmpty()) {
+            log.warn("Requests dropped as too many were in flight: {}", dropped);
+        }
+        if (!exhausted.isEmpty()) {
+            log.warn("Requests not sent as the scenario ran out of tasks: {}", exhausted);
+        }
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(path.toFile(), this);
+        log.info("Latency report written to {}", path.toAbsolutePath());
+    }
+
+    private static Map<String, Double> countsByScenario(MeterRegistry registry, String name) {
+        Map<String, Double> counts = new TreeMap<>();
+        for (Counter counter : registry.find(name).counters()) {
+            counts.merge(counter.getId().getTag(SCENARIO_TAG), counter.count(), Double::sum);
+        }
+        return counts;
+    }
+
+    private static String format(Double value) {
+        return value == null ? "-" : String.format("%.1f", value);
+    }
+
+    /**
+     * The latency of the requests of one scenario with the same outcome, 2xx, 4xx, 5xx or error.
+     */
+    public record ScenarioLatency(String scenario,
+                                  String outcome,
+                                  long count,
+                                  double throughput,
+                                  double meanMillis,
+                                  double maxMillis,
+                                  Map<String, Double> percentileMillis) {
+
+        static ScenarioLatency from(Timer timer, double durationSeconds) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                percentiles.put("p" + Math.round(percentile.percentile() * 100),
+                                percentile.value(TimeUnit.MILLISECONDS));
+            }
+            return new ScenarioLatency(
+                timer.getId().getTag(SCENARIO_TAG),
+                timer.getId().getTag(OUTCOME_TAG),
+                snapshot.count(),
+                snapshot.count() / durationSeconds,
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS),
+                percentiles
+            );
+        }
+    }
+}
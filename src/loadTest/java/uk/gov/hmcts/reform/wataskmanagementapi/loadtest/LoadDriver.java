@@ -0,0 +1,139 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Drives requests at a fixed rate per scenario, whether or not earlier requests have completed, as users do.
+ * Latency is measured from when a request was due to be sent rather than when it was sent, so time a request
+ * spends waiting behind a slow one is counted rather than hidden. Requests due while too many are in flight are
+ * dropped and counted, so an overloaded application shows as dropped requests rather than a queue in the driver.
+ */
+@Slf4j
+public class LoadDriver {
+
+    public static final String REQUEST_METER = "load_test.request";
+    public static final String DROPPED_METER = "load_test.dropped";
+    public static final String EXHAUSTED_METER = "load_test.exhausted";
+    public static final String SCENARIO_TAG = "scenario";
+    public static final String OUTCOME_TAG = "outcome";
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99};
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+
+    private final HttpClient httpClient;
+    private final int maxInFlight;
+
+    public LoadDriver(int maxInFlight) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Drives the scenarios for the given duration and waits for the requests in flight to complete.
+     *
+     * @return the registry holding the latency of every request, by scenario and outcome.
+     */
+    public MeterRegistry run(List<Scenario> scenarios, Duration duration) throws InterruptedException {
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(scenarios.size());
+        long started = System.nanoTime();
+
+        for (Scenario scenario : scenarios) {
+            if (scenario.rate() <= 0) {
+                continue;
+            }
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate());
+            AtomicLong due = new AtomicLong();
+            scheduler.scheduleAtFixedRate(
+                () -> send(scenario, started + due.getAndIncrement() * intervalNanos, inFlight, registry),
+                0,
+                intervalNanos,
+                TimeUnit.NANOSECONDS
+            );
+        }
+
+        TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        scheduler.shutdownNow();
+        if (!inFlight.tryAcquire(maxInFlight, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("{} requests were still in flight {} after the run ended",
+                     maxInFlight - inFlight.availablePermits(), DRAIN_TIMEOUT);
+        }
+        return registry;
+    }
+
+    private void send(Scenario scenario, long dueNanos, Semaphore inFlight, MeterRegistry registry) {
+        try {
+            Optional<HttpRequest> request = scenario.requests().get();
+            if (request.isEmpty()) {
+                counter(registry, EXHAUSTED_METER, scenario).increment();
+                return;
+            }
+            if (!inFlight.tryAcquire()) {
+                counter(registry, DROPPED_METER, scenario).increment();
+                return;
+            }
+            httpClient.sendAsync(request.get(), HttpResponse.BodyHandlers.discarding())
+                .orTimeout(REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((response, error) -> {
+                    inFlight.release();
+                    timer(registry, scenario, outcome(response, error))
+                        .record(System.nanoTime() - dueNanos, TimeUnit.NANOSECONDS);
+                });
+        } catch (RuntimeException e) {
+            // An exception would cancel the scenario's schedule, so it is counted as a failed request instead
+            log.warn("Could not send {} request", scenario.name(), e);
+            timer(registry, scenario, "error").record(System.nanoTime() - dueNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String outcome(HttpResponse<Void> response, Throwable error) {
+        return error == null ? response.statusCode() / 100 + "xx" : "error";
+    }
+
+    private static Timer timer(MeterRegistry registry, Scenario scenario, String outcome) {
+        return Timer.builder(REQUEST_METER)
+            .tag(SCENARIO_TAG, scenario.name())
+            .tag(OUTCOME_TAG, outcome)
+            .publishPercentiles(PERCENTILES)
+            .percentilePrecision(3)
+            // Percentiles are over the whole run rather than the last few minutes
+            .distributionStatisticExpiry(Duration.ofDays(1))
+            .distributionStatisticBufferLength(1)
+            .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, Scenario scenario) {
+        return Counter.builder(name)
+            .tag(SCENARIO_TAG, scenario.name())
+            .register(registry);
+    }
+
+    /**
+     * A kind of request driven at a fixed rate. The supplier returns an empty request once it has run out of
+     * tasks to act on, such as when every claimable task has been claimed.
+     */
+    public record Scenario(String name, double rate, Supplier<Optional<HttpRequest>> requests) {
+    }
+}
@@ -0,0 +1,178 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTaskRequestMap;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.SearchTaskRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchOperator;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterList;
+import uk.gov.hmcts.reform.wataskmanagementapi.loadtest.TaskCorpusGenerator.CorpusTask;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.config.SecurityConfiguration.SERVICE_AUTHORIZATION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.InitiateTaskOperation.INITIATION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaTime.CAMUNDA_DATA_TIME_FORMATTER;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.CASE_ID;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.DUE_DATE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.TASK_NAME;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.TASK_TYPE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.TITLE;
+
+/**
+ * Builds the requests of each scenario, as the caseworker UI and the case event handler send them.
+ * Searches are a mix of the available tasks, all work and my tasks views, filtered to the user's jurisdiction.
+ * Claims and completions each act on a task from a pool loaded from the corpus, so no task is claimed or completed
+ * twice, and are sent as a user who is allowed to.
+ */
+public class LoadScenarios {
+
+    public static final String SEARCH = "search";
+    public static final String CLAIM = "claim";
+    public static final String COMPLETE = "complete";
+    public static final String INITIATE = "initiate";
+
+    private static final int PAGE_SIZE = 25;
+    private static final int MAX_LOCATION_FILTERS = 3;
+    private static final long FIRST_INITIATED_CASE_ID = 1_700_000_000_000_000L;
+
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final DownstreamStubs stubs;
+    private final List<Caller> callers;
+    private final Map<String, List<Caller>> callersByJurisdiction;
+    private final Map<String, Caller> callersById;
+    private final List<String> locations;
+    private final Queue<CorpusTask> claimableTasks;
+    private final Queue<CorpusTask> completableTasks;
+
+    public LoadScenarios(URI baseUri,
+                         ObjectMapper objectMapper,
+                         DownstreamStubs stubs,
+                         List<Caller> callers,
+                         List<String> locations,
+                         List<CorpusTask> claimableTasks,
+                         List<CorpusTask> completableTasks) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.stubs = stubs;
+        this.callers = List.copyOf(callers);
+        this.callersByJurisdiction = callers.stream()
+            .collect(Collectors.groupingBy(caller -> caller.user().jurisdiction().id()));
+        this.callersById = callers.stream()
+            .collect(Collectors.toMap(caller -> caller.user().id(), caller -> caller));
+        this.locations = List.copyOf(locations);
+        this.claimableTasks = new ConcurrentLinkedQueue<>(claimableTasks);
+        this.completableTasks = new ConcurrentLinkedQueue<>(completableTasks);
+    }
+
+    public List<LoadDriver.Scenario> scenarios(LoadTestProperties properties) {
+        return List.of(
+            new LoadDriver.Scenario(SEARCH, properties.searchRate(), () -> Optional.of(search())),
+            new LoadDriver.Scenario(CLAIM, properties.claimRate(), this::claim),
+            new LoadDriver.Scenario(COMPLETE, properties.completeRate(), this::complete),
+            new LoadDriver.Scenario(INITIATE, properties.initiateRate(), () -> Optional.of(initiate()))
+        );
+    }
+
+    private HttpRequest search() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Caller caller = callers.get(random.nextInt(callers.size()));
+        SearchParameterList jurisdiction = new SearchParameterList(
+            SearchParameterKey.JURISDICTION, SearchOperator.IN, List.of(caller.user().jurisdiction().id()));
+
+        SearchTaskRequest searchTaskRequest = switch (random.nextInt(10)) {
+            case 0, 1, 2, 3 -> new SearchTaskRequest(
+                RequestContext.AVAILABLE_TASKS, List.of(jurisdiction, locationFilter(random)));
+            case 4, 5, 6 -> new SearchTaskRequest(
+                RequestContext.ALL_WORK, List.of(jurisdiction, locationFilter(random)));
+            default -> new SearchTaskRequest(List.of(
+                jurisdiction,
+                new SearchParameterList(SearchParameterKey.USER, SearchOperator.IN, List.of(caller.user().id())),
+                new SearchParameterList(SearchParameterKey.STATE, SearchOperator.IN, List.of("ASSIGNED"))
+            ));
+        };
+
+        return userRequest(caller, "/task?first_result=0&max_results=" + PAGE_SIZE)
+            .POST(jsonBody(searchTaskRequest))
+            .build();
+    }
+
+    private Optional<HttpRequest> claim() {
+        return Optional.ofNullable(claimableTasks.poll())
+            .map(task -> {
+                List<Caller> candidates = callersByJurisdiction.get(task.jurisdiction());
+                Caller caller = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+                return userRequest(caller, "/task/" + task.taskId() + "/claim")
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            });
+    }
+
+    private Optional<HttpRequest> complete() {
+        return Optional.ofNullable(completableTasks.poll())
+            .map(task -> userRequest(callersById.get(task.assignee()), "/task/" + task.taskId() + "/complete")
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    private HttpRequest initiate() {
+        long caseId = FIRST_INITIATED_CASE_ID + ThreadLocalRandom.current().nextLong(1_000_000L);
+        Map<String, Object> taskAttributes = new HashMap<>();
+        taskAttributes.put(TASK_NAME.value(), "Review the appeal");
+        taskAttributes.put(TASK_TYPE.value(), "reviewTheAppeal");
+        taskAttributes.put(CASE_ID.value(), String.valueOf(caseId));
+        taskAttributes.put(TITLE.value(), "Review the appeal");
+        taskAttributes.put(DUE_DATE.value(), CAMUNDA_DATA_TIME_FORMATTER.format(ZonedDateTime.now().plusDays(10)));
+
+        return HttpRequest.newBuilder(baseUri.resolve("/task/" + UUID.randomUUID() + "/initiation"))
+            .header(SERVICE_AUTHORIZATION, stubs.serviceAuthorization(DownstreamStubs.TASK_INITIATION_SERVICE))
+            .header("Content-Type", "application/json")
+            .POST(jsonBody(new InitiateTaskRequestMap(INITIATION, taskAttributes)))
+            .build();
+    }
+
+    private SearchParameterList locationFilter(ThreadLocalRandom random) {
+        int count = 1 + random.nextInt(MAX_LOCATION_FILTERS);
+        List<String> filter = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            filter.add(locations.get(random.nextInt(locations.size())));
+        }
+        return new SearchParameterList(SearchParameterKey.LOCATION, SearchOperator.IN, filter);
+    }
+
+    private HttpRequest.Builder userRequest(Caller caller, String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+            .header("Authorization", caller.bearerToken())
+            .header(SERVICE_AUTHORIZATION, stubs.serviceAuthorization(DownstreamStubs.CASEWORKER_SERVICE))
+            .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise request body", e);
+        }
+    }
+
+    /**
+     * A load test user and the bearer token their requests are sent with.
+     */
+    public record Caller(LoadTestUser user, String bearerToken) {
+    }
+}
@@ -0,0 +1,82 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load test run, read from the loadTest.* system properties, which the loadTest Gradle task passes
+ * through from -PloadTest.* project properties.
+ *
+ * @param tasks                 number of tasks in the generated corpus.
+ * @param batchSize             number of tasks generated in each transaction.
+ * @param usersPerJurisdiction  number of caseworkers in each jurisdiction.
+ * @param locations             number of locations the tasks are spread across.
+ * @param tasksPerCase          number of tasks on each case.
+ * @param searchRate            task searches started per second.
+ * @param claimRate             task claims started per second.
+ * @param completeRate          task completions started per second.
+ * @param initiateRate          task initiations started per second.
+ * @param warmup                how long requests are driven before latencies are recorded.
+ * @param duration              how long latencies are recorded for.
+ * @param maxInFlight           requests in flight above which new requests are dropped rather than queued.
+ * @param downstreamDelayMillis delay added to every downstream stand-in response.
+ * @param postgresImage         the Postgres image the corpus is generated in.
+ * @param report                file the latency report is written to.
+ */
+public record LoadTestProperties(int tasks,
+                                 int batchSize,
+                                 int usersPerJurisdiction,
+                                 int locations,
+                                 int tasksPerCase,
+                                 double searchRate,
+                                 double claimRate,
+                                 double completeRate,
+                                 double initiateRate,
+                                 Duration warmup,
+                                 Duration duration,
+                                 int maxInFlight,
+                                 int downstreamDelayMillis,
+                                 String postgresImage,
+                                 Path report) {
+
+    private static final String PREFIX = "loadTest.";
+
+    public static LoadTestProperties fromSystemProperties() {
+        return new LoadTestProperties(
+            intProperty("tasks", 1_000_000),
+            intProperty("batchSize", 50_000),
+            intProperty("usersPerJurisdiction", 20),
+            intProperty("locations", 50),
+            intProperty("tasksPerCase", 5),
+            doubleProperty("searchRate", 50),
+            doubleProperty("claimRate", 5),
+            doubleProperty("completeRate", 5),
+            doubleProperty("initiateRate", 5),
+            Duration.ofSeconds(intProperty("warmupSeconds", 30)),
+            Duration.ofSeconds(intProperty("durationSeconds", 120)),
+            intProperty("maxInFlight", 500),
+            intProperty("downstreamDelayMillis", 0),
+            property("postgresImage", "postgres:14"),
+            Path.of(property("report", "build/reports/load-test/results.json"))
+        );
+    }
+
+    /**
+     * Returns how many requests the rate needs over the whole run, warm up included.
+     */
+    public int requestsNeeded(double rate) {
+        return (int) Math.ceil(rate * warmup.plus(duration).toSeconds());
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(property(name, String.valueOf(defaultValue)));
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        return Double.parseDouble(property(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import uk.gov.hmcts.reform.wataskmanagementapi.Application;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the application against a generated task corpus in Postgres, with the services it calls stood in for by
+ * {@link DownstreamStubs}, and reports the latency of searching, claiming, completing and initiating tasks.
+ * The application is started in this JVM with its own configuration and security, pointed at the container and
+ * the stand-ins, so only the services it calls are stood in for.
+ *
+ * <p>Run with {@code ./gradlew loadTest}, passing any {@link LoadTestProperties} as -PloadTest.* properties.
+ * Docker is needed to run Postgres.
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String DATABASE_NAME = "cft_task_db";
+    private static final String DATABASE_USER = "wa_user";
+    private static final String DATABASE_PASSWORD = "wa_password";
+    private static final long SHARED_MEMORY_BYTES = 1L << 30;
+
+    private LoadTestRunner() {
+        // entry point only
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestProperties properties = LoadTestProperties.fromSystemProperties();
+        log.info("Running load test with {}", properties);
+
+        try (PostgreSQLContainer<?> postgres = postgres(properties);
+             DownstreamStubs stubs = new DownstreamStubs(properties.downstreamDelayMillis())) {
+            postgres.start();
+            stubs.start();
+
+            try (ConfigurableApplicationContext application = startApplication(postgres, stubs)) {
+                run(properties, postgres, stubs, application);
+            }
+        }
+        // Clients the application starts, such as LaunchDarkly, leave threads behind that would keep the JVM alive
+        System.exit(0);
+    }
+
+    private static void run(LoadTestProperties properties,
+                            PostgreSQLContainer<?> postgres,
+                            DownstreamStubs stubs,
+                            ConfigurableApplicationContext application) throws Exception {
+        TaskCorpusGenerator generator = new TaskCorpusGenerator(
+            new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()),
+            properties
+        );
+        generator.generate();
+
+        List<String> locations = TaskCorpusGenerator.locations(properties.locations());
+        List<LoadTestUser> users = TaskCorpusGenerator.users(properties.usersPerJurisdiction());
+        List<LoadScenarios.Caller> callers = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            LoadTestUser user = users.get(i);
+            callers.add(new LoadScenarios.Caller(user, stubs.stubUser(user, locations.get(i % locations.size()))));
+        }
+
+        int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+        LoadScenarios scenarios = new LoadScenarios(
+            URI.create("http://localhost:" + port),
+            application.getBean(ObjectMapper.class),
+            stubs,
+            callers,
+            locations,
+            generator.claimableTasks(properties.requestsNeeded(properties.claimRate())),
+            generator.completableTasks(properties.requestsNeeded(properties.completeRate()))
+        );
+        List<LoadDriver.Scenario> scenarioList = scenarios.scenarios(properties);
+        LoadDriver driver = new LoadDriver(properties.maxInFlight());
+
+        log.info("Warming up for {}", properties.warmup());
+        driver.run(scenarioList, properties.warmup());
+        log.info("Measuring for {}", properties.duration());
+        MeterRegistry results = driver.run(scenarioList, properties.duration());
+
+        LatencyReport report = LatencyReport.from(results, properties.duration());
+        report.log();
+        report.write(properties.report());
+    }
+
+    /**
+     * Unlike the integration test database, fsync is left on, so writes cost what they do in production.
+     */
+    private static PostgreSQLContainer<?> postgres(LoadTestProperties properties) {
+        return new PostgreSQLContainer<>(DockerImageName.parse(properties.postgresImage())
+                                             .asCompatibleSubstituteFor("postgres"))
+            .withDatabaseName(DATABASE_NAME)
+            .withUsername(DATABASE_USER)
+            .withPassword(DATABASE_PASSWORD)
+            .withSharedMemorySize(SHARED_MEMORY_BYTES)
+            .withCommand("postgres", "-c", "max_connections=300", "-c", "shared_buffers=512MB");
+    }
+
+    private static ConfigurableApplicationContext startApplication(PostgreSQLContainer<?> postgres,
+                                                                   DownstreamStubs stubs) {
+        // Passed as command line arguments so they take precedence over application.yaml
+        return new SpringApplicationBuilder(Application.class).run(
+            "--server.port=0",
+            "--POSTGRES_HOST=" + postgres.getHost(),
+            "--POSTGRES_PORT=" + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT),
+            "--POSTGRES_NAME=" + DATABASE_NAME,
+            "--POSTGRES_USERNAME=" + postgres.getUsername(),
+            "--POSTGRES_PASSWORD=" + postgres.getPassword(),
+            "--REPLICATION_USERNAME=repl_user",
+            "--OPEN_ID_IDAM_URL=" + stubs.baseUrl(),
+            "--IDAM_URL=" + stubs.baseUrl(),
+            "--S2S_URL=" + stubs.baseUrl(),
+            "--ROLE_ASSIGNMENT_URL=" + stubs.baseUrl(),
+            "--CCD_URL=" + stubs.baseUrl(),
+            "--CAMUNDA_URL=" + stubs.camundaUrl(),
+            "--logging.level.root=WARN",
+            "--logging.level.uk.gov.hmcts.reform.wataskmanagementapi.loadtest=INFO"
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+/**
+ * A caseworker the load is driven as, with an organisational role in a single jurisdiction.
+ */
+public record LoadTestUser(String id, TaskCorpusGenerator.Jurisdiction jurisdiction) {
+
+    public String email() {
+        return id + "@load-test.local";
+    }
+}
@@ -0,0 +1,204 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+
+/**
+ * Generates a task corpus shaped like production in the tasks and task_roles tables.
+ * Rows are generated by Postgres with generate_series, a batch of tasks at a time, so millions of tasks can be
+ * generated without sending them over the connection. As in production, most tasks are completed, cancelled or
+ * terminated, and only the assigned and unassigned tasks are added to the search index. They are added once their
+ * roles have been inserted, the same as the application does.
+ */
+@Slf4j
+public class TaskCorpusGenerator {
+
+    public static final List<Jurisdiction> JURISDICTIONS = List.of(
+        new Jurisdiction("IA", "Asylum"),
+        new Jurisdiction("SSCS", "Benefit"),
+        new Jurisdiction("CIVIL", "CIVIL"),
+        new Jurisdiction("PRIVATELAW", "PRLAPPS"),
+        new Jurisdiction("PUBLICLAW", "CARE_SUPERVISION_EPO"),
+        new Jurisdiction("EMPLOYMENT", "ET_EnglandWales")
+    );
+    public static final List<String> WORK_TYPES = List.of(
+        "hearing_work", "routine_work", "decision_making_work", "applications", "priority", "access_requests",
+        "error_management"
+    );
+    public static final String CASEWORKER_ROLE = "tribunal-caseworker";
+
+    private static final String USER_ID_PREFIX = "load-test-user-";
+    private static final int FIRST_LOCATION = 100_000;
+    private static final long FIRST_CASE_ID = 1_600_000_000_000_000L;
+
+    private static final String INSERT_TASKS = """
+        insert into cft_task_db.tasks (task_id, task_name, task_type, due_date_time, state, task_system,
+            security_classification, title, major_priority, minor_priority, priority_date, assignee, auto_assigned,
+            execution_type_code, work_type, role_category, has_warnings, case_id, case_type_id, case_category,
+            case_name, jurisdiction, region, region_name, location, location_name, termination_reason, created,
+            indexed)
+        select md5('load-test-task-' || t.i)::uuid::text, 'Review the appeal', 'reviewTheAppeal',
+            t.created + interval '10 days', t.state::cft_task_db.task_state_enum,
+            'SELF'::cft_task_db.task_system_enum,
+            t.classification::cft_task_db.security_classification_enum, 'Review the appeal', 5000, 500,
+            t.created + interval '10 days',
+            case when t.state = 'ASSIGNED' then :userIdPrefix
+                || (t.j + :jurisdictionCount * (abs(hashtext('u' || t.i)) %% :usersPerJurisdiction))
+            end,
+            false, 'MANUAL'::cft_task_db.execution_type_enum,
+            (%s)[1 + abs(hashtext('w' || t.i)) %% %d], 'LEGAL_OPERATIONS', false,
+            (:firstCaseId + (t.i / :jurisdictionCount / :tasksPerCase) * :jurisdictionCount + t.j)::text,
+            (%s)[1 + t.j], 'Protection', 'Case ' || (t.i / :jurisdictionCount / :tasksPerCase),
+            (%s)[1 + t.j], (1 + t.location %% 7)::text, 'Region ' || (1 + t.location %% 7),
+            t.location::text, 'Location ' || t.location,
+            case when t.state = 'TERMINATED' then 'completed' end, t.created, false
+        from (
+            select i,
+                i %% :jurisdictionCount as j,
+                :firstLocation + abs(hashtext('l' || i)) %% :locations as location,
+                now() - (abs(hashtext('d' || i)) %% 365) * interval '1 day' as created,
+                case
+                    when abs(hashtext('s' || i)) %% 20 < 6 then 'UNASSIGNED'
+                    when abs(hashtext('s' || i)) %% 20 < 10 then 'ASSIGNED'
+                    when abs(hashtext('s' || i)) %% 20 < 17 then 'COMPLETED'
+                    when abs(hashtext('s' || i)) %% 20 < 19 then 'CANCELLED'
+                    else 'TERMINATED'
+                end as state,
+                case
+                    when abs(hashtext('c' || i)) %% 50 = 0 then 'RESTRICTED'
+                    when abs(hashtext('c' || i)) %% 50 < 5 then 'PRIVATE'
+                    else 'PUBLIC'
+                end as classification
+            from generate_series(:from, :to) as i
+        ) t
+        """.formatted(
+        sqlArray(WORK_TYPES), WORK_TYPES.size(),
+        sqlArray(JURISDICTIONS.stream().map(Jurisdiction::caseType).toList()),
+        sqlArray(JURISDICTIONS.stream().map(Jurisdiction::id).toList())
+    );
+
+    private static final String INSERT_TASK_ROLES = """
+        insert into cft_task_db.task_roles (task_role_id, role_name, read, own, execute, manage, cancel, refer, claim,
+            complete, complete_own, cancel_own, unclaim, assign, unassign, unclaim_assign, unassign_claim,
+            unassign_assign, authorizations, assignment_priority, auto_assignable, role_category, task_id, created)
+        select md5(t.task_id || r.role_name)::uuid, r.role_name, true, r.own, r.own, r.manage, r.manage, false,
+            r.own, r.own, false, false, r.own, r.manage, r.manage, false, false, false,
+            '{}', r.assignment_priority, false, r.role_category, t.task_id, now()
+        from (
+            select md5('load-test-task-' || i)::uuid::text as task_id from generate_series(:from, :to) as i
+        ) t
+        cross join (values
+            ('tribunal-caseworker', true, true, 1, 'LEGAL_OPERATIONS'),
+            ('senior-tribunal-caseworker', false, true, 2, 'LEGAL_OPERATIONS'),
+            ('hearing-centre-admin', false, false, 3, 'ADMIN')
+        ) as r(role_name, own, manage, assignment_priority, role_category)
+        """;
+
+    private static final String INDEX_TASKS = """
+        update cft_task_db.tasks set indexed = true
+        where task_id in (
+            select md5('load-test-task-' || i)::uuid::text from generate_series(:from, :to) as i
+        )
+        and state in ('ASSIGNED', 'UNASSIGNED')
+        """;
+
+    private static final String CLAIMABLE_TASKS = """
+        select task_id, jurisdiction, assignee from cft_task_db.tasks
+        where state = 'UNASSIGNED' and security_classification = 'PUBLIC' and indexed
+        limit :limit
+        """;
+
+    private static final String COMPLETABLE_TASKS = """
+        select task_id, jurisdiction, assignee from cft_task_db.tasks
+        where state = 'ASSIGNED' and security_classification = 'PUBLIC' and indexed
+        limit :limit
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final LoadTestProperties properties;
+
+    public TaskCorpusGenerator(DataSource dataSource, LoadTestProperties properties) {
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        this.properties = properties;
+    }
+
+    public static List<LoadTestUser> users(int usersPerJurisdiction) {
+        return IntStream.range(0, JURISDICTIONS.size() * usersPerJurisdiction)
+            .mapToObj(n -> new LoadTestUser(USER_ID_PREFIX + n, JURISDICTIONS.get(n % JURISDICTIONS.size())))
+            .toList();
+    }
+
+    public static List<String> locations(int locations) {
+        return IntStream.range(FIRST_LOCATION, FIRST_LOCATION + locations)
+            .mapToObj(String::valueOf)
+            .toList();
+    }
+
+    public void generate() {
+        long started = System.nanoTime();
+        for (int from = 0; from < properties.tasks(); from += properties.batchSize()) {
+            int to = Math.min(from + properties.batchSize(), properties.tasks()) - 1;
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("userIdPrefix", USER_ID_PREFIX)
+                .addValue("jurisdictionCount", JURISDICTIONS.size())
+                .addValue("usersPerJurisdiction", properties.usersPerJurisdiction())
+                .addValue("locations", properties.locations())
+                .addValue("firstLocation", FIRST_LOCATION)
+                .addValue("tasksPerCase", properties.tasksPerCase())
+                .addValue("firstCaseId", FIRST_CASE_ID);
+
+            jdbcTemplate.update(INSERT_TASKS, parameters);
+            jdbcTemplate.update(INSERT_TASK_ROLES, parameters);
+            jdbcTemplate.update(INDEX_TASKS, parameters);
+            log.info("Generated {} of {} tasks in {} seconds", to + 1, properties.tasks(),
+                     (System.nanoTime() - started) / 1_000_000_000);
+        }
+        jdbcTemplate.getJdbcTemplate().execute("analyze cft_task_db.tasks");
+        jdbcTemplate.getJdbcTemplate().execute("analyze cft_task_db.task_roles");
+    }
+
+    /**
+     * Returns unassigned tasks every user in the task's jurisdiction can claim.
+     */
+    public List<CorpusTask> claimableTasks(int limit) {
+        return tasks(CLAIMABLE_TASKS, limit);
+    }
+
+    /**
+     * Returns assigned tasks, which their assignee can complete.
+     */
+    public List<CorpusTask> completableTasks(int limit) {
+        return tasks(COMPLETABLE_TASKS, limit);
+    }
+
+    private List<CorpusTask> tasks(String sql, int limit) {
+        return new ArrayList<>(jdbcTemplate.query(
+            sql,
+            Map.of("limit", limit),
+            (rs, rowNum) -> new CorpusTask(rs.getString("task_id"), rs.getString("jurisdiction"),
+                                           rs.getString("assignee"))
+        ));
+    }
+
+    private static String sqlArray(List<String> values) {
+        return values.stream()
+            .map(value -> "'" + value + "'")
+            .collect(Collectors.joining(",", "array[", "]"));
+    }
+
+    public record Jurisdiction(String id, String caseType) {
+    }
+
+    public record CorpusTask(String taskId, String jurisdiction, String assignee) {
+    }
+}
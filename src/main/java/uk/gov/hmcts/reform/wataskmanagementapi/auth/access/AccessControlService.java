@@ -1,17 +1,25 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.auth.access;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessControlResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserInfo;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.VersionedRoleAssignments;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.NoRoleAssignmentsFoundException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
@@ -19,33 +27,34 @@ public class AccessControlService {
 
     private final IdamService idamService;
     private final RoleAssignmentService roleAssignmentService;
+    private final LoadingCache<String, VersionedRoleAssignments> roleAssignmentsCache;
 
     @Autowired
     public AccessControlService(IdamService idamService,
-                                RoleAssignmentService roleAssignmentService) {
+                                RoleAssignmentService roleAssignmentService,
+                                @Value("${role-assignment-service.cache.enabled}") boolean cacheEnabled,
+                                @Value("${role-assignment-service.cache.ttlSeconds}") long cacheTtlSeconds,
+                                @Value("${role-assignment-service.cache.refreshSeconds}") long cacheRefreshSeconds,
+                                @Value("${role-assignment-service.cache.maximumSize}") long cacheMaximumSize) {
         this.idamService = idamService;
         this.roleAssignmentService = roleAssignmentService;
+        this.roleAssignmentsCache = cacheEnabled
+            ? Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .refreshAfterWrite(Duration.ofSeconds(cacheRefreshSeconds))
+                .maximumSize(cacheMaximumSize)
+                .build(new RoleAssignmentsLoader(roleAssignmentService))
+            : null;
     }
 
     public AccessControlResponse getRoles(String authToken) {
         UserInfo userInfo = idamService.getUserInfo(authToken);
         log.debug("UserInfo successfully retrieved from IDAM");
-        List<RoleAssignment> roleAssignments = roleAssignmentService.getRolesForUser(userInfo.getUid(), authToken);
-
-        //Safe-guard
-        if (roleAssignments.isEmpty()) {
-            log.error("No Role Assignments for user '{}'", userInfo.getUid());
-            throw new NoRoleAssignmentsFoundException(
-                "User did not have sufficient permissions to perform this action"
-            );
-        }
-
-        roleAssignments.forEach(role -> log.debug("Response from role assignment service '{}'", role.toString()));
-        return new AccessControlResponse(userInfo, roleAssignments);
+        return toAccessControlResponse(userInfo, getRolesForUser(userInfo.getUid(), authToken));
     }
 
     public AccessControlResponse getRolesGivenUserId(String userId, String authToken) {
-        List<RoleAssignment> roleAssignments = roleAssignmentService.getRolesForUser(userId, authToken);
+        List<RoleAssignment> roleAssignments = getRolesForUser(userId, authToken);
         return new AccessControlResponse(
             UserInfo.builder().uid(userId).build(),
             roleAssignments
@@ -62,4 +71,98 @@ public class AccessControlService {
 
     }
 
+    /**
+     * Variant of {@link #getAccessControlResponse(String)} which reports how long the user lookup in IDAM and
+     * the role assignment fetch took, the latter whether or not the role assignments were cached.
+     *
+     * @param authToken           the user's bearer token
+     * @param idamLookup          receives the duration of the user lookup
+     * @param roleAssignmentFetch receives the duration of the role assignment fetch
+     * @return the user and their role assignments, empty when the user has no role assignments
+     */
+    public Optional<AccessControlResponse> getAccessControlResponse(String authToken,
+                                                                    Consumer<Duration> idamLookup,
+                                                                    Consumer<Duration> roleAssignmentFetch) {
+        try {
+            UserInfo userInfo = timed(() -> idamService.getUserInfo(authToken), idamLookup);
+            log.debug("UserInfo successfully retrieved from IDAM");
+            List<RoleAssignment> roleAssignments = timed(
+                () -> getRolesForUser(userInfo.getUid(), authToken), roleAssignmentFetch);
+            return Optional.of(toAccessControlResponse(userInfo, roleAssignments));
+        } catch (NoRoleAssignmentsFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Discards the cached role assignments of a user, so the next request retrieves them from the
+     * role assignment service. Used when an authorisation failure suggests the cached roles are stale.
+     *
+     * @param userId the user whose role assignments are discarded
+     */
+    public void evictRoles(String userId) {
+        if (roleAssignmentsCache != null && userId != null) {
+            log.debug("Evicting cached role assignments for user '{}'", userId);
+            roleAssignmentsCache.invalidate(userId);
+        }
+    }
+
+    private AccessControlResponse toAccessControlResponse(UserInfo userInfo, List<RoleAssignment> roleAssignments) {
+        //Safe-guard
+        if (roleAssignments.isEmpty()) {
+            log.error("No Role Assignments for user '{}'", userInfo.getUid());
+            throw new NoRoleAssignmentsFoundException(
+                "User did not have sufficient permissions to perform this action"
+            );
+        }
+
+        roleAssignments.forEach(role -> log.debug("Response from role assignment service '{}'", role.toString()));
+        return new AccessControlResponse(userInfo, roleAssignments);
+    }
+
+    private static <T> T timed(Supplier<T> supplier, Consumer<Duration> duration) {
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            duration.accept(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private List<RoleAssignment> getRolesForUser(String userId, String authToken) {
+        if (roleAssignmentsCache == null) {
+            return roleAssignmentService.getRolesForUser(userId, authToken);
+        }
+        List<RoleAssignment> roleAssignments = roleAssignmentsCache
+            .get(userId, id -> roleAssignmentService.getVersionedRolesForUser(id, authToken, null))
+            .getRoleAssignments();
+        // A user without role assignments is likely to be given some shortly, so they are not kept
+        if (roleAssignments.isEmpty()) {
+            evictRoles(userId);
+        }
+        return roleAssignments;
+    }
+
+    /**
+     * Refreshes cached role assignments in the background with the system user, revalidating them
+     * with their entity tag so unchanged assignments are not transferred again.
+     */
+    private static final class RoleAssignmentsLoader implements CacheLoader<String, VersionedRoleAssignments> {
+
+        private final RoleAssignmentService roleAssignmentService;
+
+        private RoleAssignmentsLoader(RoleAssignmentService roleAssignmentService) {
+            this.roleAssignmentService = roleAssignmentService;
+        }
+
+        @Override
+        public VersionedRoleAssignments load(String userId) {
+            return roleAssignmentService.getVersionedRolesByUserId(userId, null);
+        }
+
+        @Override
+        public VersionedRoleAssignments reload(String userId, VersionedRoleAssignments previous) {
+            return roleAssignmentService.getVersionedRolesByUserId(userId, previous);
+        }
+    }
 }
@@ -4,11 +4,13 @@ import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.VersionedRoleAssignments;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.request.MultipleQueryRequest;
@@ -22,11 +24,16 @@ import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ServerErrorException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.UnAuthorizedException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
@@ -38,7 +45,7 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.C
 
 @Slf4j
 @Service
-@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+@SuppressWarnings({"PMD.DataflowAnomalyAnalysis", "PMD.DoNotUseThreads"})
 public class RoleAssignmentService {
 
     public static final String TOTAL_RECORDS = "Total-Records";
@@ -49,16 +56,23 @@ public class RoleAssignmentService {
 
     private final IdamTokenGenerator systemUserIdamToken;
     private final int maxRoleAssignmentRecords;
+    private final ExecutorService roleAssignmentPageExecutorService;
+    private final int maxConcurrentPageRequests;
 
     @Autowired
     public RoleAssignmentService(RoleAssignmentServiceApi roleAssignmentServiceApi,
                                  AuthTokenGenerator serviceAuthTokenGenerator,
                                  IdamTokenGenerator systemUserIdamToken,
-                                 @Value("${role-assignment-service.maxResults}") int maxRoleAssignmentRecords) {
+                                 @Value("${role-assignment-service.maxResults}") int maxRoleAssignmentRecords,
+                                 ExecutorService roleAssignmentPageExecutorService,
+                                 @Value("${role-assignment-service.pageFetch.maxConcurrency}")
+                                 int maxConcurrentPageRequests) {
         this.roleAssignmentServiceApi = roleAssignmentServiceApi;
         this.serviceAuthTokenGenerator = serviceAuthTokenGenerator;
         this.systemUserIdamToken = systemUserIdamToken;
         this.maxRoleAssignmentRecords = maxRoleAssignmentRecords;
+        this.roleAssignmentPageExecutorService = roleAssignmentPageExecutorService;
+        this.maxConcurrentPageRequests = Math.max(1, maxConcurrentPageRequests);
     }
 
     public List<RoleAssignment> getRolesForUser(String idamUserId, String authToken) {
@@ -82,6 +96,43 @@ public class RoleAssignmentService {
         }
     }
 
+    /**
+     * Retrieves the role assignments for a user, revalidating the previously retrieved assignments
+     * with their entity tag. When the role assignment service reports them as not modified the
+     * previous assignments are returned as they are.
+     *
+     * @param idamUserId the user whose role assignments are retrieved
+     * @param authToken  the token the role assignment service is called with
+     * @param previous   the previously retrieved role assignments, or null if there are none
+     * @return the current role assignments and their entity tag
+     */
+    public VersionedRoleAssignments getVersionedRolesForUser(String idamUserId,
+                                                             String authToken,
+                                                             VersionedRoleAssignments previous) {
+        requireNonNull(idamUserId, "IdamUserId cannot be null");
+
+        String etag = previous == null ? null : previous.getEtag();
+        try {
+            ResponseEntity<RoleAssignmentResource> responseEntity = roleAssignmentServiceApi
+                .getRolesForUserIfNoneMatch(idamUserId, authToken, serviceAuthTokenGenerator.generate(), etag);
+            return new VersionedRoleAssignments(
+                requireNonNull(responseEntity.getBody()).getRoleAssignmentResponse(),
+                responseEntity.getHeaders().getETag()
+            );
+        } catch (FeignException ex) {
+            if (previous != null && etag != null && ex.status() == HttpStatus.NOT_MODIFIED.value()) {
+                return previous;
+            }
+            log.error("Error when retrieving roles for user '{}'", idamUserId, ex);
+            throw new UnAuthorizedException(
+                "User did not have sufficient permissions to perform this action", ex);
+        }
+    }
+
+    public VersionedRoleAssignments getVersionedRolesByUserId(String userId, VersionedRoleAssignments previous) {
+        return getVersionedRolesForUser(userId, systemUserIdamToken.generate(), previous);
+    }
+
     public List<RoleAssignment> queryRolesForAutoAssignmentByCaseId(TaskResource taskResource) {
         requireNonNull(taskResource, "taskResource cannot be null");
         RoleAssignmentResource roleAssignmentResponse = performSearch(buildQueryForAutoAssignment(taskResource));
@@ -106,29 +157,40 @@ public class RoleAssignmentService {
         return roleAssignmentResponse.getRoleAssignmentResponse();
     }
 
+    /**
+     * Runs the query and collects the role assignments from every page of the results. Once the first
+     * page reports the total number of records, the remaining pages are fetched concurrently, with at
+     * most {@code maxConcurrentPageRequests} requests in flight, and appended in page order. If a page
+     * fails, the requests for the pages still in flight are interrupted.
+     */
     public RoleAssignmentResource performSearch(MultipleQueryRequest multipleQueryRequest) {
 
-        int pageNumber = DEFAULT_PAGE_NUMBER;
-
         try {
             ResponseEntity<RoleAssignmentResource> responseEntity = getPageResponse(
                 multipleQueryRequest,
-                pageNumber
+                DEFAULT_PAGE_NUMBER
             );
             List<RoleAssignment> roleAssignments
                 = new ArrayList<>(requireNonNull(responseEntity.getBody()).getRoleAssignmentResponse());
 
             long totalRecords = Long.parseLong(requireNonNull(responseEntity.getHeaders().get(TOTAL_RECORDS)).get(0));
             long totalPageNumber = totalRecords / maxRoleAssignmentRecords;
-            while (totalPageNumber > pageNumber) {
-                pageNumber += 1;
-                responseEntity = getPageResponse(multipleQueryRequest, pageNumber);
-                List<RoleAssignment> roleAssignmentResponse = requireNonNull(responseEntity.getBody())
-                    .getRoleAssignmentResponse();
-
-                if (!roleAssignmentResponse.isEmpty()) {
-                    roleAssignments.addAll(roleAssignmentResponse);
+
+            // Pages are submitted rather than run as CompletableFutures so that cancelling them interrupts
+            // the fetching threads, which closes their connections instead of leaving the requests running.
+            Deque<Future<List<RoleAssignment>>> inFlight = new ArrayDeque<>();
+            try {
+                for (int pageNumber = DEFAULT_PAGE_NUMBER + 1; pageNumber <= totalPageNumber; pageNumber++) {
+                    if (inFlight.size() == maxConcurrentPageRequests) {
+                        roleAssignments.addAll(getPageRoleAssignments(inFlight.removeFirst()));
+                    }
+                    inFlight.addLast(submitPageRequest(multipleQueryRequest, pageNumber));
                 }
+                while (!inFlight.isEmpty()) {
+                    roleAssignments.addAll(getPageRoleAssignments(inFlight.removeFirst()));
+                }
+            } finally {
+                inFlight.forEach(page -> page.cancel(true));
             }
             return new RoleAssignmentResource(roleAssignments);
         } catch (FeignException ex) {
@@ -137,6 +199,30 @@ public class RoleAssignmentService {
         }
     }
 
+    private Future<List<RoleAssignment>> submitPageRequest(MultipleQueryRequest multipleQueryRequest,
+                                                           int pageNumber) {
+        return roleAssignmentPageExecutorService.submit(
+            () -> requireNonNull(getPageResponse(multipleQueryRequest, pageNumber).getBody())
+                .getRoleAssignmentResponse()
+        );
+    }
+
+    private static List<RoleAssignment> getPageRoleAssignments(Future<List<RoleAssignment>> page) {
+        try {
+            return page.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServerErrorException(
+                "Interrupted while retrieving role assignments when performing the search", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServerErrorException(
+                "Could not retrieve role assignments when performing the search", ex.getCause());
+        }
+    }
+
     private ResponseEntity<RoleAssignmentResource> getPageResponse(
         MultipleQueryRequest multipleQueryRequest, int pageNumber) {
         return roleAssignmentServiceApi.queryRoleAssignments(
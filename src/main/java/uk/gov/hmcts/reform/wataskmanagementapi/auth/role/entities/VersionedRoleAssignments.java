@@ -0,0 +1,25 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * The role assignments of a single actor together with the entity tag the role assignment service
+ * returned for them, so they can be revalidated with a conditional request.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class VersionedRoleAssignments {
+
+    private final List<RoleAssignment> roleAssignments;
+    private final String etag;
+
+    public VersionedRoleAssignments(List<RoleAssignment> roleAssignments, String etag) {
+        this.roleAssignments = roleAssignments;
+        this.etag = etag;
+    }
+}
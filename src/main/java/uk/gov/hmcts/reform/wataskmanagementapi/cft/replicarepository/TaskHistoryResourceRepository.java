@@ -15,6 +15,10 @@ public interface TaskHistoryResourceRepository
     String CHECK_SUBSCRIPTION =
         "select count(*) from pg_subscription pgp WHERE subname='task_subscription';";
 
+    String SUBSCRIPTION_RECEIVED_LSN =
+        "select cast(received_lsn as text) from pg_stat_subscription "
+            + "where subname = 'task_subscription' and relid is null";
+
 
     List<TaskHistoryResource> findAllByTaskIdOrderByUpdatedAsc(String taskId);
 
@@ -24,4 +28,7 @@ public interface TaskHistoryResourceRepository
 
     @Query(value = CHECK_SUBSCRIPTION, nativeQuery = true)
     int countSubscriptions();
+
+    @Query(value = SUBSCRIPTION_RECEIVED_LSN, nativeQuery = true)
+    String findSubscriptionReceivedLsn();
 }
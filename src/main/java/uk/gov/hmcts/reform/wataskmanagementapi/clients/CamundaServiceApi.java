@@ -18,6 +18,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariable;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableInstance;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CompleteTaskVariables;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinition;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinitionXml;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionTableRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DmnRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.HistoryVariableInstance;
@@ -183,6 +185,25 @@ public interface CamundaServiceApi {
         @RequestParam("latestVersion") boolean latestVersion
     );
 
+    @GetMapping(
+        value = "/decision-definition/",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    List<DecisionDefinition> getDecisionDefinitions(
+        @RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthorisation,
+        @RequestParam("keyLike") String dmnKey,
+        @RequestParam("latestVersion") boolean latestVersion
+    );
+
+    @GetMapping(
+        value = "/decision-definition/key/{dmn-table-key}/tenant-id/{jurisdiction}/xml",
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    DecisionDefinitionXml getDecisionDefinitionXml(
+        @RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthorisation,
+        @PathVariable("dmn-table-key") String dmnTableKey,
+        @PathVariable("jurisdiction") String jurisdiction
+    );
+
     @GetMapping(
         value = "/decision-definition/key/{dmn-table-key}/tenant-id/{jurisdiction}/evaluate",
         consumes = MediaType.APPLICATION_JSON_VALUE,
@@ -17,6 +17,8 @@ import java.util.concurrent.TimeUnit;
 @Configuration
 public class CaffeineConfiguration {
 
+    public static final String TASK_COMPLETION_DMN_CACHE = "task_completion_dmn";
+
     @Value("${caffeine.timeout.duration}")
     private Integer cacheDuration;
 
@@ -29,11 +31,14 @@ public class CaffeineConfiguration {
     @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.task-type.timeout.unit}')}")
     private TimeUnit taskTypeCacheDurationUnit;
 
-    @Value("${caffeine.calendar.timeout.duration}")
-    private Integer calendarCacheDuration;
+    @Value("${caffeine.task-completion.timeout.duration}")
+    private Integer taskCompletionCacheDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.task-completion.timeout.unit}')}")
+    private TimeUnit taskCompletionCacheDurationUnit;
 
-    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.calendar.timeout.unit}')}")
-    private TimeUnit calendarCacheDurationUnit;
+    @Value("${caffeine.task-completion.maximum-size}")
+    private Long taskCompletionCacheMaximumSize;
 
     @Bean
     public Ticker ticker() {
@@ -71,19 +76,19 @@ public class CaffeineConfiguration {
     }
 
     @Bean
-    public Caffeine<Object, Object> calendarCaffeineConfig(Ticker ticker) {
+    public Caffeine<Object, Object> taskCompletionCaffeineConfig(Ticker ticker) {
         return Caffeine.newBuilder()
-            .expireAfterWrite(calendarCacheDuration, calendarCacheDurationUnit)
+            .expireAfterWrite(taskCompletionCacheDuration, taskCompletionCacheDurationUnit)
+            .maximumSize(taskCompletionCacheMaximumSize)
+            .recordStats()
             .ticker(ticker);
     }
 
     @Bean
-    public CacheManager calendarCacheManager(Caffeine<Object, Object> calendarCaffeineConfig) {
+    public CacheManager taskCompletionCacheManager(Caffeine<Object, Object> taskCompletionCaffeineConfig) {
         CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
-        caffeineCacheManager.setCaffeine(calendarCaffeineConfig);
-        caffeineCacheManager.setCacheNames(List.of("calendar_cache"));
+        caffeineCacheManager.setCaffeine(taskCompletionCaffeineConfig);
+        caffeineCacheManager.setCacheNames(List.of(TASK_COMPLETION_DMN_CACHE));
         return caffeineCacheManager;
     }
-
-
 }
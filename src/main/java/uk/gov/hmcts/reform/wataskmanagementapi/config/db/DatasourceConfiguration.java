@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
 
 import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
@@ -30,14 +31,19 @@ public class DatasourceConfiguration {
         return DataSourceBuilder.create().build();
     }
 
+    /**
+     * The entity manager uses the routing data source when the read replica is enabled, so that read-only
+     * transactions read from the replica, see {@link ReadReplicaDataSourceConfiguration}.
+     */
     @Primary
     @Bean(name = "entityManagerFactory")
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
         EntityManagerFactoryBuilder builder,
-        @Qualifier("dataSource") DataSource dataSource
+        @Qualifier("dataSource") DataSource dataSource,
+        @Qualifier("routingDataSource") ObjectProvider<DataSource> routingDataSource
     ) {
         return builder
-            .dataSource(dataSource)
+            .dataSource(routingDataSource.getIfAvailable(() -> dataSource))
             .packages("uk.gov.hmcts.reform.wataskmanagementapi.entity",
                       "uk.gov.hmcts.reform.wataskmanagementapi.repository")
             .persistenceUnit("cft_task_db")
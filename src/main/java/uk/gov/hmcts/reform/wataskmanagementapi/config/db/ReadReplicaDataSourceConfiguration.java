@@ -0,0 +1,40 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReadReplicaLagMonitor;
+
+import javax.sql.DataSource;
+
+/**
+ * Configures the read replica, a hot standby of the primary database, and the data source that routes the
+ * connections of read-only transactions to it. The task entity manager uses the routing data source when
+ * the read replica is enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "config.readReplica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfiguration {
+
+    @Bean(name = "readReplicaDataSource")
+    @ConfigurationProperties(prefix = "spring.datasource-read")
+    public DataSource readReplicaDataSource() {
+        return DataSourceBuilder.create().build();
+    }
+
+    @Bean(name = "routingDataSource")
+    public DataSource routingDataSource(@Qualifier("dataSource") DataSource dataSource,
+                                        @Qualifier("readReplicaDataSource") DataSource readReplicaDataSource,
+                                        ReadReplicaLagMonitor readReplicaLagMonitor,
+                                        MeterRegistry meterRegistry) {
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(
+            dataSource, readReplicaDataSource, readReplicaLagMonitor, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,63 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReadReplicaLagMonitor;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * Sends the connections of read-only transactions to the read replica, as long as the replica is not further
+ * behind the primary than the maximum tolerated lag. Every other connection comes from the primary.
+ * The route is decided when the connection is obtained, so this data source has to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} for the transaction's read-only flag
+ * to be set by then.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String ROUTED_METRIC = "wa.datasource.connections.routed";
+
+    private final ReadReplicaLagMonitor readReplicaLagMonitor;
+    private final Map<Route, Counter> readOnlyCounters = new EnumMap<>(Route.class);
+    private final Map<Route, Counter> readWriteCounters = new EnumMap<>(Route.class);
+
+    public ReadReplicaRoutingDataSource(DataSource primaryDataSource,
+                                        DataSource readReplicaDataSource,
+                                        ReadReplicaLagMonitor readReplicaLagMonitor,
+                                        MeterRegistry meterRegistry) {
+        this.readReplicaLagMonitor = readReplicaLagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primaryDataSource, Route.READ_REPLICA, readReplicaDataSource));
+        setDefaultTargetDataSource(primaryDataSource);
+
+        for (Route route : Route.values()) {
+            readOnlyCounters.put(route, routedCounter(meterRegistry, route, true));
+            readWriteCounters.put(route, routedCounter(meterRegistry, route, false));
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        Route route = readOnly && readReplicaLagMonitor.isWithinMaxLag() ? Route.READ_REPLICA : Route.PRIMARY;
+        (readOnly ? readOnlyCounters : readWriteCounters).get(route).increment();
+        return route;
+    }
+
+    private static Counter routedCounter(MeterRegistry meterRegistry, Route route, boolean readOnly) {
+        return Counter.builder(ROUTED_METRIC)
+            .description("Database connections obtained by the data source they were routed to")
+            .tag("route", route.name().toLowerCase(Locale.ROOT))
+            .tag("read_only", String.valueOf(readOnly))
+            .register(meterRegistry);
+    }
+
+    public enum Route {
+        PRIMARY,
+        READ_REPLICA
+    }
+}
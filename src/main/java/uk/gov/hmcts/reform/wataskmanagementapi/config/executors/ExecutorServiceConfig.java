@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.config.executors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,9 +11,24 @@ import java.util.concurrent.Executors;
 @SuppressWarnings("PMD.DoNotUseThreads")
 public class ExecutorServiceConfig {
 
-    @Bean("sensitiveTaskEventLogsExecutorService")
-    public ExecutorService createSensitiveTaskEventLogsExecutorService() {
-        return Executors.newFixedThreadPool(1);
+    @Bean("roleAssignmentPageExecutorService")
+    public ExecutorService createRoleAssignmentPageExecutorService(
+        @Value("${role-assignment-service.pageFetch.threads}") int threads) {
+        return Executors.newFixedThreadPool(threads, Thread.ofVirtual().name("role-assignment-page-", 0).factory());
+    }
+
+    @Bean("dmnEvaluationExecutorService")
+    public ExecutorService createDmnEvaluationExecutorService() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dmn-evaluation-", 0).factory());
+    }
+
+    @Bean("taskReconfigurationExecutorService")
+    public ExecutorService createTaskReconfigurationExecutorService(
+        @Value("${config.reconfiguration.maxConcurrentCases}") int maxConcurrentCases) {
+        return Executors.newFixedThreadPool(
+            maxConcurrentCases,
+            Thread.ofVirtual().name("task-reconfiguration-", 0).factory()
+        );
     }
 
 }
@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.CollectionUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -32,9 +33,12 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.SearchTaskReq
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.SearchTaskRequestMapper;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksCompletableResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics;
 
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -58,6 +62,7 @@ public class TaskSearchController extends BaseController {
     private final AccessControlService accessControlService;
     private final CftQueryService cftQueryService;
     private final CFTTaskDatabaseService cftTaskDatabaseService;
+    private final TaskSearchMetrics taskSearchMetrics;
 
     @Value("${config.search.defaultMaxResults}")
     private int defaultMaxResults;
@@ -66,12 +71,14 @@ public class TaskSearchController extends BaseController {
     @Autowired
     public TaskSearchController(AccessControlService accessControlService,
                                 CftQueryService cftQueryService,
-                                CFTTaskDatabaseService cftTaskDatabaseService
+                                CFTTaskDatabaseService cftTaskDatabaseService,
+                                TaskSearchMetrics taskSearchMetrics
     ) {
         super();
         this.accessControlService = accessControlService;
         this.cftQueryService = cftQueryService;
         this.cftTaskDatabaseService = cftTaskDatabaseService;
+        this.taskSearchMetrics = taskSearchMetrics;
     }
 
     @Operation(description = "Retrieve a list of Task resources identified by set of search criteria.",
@@ -93,6 +100,9 @@ public class TaskSearchController extends BaseController {
         @Min(value = 0, message = "first_result must not be less than zero") Integer firstResult,
         @RequestParam(required = false, name = "max_results")
         @Min(value = 1, message = "max_results must not be less than one") Integer maxResults,
+        @Parameter(description = "Opaque token from a previous response to fetch the next page using keyset "
+                                 + "pagination. Send an empty value to request the first page in this mode.")
+        @RequestParam(required = false, name = "continuation_token") String continuationToken,
         @Valid @RequestBody SearchTaskRequest searchTaskRequest
     ) {
         //Safe-guard
@@ -102,10 +112,17 @@ public class TaskSearchController extends BaseController {
 
         GetTasksResponse<Task> response;
 
+        // The user lookup and role assignment fetch are tagged with the kind of search once the request is mapped
+        TaskSearchMetrics.PendingStages accessControlStages = taskSearchMetrics.pending();
         Optional<AccessControlResponse> optionalAccessControlResponse = accessControlService
-            .getAccessControlResponse(authToken);
+            .getAccessControlResponse(
+                authToken,
+                accessControlStages.recorder(TaskSearchMetrics.Stage.IDAM_LOOKUP),
+                accessControlStages.recorder(TaskSearchMetrics.Stage.ROLE_ASSIGNMENT_FETCH)
+            );
         if (optionalAccessControlResponse.isEmpty()) {
             LOG.warn("No role assignments found");
+            accessControlStages.record(taskSearchMetrics.unknownTags());
             response = new GetTasksResponse<>(emptyList(), 0);
             return ResponseEntity
                 .ok()
@@ -116,6 +133,7 @@ public class TaskSearchController extends BaseController {
             firstResult, maxResults);
 
         SearchRequest searchRequest = SearchTaskRequestMapper.map(searchTaskRequest);
+        accessControlStages.record(taskSearchMetrics.tags(searchRequest));
         log.info("Search request mapped to '{}', first_result '{}', max_result '{}'", searchRequest,
             Optional.ofNullable(firstResult).orElse(0),
             Optional.ofNullable(maxResults).orElse(defaultMaxResults));
@@ -123,11 +141,20 @@ public class TaskSearchController extends BaseController {
         log.info("Search tasks using search_index");
         AccessControlResponse accessControlResponse = optionalAccessControlResponse.get();
 
-        response = cftTaskDatabaseService.searchForTasks(
-            Optional.ofNullable(firstResult).orElse(0),
-            Optional.ofNullable(maxResults).orElse(defaultMaxResults),
-            searchRequest,
-            accessControlResponse);
+        if (continuationToken == null) {
+            response = cftTaskDatabaseService.searchForTasks(
+                Optional.ofNullable(firstResult).orElse(0),
+                Optional.ofNullable(maxResults).orElse(defaultMaxResults),
+                searchRequest,
+                accessControlResponse);
+        } else {
+            validateKeysetRequest(firstResult, searchRequest);
+            response = cftTaskDatabaseService.searchForTasksAfter(
+                Optional.ofNullable(maxResults).orElse(defaultMaxResults),
+                continuationToken.isEmpty() ? null : SearchContinuationToken.decode(continuationToken),
+                searchRequest,
+                accessControlResponse);
+        }
 
         return ResponseEntity
             .ok()
@@ -188,4 +215,13 @@ public class TaskSearchController extends BaseController {
             .body(response);
     }
 
+    private void validateKeysetRequest(Integer firstResult, SearchRequest searchRequest) {
+        if (firstResult != null && firstResult > 0) {
+            throw new InvalidRequestException("first_result cannot be combined with continuation_token.");
+        }
+        if (!CollectionUtils.isEmpty(searchRequest.getSortingParameters())) {
+            throw new InvalidRequestException("sorting_parameters cannot be combined with continuation_token.");
+        }
+    }
+
 }
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotEmpty;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchCountMode;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameter;
 
@@ -32,6 +33,9 @@ public class SearchTaskRequest {
     private List<SortingParameter> sortingParameters;
     @Schema(name = "request_context", allowableValues = "ALL_WORK, AVAILABLE_TASKS", example = "ALL_WORK")
     private RequestContext requestContext;
+    @Schema(name = "count_mode", allowableValues = "EXACT, NONE, CAPPED, CACHED", example = "CAPPED",
+        description = "How total_records is calculated, defaults to EXACT")
+    private SearchCountMode countMode;
 
     private SearchTaskRequest() {
         //Default constructor for deserialization
@@ -62,6 +66,16 @@ public class SearchTaskRequest {
         this.requestContext = requestContext;
     }
 
+    public SearchTaskRequest(RequestContext requestContext,
+                             List<SearchParameter<?>> searchParameters,
+                             List<SortingParameter> sortingParameters,
+                             SearchCountMode countMode) {
+        this.searchParameters = searchParameters;
+        this.sortingParameters = sortingParameters;
+        this.requestContext = requestContext;
+        this.countMode = countMode;
+    }
+
     public List<SearchParameter<?>> getSearchParameters() {
         return searchParameters;
     }
@@ -73,4 +87,8 @@ public class SearchTaskRequest {
     public RequestContext getRequestContext() {
         return requestContext;
     }
+
+    public SearchCountMode getCountMode() {
+        return countMode;
+    }
 }
@@ -86,6 +86,7 @@ public final class SearchTaskRequestMapper {
             .roleCategories(getRoleCategory(roleCtgParam))
             .taskTypes(getValueOrEmpty(taskTypeParam))
             .sortingParameters(sortingParameters == null ? List.of() : sortingParameters)
+            .countMode(clientRequest.getCountMode())
             .build();
     }
 
@@ -14,9 +14,23 @@ public class GetTasksResponse<T extends Task> {
 
     private final long totalRecords;
 
+    private final String continuationToken;
+
+    private final Boolean totalRecordsCapped;
+
     public GetTasksResponse(List<T> tasks, long totalRecords) {
+        this(tasks, totalRecords, null, null);
+    }
+
+    public GetTasksResponse(List<T> tasks, long totalRecords, String continuationToken) {
+        this(tasks, totalRecords, continuationToken, null);
+    }
+
+    public GetTasksResponse(List<T> tasks, long totalRecords, String continuationToken, Boolean totalRecordsCapped) {
         this.tasks = tasks;
         this.totalRecords = totalRecords;
+        this.continuationToken = continuationToken;
+        this.totalRecordsCapped = totalRecordsCapped;
     }
 
     public List<T> getTasks() {
@@ -26,4 +40,12 @@ public class GetTasksResponse<T extends Task> {
     public long getTotalRecords() {
         return totalRecords;
     }
+
+    public String getContinuationToken() {
+        return continuationToken;
+    }
+
+    public Boolean getTotalRecordsCapped() {
+        return totalRecordsCapped;
+    }
 }
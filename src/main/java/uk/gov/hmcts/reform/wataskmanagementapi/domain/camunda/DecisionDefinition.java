@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class DecisionDefinition {
+
+    private String id;
+    private String key;
+    private String tenantId;
+    private Integer version;
+
+    private DecisionDefinition() {
+        //No-op constructor for deserialization
+    }
+
+    public DecisionDefinition(String id, String key, String tenantId, Integer version) {
+        this.id = id;
+        this.key = key;
+        this.tenantId = tenantId;
+        this.version = version;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,31 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class DecisionDefinitionXml {
+
+    private String id;
+    private String dmnXml;
+
+    private DecisionDefinitionXml() {
+        //No-op constructor for deserialization
+    }
+
+    public DecisionDefinitionXml(String id, String dmnXml) {
+        this.id = id;
+        this.dmnXml = dmnXml;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDmnXml() {
+        return dmnXml;
+    }
+}
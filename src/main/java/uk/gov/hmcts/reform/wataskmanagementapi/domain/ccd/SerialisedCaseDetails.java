@@ -0,0 +1,20 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd;
+
+import lombok.Getter;
+
+/**
+ * A ccd case together with its case data serialised to json, as passed to the configuration
+ * and permissions DMNs, so that tasks on the same case do not serialise the case data again.
+ * It is fetched once per case for a reconfiguration batch and is not kept after the batch.
+ */
+@Getter
+public final class SerialisedCaseDetails {
+
+    private final CaseDetails caseDetails;
+    private final String caseDataJson;
+
+    public SerialisedCaseDetails(CaseDetails caseDetails, String caseDataJson) {
+        this.caseDetails = caseDetails;
+        this.caseDataJson = caseDataJson;
+    }
+}
@@ -0,0 +1,85 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.regex.Pattern;
+
+/**
+ * Opaque keyset pagination token for task search.
+ *
+ * <p>Captures the position of the last task returned on a page using the default search ordering
+ * ({@code major_priority, priority_date, minor_priority, task_id}), so the next page can seek
+ * directly past it instead of skipping rows with an offset. The priorities are nullable columns, a null priority
+ * is encoded as an empty value.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public final class SearchContinuationToken {
+
+    public static final String INVALID_TOKEN_MESSAGE = "Invalid continuation_token.";
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+    private static final Pattern SPLIT_PATTERN = Pattern.compile(Pattern.quote(SEPARATOR));
+    private static final int PARTS = 5;
+
+    private final Integer majorPriority;
+    private final OffsetDateTime priorityDate;
+    private final Integer minorPriority;
+    private final String taskId;
+
+    public SearchContinuationToken(Integer majorPriority,
+                                   OffsetDateTime priorityDate,
+                                   Integer minorPriority,
+                                   String taskId) {
+        this.majorPriority = majorPriority;
+        this.priorityDate = priorityDate;
+        this.minorPriority = minorPriority;
+        this.taskId = taskId;
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR,
+            VERSION,
+            encodePriority(majorPriority),
+            priorityDate.toString(),
+            encodePriority(minorPriority),
+            taskId
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchContinuationToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = SPLIT_PATTERN.split(raw, PARTS);
+            if (parts.length != PARTS || !VERSION.equals(parts[0]) || parts[4].isBlank()) {
+                throw new InvalidRequestException(INVALID_TOKEN_MESSAGE);
+            }
+            return new SearchContinuationToken(
+                decodePriority(parts[1]),
+                OffsetDateTime.parse(parts[2]),
+                decodePriority(parts[3]),
+                parts[4]
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidRequestException(INVALID_TOKEN_MESSAGE);
+        }
+    }
+
+    private static String encodePriority(Integer priority) {
+        return priority == null ? "" : String.valueOf(priority);
+    }
+
+    private static Integer decodePriority(String priority) {
+        return priority.isEmpty() ? null : Integer.valueOf(priority);
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@EqualsAndHashCode
+@ToString
+public class SearchCount {
+
+    public static final long NOT_COUNTED = -1;
+
+    private final long totalRecords;
+    private final Boolean capped;
+
+    public SearchCount(long totalRecords, Boolean capped) {
+        this.totalRecords = totalRecords;
+        this.capped = capped;
+    }
+
+    public static SearchCount exact(long totalRecords) {
+        return new SearchCount(totalRecords, null);
+    }
+
+    public static SearchCount notCounted() {
+        return new SearchCount(NOT_COUNTED, null);
+    }
+}
@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.search;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Controls how the total number of matching tasks is calculated for a search.
+ * <ul>
+ *     <li>EXACT - runs a full count query (default).</li>
+ *     <li>NONE - skips the count, total_records is returned as -1.</li>
+ *     <li>CAPPED - counts up to the configured cap and flags the total as capped when exceeded.</li>
+ *     <li>CACHED - serves an exact count from a short-lived cache keyed by the search signatures.</li>
+ * </ul>
+ */
+@JsonFormat(shape = JsonFormat.Shape.STRING)
+public enum SearchCountMode {
+    EXACT("EXACT"),
+    NONE("NONE"),
+    CAPPED("CAPPED"),
+    CACHED("CACHED");
+
+    @JsonValue
+    private final String id;
+
+    SearchCountMode(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
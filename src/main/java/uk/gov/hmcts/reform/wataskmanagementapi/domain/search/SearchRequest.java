@@ -12,7 +12,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode
 @ToString
 public class SearchRequest {
@@ -29,6 +29,7 @@ public class SearchRequest {
     @Setter(AccessLevel.NONE)
     private RequestContext requestContext;
     private List<SortingParameter> sortingParameters;
+    private SearchCountMode countMode;
 
     public boolean isAvailableTasksOnly() {
         return requestContext != null && requestContext.equals(RequestContext.AVAILABLE_TASKS);
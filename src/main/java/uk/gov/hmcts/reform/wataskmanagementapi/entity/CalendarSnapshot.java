@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.entity;
+
+import io.hypersistence.utils.hibernate.type.json.JsonType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.hibernate.annotations.Type;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.calendar.BankHolidays;
+
+import java.io.Serializable;
+import java.time.OffsetDateTime;
+
+@ToString
+@Getter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity(name = "calendar_snapshots")
+public class CalendarSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 3127635925481964113L;
+
+    private static final String JSONB = "jsonb";
+    private static final String TIMESTAMP_WITH_TIME_ZONE = "TIMESTAMP WITH TIME ZONE";
+
+    @Id
+    @EqualsAndHashCode.Include
+    private String uri;
+
+    @Type(JsonType.class)
+    @Column(columnDefinition = JSONB)
+    private BankHolidays calendar;
+
+    @Column(columnDefinition = TIMESTAMP_WITH_TIME_ZONE)
+    private OffsetDateTime fetchedTime;
+
+    protected CalendarSnapshot() {
+        // required for runtime proxy generation in Hibernate
+    }
+
+    public CalendarSnapshot(String uri, BankHolidays calendar, OffsetDateTime fetchedTime) {
+        this.uri = uri;
+        this.calendar = calendar;
+        this.fetchedTime = fetchedTime;
+    }
+}
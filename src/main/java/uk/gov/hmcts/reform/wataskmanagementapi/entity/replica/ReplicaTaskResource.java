@@ -226,4 +226,9 @@ public class ReplicaTaskResource implements Serializable {
     @Schema(name = "termination_process")
     private String terminationProcess;
 
+    @Column(columnDefinition = TIMESTAMP)
+    @JdbcTypeCode(Types.TIMESTAMP)
+    @Schema(name = "case_deletion_timestamp")
+    private OffsetDateTime caseDeletionTimestamp;
+
 }
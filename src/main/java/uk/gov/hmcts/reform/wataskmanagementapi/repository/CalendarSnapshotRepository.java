@@ -0,0 +1,7 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.repository;
+
+import org.springframework.data.repository.CrudRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CalendarSnapshot;
+
+public interface CalendarSnapshotRepository extends CrudRepository<CalendarSnapshot, String> {
+}
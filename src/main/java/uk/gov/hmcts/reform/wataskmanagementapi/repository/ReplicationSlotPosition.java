@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.repository;
+
+public interface ReplicationSlotPosition {
+    String getCurrentLsn();
+
+    String getConfirmedFlushLsn();
+
+    Double getReplayLagSeconds();
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
 
 import java.time.LocalDateTime;
@@ -15,14 +16,75 @@ public interface SensitiveTaskEventLogsRepository extends CrudRepository<Sensiti
 
     String CLEANUP_SENSITIVE_LOG_ENTRIES = """
         delete from
-        cft_task_db.sensitive_task_event_logs t
+        {h-schema}sensitive_task_event_logs t
         where
-        t.expiry_time < :timestamp
+        (t.id, t.expiry_time) in (
+            select l.id, l.expiry_time from {h-schema}sensitive_task_event_logs l
+            where l.expiry_time < :timestamp
+            limit :chunkSize
+        )
         """;
 
+    String CREATE_PARTITIONS = """
+        select {h-schema}create_sensitive_task_event_logs_partitions(
+            cast(:from as timestamp), cast(:until as timestamp)
+        )
+        """;
+
+    String DROP_EXPIRED_PARTITIONS = """
+        select {h-schema}drop_sensitive_task_event_logs_partitions(cast(:timestamp as timestamp))
+        """;
+
+    String INSERT_SENSITIVE_LOG_ENTRIES = """
+        insert into {h-schema}sensitive_task_event_logs
+        (id, request_id, correlation_id, task_id, case_id, message, user_data, task_data, expiry_time, log_event_time)
+        select id, request_id, correlation_id, task_id, case_id, message, user_data, task_data,
+        cast(expiry_time as timestamp), cast(log_event_time as timestamp)
+        from jsonb_to_recordset(cast(:logs as jsonb)) as l(
+            id uuid, request_id text, correlation_id text, task_id text, case_id text, message text,
+            user_data jsonb, task_data jsonb, expiry_time timestamptz, log_event_time timestamptz
+        )
+        """;
+
+    /**
+     * Deletes up to a chunk of the logs that expired before the given time.
+     *
+     * @return the number of logs deleted
+     */
     @Modifying
+    @Transactional
     @Query(value = CLEANUP_SENSITIVE_LOG_ENTRIES, nativeQuery = true)
-    int cleanUpSensitiveLogs(@Param("timestamp") LocalDateTime timestamp);
+    int cleanUpSensitiveLogs(@Param("timestamp") LocalDateTime timestamp, @Param("chunkSize") int chunkSize);
+
+    /**
+     * Creates the monthly partitions of the months between the given times that do not have one yet.
+     *
+     * @return the number of partitions created
+     */
+    @Transactional
+    @Query(value = CREATE_PARTITIONS, nativeQuery = true)
+    int createPartitions(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    /**
+     * Drops the monthly partitions whose logs all expired before the given time.
+     *
+     * @return the number of logs dropped
+     */
+    @Transactional
+    @Query(value = DROP_EXPIRED_PARTITIONS, nativeQuery = true)
+    long dropExpiredPartitions(@Param("timestamp") LocalDateTime timestamp);
+
+    /**
+     * Inserts several logs in a single statement. Their times are cast to timestamps in the session time zone,
+     * as they are when a log is saved on its own.
+     *
+     * @param logs a json array with one object per log, keyed by column name
+     * @return the number of logs inserted
+     */
+    @Modifying
+    @Transactional
+    @Query(value = INSERT_SENSITIVE_LOG_ENTRIES, nativeQuery = true)
+    int insertAll(@Param("logs") String logs);
 
     Optional<SensitiveTaskEventLog> getByTaskId(String taskId);
 
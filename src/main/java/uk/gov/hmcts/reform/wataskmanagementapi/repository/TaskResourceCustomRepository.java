@@ -1,9 +1,12 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.repository;
 
 import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 public interface TaskResourceCustomRepository {
@@ -16,10 +19,46 @@ public interface TaskResourceCustomRepository {
                                 List<String> excludeCaseIds,
                                 SearchRequest searchRequest);
 
+    @Transactional
+    List<String> searchTasksIdsAfter(SearchContinuationToken continuationToken,
+                                     int maxResults,
+                                     Set<String> filterSignature,
+                                     Set<String> roleSignature,
+                                     List<String> excludeCaseIds,
+                                     SearchRequest searchRequest);
+
     @Transactional
     Long searchTasksCount(Set<String> filterSignature,
                           Set<String> roleSignature,
                           List<String> excludeCaseIds,
                           SearchRequest searchRequest);
 
+    @Transactional
+    Long searchTasksCountUpTo(int limit,
+                              Set<String> filterSignature,
+                              Set<String> roleSignature,
+                              List<String> excludeCaseIds,
+                              SearchRequest searchRequest);
+
+    /**
+     * Finds a task in the archive. The task is detached, with its archived task roles, and must not be saved.
+     */
+    @Transactional
+    Optional<TaskResource> findArchivedByTaskId(String taskId);
+
+    /**
+     * Finds the tasks of a case in the archive. The tasks are detached, with their archived task roles, and must
+     * not be saved.
+     */
+    @Transactional
+    List<TaskResource> findArchivedByCaseId(String caseId);
+
+    /**
+     * Reads the columns of the tasks needed to return them from a search, in the order of the task ids, together
+     * with those of their task roles with one of the given role names. The tasks are read-only projections that are
+     * not managed by the persistence context and must not be saved.
+     */
+    @Transactional(readOnly = true)
+    List<TaskResource> findSearchResultsByTaskIds(List<String> taskIds, Set<String> roleNames);
+
 }
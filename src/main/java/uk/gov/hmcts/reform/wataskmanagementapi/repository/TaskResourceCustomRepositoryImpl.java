@@ -7,13 +7,34 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.SqlResultSetMapping;
+import jakarta.persistence.Tuple;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.CollectionUtils;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.ExecutionType;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TaskSystem;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TerminationProcess;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.ExecutionTypeResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.NoteResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchSortProvider;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SignatureHasher;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SignatureMode;
 
+import java.time.OffsetDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -27,11 +48,71 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         + "t.security_classification) && CAST(:roleSignature AS text[]) "
         + "%s%s%s";
 
+    private static final String HASHED_BASE_QUERY =
+        "%sFROM {h-schema}tasks t "
+        + "WHERE indexed "
+        + "AND {h-schema}filter_signature_hashes(t.task_id, t.state, t.jurisdiction, t.role_category, t.work_type, "
+        + "t.region, t.location) && CAST(:filterSignature AS bigint[]) "
+        + "AND {h-schema}role_signature_hashes(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
+        + "t.security_classification) && CAST(:roleSignature AS bigint[]) "
+        + "%s%s%s";
+
     private static final String SELECT_CLAUSE = "SELECT t.task_id ";
 
     private static final String DB_COL_ASSIGNEE = "assignee";
     private static final String COUNT_CLAUSE = "SELECT count(*) ";
+    private static final String CAPPED_COUNT_QUERY = "SELECT count(*) FROM (%s) capped";
+    private static final String CAPPED_COUNT_SELECT_CLAUSE = "SELECT 1 ";
+    private static final String CAPPED_COUNT_LIMIT_CLAUSE = "LIMIT :countLimit";
     private static final String PAGINATION_CLAUSE = "OFFSET :firstResult LIMIT :maxResults";
+    // Seeks past the token in ORDER BY major_priority, priority_date, minor_priority, task_id. The priorities are
+    // nullable and sort last in ascending order, which a row comparison would not follow, so each is compared
+    // separately and null is handled explicitly.
+    private static final String KEYSET_CLAUSE = "AND %s ";
+    private static final String AFTER_MAJOR_PRIORITY = "(major_priority IS NULL "
+        + "OR major_priority > :afterMajorPriority OR (major_priority = :afterMajorPriority AND %s))";
+    private static final String AFTER_NULL_MAJOR_PRIORITY = "(major_priority IS NULL AND %s)";
+    private static final String AFTER_PRIORITY_DATE = "(priority_date > :afterPriorityDate "
+        + "OR (priority_date = :afterPriorityDate AND %s))";
+    private static final String AFTER_MINOR_PRIORITY = "(minor_priority IS NULL "
+        + "OR minor_priority > :afterMinorPriority "
+        + "OR (minor_priority = :afterMinorPriority AND task_id > :afterTaskId))";
+    private static final String AFTER_NULL_MINOR_PRIORITY = "(minor_priority IS NULL AND task_id > :afterTaskId)";
+    private static final String KEYSET_PAGINATION_CLAUSE = "LIMIT :maxResults";
+
+    private static final String ARCHIVED_TASK_BY_ID_QUERY =
+        "SELECT * FROM {h-schema}tasks_archive WHERE task_id = :value";
+    private static final String ARCHIVED_TASKS_BY_CASE_ID_QUERY =
+        "SELECT * FROM {h-schema}tasks_archive WHERE case_id = :value";
+    private static final String ARCHIVED_TASK_ROLES_QUERY =
+        "SELECT * FROM {h-schema}task_roles_archive WHERE task_id IN (:taskIds)";
+
+    private static final String SEARCH_RESULTS_QUERY = """
+        SELECT t.taskId AS taskId, t.taskName AS taskName, t.taskType AS taskType, t.state AS state,
+            t.taskSystem AS taskSystem, t.securityClassification AS securityClassification, t.title AS title,
+            t.description AS description, t.notes AS notes, t.majorPriority AS majorPriority,
+            t.minorPriority AS minorPriority, t.priorityDate AS priorityDate, t.assignee AS assignee,
+            t.autoAssigned AS autoAssigned, t.roleCategory AS roleCategory, t.hasWarnings AS hasWarnings,
+            t.caseId AS caseId, t.caseTypeId AS caseTypeId, t.caseName AS caseName, t.caseCategory AS caseCategory,
+            t.jurisdiction AS jurisdiction, t.region AS region, t.location AS location,
+            t.locationName AS locationName, t.created AS created, t.dueDateTime AS dueDateTime,
+            t.additionalProperties AS additionalProperties, t.nextHearingId AS nextHearingId,
+            t.nextHearingDate AS nextHearingDate, t.reconfigureRequestTime AS reconfigureRequestTime,
+            t.lastReconfigurationTime AS lastReconfigurationTime, t.terminationProcess AS terminationProcess,
+            w.id AS workTypeId, w.label AS workTypeLabel,
+            e.executionCode AS executionCode, e.executionName AS executionName, e.description AS executionDescription
+        FROM tasks t LEFT JOIN t.workTypeResource w LEFT JOIN t.executionTypeCode e
+        WHERE t.taskId IN :taskIds
+        """;
+    private static final String SEARCH_RESULTS_TASK_ROLES_QUERY = """
+        SELECT new uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource(
+            r.roleName, r.read, r.own, r.execute, r.manage, r.cancel, false, r.authorizations,
+            r.assignmentPriority, r.autoAssignable, r.roleCategory, r.taskId, r.created, r.complete, r.completeOwn,
+            r.cancelOwn, r.claim, r.unclaim, r.assign, r.unassign, r.unclaimAssign, r.unassignClaim,
+            r.unassignAssign)
+        FROM task_roles r
+        WHERE r.taskId IN :taskIds AND r.roleName IN :roleNames
+        """;
 
     protected static final String RESULT_MAPPER = "TaskSearchResult";
     private static final int ONE = 1;
@@ -39,6 +120,9 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${config.search.signatureMode}")
+    private SignatureMode signatureMode;
+
     @SqlResultSetMapping(name = RESULT_MAPPER,
         columns = {
             @ColumnResult(name = "task_id", type = String.class)
@@ -59,7 +143,7 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
                                        List<String> excludeCaseIds,
                                        SearchRequest searchRequest) {
 
-        String queryString = String.format(BASE_QUERY,
+        String queryString = String.format(baseQuery(),
             SELECT_CLAUSE,
             extraConstraints(excludeCaseIds, searchRequest),
             TaskSearchSortProvider.getSortOrderQuery(searchRequest),
@@ -76,13 +160,50 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         return taskIds;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<String> searchTasksIdsAfter(SearchContinuationToken continuationToken,
+                                            int maxResults,
+                                            Set<String> filterSignature,
+                                            Set<String> roleSignature,
+                                            List<String> excludeCaseIds,
+                                            SearchRequest searchRequest) {
+
+        String queryString = String.format(baseQuery(),
+            SELECT_CLAUSE,
+            extraConstraints(excludeCaseIds, searchRequest) + keysetClause(continuationToken),
+            TaskSearchSortProvider.getSortOrderQuery(searchRequest),
+            KEYSET_PAGINATION_CLAUSE
+        );
+
+        log.info("Task keyset search query [{}]", queryString);
+        Query query = entityManager.createNativeQuery(queryString, RESULT_MAPPER);
+        addParameters(query, filterSignature, roleSignature, excludeCaseIds, searchRequest);
+        if (continuationToken != null) {
+            if (continuationToken.getMajorPriority() != null) {
+                query.setParameter("afterMajorPriority", continuationToken.getMajorPriority());
+            }
+            query.setParameter("afterPriorityDate", continuationToken.getPriorityDate());
+            if (continuationToken.getMinorPriority() != null) {
+                query.setParameter("afterMinorPriority", continuationToken.getMinorPriority());
+            }
+            query.setParameter("afterTaskId", continuationToken.getTaskId());
+        }
+        query.setParameter("maxResults", maxResults);
+
+        List<String> taskIds = query.getResultList();
+        log.info("Number of tasks returned {}", CollectionUtils.isEmpty(taskIds) ? 0 : taskIds.size());
+
+        return taskIds;
+    }
+
     @Override
     public Long searchTasksCount(Set<String> filterSignature,
                                  Set<String> roleSignature,
                                  List<String> excludeCaseIds,
                                  SearchRequest searchRequest) {
 
-        String queryString = String.format(BASE_QUERY,
+        String queryString = String.format(baseQuery(),
             COUNT_CLAUSE,
             extraConstraints(excludeCaseIds, searchRequest),
             "", "");
@@ -97,10 +218,92 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         return taskCount;
     }
 
+    @Override
+    public Long searchTasksCountUpTo(int limit,
+                                     Set<String> filterSignature,
+                                     Set<String> roleSignature,
+                                     List<String> excludeCaseIds,
+                                     SearchRequest searchRequest) {
+
+        String queryString = String.format(CAPPED_COUNT_QUERY, String.format(baseQuery(),
+            CAPPED_COUNT_SELECT_CLAUSE,
+            extraConstraints(excludeCaseIds, searchRequest),
+            "", CAPPED_COUNT_LIMIT_CLAUSE));
+
+        log.info("Task capped count query [{}]", queryString);
+        Query query = entityManager.createNativeQuery(queryString);
+        addParameters(query, filterSignature, roleSignature, excludeCaseIds, searchRequest);
+        query.setParameter("countLimit", limit);
+
+        Long taskCount = ((Number) query.getSingleResult()).longValue();
+        log.info("Capped number of tasks {}", taskCount);
+
+        return taskCount;
+    }
+
+    @Override
+    public Optional<TaskResource> findArchivedByTaskId(String taskId) {
+        return findArchived(ARCHIVED_TASK_BY_ID_QUERY, taskId).stream().findFirst();
+    }
+
+    @Override
+    public List<TaskResource> findArchivedByCaseId(String caseId) {
+        return findArchived(ARCHIVED_TASKS_BY_CASE_ID_QUERY, caseId);
+    }
+
+    @Override
+    public List<TaskResource> findSearchResultsByTaskIds(List<String> taskIds, Set<String> roleNames) {
+        Map<String, TaskResource> tasksById = entityManager.createQuery(SEARCH_RESULTS_QUERY, Tuple.class)
+            .setParameter("taskIds", taskIds)
+            .getResultList()
+            .stream()
+            .map(this::toSearchResult)
+            .collect(Collectors.toMap(TaskResource::getTaskId, Function.identity()));
+
+        if (!tasksById.isEmpty() && !roleNames.isEmpty()) {
+            entityManager.createQuery(SEARCH_RESULTS_TASK_ROLES_QUERY, TaskRoleResource.class)
+                .setParameter("taskIds", tasksById.keySet())
+                .setParameter("roleNames", roleNames)
+                .getResultList()
+                .forEach(taskRole -> tasksById.get(taskRole.getTaskId()).getTaskRoleResources().add(taskRole));
+        }
+
+        return taskIds.stream()
+            .map(tasksById::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
     void setEntityManager(EntityManager em) {
         this.entityManager = em;
     }
 
+    void setSignatureMode(SignatureMode signatureMode) {
+        this.signatureMode = signatureMode;
+    }
+
+    private boolean hashedSignatures() {
+        return signatureMode == SignatureMode.HASH;
+    }
+
+    private static String keysetClause(SearchContinuationToken continuationToken) {
+        if (continuationToken == null) {
+            return "";
+        }
+        String afterMinorPriority = continuationToken.getMinorPriority() == null
+            ? AFTER_NULL_MINOR_PRIORITY
+            : AFTER_MINOR_PRIORITY;
+        String afterPriorityDate = String.format(AFTER_PRIORITY_DATE, afterMinorPriority);
+        String afterMajorPriority = continuationToken.getMajorPriority() == null
+            ? String.format(AFTER_NULL_MAJOR_PRIORITY, afterPriorityDate)
+            : String.format(AFTER_MAJOR_PRIORITY, afterPriorityDate);
+        return String.format(KEYSET_CLAUSE, afterMajorPriority);
+    }
+
+    private String baseQuery() {
+        return hashedSignatures() ? HASHED_BASE_QUERY : BASE_QUERY;
+    }
+
     private String extraConstraints(List<String> excludeCaseIds, SearchRequest searchRequest) {
         StringBuilder extraConstraints = new StringBuilder("");
         if (searchRequest.isAvailableTasksOnly()) {
@@ -154,8 +357,13 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
                                List<String> excludeCaseIds,
                                SearchRequest searchRequest) {
 
-        query.setParameter("filterSignature", filterSignature.toArray(new String[0]));
-        query.setParameter("roleSignature", roleSignature.toArray(new String[0]));
+        if (hashedSignatures()) {
+            query.setParameter("filterSignature", SignatureHasher.hashAll(filterSignature));
+            query.setParameter("roleSignature", SignatureHasher.hashAll(roleSignature));
+        } else {
+            query.setParameter("filterSignature", filterSignature.toArray(new String[0]));
+            query.setParameter("roleSignature", roleSignature.toArray(new String[0]));
+        }
         List<String> users = searchRequest.getUsers();
         if (!searchRequest.isAvailableTasksOnly() && !CollectionUtils.isEmpty(users)) {
             setParameter(query, DB_COL_ASSIGNEE, users);
@@ -173,6 +381,79 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private List<TaskResource> findArchived(String queryString, String value) {
+        List<TaskResource> tasks = entityManager.createNativeQuery(queryString, TaskResource.class)
+            .setParameter("value", value)
+            .getResultList();
+        if (tasks.isEmpty()) {
+            return tasks;
+        }
+        // archived tasks are read into the tasks entity, so they are detached to keep them out of the tasks table
+        tasks.forEach(entityManager::detach);
+
+        List<TaskRoleResource> taskRoles = entityManager
+            .createNativeQuery(ARCHIVED_TASK_ROLES_QUERY, TaskRoleResource.class)
+            .setParameter("taskIds", tasks.stream().map(TaskResource::getTaskId).toList())
+            .getResultList();
+        taskRoles.forEach(entityManager::detach);
+
+        Map<String, Set<TaskRoleResource>> taskRolesByTaskId = taskRoles.stream()
+            .collect(Collectors.groupingBy(TaskRoleResource::getTaskId, Collectors.toSet()));
+        tasks.forEach(task -> task.setTaskRoleResources(
+            taskRolesByTaskId.getOrDefault(task.getTaskId(), new HashSet<>())));
+        return tasks;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TaskResource toSearchResult(Tuple row) {
+        TaskResource task = new TaskResource(
+            row.get("taskId", String.class),
+            row.get("taskName", String.class),
+            row.get("taskType", String.class),
+            row.get("state", CFTTaskState.class),
+            row.get("caseId", String.class)
+        );
+        task.setTaskSystem(row.get("taskSystem", TaskSystem.class));
+        task.setSecurityClassification(row.get("securityClassification", SecurityClassification.class));
+        task.setTitle(row.get("title", String.class));
+        task.setDescription(row.get("description", String.class));
+        task.setNotes((List<NoteResource>) row.get("notes"));
+        task.setMajorPriority(row.get("majorPriority", Integer.class));
+        task.setMinorPriority(row.get("minorPriority", Integer.class));
+        task.setPriorityDate(row.get("priorityDate", OffsetDateTime.class));
+        task.setAssignee(row.get("assignee", String.class));
+        task.setAutoAssigned(row.get("autoAssigned", Boolean.class));
+        task.setRoleCategory(row.get("roleCategory", String.class));
+        task.setHasWarnings(row.get("hasWarnings", Boolean.class));
+        task.setCaseTypeId(row.get("caseTypeId", String.class));
+        task.setCaseName(row.get("caseName", String.class));
+        task.setCaseCategory(row.get("caseCategory", String.class));
+        task.setJurisdiction(row.get("jurisdiction", String.class));
+        task.setRegion(row.get("region", String.class));
+        task.setLocation(row.get("location", String.class));
+        task.setLocationName(row.get("locationName", String.class));
+        task.setCreated(row.get("created", OffsetDateTime.class));
+        task.setDueDateTime(row.get("dueDateTime", OffsetDateTime.class));
+        task.setAdditionalProperties((Map<String, String>) row.get("additionalProperties"));
+        task.setNextHearingId(row.get("nextHearingId", String.class));
+        task.setNextHearingDate(row.get("nextHearingDate", OffsetDateTime.class));
+        task.setReconfigureRequestTime(row.get("reconfigureRequestTime", OffsetDateTime.class));
+        task.setLastReconfigurationTime(row.get("lastReconfigurationTime", OffsetDateTime.class));
+        task.setTerminationProcess(row.get("terminationProcess", TerminationProcess.class));
+        String workTypeId = row.get("workTypeId", String.class);
+        if (workTypeId != null) {
+            task.setWorkTypeResource(new WorkTypeResource(workTypeId, row.get("workTypeLabel", String.class)));
+        }
+        ExecutionType executionCode = row.get("executionCode", ExecutionType.class);
+        if (executionCode != null) {
+            task.setExecutionTypeCode(new ExecutionTypeResource(executionCode,
+                row.get("executionName", String.class), row.get("executionDescription", String.class)));
+        }
+        task.setTaskRoleResources(new HashSet<>());
+        return task;
+    }
+
     private void setParameter(Query query, String name, List<String> values) {
         query.setParameter(name, values.size() == 1 ? values.get(0) : values);
     }
@@ -2,7 +2,6 @@ package uk.gov.hmcts.reform.wataskmanagementapi.repository;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
@@ -35,20 +34,101 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
 
     String CHECK_PUBLICATION_TABLES =
         "select count(*) from pg_publication_TABLES pgp WHERE pubname='task_publication';";
+    String CHECK_TASKS_ARCHIVE_IN_PUBLICATION =
+        "select count(*) from pg_publication_tables pgp WHERE pubname='task_publication' "
+            + "and tablename='tasks_archive';";
     String CREATE_PUBLICATION =
         "CREATE PUBLICATION task_publication FOR TABLE cft_task_db.tasks, "
-            + "cft_task_db.work_types WITH (publish = 'insert,update,delete');";
+            + "cft_task_db.work_types, cft_task_db.tasks_archive WITH (publish = 'insert,update,delete');";
 
     String ADD_WORK_TYPES_TO_PUBLICATION = "ALTER PUBLICATION task_publication ADD TABLE {h-schema}work_types;";
 
+    String ADD_TASKS_ARCHIVE_TO_PUBLICATION =
+        "ALTER PUBLICATION task_publication ADD TABLE {h-schema}tasks_archive;";
+
     String GET_TASK_ID_BY_CASE_ID = "select c.task_id AS taskid, c.state AS state from {h-schema}tasks c where "
-           + "c.case_id=:caseId";
+           + "c.case_id=:caseId "
+           + "union all select a.task_id AS taskid, a.state AS state from {h-schema}tasks_archive a where "
+           + "a.case_id=:caseId";
 
-    String MARK_TASK_FOR_DELETION = "update {h-schema}tasks t set case_deletion_timestamp = CURRENT_TIMESTAMP"
-            + " where t.task_id in :taskIds";
+    String MARK_TASK_FOR_DELETION = "with marked as (update {h-schema}tasks t"
+            + " set case_deletion_timestamp = CURRENT_TIMESTAMP where t.task_id in :taskIds)"
+            + " update {h-schema}tasks_archive a set case_deletion_timestamp = CURRENT_TIMESTAMP"
+            + " where a.task_id in :taskIds";
 
     String SHOW_WAL_LEVEL = "SHOW wal_level;";
 
+    String REPLICATION_SLOT_POSITION = """
+        select cast(pg_current_wal_lsn() as text) as currentlsn,
+            cast(s.confirmed_flush_lsn as text) as confirmedflushlsn,
+            (select cast(max(extract(epoch from r.replay_lag)) as double precision) from pg_stat_replication r
+             where r.application_name = 'task_subscription') as replaylagseconds
+        from pg_replication_slots s where s.slot_name = 'main_slot_v1'
+        """;
+
+    String MARK_TASKS_INDEXED = """
+        with batch as (
+            select t.task_id from {h-schema}tasks t
+            where not t.indexed and t.state in ('ASSIGNED', 'UNASSIGNED')
+            limit :batchSize
+            for update skip locked
+        )
+        update {h-schema}tasks t set indexed = true
+        from batch where t.task_id = batch.task_id
+        """;
+
+    String MARK_TASKS_TO_RECONFIGURE = """
+        update {h-schema}tasks t
+        set reconfigure_request_time = :requestTime,
+            indexed = false,
+            last_updated_timestamp = :requestTime,
+            last_updated_user = :lastUpdatedUser,
+            last_updated_action = :lastUpdatedAction
+        where t.case_id in :caseIds
+        and t.state in ('ASSIGNED', 'UNASSIGNED')
+        and t.reconfigure_request_time is null
+        """;
+
+    String TASK_COLUMNS = """
+        task_id, task_name, task_type, due_date_time, state, task_system, security_classification, title,
+        description, notes, major_priority, minor_priority, assignee, auto_assigned, execution_type_code, work_type,
+        role_category, has_warnings, assignment_expiry, case_id, case_type_id, case_category, case_name, jurisdiction,
+        region, region_name, location, location_name, business_context, termination_reason, created,
+        additional_properties, reconfigure_request_time, next_hearing_id, next_hearing_date, priority_date,
+        last_reconfiguration_time, last_updated_timestamp, last_updated_user, last_updated_action, indexed,
+        termination_process, case_deletion_timestamp
+        """;
+
+    String TASK_ROLE_COLUMNS = """
+        task_role_id, role_name, read, own, execute, manage, cancel, authorizations, assignment_priority,
+        auto_assignable, role_category, task_id, created, complete, complete_own, cancel_own, claim, unclaim, assign,
+        unassign, unclaim_assign, unassign_claim, unassign_assign
+        """;
+
+    String ARCHIVE_TASKS = """
+        with batch as (
+            select t.task_id from {h-schema}tasks t
+            where t.state in ('COMPLETED', 'CANCELLED', 'TERMINATED')
+            and coalesce(t.last_updated_timestamp, t.created) < :archiveBefore
+            limit :batchSize
+            for update skip locked
+        ),
+        archived_roles as (
+            delete from {h-schema}task_roles r using batch where r.task_id = batch.task_id
+            returning r.*
+        ),
+        inserted_roles as (
+            insert into {h-schema}task_roles_archive (""" + TASK_ROLE_COLUMNS + ") select " + TASK_ROLE_COLUMNS + """
+            from archived_roles
+        ),
+        archived_tasks as (
+            delete from {h-schema}tasks t using batch where t.task_id = batch.task_id
+            returning t.*
+        )
+        insert into {h-schema}tasks_archive (""" + TASK_COLUMNS + ") select " + TASK_COLUMNS + """
+        from archived_tasks
+        """;
+
     String LOCK_TIMEOUT_STR = "javax.persistence.lock.timeout";
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -69,22 +149,59 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
 
     List<TaskResource> getByCaseId(String caseId);
 
-    List<TaskResource> findByIndexedFalseAndStateIn(List<CFTTaskState> states);
+    long countByIndexedFalseAndStateIn(List<CFTTaskState> states);
 
-    List<TaskResource> findAllByTaskIdIn(List<String> taskIds, Sort order);
+    @Modifying
+    @Transactional
+    @Query(value = MARK_TASKS_INDEXED, nativeQuery = true)
+    int markTasksIndexed(@Param("batchSize") int batchSize);
+
+    /**
+     * Moves a batch of the completed, cancelled and terminated tasks last updated before the given time, and
+     * their task roles, to the archive tables. Tasks locked by another transaction are left for a later batch.
+     *
+     * @return the number of tasks archived
+     */
+    @Modifying
+    @Transactional
+    @Query(value = ARCHIVE_TASKS, nativeQuery = true)
+    int archiveTasks(@Param("archiveBefore") OffsetDateTime archiveBefore, @Param("batchSize") int batchSize);
 
+    /**
+     * Finds the ids and states of the tasks of a case, including archived tasks.
+     */
     @Query(value = GET_TASK_ID_BY_CASE_ID, nativeQuery = true)
     List<TaskResourceCaseQueryBuilder> getTaskIdsByCaseId(final @Param("caseId") String caseId);
 
     List<TaskResource> findByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(
         List<String> caseIds, List<CFTTaskState> states);
 
+    @Modifying
+    @QueryHints({
+        @QueryHint(name = "javax.persistence.query.timeout", value = "5000"),
+        @QueryHint(name = "org.hibernate.timeout", value = "5")
+    })
+    @Query(value = MARK_TASKS_TO_RECONFIGURE, nativeQuery = true)
+    @Transactional
+    int markTasksToReconfigure(
+        @Param("caseIds") List<String> caseIds,
+        @Param("requestTime") OffsetDateTime requestTime,
+        @Param("lastUpdatedUser") String lastUpdatedUser,
+        @Param("lastUpdatedAction") String lastUpdatedAction
+    );
+
     @Query("select t.taskId FROM tasks t where t.state in (:states)"
         + " and t.reconfigureRequestTime > :reconfigureRequestTime")
     @Transactional
     List<String> findTaskIdsByStateInAndReconfigureRequestTimeGreaterThan(List<CFTTaskState> states,
                                                                           OffsetDateTime reconfigureRequestTime);
 
+    @Query("select t.caseId, t.taskId FROM tasks t where t.state in (:states)"
+        + " and t.reconfigureRequestTime > :reconfigureRequestTime order by t.caseId")
+    @Transactional
+    List<Object[]> findCaseIdsAndTaskIdsByStateInAndReconfigureRequestTimeGreaterThan(
+        List<CFTTaskState> states, OffsetDateTime reconfigureRequestTime);
+
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints({@QueryHint(name = LOCK_TIMEOUT_STR, value = "5000")})
     @Transactional
@@ -144,9 +261,27 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
     @Query(value = ADD_WORK_TYPES_TO_PUBLICATION, nativeQuery = true)
     Object addWorkTypesToPublication();
 
+    @Query(value = CHECK_TASKS_ARCHIVE_IN_PUBLICATION, nativeQuery = true)
+    int countTasksArchiveInPublication();
+
+    /**
+     * Publishes the archived tasks, so that the reporting replica sees archived tasks being marked for deletion
+     * with their case.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = ADD_TASKS_ARCHIVE_TO_PUBLICATION, nativeQuery = true)
+    Object addTasksArchiveToPublication();
+
     @Query(value = SHOW_WAL_LEVEL, nativeQuery = true)
     String showWalLevel();
 
+    @Query(value = REPLICATION_SLOT_POSITION, nativeQuery = true)
+    Optional<ReplicationSlotPosition> findReplicationSlotPosition();
+
+    /**
+     * Marks the given tasks, live or archived, for deletion with their case.
+     */
     @Modifying
     @Transactional
     @Query(value = MARK_TASK_FOR_DELETION, nativeQuery = true)
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReadReplicaLagMonitor;
+
+/**
+ * This scheduler keeps the read replica lag up to date, reads fall back to the primary when it is not.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "config.readReplica.enabled", havingValue = "true")
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class ReadReplicaLagScheduler {
+    private final ReadReplicaLagMonitor readReplicaLagMonitor;
+
+    @Autowired
+    public ReadReplicaLagScheduler(ReadReplicaLagMonitor readReplicaLagMonitor) {
+        this.readReplicaLagMonitor = readReplicaLagMonitor;
+    }
+
+    @Scheduled(fixedDelayString = "${config.readReplica.lagCheckIntervalMillis}")
+    public void scheduled() {
+        log.debug("Read replica lag scheduler executed");
+        try {
+            readReplicaLagMonitor.checkLag();
+        } catch (RuntimeException e) {
+            log.warn("Could not check read replica lag", e);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReplicationLagMonitor;
+
+/**
+ * This scheduler keeps the replication lag gauges up to date.
+ */
+@Slf4j
+@Component
+@Profile("replica | preview")
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class ReplicationLagScheduler {
+    private final ReplicationLagMonitor replicationLagMonitor;
+
+    @Autowired
+    public ReplicationLagScheduler(ReplicationLagMonitor replicationLagMonitor) {
+        this.replicationLagMonitor = replicationLagMonitor;
+    }
+
+    @Scheduled(fixedDelayString = "${replication.lag.checkIntervalMillis}")
+    public void scheduled() {
+        log.debug("Postgresql replication lag scheduler executed");
+        try {
+            replicationLagMonitor.checkLag();
+        } catch (RuntimeException e) {
+            log.warn("Could not check replication lag", e);
+        }
+    }
+}
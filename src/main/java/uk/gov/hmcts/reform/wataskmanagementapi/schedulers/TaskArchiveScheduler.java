@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskArchiveService;
+
+/**
+ * This scheduler moves tasks that are no longer in use to the archive tables.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "config.archive.enabled", havingValue = "true")
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class TaskArchiveScheduler {
+    private final TaskArchiveService taskArchiveService;
+
+    @Autowired
+    public TaskArchiveScheduler(TaskArchiveService taskArchiveService) {
+        this.taskArchiveService = taskArchiveService;
+    }
+
+    @Scheduled(fixedDelayString = "${config.archive.intervalMillis}")
+    public void scheduled() {
+        log.debug("Task archive scheduler executed");
+        try {
+            taskArchiveService.archiveTasks();
+        } catch (RuntimeException e) {
+            log.warn("Could not archive tasks", e);
+        }
+    }
+}
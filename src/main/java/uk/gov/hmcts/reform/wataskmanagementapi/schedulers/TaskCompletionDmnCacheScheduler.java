@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskCompletionDmnCacheInvalidator;
+
+/**
+ * This scheduler clears the cached task completion decision table results when the tables are deployed again.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class TaskCompletionDmnCacheScheduler {
+    private final TaskCompletionDmnCacheInvalidator taskCompletionDmnCacheInvalidator;
+
+    @Autowired
+    public TaskCompletionDmnCacheScheduler(TaskCompletionDmnCacheInvalidator taskCompletionDmnCacheInvalidator) {
+        this.taskCompletionDmnCacheInvalidator = taskCompletionDmnCacheInvalidator;
+    }
+
+    @Scheduled(fixedDelayString = "${caffeine.task-completion.deployment-check.interval-millis}")
+    public void scheduled() {
+        log.debug("Task completion decision table deployment scheduler executed");
+        try {
+            taskCompletionDmnCacheInvalidator.checkDeployments();
+        } catch (RuntimeException e) {
+            log.warn("Could not check task completion decision table deployments", e);
+        }
+    }
+}
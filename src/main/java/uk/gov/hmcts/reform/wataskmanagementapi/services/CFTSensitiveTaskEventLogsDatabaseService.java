@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.microsoft.applicationinsights.telemetry.TelemetryContext;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,33 +17,42 @@ import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Service
-@SuppressWarnings("PMD.DoNotUseThreads")
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
 public class CFTSensitiveTaskEventLogsDatabaseService {
     private final SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
     private final CFTTaskDatabaseService cftTaskDatabaseService;
-
-    private final ExecutorService sensitiveTaskEventLogsExecutorService;
+    private final SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
+    private final int cleanUpChunkSize;
+    private final int partitionMonthsAhead;
 
     public CFTSensitiveTaskEventLogsDatabaseService(SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository,
                                                     CFTTaskDatabaseService cftTaskDatabaseService,
-                                                    ExecutorService sensitiveTaskEventLogsExecutorService) {
+                                                    SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter,
+                                                    @Value("${config.sensitiveTaskEventLogs.cleanUpChunkSize}")
+                                                    int cleanUpChunkSize,
+                                                    @Value("${config.sensitiveTaskEventLogs.partitionMonthsAhead}")
+                                                    int partitionMonthsAhead) {
         this.sensitiveTaskEventLogsRepository = sensitiveTaskEventLogsRepository;
         this.cftTaskDatabaseService = cftTaskDatabaseService;
-        this.sensitiveTaskEventLogsExecutorService = sensitiveTaskEventLogsExecutorService;
+        this.sensitiveTaskEventLogWriter = sensitiveTaskEventLogWriter;
+        this.cleanUpChunkSize = cleanUpChunkSize;
+        this.partitionMonthsAhead = partitionMonthsAhead;
     }
 
+    /**
+     * Queues a log of a failed role assignment verification on the given task to be written in the background.
+     *
+     * @return the log queued, with the id it is written with, or null when the task does not exist
+     */
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public SensitiveTaskEventLog processSensitiveTaskEventLog(String taskId,
                                                               List<RoleAssignment> roleAssignments,
                                                               ErrorMessages customErrorMessage) {
         TelemetryContext telemetryContext = new TelemetryContext();
         Optional<TaskResource> taskResource = cftTaskDatabaseService.findByIdOnly(taskId);
-        AtomicReference<SensitiveTaskEventLog> sensitiveTaskEventLogOutput = new AtomicReference<>();
         if (taskResource.isPresent()) {
             log.info("TaskRoles for taskId {} is {}", taskId, taskResource.get().getTaskRoleResources());
             SensitiveTaskEventLog sensitiveTaskEventLog = new SensitiveTaskEventLog(
@@ -57,23 +67,34 @@ public class CFTSensitiveTaskEventLogsDatabaseService {
                 ZonedDateTime.now().toOffsetDateTime()
             );
 
-            sensitiveTaskEventLogsExecutorService
-                .execute(() -> sensitiveTaskEventLogOutput.set(saveSensitiveTaskEventLog(sensitiveTaskEventLog)));
-
+            sensitiveTaskEventLogWriter.write(sensitiveTaskEventLog);
+            return sensitiveTaskEventLog;
         }
-        return sensitiveTaskEventLogOutput.get();
+        return null;
     }
 
+    /**
+     * Removes the logs that expired before the given time.
+     * The logs are partitioned by month of expiry. Partitions whose logs have all expired are dropped, and the
+     * expired logs left in the partition of the given time, or in the default partition, are deleted in chunks,
+     * each in its own transaction. The partitions of the coming months are created first, so that new logs do
+     * not fall into the default partition.
+     *
+     * @param timeStamp the time before which logs have expired
+     * @return the number of logs removed
+     */
     public int cleanUpSensitiveLogs(LocalDateTime timeStamp) {
-        return sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp);
-    }
+        LocalDateTime now = LocalDateTime.now();
+        int created = sensitiveTaskEventLogsRepository.createPartitions(now, now.plusMonths(partitionMonthsAhead));
+        long removed = sensitiveTaskEventLogsRepository.dropExpiredPartitions(timeStamp);
+        log.info("Created {} and dropped expired partitions of sensitive task event logs with {} logs",
+            created, removed);
 
-    SensitiveTaskEventLog saveSensitiveTaskEventLog(SensitiveTaskEventLog sensitiveTaskEventLog) {
-        try {
-            return sensitiveTaskEventLogsRepository.save(sensitiveTaskEventLog);
-        } catch (IllegalArgumentException e) {
-            log.error("Couldn't save SensitiveTaskEventLog for taskId {}", sensitiveTaskEventLog.getTaskId());
-            return sensitiveTaskEventLog;
-        }
+        int deleted;
+        do {
+            deleted = sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp, cleanUpChunkSize);
+            removed += deleted;
+        } while (deleted == cleanUpChunkSize);
+        return Math.toIntExact(removed);
     }
 }
@@ -1,9 +1,10 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessControlResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAttributeDefinition;
@@ -11,19 +12,28 @@ import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantTyp
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskResourceCaseQueryBuilder;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchCount;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.TaskAction;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
-import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics.SignatureType;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics.Stage;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
 
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.nimbusds.oauth2.sdk.util.CollectionUtils.isEmpty;
 
@@ -38,11 +48,20 @@ public class CFTTaskDatabaseService {
 
     private final TaskResourceRepository tasksRepository;
     private final CFTTaskMapper cftTaskMapper;
+    private final TaskSearchCountService taskSearchCountService;
+    private final RoleSignatureCache roleSignatureCache;
+    private final TaskSearchMetrics taskSearchMetrics;
 
     public CFTTaskDatabaseService(TaskResourceRepository tasksRepository,
-                                  CFTTaskMapper cftTaskMapper) {
+                                  CFTTaskMapper cftTaskMapper,
+                                  TaskSearchCountService taskSearchCountService,
+                                  RoleSignatureCache roleSignatureCache,
+                                  TaskSearchMetrics taskSearchMetrics) {
         this.tasksRepository = tasksRepository;
         this.cftTaskMapper = cftTaskMapper;
+        this.taskSearchCountService = taskSearchCountService;
+        this.roleSignatureCache = roleSignatureCache;
+        this.taskSearchMetrics = taskSearchMetrics;
     }
 
     public Optional<TaskResource> findByIdAndObtainPessimisticWriteLock(String taskId) {
@@ -58,12 +77,27 @@ public class CFTTaskDatabaseService {
         return tasksRepository.findByIdAndWaitForLock(taskId);
     }
 
+    /**
+     * Finds a task, looking in the archive when it is not in the tasks table. An archived task is detached and
+     * must not be saved.
+     */
     public Optional<TaskResource> findByIdOnly(String taskId) {
-        return tasksRepository.getByTaskId(taskId);
+        Optional<TaskResource> taskResource = tasksRepository.getByTaskId(taskId);
+        return taskResource.isPresent() ? taskResource : tasksRepository.findArchivedByTaskId(taskId);
     }
 
+    /**
+     * Finds the tasks of a case, including its archived tasks. Archived tasks are detached and must not be saved.
+     */
     public List<TaskResource> findByCaseIdOnly(String caseId) {
-        return tasksRepository.getByCaseId(caseId);
+        List<TaskResource> taskResources = tasksRepository.getByCaseId(caseId);
+        List<TaskResource> archivedTaskResources = tasksRepository.findArchivedByCaseId(caseId);
+        if (archivedTaskResources.isEmpty()) {
+            return taskResources;
+        }
+        List<TaskResource> allTaskResources = new ArrayList<>(taskResources);
+        allTaskResources.addAll(archivedTaskResources);
+        return allTaskResources;
     }
 
     public List<TaskResourceCaseQueryBuilder> findByTaskIdsByCaseId(final String caseId) {
@@ -75,12 +109,38 @@ public class CFTTaskDatabaseService {
         return tasksRepository.findByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(caseIds, states);
     }
 
+    /**
+     * Marks every assigned or unassigned task of the given cases that is not already marked to reconfigure,
+     * in a single statement, stamping each task as last updated by the given user.
+     *
+     * @return the number of tasks marked to reconfigure
+     */
+    public int markTasksToReconfigure(List<String> caseIds, String lastUpdatedUser, OffsetDateTime requestTime) {
+        return tasksRepository.markTasksToReconfigure(
+            caseIds, requestTime, lastUpdatedUser, TaskAction.MARK_FOR_RECONFIGURE.getValue());
+    }
+
     public List<String> getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
         List<CFTTaskState> states, OffsetDateTime reconfigureRequestTime) {
         return tasksRepository.findTaskIdsByStateInAndReconfigureRequestTimeGreaterThan(
             states, reconfigureRequestTime);
     }
 
+    /**
+     * Returns the ids of the active tasks awaiting reconfiguration, grouped by case id
+     * so that the case data each group needs can be fetched once.
+     */
+    public Map<String, List<String>> getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+        List<CFTTaskState> states, OffsetDateTime reconfigureRequestTime) {
+        Map<String, List<String>> taskIdsByCaseId = new LinkedHashMap<>();
+        tasksRepository.findCaseIdsAndTaskIdsByStateInAndReconfigureRequestTimeGreaterThan(
+                states, reconfigureRequestTime)
+            .forEach(row -> taskIdsByCaseId
+                .computeIfAbsent((String) row[0], caseId -> new ArrayList<>())
+                .add((String) row[1]));
+        return taskIdsByCaseId;
+    }
+
     public List<TaskResource> getTasksByTaskIdAndStateInAndReconfigureRequestTimeIsLessThanRetry(
         List<String> taskIds, List<CFTTaskState> states, OffsetDateTime retryWindow) {
         return tasksRepository.findByTaskIdInAndStateInAndReconfigureRequestTimeIsLessThan(
@@ -112,18 +172,51 @@ public class CFTTaskDatabaseService {
         return tasksRepository.findOne(specification);
     }
 
+    /**
+     * Finds the case id of a task that can be permission checked. Archived tasks are not included, as the
+     * permission query only reads the tasks table, so they are reported as not found rather than forbidden.
+     */
     public Optional<String> findCaseId(String taskId) {
-        Optional<TaskResource> taskResource = findByIdOnly(taskId);
+        Optional<TaskResource> taskResource = tasksRepository.getByTaskId(taskId);
         if (taskResource.isPresent() && taskResource.get().getCaseId() != null) {
             return Optional.of(taskResource.get().getCaseId());
         }
         return Optional.empty();
     }
 
+    @Transactional(readOnly = true)
     public GetTasksResponse<Task> searchForTasks(int firstResult,
                                                  int maxResults,
                                                  SearchRequest searchRequest,
                                                  AccessControlResponse accessControlResponse) {
+        return searchForTasks(firstResult, maxResults, null, false, searchRequest, accessControlResponse);
+    }
+
+    /**
+     * Keyset variant of {@link #searchForTasks(int, int, SearchRequest, AccessControlResponse)} which seeks
+     * past the task captured in the continuation token instead of skipping rows with an offset.
+     * The response carries the token for the following page, or none when the last page has been reached.
+     *
+     * @param maxResults            page size.
+     * @param continuationToken     position of the last task of the previous page, {@literal null} for the first page.
+     * @param searchRequest         the search request, must use the default ordering.
+     * @param accessControlResponse the role assignments of the current user.
+     * @return the page of tasks.
+     */
+    @Transactional(readOnly = true)
+    public GetTasksResponse<Task> searchForTasksAfter(int maxResults,
+                                                      SearchContinuationToken continuationToken,
+                                                      SearchRequest searchRequest,
+                                                      AccessControlResponse accessControlResponse) {
+        return searchForTasks(0, maxResults, continuationToken, true, searchRequest, accessControlResponse);
+    }
+
+    private GetTasksResponse<Task> searchForTasks(int firstResult,
+                                                  int maxResults,
+                                                  SearchContinuationToken continuationToken,
+                                                  boolean keyset,
+                                                  SearchRequest searchRequest,
+                                                  AccessControlResponse accessControlResponse) {
 
         List<RoleAssignment> roleAssignments = accessControlResponse.getRoleAssignments();
 
@@ -131,45 +224,80 @@ public class CFTTaskDatabaseService {
             log.info("Total volume of Role Assignments for current user: {}", roleAssignments.size());
         }
 
+        TaskSearchMetrics.SearchTags searchTags = taskSearchMetrics.tags(searchRequest);
+        Timer.Sample signatureBuilding = taskSearchMetrics.start();
         Set<String> filterSignature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
-        Set<String> roleSignature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> roleSignature = roleSignatureCache.getRoleSignatures(roleAssignments, searchRequest);
         List<String> excludeCaseIds = buildExcludedCaseIds(roleAssignments);
+        taskSearchMetrics.stop(signatureBuilding, Stage.SIGNATURE_BUILDING, searchTags);
+        taskSearchMetrics.recordSignatures(SignatureType.FILTER, searchTags, filterSignature.size());
+        taskSearchMetrics.recordSignatures(SignatureType.ROLE, searchTags, roleSignature.size());
 
         log.info("Task search for filter signatures {} \nrole signatures {} \nexcluded case ids {}",
                  filterSignature, roleSignature, excludeCaseIds
         );
-        List<String> taskIds = tasksRepository.searchTasksIds(
-            firstResult, maxResults, filterSignature, roleSignature, excludeCaseIds, searchRequest
-        );
+        List<String> taskIds = taskSearchMetrics.time(Stage.ID_QUERY, searchTags, () -> keyset
+            ? tasksRepository.searchTasksIdsAfter(
+                continuationToken, maxResults, filterSignature, roleSignature, excludeCaseIds, searchRequest)
+            : tasksRepository.searchTasksIds(
+                firstResult, maxResults, filterSignature, roleSignature, excludeCaseIds, searchRequest));
 
         if (isEmpty(taskIds)) {
             return new GetTasksResponse<>(List.of(), 0);
         }
 
-        Long count = tasksRepository.searchTasksCount(filterSignature, roleSignature, excludeCaseIds, searchRequest);
-
-        Sort sort = TaskSearchSortProvider.getSortOrders(searchRequest);
-        final List<TaskResource> taskResources = tasksRepository.findAllByTaskIdIn(taskIds, sort);
-
-        final List<Task> tasks = taskResources.stream()
-            .map(taskResource ->
-                     cftTaskMapper.mapToTaskAndExtractPermissionsUnion(
-                         taskResource,
-                         roleAssignments
-                     )
-            ).toList();
+        SearchCount count = taskSearchMetrics.time(Stage.COUNT_QUERY, searchTags, () ->
+            taskSearchCountService.count(filterSignature, roleSignature, excludeCaseIds, searchRequest));
+
+        Set<String> roleNames = roleAssignments.stream()
+            .map(RoleAssignment::getRoleName)
+            .collect(Collectors.toSet());
+        final List<TaskResource> taskResources = taskSearchMetrics.time(Stage.ENTITY_HYDRATION, searchTags, () ->
+            tasksRepository.findSearchResultsByTaskIds(taskIds, roleNames));
+
+        final List<Task> tasks = taskSearchMetrics.time(Stage.DTO_MAPPING, searchTags, () ->
+            taskResources.stream()
+                .map(taskResource ->
+                         cftTaskMapper.mapToTaskAndExtractPermissionsUnion(
+                             taskResource,
+                             roleAssignments
+                         )
+                ).toList());
+
+        String nextContinuationToken = keyset && taskIds.size() == maxResults
+            ? buildContinuationToken(taskResources.get(taskResources.size() - 1))
+            : null;
+
+        return new GetTasksResponse<>(tasks, count.getTotalRecords(), nextContinuationToken, count.getCapped());
+    }
 
-        return new GetTasksResponse<>(tasks, count);
+    /**
+     * Marks up to batchSize assigned or unassigned tasks as indexed in a single statement, skipping any task
+     * that is locked by another transaction, so that several pods can update the search index at once.
+     *
+     * @return the number of tasks marked as indexed
+     */
+    public int markTasksIndexed(int batchSize) {
+        return tasksRepository.markTasksIndexed(batchSize);
     }
 
-    public List<TaskResource> findTaskToUpdateIndex() {
-        return tasksRepository.findByIndexedFalseAndStateIn(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
+    public long countTasksToUpdateIndex() {
+        return tasksRepository.countByIndexedFalseAndStateIn(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
     }
 
     public List<TaskResource> findLastFiveUpdatedTasks() {
         return tasksRepository.findTop5ByOrderByLastUpdatedTimestampDesc();
     }
 
+    private String buildContinuationToken(TaskResource lastTask) {
+        return new SearchContinuationToken(
+            lastTask.getMajorPriority(),
+            lastTask.getPriorityDate(),
+            lastTask.getMinorPriority(),
+            lastTask.getTaskId()
+        ).encode();
+    }
+
     private List<String> buildExcludedCaseIds(List<RoleAssignment> roleAssignments) {
         return roleAssignments.stream()
             .filter(ra -> ra.getGrantType() == GrantType.EXCLUDED)
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.SearchEventAndCase;
@@ -44,6 +45,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.singleton;
 import static java.util.Objects.requireNonNull;
+import static uk.gov.hmcts.reform.wataskmanagementapi.config.CaffeineConfiguration.TASK_COMPLETION_DMN_CACHE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.DecisionTable.WA_TASK_COMPLETION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaTime.CAMUNDA_DATA_TIME_FORMATTER;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.CFT_TASK_STATE;
@@ -77,6 +79,9 @@ public class CamundaService {
 
     private static final String VALUE_TASK_ID_IN = "taskIdIn";
 
+    private static final String COMPLETION_DMN_CACHE_KEY = "{#searchEventAndCase.caseJurisdiction.toLowerCase(), "
+        + "#searchEventAndCase.caseType.toLowerCase(), #searchEventAndCase.eventId}";
+
     private final CamundaServiceApi camundaServiceApi;
     private final TaskMapper taskMapper;
     private final AuthTokenGenerator authTokenGenerator;
@@ -288,6 +293,12 @@ public class CamundaService {
         }
     }
 
+    /**
+     * Evaluates the task completion decision table for the event. The results only depend on the jurisdiction,
+     * case type and event, and are cached for them until the decision table is deployed again.
+     */
+    @Cacheable(key = COMPLETION_DMN_CACHE_KEY, value = TASK_COMPLETION_DMN_CACHE, sync = true,
+        cacheManager = "taskCompletionCacheManager")
     public List<Map<String, CamundaVariable>> evaluateTaskCompletionDmn(SearchEventAndCase searchEventAndCase) {
         try {
 
@@ -2,14 +2,17 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.SerialisedCaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskConfigurationResults;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.AssigneeConfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
@@ -21,6 +24,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toMap;
@@ -32,24 +40,38 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVari
 
 @Slf4j
 @Component
+@SuppressWarnings("PMD.DoNotUseThreads")
 public class CaseConfigurationProviderService {
 
     public static final String ADDITIONAL_PROPERTIES_PREFIX = "additionalProperties_";
     public static final String ADDITIONAL_PROPERTIES_KEY = "additionalProperties";
+    private static final String DMN_EVALUATION_TIMER = "wa.dmn.evaluation";
     private final CcdDataService ccdDataService;
     private final DmnEvaluationService dmnEvaluationService;
     private final ObjectMapper objectMapper;
     private final DateTypeConfigurator dateTypeConfigurator;
+    private final ExecutorService dmnEvaluationExecutorService;
+    private final Timer configurationDmnTimer;
+    private final Timer permissionsDmnTimer;
+    private final long dmnEvaluationTimeoutMillis;
 
     @Autowired
     public CaseConfigurationProviderService(CcdDataService ccdDataService,
                                             DmnEvaluationService dmnEvaluationService,
                                             ObjectMapper objectMapper,
-                                            DateTypeConfigurator dateTypeConfigurator) {
+                                            DateTypeConfigurator dateTypeConfigurator,
+                                            ExecutorService dmnEvaluationExecutorService,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${config.dmn.evaluationTimeoutMillis}")
+                                            long dmnEvaluationTimeoutMillis) {
         this.ccdDataService = ccdDataService;
         this.dmnEvaluationService = dmnEvaluationService;
         this.objectMapper = objectMapper;
         this.dateTypeConfigurator = dateTypeConfigurator;
+        this.dmnEvaluationExecutorService = dmnEvaluationExecutorService;
+        this.configurationDmnTimer = meterRegistry.timer(DMN_EVALUATION_TIMER, "dmn", "configuration");
+        this.permissionsDmnTimer = meterRegistry.timer(DMN_EVALUATION_TIMER, "dmn", "permissions");
+        this.dmnEvaluationTimeoutMillis = dmnEvaluationTimeoutMillis;
     }
 
     /**
@@ -59,27 +81,88 @@ public class CaseConfigurationProviderService {
      * @param taskAttributes taskAttributes
      * @return a map with the process variables configuration
      */
-    @SuppressWarnings("unchecked")
     public TaskConfigurationResults getCaseRelatedConfiguration(
             String caseId,
             Map<String, Object> taskAttributes,
             boolean isReconfigureRequest) {
         // Obtain case from ccd
+        SerialisedCaseDetails serialisedCaseDetails = getCaseDetails(caseId);
+
+        return getCaseRelatedConfiguration(serialisedCaseDetails, taskAttributes, isReconfigureRequest);
+    }
+
+    /**
+     * Fetches a case from ccd and serialises its case data once, so that a caller configuring several tasks on
+     * the case can pass the result to each of them. Nothing is kept between calls.
+     *
+     * @param caseId the ccd case id
+     * @return the ccd case and its serialised case data
+     */
+    public SerialisedCaseDetails getCaseDetails(String caseId) {
         CaseDetails caseDetails = ccdDataService.getCaseData(caseId);
+        return new SerialisedCaseDetails(caseDetails, writeValueAsString(caseDetails.getData()));
+    }
 
-        String caseDataString = writeValueAsString(caseDetails.getData());
+    /**
+     * Obtains a list of process variables that are related to ccd case data the caller has already fetched,
+     * so that several tasks on the same case can be configured from a single ccd call.
+     *
+     * @param serialisedCaseDetails the ccd case and its serialised case data
+     * @param taskAttributes    taskAttributes
+     * @return a map with the process variables configuration
+     */
+    public TaskConfigurationResults getCaseRelatedConfiguration(
+            SerialisedCaseDetails serialisedCaseDetails,
+            Map<String, Object> taskAttributes,
+            boolean isReconfigureRequest) {
+        CaseDetails caseDetails = serialisedCaseDetails.getCaseDetails();
+        String caseDataString = serialisedCaseDetails.getCaseDataJson();
         String taskAttributesString = writeValueAsString(taskAttributes);
         log.debug("Case Configuration : task Attributes {}", taskAttributesString);
         String jurisdiction = caseDetails.getJurisdiction();
         String caseType = caseDetails.getCaseType();
-        // Evaluate Dmns
+        // Evaluate Dmns. Both take the same input, so the permissions dmn is evaluated in the background
+        // while the configuration dmn is evaluated and its results are used to calculate the task dates.
+        // It is submitted rather than run as a CompletableFuture so that cancelling it interrupts the
+        // evaluating virtual thread, which closes its connection to camunda instead of leaving the call running.
+        Future<List<PermissionsDmnEvaluationResponse>> permissionsDmnEvaluation =
+            dmnEvaluationExecutorService.submit(
+                () -> permissionsDmnTimer.record(() -> dmnEvaluationService.evaluateTaskPermissionsDmn(
+                    jurisdiction,
+                    caseType,
+                    caseDataString,
+                    taskAttributesString
+                ))
+            );
+        try {
+            return configureFromDmnResults(
+                caseDetails,
+                caseDataString,
+                taskAttributes,
+                taskAttributesString,
+                isReconfigureRequest,
+                permissionsDmnEvaluation
+            );
+        } finally {
+            permissionsDmnEvaluation.cancel(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private TaskConfigurationResults configureFromDmnResults(
+            CaseDetails caseDetails,
+            String caseDataString,
+            Map<String, Object> taskAttributes,
+            String taskAttributesString,
+            boolean isReconfigureRequest,
+            Future<List<PermissionsDmnEvaluationResponse>> permissionsDmnEvaluation) {
         List<ConfigurationDmnEvaluationResponse> taskConfigurationDmnResults =
-            dmnEvaluationService.evaluateTaskConfigurationDmn(
-                jurisdiction,
-                caseType,
+            configurationDmnTimer.record(() -> dmnEvaluationService.evaluateTaskConfigurationDmn(
+                caseDetails.getJurisdiction(),
+                caseDetails.getCaseType(),
                 caseDataString,
                 taskAttributesString
-            );
+            ));
         log.debug("Case Configuration : taskConfigurationDmn Results {}", taskConfigurationDmnResults);
 
         taskConfigurationDmnResults
@@ -101,13 +184,7 @@ public class CaseConfigurationProviderService {
         taskConfigurationDmnResultsAfterUpdate =
             normalizeAssigneeConfigurationResults(taskConfigurationDmnResultsAfterUpdate);
 
-        List<PermissionsDmnEvaluationResponse> permissionsDmnResults =
-            dmnEvaluationService.evaluateTaskPermissionsDmn(
-                jurisdiction,
-                caseType,
-                caseDataString,
-                taskAttributesString
-            );
+        List<PermissionsDmnEvaluationResponse> permissionsDmnResults = awaitDmnEvaluation(permissionsDmnEvaluation);
         log.debug("Case Configuration : permissionsDmn Results {}", permissionsDmnResults);
         List<PermissionsDmnEvaluationResponse> filteredPermissionDmnResults
             = permissionsDmnResults.stream()
@@ -136,12 +213,13 @@ public class CaseConfigurationProviderService {
         String caseId,
         Map<String, Object> taskAttributes) {
         // Obtain case from ccd
-        CaseDetails caseDetails = ccdDataService.getCaseData(caseId);
+        SerialisedCaseDetails serialisedCaseDetails = getCaseDetails(caseId);
+        CaseDetails caseDetails = serialisedCaseDetails.getCaseDetails();
 
         String jurisdiction = caseDetails.getJurisdiction();
         String caseType = caseDetails.getCaseType();
 
-        String caseDataString = writeValueAsString(caseDetails.getData());
+        String caseDataString = serialisedCaseDetails.getCaseDataJson();
         String taskAttributesString = writeValueAsString(taskAttributes);
 
         // Evaluate Dmns
@@ -277,9 +355,25 @@ public class CaseConfigurationProviderService {
         return caseConfigurationVariables;
     }
 
+    private <T> T awaitDmnEvaluation(Future<T> dmnEvaluation) {
+        try {
+            return dmnEvaluation.get(dmnEvaluationTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Could not evaluate dmn", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(
+                String.format("Dmn evaluation did not complete within %d ms", dmnEvaluationTimeoutMillis), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for dmn evaluation", e);
+        }
+    }
+
     private String writeValueAsString(Map<String, Object> data) {
         try {
-            objectMapper.registerModule(new Jdk8Module());
             return objectMapper.writeValueAsString(data);
         } catch (JsonProcessingException e) {
             log.error("Case Configuration : Could not extract case data");
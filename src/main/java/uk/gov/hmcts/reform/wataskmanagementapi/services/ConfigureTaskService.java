@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.SerialisedCaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskConfigurationResults;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskToConfigure;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
@@ -32,11 +33,11 @@ public class ConfigureTaskService {
         return cftTaskMapper.mapConfigurationAttributes(skeletonMappedTask, configurationVariables);
     }
 
-    public TaskResource reconfigureCFTTask(TaskResource taskResource) {
+    public TaskResource reconfigureCFTTask(TaskResource taskResource, SerialisedCaseDetails caseDetails) {
         Map<String, Object> taskAttributes = cftTaskMapper.getTaskAttributes(taskResource);
 
         TaskConfigurationResults configurationVariables = caseConfigurationProviderService
-            .getCaseRelatedConfiguration(taskResource.getCaseId(), taskAttributes, true);
+            .getCaseRelatedConfiguration(caseDetails, taskAttributes, true);
 
         return cftTaskMapper.reconfigureTaskResourceFromDmnResults(taskResource, configurationVariables);
     }
@@ -15,12 +15,16 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DmnRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.DmnEvaluationMode;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.LocalDmnEvaluator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.LocalDmnEvaluator.LocalEvaluation;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.DecisionTable.WA_TASK_CONFIGURATION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.DecisionTable.WA_TASK_PERMISSIONS;
@@ -35,6 +39,7 @@ public class DmnEvaluationService {
     private final CamundaServiceApi camundaServiceApi;
     private final AuthTokenGenerator serviceAuthTokenGenerator;
     private final CamundaObjectMapper camundaObjectMapper;
+    private final LocalDmnEvaluator localDmnEvaluator;
 
     @Value("${config.fieldsToExcludeFromTrim}")
     private List<String> fieldsToExcludeFromTrim;
@@ -42,12 +47,17 @@ public class DmnEvaluationService {
     @Value("${config.dmnConfigFieldsWithInternalDefaults}")
     private List<String> dmnConfigFieldsWithInternalDefaults;
 
+    @Value("${config.dmn.evaluationMode}")
+    private DmnEvaluationMode evaluationMode;
+
     public DmnEvaluationService(CamundaServiceApi camundaServiceApi,
                                 AuthTokenGenerator serviceAuthTokenGenerator,
-                                CamundaObjectMapper camundaObjectMapper) {
+                                CamundaObjectMapper camundaObjectMapper,
+                                LocalDmnEvaluator localDmnEvaluator) {
         this.camundaServiceApi = camundaServiceApi;
         this.serviceAuthTokenGenerator = serviceAuthTokenGenerator;
         this.camundaObjectMapper = camundaObjectMapper;
+        this.localDmnEvaluator = localDmnEvaluator;
     }
 
     public List<PermissionsDmnEvaluationResponse> evaluateTaskPermissionsDmn(String jurisdiction,
@@ -96,17 +106,51 @@ public class DmnEvaluationService {
         return response;
     }
 
+    /**
+     * Evaluates a decision table according to the configured evaluation mode. Tables that cannot be
+     * evaluated locally are always evaluated by Camunda. Otherwise the Camunda results are returned after
+     * being compared with the local ones, unless in local mode and the local results have been verified.
+     */
+    private <T> List<T> evaluateDecisionTable(String decisionTableKey,
+                                              String tenantId,
+                                              String caseData,
+                                              String taskAttributes,
+                                              Class<T> responseType,
+                                              Supplier<List<T>> remoteEvaluation) {
+        if (evaluationMode == null || evaluationMode == DmnEvaluationMode.REMOTE) {
+            return remoteEvaluation.get();
+        }
+        Optional<LocalEvaluation<T>> localEvaluation =
+            localDmnEvaluator.evaluate(decisionTableKey, tenantId, caseData, taskAttributes, responseType);
+        if (evaluationMode == DmnEvaluationMode.LOCAL
+            && localEvaluation.isPresent() && localEvaluation.get().verified()) {
+            return localEvaluation.get().results();
+        }
+        List<T> remoteResults = remoteEvaluation.get();
+        localEvaluation.ifPresent(evaluation ->
+            localDmnEvaluator.matches(decisionTableKey, evaluation, remoteResults));
+        return remoteResults;
+    }
+
     private List<ConfigurationDmnEvaluationResponse> performEvaluateConfigurationDmnAction(
         String decisionTableKey,
         String jurisdiction,
         String caseData,
         String taskAttributes) {
         try {
-            List<ConfigurationDmnEvaluationResponse> dmnResponse = camundaServiceApi.evaluateConfigurationDmnTable(
-                serviceAuthTokenGenerator.generate(),
+            String tenantId = jurisdiction.toLowerCase(Locale.ROOT);
+            List<ConfigurationDmnEvaluationResponse> dmnResponse = evaluateDecisionTable(
                 decisionTableKey,
-                jurisdiction.toLowerCase(Locale.ROOT),
-                new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                tenantId,
+                caseData,
+                taskAttributes,
+                ConfigurationDmnEvaluationResponse.class,
+                () -> camundaServiceApi.evaluateConfigurationDmnTable(
+                    serviceAuthTokenGenerator.generate(),
+                    decisionTableKey,
+                    tenantId,
+                    new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                )
             );
 
             cleanFieldsWithInternalDefaults(dmnConfigFieldsWithInternalDefaults, dmnResponse);
@@ -133,11 +177,19 @@ public class DmnEvaluationService {
         String caseData,
         String taskAttributes) {
         try {
-            List<PermissionsDmnEvaluationResponse> dmnResponse = camundaServiceApi.evaluatePermissionsDmnTable(
-                serviceAuthTokenGenerator.generate(),
+            String tenantId = jurisdiction.toLowerCase(Locale.ROOT);
+            List<PermissionsDmnEvaluationResponse> dmnResponse = evaluateDecisionTable(
                 decisionTableKey,
-                jurisdiction.toLowerCase(Locale.ROOT),
-                new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                tenantId,
+                caseData,
+                taskAttributes,
+                PermissionsDmnEvaluationResponse.class,
+                () -> camundaServiceApi.evaluatePermissionsDmnTable(
+                    serviceAuthTokenGenerator.generate(),
+                    decisionTableKey,
+                    tenantId,
+                    new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                )
             );
             return dmnResponse.stream().map(CamundaHelper::removeSpaces).toList();
         } catch (FeignException e) {
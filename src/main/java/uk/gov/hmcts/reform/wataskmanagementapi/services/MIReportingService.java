@@ -88,8 +88,18 @@ public class MIReportingService {
     private void ensurePublicationConfigured() {
         if (!isPublicationPresent()) {
             createPublication();
-        } else if (!isWorkTypesInPublication()) {
+            return;
+        }
+        boolean tablesAdded = false;
+        if (!isWorkTypesInPublication()) {
             addWorkTypesToPublication();
+            tablesAdded = true;
+        }
+        if (!isTasksArchiveInPublication()) {
+            addTasksArchiveToPublication();
+            tablesAdded = true;
+        }
+        if (tablesAdded) {
             subscriptionCreator.refreshSubscription();
         }
     }
@@ -139,6 +149,15 @@ public class MIReportingService {
         }
     }
 
+    protected boolean isTasksArchiveInPublication() {
+        if (taskResourceRepository.countTasksArchiveInPublication() == 0) {
+            log.info("Tasks archive not added to publication");
+            return false;
+        } else {
+            return true;
+        }
+    }
+
     private void createPublication() {
         taskResourceRepository.createPublication();
         log.info("Created publication");
@@ -149,6 +168,11 @@ public class MIReportingService {
         log.info("Added work types to publication");
     }
 
+    private void addTasksArchiveToPublication() {
+        taskResourceRepository.addTasksArchiveToPublication();
+        log.info("Added tasks archive to publication");
+    }
+
     protected boolean isSubscriptionPresent() {
         int count = taskHistoryRepository.countSubscriptions();
         if (count == 0) {
@@ -0,0 +1,102 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import javax.sql.DataSource;
+
+/**
+ * Measures how far the read replica, a hot standby of the primary, is behind in replaying the primary's
+ * write-ahead log. Reads are only sent to the replica while the lag is known to be within the maximum tolerated
+ * lag. The time since the lag was last measured counts as lag too, so reads fall back to the primary when the
+ * lag can no longer be measured.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "config.readReplica.enabled", havingValue = "true")
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class ReadReplicaLagMonitor {
+
+    private static final String LAG_METRIC = "wa.datasource.read_replica.lag.seconds";
+    // a standby that has replayed all it received is up to date, however long ago the last transaction was
+    private static final String LAG_QUERY = """
+        SELECT CASE
+            WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+            ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp())
+        END
+        """;
+
+    private final JdbcTemplate readReplicaJdbcTemplate;
+    private final Clock clock;
+    private final double maxLagSeconds;
+    private volatile MeasuredLag lastLag;
+
+    @Autowired
+    public ReadReplicaLagMonitor(@Qualifier("readReplicaDataSource") DataSource readReplicaDataSource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${config.readReplica.maxLagSeconds}") double maxLagSeconds) {
+        this(new JdbcTemplate(readReplicaDataSource), Clock.systemUTC(), meterRegistry, maxLagSeconds);
+    }
+
+    ReadReplicaLagMonitor(JdbcTemplate readReplicaJdbcTemplate,
+                          Clock clock,
+                          MeterRegistry meterRegistry,
+                          double maxLagSeconds) {
+        this.readReplicaJdbcTemplate = readReplicaJdbcTemplate;
+        this.clock = clock;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Gauge.builder(LAG_METRIC, this, monitor -> monitor.lagSeconds().orElse(Double.NaN))
+            .baseUnit("seconds")
+            .description("How far the read replica is behind the primary")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Reads the replay lag from the read replica.
+     * The lag is recorded as unknown when the replica cannot be reached or has not replayed any transaction yet.
+     */
+    public void checkLag() {
+        Double lagSeconds;
+        try {
+            lagSeconds = readReplicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+        } catch (RuntimeException e) {
+            lastLag = null;
+            throw e;
+        }
+        lastLag = lagSeconds == null ? null : new MeasuredLag(lagSeconds, clock.instant());
+        if (!isWithinMaxLag()) {
+            log.warn("Read replica is lagging by {} seconds, reads are sent to the primary", lagSeconds);
+        }
+    }
+
+    /**
+     * Whether the read replica is known to be no further behind the primary than the maximum tolerated lag.
+     */
+    public boolean isWithinMaxLag() {
+        return lagSeconds().map(lag -> lag <= maxLagSeconds).orElse(false);
+    }
+
+    private Optional<Double> lagSeconds() {
+        MeasuredLag lag = lastLag;
+        if (lag == null) {
+            return Optional.empty();
+        }
+        double secondsSinceCheck = Duration.between(lag.checkedAt(), clock.instant()).toMillis() / 1000d;
+        return Optional.of(lag.lagSeconds() + Math.max(0, secondsSinceCheck));
+    }
+
+    private record MeasuredLag(double lagSeconds, Instant checkedAt) {
+    }
+}
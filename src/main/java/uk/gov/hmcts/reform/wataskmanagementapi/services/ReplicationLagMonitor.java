@@ -0,0 +1,143 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.replicarepository.TaskHistoryResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.ReplicationSlotPosition;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Measures how far the replica is behind the primary by comparing write-ahead log positions, rather than
+ * waiting for recent task updates to appear in the replica tables.
+ * The primary's current WAL position is compared with the position the subscription has confirmed on the
+ * replication slot, and with the position the subscription has received on the replica. The lag of each
+ * is published in bytes, together with the replay lag in seconds reported by the primary.
+ * The primary does not report a replay lag when the subscription's walsender is gone, when the database role
+ * cannot read replication statistics, or once the subscription has been idle. The replay lag is then unknown,
+ * and replication is judged on how far the replication slot is behind instead.
+ */
+@Slf4j
+@Service
+@Profile("replica | preview")
+public class ReplicationLagMonitor {
+
+    private static final String LAG_BYTES_METRIC = "wa.replication.lag.bytes";
+    private static final String LAG_SECONDS_METRIC = "wa.replication.lag.seconds";
+
+    private final TaskResourceRepository taskResourceRepository;
+    private final TaskHistoryResourceRepository taskHistoryResourceRepository;
+    private final long maxLagSeconds;
+    private final long maxLagBytes;
+    private final AtomicReference<ReplicationLag> lastLag = new AtomicReference<>();
+
+    @Autowired
+    public ReplicationLagMonitor(TaskResourceRepository taskResourceRepository,
+                                 TaskHistoryResourceRepository taskHistoryResourceRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${replication.lag.maxSeconds}") long maxLagSeconds,
+                                 @Value("${replication.lag.maxBytes}") long maxLagBytes) {
+        this.taskResourceRepository = taskResourceRepository;
+        this.taskHistoryResourceRepository = taskHistoryResourceRepository;
+        this.maxLagSeconds = maxLagSeconds;
+        this.maxLagBytes = maxLagBytes;
+
+        registerGauge(meterRegistry, LAG_BYTES_METRIC, "slot", "bytes", ReplicationLag::slotLagBytes);
+        registerGauge(meterRegistry, LAG_BYTES_METRIC, "subscription", "bytes", ReplicationLag::subscriptionLagBytes);
+        registerGauge(meterRegistry, LAG_SECONDS_METRIC, "replay", "seconds", ReplicationLag::lagSeconds);
+    }
+
+    /**
+     * Reads the current WAL positions from the primary and the replica and records the lag between them.
+     *
+     * @return the lag, with a null position or replay lag for any that the primary or the replica does not report
+     */
+    public ReplicationLag checkLag() {
+        Optional<ReplicationSlotPosition> slotPosition = taskResourceRepository.findReplicationSlotPosition();
+        String receivedLsn = taskHistoryResourceRepository.findSubscriptionReceivedLsn();
+
+        String currentLsn = slotPosition.map(ReplicationSlotPosition::getCurrentLsn).orElse(null);
+        String confirmedFlushLsn = slotPosition.map(ReplicationSlotPosition::getConfirmedFlushLsn).orElse(null);
+        Long slotLagBytes = lagBytes(currentLsn, confirmedFlushLsn);
+        Double lagSeconds = slotPosition.map(ReplicationSlotPosition::getReplayLagSeconds).orElse(null);
+        if (lagSeconds == null && slotLagBytes != null && slotLagBytes > 0) {
+            log.warn("Replay lag is not reported for the subscription, comparing WAL positions instead. "
+                     + "Check that the subscription is connected and that the database role can read "
+                     + "pg_stat_replication (slotLagBytes={})", slotLagBytes);
+        }
+
+        ReplicationLag lag = new ReplicationLag(
+            currentLsn,
+            confirmedFlushLsn,
+            receivedLsn,
+            slotLagBytes,
+            lagBytes(currentLsn, receivedLsn),
+            lagSeconds,
+            isLagging(slotLagBytes, receivedLsn, lagSeconds),
+            OffsetDateTime.now()
+        );
+        lastLag.set(lag);
+        if (lag.lagging()) {
+            log.warn("TASK_REPLICATION_ERROR: Replication is lagging {}", lag);
+        }
+        return lag;
+    }
+
+    public Optional<ReplicationLag> getLastLag() {
+        return Optional.ofNullable(lastLag.get());
+    }
+
+    /**
+     * Converts a WAL position in its text form, two hexadecimal numbers separated by a slash, to a byte offset.
+     */
+    static long toBytes(String lsn) {
+        int separator = lsn.indexOf('/');
+        return (Long.parseLong(lsn.substring(0, separator), 16) << 32)
+               + Long.parseLong(lsn.substring(separator + 1), 16);
+    }
+
+    private boolean isLagging(Long slotLagBytes, String receivedLsn, Double lagSeconds) {
+        if (slotLagBytes == null || receivedLsn == null) {
+            return true;
+        }
+        return lagSeconds == null ? slotLagBytes > maxLagBytes : lagSeconds > maxLagSeconds;
+    }
+
+    private static Long lagBytes(String currentLsn, String lsn) {
+        return currentLsn == null || lsn == null ? null : Math.max(0, toBytes(currentLsn) - toBytes(lsn));
+    }
+
+    private void registerGauge(MeterRegistry meterRegistry,
+                               String name,
+                               String position,
+                               String unit,
+                               Function<ReplicationLag, Number> value) {
+        Gauge.builder(name, lastLag, lag -> {
+            Number lagValue = lag.get() == null ? null : value.apply(lag.get());
+            return lagValue == null ? Double.NaN : lagValue.doubleValue();
+        })
+            .tag("position", position)
+            .baseUnit(unit)
+            .description("How far the replica is behind the primary")
+            .register(meterRegistry);
+    }
+
+    public record ReplicationLag(String currentLsn,
+                                 String confirmedFlushLsn,
+                                 String receivedLsn,
+                                 Long slotLagBytes,
+                                 Long subscriptionLagBytes,
+                                 Double lagSeconds,
+                                 boolean lagging,
+                                 OffsetDateTime checkedAt) {
+    }
+}
@@ -4,6 +4,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.AccessControlService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
@@ -27,14 +28,17 @@ public class RoleAssignmentVerificationService {
     private final CFTTaskDatabaseService cftTaskDatabaseService;
     private final CftQueryService cftQueryService;
     private final CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
+    private final AccessControlService accessControlService;
 
     @Autowired
     public RoleAssignmentVerificationService(CFTTaskDatabaseService cftTaskDatabaseService,
                                              CftQueryService cftQueryService,
-                                             CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDb) {
+                                             CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDb,
+                                             AccessControlService accessControlService) {
         this.cftTaskDatabaseService = cftTaskDatabaseService;
         this.cftQueryService = cftQueryService;
         this.cftSensitiveTaskEventLogsDatabaseService = cftSensitiveTaskEventLogsDb;
+        this.accessControlService = accessControlService;
     }
 
     public TaskResource verifyRoleAssignments(String taskId,
@@ -74,6 +78,11 @@ public class RoleAssignmentVerificationService {
                 cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(taskId,
                     roleAssignments,
                     currentErrorMessage);
+                //The roles may have changed since they were cached, so make the next request fetch them again
+                roleAssignments.stream()
+                    .map(RoleAssignment::getActorId)
+                    .distinct()
+                    .forEach(accessControlService::evictRoles);
                 throw new RoleAssignmentVerificationException(currentErrorMessage);
 
             }
@@ -0,0 +1,251 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.hypersistence.utils.hibernate.type.util.ObjectMapperWrapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes sensitive task event logs in the background, on a thread of its own that runs from the start of the
+ * application context until it is stopped.
+ * Logs are held in a bounded queue and written with one multi-row insert per batch, once a batch is full or
+ * the oldest log in it has waited for the flush interval. When the queue is full a log waits up to the offer
+ * timeout for space before it is dropped, so that a burst of logs slows its callers down only briefly.
+ * The task and user data of a log are serialised when it is queued, while the task is still attached to the
+ * caller's persistence context, and are given their id then.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"PMD.DoNotUseThreads", "PMD.AvoidCatchingGenericException", "PMD.DataflowAnomalyAnalysis"})
+public class SensitiveTaskEventLogWriter implements SmartLifecycle {
+
+    private static final String METRIC_PREFIX = "wa.sensitive_task_event_logs.";
+    private static final String THREAD_NAME = "sensitive-task-event-log-writer";
+    // started before and stopped after the web server, so that no request finds the writer stopped
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long STOP_TIMEOUT_MILLIS = 60_000;
+    // queued on stop to wake the background writer up
+    private static final QueuedLog STOP = new QueuedLog(null, null);
+
+    private final SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
+    private final ObjectMapper objectMapper = ObjectMapperWrapper.INSTANCE.getObjectMapper();
+    private final BlockingQueue<QueuedLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter overflowCounter;
+    private final Counter droppedCounter;
+
+    private volatile boolean stopped;
+    private volatile Thread writerThread;
+
+    @Autowired
+    public SensitiveTaskEventLogWriter(SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${config.sensitiveTaskEventLogs.queueCapacity}") int queueCapacity,
+                                       @Value("${config.sensitiveTaskEventLogs.batchSize}") int batchSize,
+                                       @Value("${config.sensitiveTaskEventLogs.flushIntervalMillis}")
+                                       long flushIntervalMillis,
+                                       @Value("${config.sensitiveTaskEventLogs.offerTimeoutMillis}")
+                                       long offerTimeoutMillis) {
+        this.sensitiveTaskEventLogsRepository = sensitiveTaskEventLogsRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.writtenCounter = meterRegistry.counter(METRIC_PREFIX + "written");
+        this.failedCounter = meterRegistry.counter(METRIC_PREFIX + "failed");
+        this.overflowCounter = meterRegistry.counter(METRIC_PREFIX + "overflow");
+        this.droppedCounter = meterRegistry.counter(METRIC_PREFIX + "dropped");
+        Gauge.builder(METRIC_PREFIX + "queue.size", queue, BlockingQueue::size)
+            .description("Sensitive task event logs waiting to be written")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts the background writer.
+     */
+    @Override
+    public void start() {
+        stopped = false;
+        writerThread = Thread.ofPlatform().name(THREAD_NAME).daemon(true).start(this::drain);
+    }
+
+    /**
+     * Stops the background writer, waiting for it to write the logs still queued. Logs queued afterwards
+     * are written straight away.
+     */
+    @Override
+    public void stop() {
+        stopped = true;
+        Thread thread = writerThread;
+        if (thread != null) {
+            queue.offer(STOP);
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writerThread != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * Gives the log its id and queues it to be written.
+     *
+     * @param sensitiveTaskEventLog the log
+     * @return false when the log was dropped because the queue stayed full for the offer timeout
+     */
+    public boolean write(SensitiveTaskEventLog sensitiveTaskEventLog) {
+        sensitiveTaskEventLog.setId(UUID.randomUUID());
+        QueuedLog queuedLog = new QueuedLog(sensitiveTaskEventLog, toRow(sensitiveTaskEventLog));
+        if (stopped) {
+            writeBatch(List.of(queuedLog));
+            return true;
+        }
+        if (queue.offer(queuedLog)) {
+            return true;
+        }
+        overflowCounter.increment();
+        try {
+            if (queue.offer(queuedLog, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        droppedCounter.increment();
+        log.warn("Dropped SensitiveTaskEventLog for taskId {} as the queue is full", sensitiveTaskEventLog.getTaskId());
+        return false;
+    }
+
+    /**
+     * Writes all the logs queued, in batches.
+     */
+    void flush() {
+        List<QueuedLog> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void drain() {
+        List<QueuedLog> batch = new ArrayList<>(batchSize);
+        boolean interrupted = false;
+        try {
+            while (!stopped) {
+                QueuedLog first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null || first == STOP) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (stopped || batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    QueuedLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null || next == STOP) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+        } finally {
+            writeBatch(batch);
+            flush();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void writeBatch(List<QueuedLog> queuedLogs) {
+        List<QueuedLog> batch = queuedLogs.stream().filter(queuedLog -> queuedLog != STOP).toList();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writtenCounter.increment(insert(batch));
+        } catch (Exception e) {
+            log.warn("Couldn't save batch of {} SensitiveTaskEventLogs, saving them one by one", batch.size(), e);
+            batch.forEach(this::save);
+        }
+    }
+
+    private void save(QueuedLog queuedLog) {
+        try {
+            writtenCounter.increment(insert(List.of(queuedLog)));
+        } catch (Exception e) {
+            failedCounter.increment();
+            log.error("Couldn't save SensitiveTaskEventLog for taskId {}", queuedLog.log().getTaskId(), e);
+        }
+    }
+
+    private int insert(List<QueuedLog> queuedLogs) throws JsonProcessingException {
+        ArrayNode rows = objectMapper.createArrayNode();
+        queuedLogs.forEach(queuedLog -> rows.add(queuedLog.row()));
+        return sensitiveTaskEventLogsRepository.insertAll(objectMapper.writeValueAsString(rows));
+    }
+
+    private ObjectNode toRow(SensitiveTaskEventLog sensitiveTaskEventLog) {
+        ObjectNode row = objectMapper.createObjectNode()
+            .put("id", sensitiveTaskEventLog.getId().toString())
+            .put("request_id", sensitiveTaskEventLog.getRequestId())
+            .put("correlation_id", sensitiveTaskEventLog.getCorrelationId())
+            .put("task_id", sensitiveTaskEventLog.getTaskId())
+            .put("case_id", sensitiveTaskEventLog.getCaseId())
+            .put("message", sensitiveTaskEventLog.getMessage())
+            .put("expiry_time", toText(sensitiveTaskEventLog.getExpiryTime()))
+            .put("log_event_time", toText(sensitiveTaskEventLog.getLogEventTime()));
+        row.set("user_data", objectMapper.valueToTree(sensitiveTaskEventLog.getUserData()));
+        row.set("task_data", objectMapper.valueToTree(sensitiveTaskEventLog.getTaskData()));
+        return row;
+    }
+
+    private static String toText(OffsetDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toString();
+    }
+
+    private record QueuedLog(SensitiveTaskEventLog log, ObjectNode row) {
+    }
+}
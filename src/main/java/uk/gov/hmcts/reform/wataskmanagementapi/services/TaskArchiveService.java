@@ -0,0 +1,65 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Moves the completed, cancelled and terminated tasks that have not been updated for the retention period, with
+ * their task roles, from the tasks table to the archive tables, so that the tasks table and its indexes only grow
+ * with the tasks still in use.
+ * Tasks are archived in batches, each in its own transaction. The deletes are replicated like any other, and
+ * the reporting replica keeps the tasks it is asked to delete that are in a final state and were not marked for
+ * deletion with their case.
+ */
+@Slf4j
+@Service
+public class TaskArchiveService {
+
+    private static final String ARCHIVED_METRIC = "wa.tasks.archived";
+
+    private final TaskResourceRepository taskResourceRepository;
+    private final Counter archivedCounter;
+    private final int retentionDays;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    @Autowired
+    public TaskArchiveService(TaskResourceRepository taskResourceRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${config.archive.retentionDays}") int retentionDays,
+                              @Value("${config.archive.batchSize}") int batchSize,
+                              @Value("${config.archive.maxBatchesPerRun}") int maxBatchesPerRun) {
+        this.taskResourceRepository = taskResourceRepository;
+        this.archivedCounter = meterRegistry.counter(ARCHIVED_METRIC);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    /**
+     * Archives up to the maximum number of batches of tasks.
+     *
+     * @return the number of tasks archived
+     */
+    public int archiveTasks() {
+        OffsetDateTime archiveBefore = OffsetDateTime.now().minusDays(retentionDays);
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int archivedInBatch = taskResourceRepository.archiveTasks(archiveBefore, batchSize);
+            archived += archivedInBatch;
+            archivedCounter.increment(archivedInBatch);
+            if (archivedInBatch < batchSize) {
+                break;
+            }
+        }
+        log.info("Archived {} tasks last updated before {}", archived, archiveBefore);
+        return archived;
+    }
+}
@@ -0,0 +1,75 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wataskmanagementapi.clients.CamundaServiceApi;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinition;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.config.CaffeineConfiguration.TASK_COMPLETION_DMN_CACHE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.DecisionTable.WA_TASK_COMPLETION;
+
+/**
+ * Clears the cached task completion decision table results once a new version of any task completion decision
+ * table is deployed to Camunda. Deployments are found by comparing the ids of the latest versions of the tables
+ * with the ids seen on the previous check.
+ */
+@Slf4j
+@Component
+public class TaskCompletionDmnCacheInvalidator {
+
+    private final CamundaServiceApi camundaServiceApi;
+    private final AuthTokenGenerator serviceAuthTokenGenerator;
+    private final CacheManager taskCompletionCacheManager;
+
+    private volatile Set<String> deployedDefinitionIds;
+
+    @Autowired
+    public TaskCompletionDmnCacheInvalidator(CamundaServiceApi camundaServiceApi,
+                                             AuthTokenGenerator serviceAuthTokenGenerator,
+                                             @Qualifier("taskCompletionCacheManager")
+                                             CacheManager taskCompletionCacheManager) {
+        this.camundaServiceApi = camundaServiceApi;
+        this.serviceAuthTokenGenerator = serviceAuthTokenGenerator;
+        this.taskCompletionCacheManager = taskCompletionCacheManager;
+    }
+
+    /**
+     * Checks for new deployments of the task completion decision tables and clears the cache if there are any.
+     *
+     * @return true if the cache was cleared
+     */
+    public boolean checkDeployments() {
+        Set<String> latestDefinitionIds = camundaServiceApi.getDecisionDefinitions(
+                serviceAuthTokenGenerator.generate(),
+                WA_TASK_COMPLETION.getTableName() + "%",
+                true
+            ).stream()
+            .map(DecisionDefinition::getId)
+            .collect(Collectors.toSet());
+
+        Set<String> previousDefinitionIds = deployedDefinitionIds;
+        deployedDefinitionIds = latestDefinitionIds;
+        if (previousDefinitionIds == null || previousDefinitionIds.equals(latestDefinitionIds)) {
+            return false;
+        }
+        log.info("Task completion decision tables deployed, clearing the cached task completion results");
+        invalidate();
+        return true;
+    }
+
+    /**
+     * Clears all the cached task completion decision table results.
+     */
+    public void invalidate() {
+        Optional.ofNullable(taskCompletionCacheManager.getCache(TASK_COMPLETION_DMN_CACHE)).ifPresent(Cache::clear);
+    }
+}
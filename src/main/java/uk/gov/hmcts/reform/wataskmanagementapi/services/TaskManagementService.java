@@ -165,6 +165,7 @@ public class TaskManagementService {
      * @param accessControlResponse the access control response containing user id and role assignments.
      * @return A mapped task {@link Task}
      */
+    @Transactional(readOnly = true)
     public Task getTask(String taskId, AccessControlResponse accessControlResponse) {
         PermissionRequirements permissionsRequired = PermissionRequirementBuilder.builder().buildSingleType(READ);
 
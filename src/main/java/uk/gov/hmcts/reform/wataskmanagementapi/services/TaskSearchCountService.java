@@ -0,0 +1,178 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchCount;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchCountMode;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Calculates the total number of tasks matching a search according to the requested {@link SearchCountMode}.
+ * Each count is recorded with its outcome, anything other than {@code executed} being count work avoided.
+ * Cached counts are keyed by a digest of the signatures and search filters, so the cache does not hold on to
+ * the signature sets themselves.
+ */
+@Service
+public class TaskSearchCountService {
+
+    static final String CACHE_NAME = "task_search_count";
+    static final String COUNT_METRIC = "wa.task.search.count";
+    static final String RESULT_EXECUTED = "executed";
+    static final String RESULT_SKIPPED = "skipped";
+    static final String RESULT_CAPPED = "capped";
+    static final String RESULT_CACHE_HIT = "cache_hit";
+
+    private static final String KEY_ALGORITHM = "SHA-256";
+
+    private final TaskResourceRepository tasksRepository;
+    private final int countCap;
+    private final Cache<String, Long> countCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<CounterKey, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskSearchCountService(TaskResourceRepository tasksRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${config.search.count.cap}") int countCap,
+                                  @Value("${config.search.count.cacheTtlSeconds}") long cacheTtlSeconds,
+                                  @Value("${config.search.count.cacheMaximumSize}") long cacheMaximumSize) {
+        this.tasksRepository = tasksRepository;
+        this.meterRegistry = meterRegistry;
+        this.countCap = countCap;
+        this.countCache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+            .maximumSize(cacheMaximumSize)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, countCache, CACHE_NAME);
+    }
+
+    public SearchCount count(Set<String> filterSignature,
+                             Set<String> roleSignature,
+                             List<String> excludeCaseIds,
+                             SearchRequest searchRequest) {
+
+        SearchCountMode countMode = searchRequest.getCountMode() == null
+            ? SearchCountMode.EXACT
+            : searchRequest.getCountMode();
+
+        switch (countMode) {
+            case NONE:
+                countWork(countMode, RESULT_SKIPPED);
+                return SearchCount.notCounted();
+            case CAPPED:
+                long cappedCount = tasksRepository.searchTasksCountUpTo(
+                    countCap + 1, filterSignature, roleSignature, excludeCaseIds, searchRequest);
+                countWork(countMode, RESULT_CAPPED);
+                return cappedCount > countCap
+                    ? new SearchCount(countCap, true)
+                    : new SearchCount(cappedCount, false);
+            case CACHED:
+                String key = key(filterSignature, roleSignature, excludeCaseIds, searchRequest);
+                boolean[] executed = {false};
+                Long cachedCount = countCache.get(key, k -> {
+                    executed[0] = true;
+                    return tasksRepository.searchTasksCount(
+                        filterSignature, roleSignature, excludeCaseIds, searchRequest);
+                });
+                countWork(countMode, executed[0] ? RESULT_EXECUTED : RESULT_CACHE_HIT);
+                return SearchCount.exact(cachedCount);
+            default:
+                countWork(countMode, RESULT_EXECUTED);
+                return SearchCount.exact(
+                    tasksRepository.searchTasksCount(filterSignature, roleSignature, excludeCaseIds, searchRequest));
+        }
+    }
+
+    private void countWork(SearchCountMode countMode, String result) {
+        counters.computeIfAbsent(new CounterKey(countMode, result), this::registerCounter).increment();
+    }
+
+    private Counter registerCounter(CounterKey key) {
+        return Counter.builder(COUNT_METRIC)
+            .description("Task search counts by mode and outcome")
+            .tag("mode", key.countMode().name().toLowerCase(Locale.ROOT))
+            .tag("result", key.result())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Digests everything the count depends on. Sorting and the count mode are left out, as they do not change
+     * the count.
+     */
+    private static String key(Set<String> filterSignature,
+                              Set<String> roleSignature,
+                              List<String> excludeCaseIds,
+                              SearchRequest searchRequest) {
+        MessageDigest digest = newDigest();
+        update(digest, new TreeSet<>(filterSignature));
+        update(digest, new TreeSet<>(roleSignature));
+        update(digest, excludeCaseIds);
+        update(digest, searchRequest.getCftTaskStates());
+        update(digest, searchRequest.getJurisdictions());
+        update(digest, searchRequest.getLocations());
+        update(digest, searchRequest.getRegions());
+        update(digest, searchRequest.getCaseIds());
+        update(digest, searchRequest.getUsers());
+        update(digest, searchRequest.getTaskTypes());
+        update(digest, searchRequest.getWorkTypes());
+        update(digest, searchRequest.getRoleCategories());
+        update(digest, searchRequest.isAvailableTasksOnly());
+        update(digest, searchRequest.isAllWork());
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Collection<?> values) {
+        if (values == null) {
+            update(digest, (Object) null);
+            return;
+        }
+        update(digest, values.size());
+        values.forEach(value -> update(digest, value));
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        // Length prefixed, so that no two different sequences of values produce the same input
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(KEY_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(
+                "Could not create " + KEY_ALGORITHM + " digest for task search count keys", ex);
+        }
+    }
+
+    private record CounterKey(SearchCountMode countMode, String result) {
+    }
+}
@@ -0,0 +1,207 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Times each stage of a task search and records the size of the signature sets it searches with, tagged by
+ * jurisdiction and search flavour, so a slow search can be attributed to the stage it spent its time in.
+ * Only the allowed jurisdictions are used as tag values, any other jurisdiction is tagged as other, so the number
+ * of series does not depend on what clients send. The meters are registered once per stage and tags and then reused.
+ */
+@Component
+public class TaskSearchMetrics {
+
+    static final String STAGE_METRIC = "wa.task.search.stage";
+    static final String SIGNATURES_METRIC = "wa.task.search.signatures";
+    static final String STAGE_TAG = "stage";
+    static final String SIGNATURE_TAG = "signature";
+    static final String JURISDICTION_TAG = "jurisdiction";
+    static final String FLAVOUR_TAG = "flavour";
+    static final String JURISDICTION_NONE = "none";
+    static final String JURISDICTION_MULTIPLE = "multiple";
+    static final String JURISDICTION_OTHER = "other";
+    static final String UNKNOWN = "unknown";
+
+    private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofMillis(1);
+    private static final Duration MAXIMUM_EXPECTED_DURATION = Duration.ofSeconds(30);
+    private static final double MAXIMUM_EXPECTED_SIGNATURES = 100_000;
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> allowedJurisdictions;
+    private final Map<StageKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<SignatureKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskSearchMetrics(MeterRegistry meterRegistry,
+                             @Value("${config.allowedJurisdictions}") List<String> allowedJurisdictions) {
+        this.meterRegistry = meterRegistry;
+        this.allowedJurisdictions = allowedJurisdictions.stream()
+            .map(jurisdiction -> jurisdiction.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public SearchTags tags(SearchRequest searchRequest) {
+        return new SearchTags(jurisdiction(searchRequest.getJurisdictions()), flavour(searchRequest));
+    }
+
+    /**
+     * Tags for a search that ended before its request was mapped, such as one by a user without role assignments.
+     *
+     * @return tags with an unknown jurisdiction and flavour
+     */
+    public SearchTags unknownTags() {
+        return new SearchTags(UNKNOWN, UNKNOWN);
+    }
+
+    public <T> T time(Stage stage, SearchTags tags, Supplier<T> supplier) {
+        return timer(stage, tags).record(supplier);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, Stage stage, SearchTags tags) {
+        sample.stop(timer(stage, tags));
+    }
+
+    public void recordSignatures(SignatureType signatureType, SearchTags tags, int size) {
+        summaries.computeIfAbsent(new SignatureKey(signatureType, tags), this::registerSummary).record(size);
+    }
+
+    /**
+     * Holds the durations of stages that run before the search tags are known, such as the user lookup and role
+     * assignment fetch done by access control before the search request is mapped.
+     *
+     * @return an empty set of pending stage durations
+     */
+    public PendingStages pending() {
+        return new PendingStages();
+    }
+
+    private Timer timer(Stage stage, SearchTags tags) {
+        return timers.computeIfAbsent(new StageKey(stage, tags), this::registerTimer);
+    }
+
+    private Timer registerTimer(StageKey key) {
+        return Timer.builder(STAGE_METRIC)
+            .description("Time spent in each stage of a task search")
+            .tag(STAGE_TAG, key.stage().tagValue())
+            .tags(key.tags().toTags())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(MINIMUM_EXPECTED_DURATION)
+            .maximumExpectedValue(MAXIMUM_EXPECTED_DURATION)
+            .register(meterRegistry);
+    }
+
+    private DistributionSummary registerSummary(SignatureKey key) {
+        return DistributionSummary.builder(SIGNATURES_METRIC)
+            .description("Number of signatures a task search is run with")
+            .baseUnit("signatures")
+            .tag(SIGNATURE_TAG, key.signatureType().tagValue())
+            .tags(key.tags().toTags())
+            .publishPercentileHistogram()
+            .maximumExpectedValue(MAXIMUM_EXPECTED_SIGNATURES)
+            .register(meterRegistry);
+    }
+
+    private String jurisdiction(List<String> jurisdictions) {
+        if (jurisdictions == null || jurisdictions.isEmpty()) {
+            return JURISDICTION_NONE;
+        }
+        if (jurisdictions.size() > 1) {
+            return JURISDICTION_MULTIPLE;
+        }
+        String jurisdiction = jurisdictions.get(0).toLowerCase(Locale.ROOT);
+        return allowedJurisdictions.contains(jurisdiction) ? jurisdiction : JURISDICTION_OTHER;
+    }
+
+    private static String flavour(SearchRequest searchRequest) {
+        if (searchRequest.isAvailableTasksOnly()) {
+            return "available";
+        }
+        if (searchRequest.isAllWork()) {
+            return "all_work";
+        }
+        if (searchRequest.getUsers() != null && !searchRequest.getUsers().isEmpty()) {
+            return "my_work";
+        }
+        return "other";
+    }
+
+    public enum Stage {
+        IDAM_LOOKUP,
+        ROLE_ASSIGNMENT_FETCH,
+        SIGNATURE_BUILDING,
+        ID_QUERY,
+        COUNT_QUERY,
+        ENTITY_HYDRATION,
+        DTO_MAPPING;
+
+        String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum SignatureType {
+        FILTER,
+        ROLE;
+
+        String tagValue() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * The jurisdiction and flavour a search is tagged with, worked out once and reused for every stage.
+     */
+    public record SearchTags(String jurisdiction, String flavour) {
+
+        Tags toTags() {
+            return Tags.of(JURISDICTION_TAG, jurisdiction, FLAVOUR_TAG, flavour);
+        }
+    }
+
+    /**
+     * Stage durations measured before the search tags are known, recorded once they are.
+     */
+    public final class PendingStages {
+
+        private final Map<Stage, Duration> durations = new EnumMap<>(Stage.class);
+
+        private PendingStages() {
+        }
+
+        public Consumer<Duration> recorder(Stage stage) {
+            return duration -> durations.put(stage, duration);
+        }
+
+        public void record(SearchTags tags) {
+            durations.forEach((stage, duration) -> timer(stage, tags).record(duration));
+        }
+    }
+
+    private record StageKey(Stage stage, SearchTags tags) {
+    }
+
+    private record SignatureKey(SignatureType signatureType, SearchTags tags) {
+    }
+}
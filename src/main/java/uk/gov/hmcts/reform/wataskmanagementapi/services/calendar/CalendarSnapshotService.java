@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CalendarSnapshot;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.CalendarSnapshotRepository;
+
+import java.util.Optional;
+
+/**
+ * Reads and stores calendar snapshots in transactions of their own. Calendars are loaded while tasks are
+ * initiated or updated, and a snapshot that cannot be read or stored must not roll back the task change.
+ */
+@Service
+public class CalendarSnapshotService {
+
+    private final CalendarSnapshotRepository calendarSnapshotRepository;
+
+    public CalendarSnapshotService(CalendarSnapshotRepository calendarSnapshotRepository) {
+        this.calendarSnapshotRepository = calendarSnapshotRepository;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Optional<CalendarSnapshot> findSnapshot(String uri) {
+        return calendarSnapshotRepository.findById(uri);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void saveSnapshot(CalendarSnapshot snapshot) {
+        calendarSnapshotRepository.save(snapshot);
+    }
+}
@@ -77,25 +77,15 @@ public class DueDateIntervalCalculator implements DateCalculator {
 
     private LocalDate calculateDateForSkipNonWorkingDays(LocalDate localDate,
                                                          DateTypeIntervalData dateTypeIntervalData) {
-        LocalDate calculatedDate = localDate;
-        if (dateTypeIntervalData.getDateTypeIntervalDays() < 0) {
-            for (long counter = dateTypeIntervalData.getDateTypeIntervalDays(); counter < 0; counter++) {
-                calculatedDate = workingDayIndicator.getPreviousWorkingDay(
-                    calculatedDate,
-                    dateTypeIntervalData.getDateTypeNonWorkingCalendar(),
-                    dateTypeIntervalData.getDateTypeNonWorkingDaysOfWeek()
-                );
-            }
-        } else {
-            for (int counter = 0; counter < dateTypeIntervalData.getDateTypeIntervalDays(); counter++) {
-                calculatedDate = workingDayIndicator.getNextWorkingDay(
-                    calculatedDate,
-                    dateTypeIntervalData.getDateTypeNonWorkingCalendar(),
-                    dateTypeIntervalData.getDateTypeNonWorkingDaysOfWeek()
-                );
-            }
+        if (dateTypeIntervalData.getDateTypeIntervalDays() == 0) {
+            return localDate;
         }
-        return calculatedDate;
+        return workingDayIndicator.plusWorkingDays(
+            localDate,
+            dateTypeIntervalData.getDateTypeIntervalDays(),
+            dateTypeIntervalData.getDateTypeNonWorkingCalendar(),
+            dateTypeIntervalData.getDateTypeNonWorkingDaysOfWeek()
+        );
     }
 
     private LocalDate calculateDateForNoSkip(LocalDate localDate,
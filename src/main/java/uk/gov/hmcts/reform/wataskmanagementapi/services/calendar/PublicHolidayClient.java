@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import feign.Feign;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import org.springframework.context.annotation.Import;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.clients.BankHolidaysApi;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.SnakeCaseFeignConfiguration;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.calendar.BankHolidays;
+
+/**
+ * Retrieves a bank holiday calendar from its calendar resource, such as https://www.gov.uk/bank-holidays.json .
+ */
+@Component
+@Import(SnakeCaseFeignConfiguration.class)
+public class PublicHolidayClient {
+
+    private final Decoder feignDecoder;
+    private final Encoder feignEncoder;
+
+    public PublicHolidayClient(Decoder feignDecoder, Encoder feignEncoder) {
+        this.feignDecoder = feignDecoder;
+        this.feignEncoder = feignEncoder;
+    }
+
+    public BankHolidays fetchPublicHolidays(String uri) {
+        return Feign.builder()
+            .decoder(feignDecoder)
+            .encoder(feignEncoder)
+            .target(BankHolidaysApi.class, uri)
+            .retrieveAll();
+    }
+}
@@ -1,40 +1,182 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
 
-import feign.Feign;
-import feign.codec.Decoder;
-import feign.codec.Encoder;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
-import org.springframework.context.annotation.Import;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import uk.gov.hmcts.reform.wataskmanagementapi.clients.BankHolidaysApi;
-import uk.gov.hmcts.reform.wataskmanagementapi.config.SnakeCaseFeignConfiguration;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.calendar.BankHolidays;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CalendarSnapshot;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the bank holiday calendars retrieved from each calendar resource.
+ * A calendar that is in use is retrieved again in the background once it is older than the refresh duration,
+ * while the current calendar is still returned, so that requests only wait for a calendar that has not been
+ * used for longer than the timeout duration.
+ * Each calendar retrieved is also stored as a snapshot in the database. A pod uses the snapshot instead of the
+ * calendar resource when it is younger than the refresh duration, and uses it at any age when the calendar
+ * resource cannot be reached. A calendar taken from a snapshot is refreshed once the snapshot is older than the
+ * refresh duration, rather than a full refresh duration after it was taken.
+ * Snapshots are read and stored in transactions of their own (see {@link CalendarSnapshotService}).
+ */
 @Slf4j
 @Component
-@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
-@Import(SnakeCaseFeignConfiguration.class)
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
 public class PublicHolidayService {
 
-    private final Decoder feignDecoder;
-    private final Encoder feignEncoder;
+    private static final String CACHE_NAME = "calendar_cache";
+    private static final String REFRESH_AGE_METRIC = "wa.calendar.refresh.age";
+    private static final String REFRESH_FAILURES_METRIC = "wa.calendar.refresh.failures";
+
+    private final PublicHolidayClient publicHolidayClient;
+    private final CalendarSnapshotService calendarSnapshotService;
+    private final Ticker ticker;
+    private final MeterRegistry meterRegistry;
+    private final boolean snapshotEnabled;
+    private final Duration refreshDuration;
+    private final Map<String, OffsetDateTime> fetchedTimes = new ConcurrentHashMap<>();
+    private final Map<String, Long> snapshotRefreshTimes = new ConcurrentHashMap<>();
+    private final LoadingCache<String, BankHolidays> calendars;
 
-    public PublicHolidayService(Decoder feignDecoder, Encoder feignEncoder) {
-        this.feignDecoder = feignDecoder;
-        this.feignEncoder = feignEncoder;
+    @Autowired
+    public PublicHolidayService(PublicHolidayClient publicHolidayClient,
+                                CalendarSnapshotService calendarSnapshotService,
+                                Ticker ticker,
+                                MeterRegistry meterRegistry,
+                                @Value("${caffeine.calendar.timeout.duration}") long timeoutDuration,
+                                @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.calendar.timeout.unit}')}")
+                                TimeUnit timeoutUnit,
+                                @Value("${caffeine.calendar.refresh.duration}") long refreshDuration,
+                                @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.calendar.refresh.unit}')}")
+                                TimeUnit refreshUnit,
+                                @Value("${bankHolidays.snapshot.enabled}") boolean snapshotEnabled) {
+        this.publicHolidayClient = publicHolidayClient;
+        this.calendarSnapshotService = calendarSnapshotService;
+        this.ticker = ticker;
+        this.meterRegistry = meterRegistry;
+        this.snapshotEnabled = snapshotEnabled;
+        this.refreshDuration = Duration.ofNanos(refreshUnit.toNanos(refreshDuration));
+        this.calendars = Caffeine.newBuilder()
+            .expireAfterWrite(timeoutDuration, timeoutUnit)
+            .refreshAfterWrite(refreshDuration, refreshUnit)
+            .ticker(ticker)
+            .recordStats()
+            .build(new CalendarLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, calendars, CACHE_NAME);
     }
 
-    @Cacheable(value = "calendar_cache", key = "#uri", sync = true, cacheManager = "calendarCacheManager")
     public BankHolidays getPublicHolidays(String uri) {
-        BankHolidaysApi bankHolidaysApi = bankHolidaysApi(uri);
-        return bankHolidaysApi.retrieveAll();
+        BankHolidays calendar = calendars.get(uri);
+        refreshSnapshotWhenDue(uri);
+        return calendar;
+    }
+
+    private void refreshSnapshotWhenDue(String uri) {
+        Long refreshTime = snapshotRefreshTimes.get(uri);
+        if (refreshTime != null && ticker.read() - refreshTime >= 0
+            && snapshotRefreshTimes.remove(uri, refreshTime)) {
+            calendars.refresh(uri);
+        }
+    }
+
+    private BankHolidays fetchPublicHolidays(String uri) {
+        BankHolidays calendar = publicHolidayClient.fetchPublicHolidays(uri);
+        OffsetDateTime fetchedTime = OffsetDateTime.now();
+        recordFetchedTime(uri, fetchedTime);
+        snapshotRefreshTimes.remove(uri);
+        if (snapshotEnabled) {
+            try {
+                calendarSnapshotService.saveSnapshot(new CalendarSnapshot(uri, calendar, fetchedTime));
+            } catch (RuntimeException e) {
+                log.warn("Could not store snapshot of calendar resource {}", uri, e);
+            }
+        }
+        return calendar;
+    }
+
+    private Optional<CalendarSnapshot> findSnapshot(String uri) {
+        if (!snapshotEnabled) {
+            return Optional.empty();
+        }
+        try {
+            return calendarSnapshotService.findSnapshot(uri);
+        } catch (RuntimeException e) {
+            log.warn("Could not read snapshot of calendar resource {}", uri, e);
+            return Optional.empty();
+        }
+    }
+
+    private BankHolidays useSnapshot(CalendarSnapshot snapshot) {
+        recordFetchedTime(snapshot.getUri(), snapshot.getFetchedTime());
+        return snapshot.getCalendar();
     }
 
-    private BankHolidaysApi bankHolidaysApi(String uri) {
-        return Feign.builder()
-            .decoder(feignDecoder)
-            .encoder(feignEncoder)
-            .target(BankHolidaysApi.class, uri);
+    private BankHolidays useRecentSnapshot(CalendarSnapshot snapshot) {
+        Duration age = Duration.between(snapshot.getFetchedTime(), OffsetDateTime.now());
+        snapshotRefreshTimes.put(snapshot.getUri(), ticker.read() + refreshDuration.minus(age).toNanos());
+        return useSnapshot(snapshot);
+    }
+
+    private void recordFetchedTime(String uri, OffsetDateTime fetchedTime) {
+        if (fetchedTimes.put(uri, fetchedTime) == null) {
+            Gauge.builder(REFRESH_AGE_METRIC, fetchedTimes, times -> ageInSeconds(times.get(uri)))
+                .tag("calendar", uri)
+                .baseUnit("seconds")
+                .description("Time since the calendar was last retrieved from its calendar resource")
+                .register(meterRegistry);
+        }
+    }
+
+    private static double ageInSeconds(OffsetDateTime fetchedTime) {
+        return fetchedTime == null ? Double.NaN : Duration.between(fetchedTime, OffsetDateTime.now()).toSeconds();
+    }
+
+    private void recordFailure(String uri, RuntimeException e) {
+        log.warn("Could not refresh calendar resource {}", uri, e);
+        meterRegistry.counter(REFRESH_FAILURES_METRIC, "calendar", uri).increment();
+    }
+
+    private final class CalendarLoader implements CacheLoader<String, BankHolidays> {
+
+        @Override
+        public BankHolidays load(String uri) {
+            Optional<CalendarSnapshot> snapshot = findSnapshot(uri);
+            if (snapshot.isPresent()
+                && snapshot.get().getFetchedTime().isAfter(OffsetDateTime.now().minus(refreshDuration))) {
+                return useRecentSnapshot(snapshot.get());
+            }
+            try {
+                return fetchPublicHolidays(uri);
+            } catch (RuntimeException e) {
+                if (snapshot.isEmpty()) {
+                    throw e;
+                }
+                recordFailure(uri, e);
+                return useSnapshot(snapshot.get());
+            }
+        }
+
+        @Override
+        public BankHolidays reload(String uri, BankHolidays oldCalendar) {
+            try {
+                return fetchPublicHolidays(uri);
+            } catch (RuntimeException e) {
+                recordFailure(uri, e);
+                return oldCalendar;
+            }
+        }
     }
 }
@@ -14,7 +14,9 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -26,20 +28,25 @@ import java.util.stream.Collectors;
 @Import(SnakeCaseFeignConfiguration.class)
 public class PublicHolidaysCollection {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private final PublicHolidayService publicHolidayService;
+    private final Map<List<String>, MergedPublicHolidays> mergedPublicHolidays = new ConcurrentHashMap<>();
 
     public PublicHolidaysCollection(PublicHolidayService publicHolidayService) {
         this.publicHolidayService = publicHolidayService;
     }
 
+    /**
+     * Returns the public holidays of all the calendars merged in order. The merged holidays are kept until
+     * any of the calendars is refreshed, and the same instance is returned for as long as they are unchanged.
+     */
     public Set<LocalDate> getPublicHolidays(List<String> uris) {
-        List<BankHolidays.EventDate> events = new ArrayList<>();
-        BankHolidays allPublicHolidays = BankHolidays.builder().events(events).build();
+        List<BankHolidays> calendars = new ArrayList<>();
         if (uris != null) {
             for (String uri : uris) {
                 try {
-                    BankHolidays publicHolidays = publicHolidayService.getPublicHolidays(uri);
-                    processCalendar(publicHolidays, allPublicHolidays);
+                    calendars.add(publicHolidayService.getPublicHolidays(uri));
                 } catch (DecodeException e) {
                     log.error("Could not read calendar resource {}", uri, e);
                     throw new CalendarResourceInvalidException("Could not read calendar resource " + uri, e);
@@ -50,10 +57,25 @@ public class PublicHolidaysCollection {
             }
         }
 
+        List<String> key = uris == null ? List.of() : List.copyOf(uris);
+        MergedPublicHolidays merged = mergedPublicHolidays.get(key);
+        if (merged == null || !merged.isMergedFrom(calendars)) {
+            merged = new MergedPublicHolidays(calendars, mergeCalendars(calendars));
+            mergedPublicHolidays.put(key, merged);
+        }
+        return merged.publicHolidays();
+    }
+
+    private Set<LocalDate> mergeCalendars(List<BankHolidays> calendars) {
+        List<BankHolidays.EventDate> events = new ArrayList<>();
+        BankHolidays allPublicHolidays = BankHolidays.builder().events(events).build();
+        for (BankHolidays publicHolidays : calendars) {
+            processCalendar(publicHolidays, allPublicHolidays);
+        }
 
         return allPublicHolidays.getEvents().stream()
-            .map(item -> LocalDate.parse(item.getDate(), DateTimeFormatter.ofPattern("yyyy-MM-dd")))
-            .collect(Collectors.toSet());
+            .map(item -> LocalDate.parse(item.getDate(), DATE_FORMATTER))
+            .collect(Collectors.toUnmodifiableSet());
     }
 
     private void processCalendar(BankHolidays publicHolidays, BankHolidays allPublicHolidays) {
@@ -67,4 +89,20 @@ public class PublicHolidaysCollection {
             }
         }
     }
+
+    private record MergedPublicHolidays(List<BankHolidays> calendars, Set<LocalDate> publicHolidays) {
+
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        boolean isMergedFrom(List<BankHolidays> currentCalendars) {
+            if (calendars.size() != currentCalendars.size()) {
+                return false;
+            }
+            for (int i = 0; i < calendars.size(); i++) {
+                if (calendars.get(i) != currentCalendars.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
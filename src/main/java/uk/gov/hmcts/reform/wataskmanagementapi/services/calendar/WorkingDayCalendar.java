@@ -0,0 +1,115 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Immutable index of the working days for one set of public holidays and non-working days of the week.
+ * Working days are precomputed over a range of years around the public holidays, with a prefix count of
+ * working days per day, so that moving a date by any number of working days within that range is a
+ * constant time lookup. Dates outside the range are stepped through one day at a time.
+ */
+final class WorkingDayCalendar {
+
+    private static final int YEARS_BEFORE = 1;
+    private static final int YEARS_AFTER = 2;
+
+    private final Set<LocalDate> publicHolidays;
+    private final Set<DayOfWeek> nonWorkingDaysOfWeek;
+    private final long firstEpochDay;
+    private final BitSet workingDays;
+    private final int[] workingDaysBefore;
+    private final int[] workingDayOffsets;
+
+    private WorkingDayCalendar(Set<LocalDate> publicHolidays,
+                               Set<DayOfWeek> nonWorkingDaysOfWeek,
+                               LocalDate firstDay,
+                               LocalDate lastDay) {
+        this.publicHolidays = publicHolidays;
+        this.nonWorkingDaysOfWeek = nonWorkingDaysOfWeek;
+        this.firstEpochDay = firstDay.toEpochDay();
+
+        int days = (int) (lastDay.toEpochDay() - firstEpochDay + 1);
+        workingDays = new BitSet(days);
+        workingDaysBefore = new int[days + 1];
+        LocalDate date = firstDay;
+        for (int offset = 0; offset < days; offset++) {
+            if (isWorkingDayUnindexed(date)) {
+                workingDays.set(offset);
+            }
+            workingDaysBefore[offset + 1] = workingDaysBefore[offset] + (workingDays.get(offset) ? 1 : 0);
+            date = date.plusDays(1);
+        }
+        workingDayOffsets = workingDays.stream().toArray();
+    }
+
+    static WorkingDayCalendar build(Set<LocalDate> publicHolidays, Set<DayOfWeek> nonWorkingDaysOfWeek) {
+        int currentYear = Year.now().getValue();
+        int firstYear = publicHolidays.stream().mapToInt(LocalDate::getYear).min().orElse(currentYear);
+        int lastYear = publicHolidays.stream().mapToInt(LocalDate::getYear).max().orElse(currentYear);
+        return new WorkingDayCalendar(
+            publicHolidays,
+            nonWorkingDaysOfWeek,
+            LocalDate.of(Math.min(firstYear, currentYear) - YEARS_BEFORE, 1, 1),
+            LocalDate.of(Math.max(lastYear, currentYear) + YEARS_AFTER, 12, 31)
+        );
+    }
+
+    /**
+     * Tells if this index was built from the given public holidays, which are the same instance for as
+     * long as the underlying calendars are unchanged.
+     */
+    @SuppressWarnings("PMD.CompareObjectsWithEquals")
+    boolean isBuiltFrom(Set<LocalDate> publicHolidays) {
+        return this.publicHolidays == publicHolidays;
+    }
+
+    boolean isWorkingDay(LocalDate date) {
+        int offset = offsetOf(date);
+        return offset >= 0 ? workingDays.get(offset) : isWorkingDayUnindexed(date);
+    }
+
+    /**
+     * Moves the date forwards, or backwards for a negative number, by the given number of working days.
+     * The date itself is not counted, so adding one working day to any date returns the next working day.
+     */
+    LocalDate plusWorkingDays(LocalDate date, long workingDaysToAdd) {
+        int offset = offsetOf(date);
+        if (workingDaysToAdd == 0 || offset < 0) {
+            return stepWorkingDays(date, workingDaysToAdd);
+        }
+        long index = workingDaysToAdd > 0
+            ? workingDaysBefore[offset + 1] + workingDaysToAdd - 1
+            : workingDaysBefore[offset] + workingDaysToAdd;
+        if (index < 0 || index >= workingDayOffsets.length) {
+            return stepWorkingDays(date, workingDaysToAdd);
+        }
+        return LocalDate.ofEpochDay(firstEpochDay + workingDayOffsets[(int) index]);
+    }
+
+    private LocalDate stepWorkingDays(LocalDate date, long workingDaysToAdd) {
+        if (workingDaysToAdd != 0 && nonWorkingDaysOfWeek.size() == DayOfWeek.values().length) {
+            throw new IllegalArgumentException("Every day of the week is a non-working day");
+        }
+        int step = workingDaysToAdd < 0 ? -1 : 1;
+        LocalDate calculatedDate = date;
+        for (long remaining = Math.abs(workingDaysToAdd); remaining > 0; remaining--) {
+            do {
+                calculatedDate = calculatedDate.plusDays(step);
+            } while (!isWorkingDay(calculatedDate));
+        }
+        return calculatedDate;
+    }
+
+    private int offsetOf(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < workingDaysBefore.length - 1 ? (int) offset : -1;
+    }
+
+    private boolean isWorkingDayUnindexed(LocalDate date) {
+        return !publicHolidays.contains(date) && !nonWorkingDaysOfWeek.contains(date.getDayOfWeek());
+    }
+}
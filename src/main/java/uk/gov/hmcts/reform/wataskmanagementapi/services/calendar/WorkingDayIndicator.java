@@ -1,20 +1,32 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Tells if given day is a working day.
+ * The working days for each combination of calendars and non-working days of the week are indexed once,
+ * and the index is rebuilt when the public holidays of those calendars change.
  */
 @Component
 public class WorkingDayIndicator {
 
+    private static final int MAXIMUM_CALENDARS = 100;
+
     private final PublicHolidaysCollection publicHolidaysCollection;
+    private final Cache<CalendarKey, WorkingDayCalendar> calendars = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CALENDARS)
+        .build();
 
     public WorkingDayIndicator(PublicHolidaysCollection publicHolidaysApiClient) {
         this.publicHolidaysCollection = publicHolidaysApiClient;
@@ -24,37 +36,52 @@ public class WorkingDayIndicator {
      * Verifies if given date is a working day in UK (England and Wales only).
      */
     public boolean isWorkingDay(LocalDate date, List<String> uri, List<String> nonWorkingDaysOfWeek) {
-        return !isPublicHoliday(date, uri)
-            && !isCustomNonWorkingDay(nonWorkingDaysOfWeek, date);
-    }
-
-    private boolean isPublicHoliday(LocalDate date, List<String> uri) {
-        return publicHolidaysCollection.getPublicHolidays(uri).contains(date);
+        return getCalendar(uri, nonWorkingDaysOfWeek).isWorkingDay(date);
     }
 
     public LocalDate getNextWorkingDay(LocalDate date, List<String> uri, List<String> nonWorkingDaysOfWeek) {
-        requireNonNull(date);
-        LocalDate updated = date.plusDays(1);
-
-        return isWorkingDay(updated, uri, nonWorkingDaysOfWeek)
-            ? updated
-            : getNextWorkingDay(updated, uri, nonWorkingDaysOfWeek);
+        return plusWorkingDays(date, 1, uri, nonWorkingDaysOfWeek);
     }
 
     public LocalDate getPreviousWorkingDay(LocalDate date, List<String> uri, List<String> nonWorkingDaysOfWeek) {
+        return plusWorkingDays(date, -1, uri, nonWorkingDaysOfWeek);
+    }
+
+    /**
+     * Moves the date forwards, or backwards for a negative number, by the given number of working days.
+     * The same as calling {@link #getNextWorkingDay} or {@link #getPreviousWorkingDay} that many times.
+     */
+    public LocalDate plusWorkingDays(LocalDate date,
+                                     long workingDays,
+                                     List<String> uri,
+                                     List<String> nonWorkingDaysOfWeek) {
         requireNonNull(date);
-        LocalDate updated = date.minusDays(1);
+        return getCalendar(uri, nonWorkingDaysOfWeek).plusWorkingDays(date, workingDays);
+    }
 
-        return isWorkingDay(updated, uri, nonWorkingDaysOfWeek)
-            ? updated
-            : getPreviousWorkingDay(updated, uri, nonWorkingDaysOfWeek);
+    private WorkingDayCalendar getCalendar(List<String> uri, List<String> nonWorkingDaysOfWeek) {
+        Set<LocalDate> publicHolidays = publicHolidaysCollection.getPublicHolidays(uri);
+        CalendarKey key = new CalendarKey(
+            uri == null ? List.of() : List.copyOf(uri),
+            toDaysOfWeek(nonWorkingDaysOfWeek)
+        );
+        WorkingDayCalendar calendar = calendars.getIfPresent(key);
+        if (calendar == null || !calendar.isBuiltFrom(publicHolidays)) {
+            calendar = WorkingDayCalendar.build(publicHolidays, key.nonWorkingDaysOfWeek());
+            calendars.put(key, calendar);
+        }
+        return calendar;
     }
 
-    private boolean isCustomNonWorkingDay(List<String> nonWorkingDaysOfWeek, LocalDate localDate) {
+    private Set<DayOfWeek> toDaysOfWeek(List<String> nonWorkingDaysOfWeek) {
         if (nonWorkingDaysOfWeek == null || nonWorkingDaysOfWeek.isEmpty()) {
-            return false;
+            return Set.of();
         }
-        DayOfWeek dayOfWeek = localDate.getDayOfWeek();
-        return nonWorkingDaysOfWeek.contains(dayOfWeek.toString());
+        return Arrays.stream(DayOfWeek.values())
+            .filter(dayOfWeek -> nonWorkingDaysOfWeek.contains(dayOfWeek.toString()))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private record CalendarKey(List<String> uri, Set<DayOfWeek> nonWorkingDaysOfWeek) {
     }
 }
@@ -0,0 +1,16 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.dmn;
+
+/**
+ * Where the task configuration and task permissions DMNs are evaluated.
+ * <ul>
+ *     <li>REMOTE - by the Camunda engine, through its REST api</li>
+ *     <li>LOCAL - in process once a table's local results have been verified against the Camunda engine,
+ *     which is used until then and whenever a table cannot be evaluated locally</li>
+ *     <li>SHADOW - by the Camunda engine, whose results are returned, and in process for comparison only</li>
+ * </ul>
+ */
+public enum DmnEvaluationMode {
+    REMOTE,
+    LOCAL,
+    SHADOW
+}
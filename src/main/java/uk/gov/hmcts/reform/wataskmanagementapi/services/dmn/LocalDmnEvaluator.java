@@ -0,0 +1,225 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.dmn;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResultEntries;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wataskmanagementapi.clients.CamundaServiceApi;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinitionXml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates decision tables in process with an embedded DMN engine, using the decision definitions
+ * deployed to Camunda. Definitions are downloaded once per table key and tenant and kept for a limited
+ * time, so that newly deployed versions are picked up.
+ * Local results are only trusted once a definition has matched the Camunda engine a configured number
+ * of times. A definition that cannot be parsed or evaluated, or whose results have been found to differ
+ * from the Camunda engine, is not evaluated locally again, even after it is next downloaded; a newly
+ * deployed version of the table is verified afresh.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class LocalDmnEvaluator {
+
+    private static final String CACHE_NAME = "dmn_decisions";
+    private static final String METRIC_NAME = "wa.dmn.local.evaluations";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Map<String, Map<String, Object>>>> RESULTS_TYPE =
+        new TypeReference<>() {
+        };
+
+    private final CamundaServiceApi camundaServiceApi;
+    private final AuthTokenGenerator serviceAuthTokenGenerator;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final int verificationCount;
+    private final DmnEngine dmnEngine = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+    private final LoadingCache<DecisionKey, Optional<LoadedDecision>> decisions;
+    private final Map<String, Integer> matchCounts = new ConcurrentHashMap<>();
+    private final Set<String> disabledDefinitionIds = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public LocalDmnEvaluator(CamundaServiceApi camundaServiceApi,
+                             AuthTokenGenerator serviceAuthTokenGenerator,
+                             MeterRegistry meterRegistry,
+                             ObjectMapper objectMapper,
+                             @Value("${config.dmn.local.definitionTtlSeconds}") long definitionTtlSeconds,
+                             @Value("${config.dmn.local.verificationCount}") int verificationCount) {
+        this.camundaServiceApi = camundaServiceApi;
+        this.serviceAuthTokenGenerator = serviceAuthTokenGenerator;
+        this.meterRegistry = meterRegistry;
+        // Results are mapped the same way the Camunda client decodes them
+        this.objectMapper = objectMapper.copy().setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+        this.verificationCount = verificationCount;
+        this.decisions = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(definitionTtlSeconds))
+            .recordStats()
+            .build(this::loadDecision);
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, CACHE_NAME);
+    }
+
+    /**
+     * Evaluates the decision table in process and maps each matched rule to the response type,
+     * in the same shape as the Camunda REST api returns it.
+     *
+     * @return the evaluation, or empty if the table cannot be evaluated locally
+     */
+    public <T> Optional<LocalEvaluation<T>> evaluate(String decisionTableKey,
+                                                     String tenantId,
+                                                     String caseData,
+                                                     String taskAttributes,
+                                                     Class<T> responseType) {
+        DecisionKey key = new DecisionKey(decisionTableKey, tenantId);
+        Optional<LoadedDecision> decision = decisions.get(key);
+        if (decision.isEmpty() || disabledDefinitionIds.contains(decision.get().definitionId())) {
+            record(decisionTableKey, "fallback");
+            return Optional.empty();
+        }
+        try {
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("caseData", readJson(caseData));
+            variables.put("taskAttributes", readJson(taskAttributes));
+
+            String definitionId = decision.get().definitionId();
+            List<T> results = dmnEngine.evaluateDecision(decision.get().decision(), variables).stream()
+                .map(entries -> objectMapper.convertValue(toCamundaValues(entries), responseType))
+                .toList();
+            record(decisionTableKey, "local");
+            return Optional.of(new LocalEvaluation<>(definitionId, results, isVerified(definitionId)));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Could not evaluate decision table '{}' locally, falling back to camunda", decisionTableKey, e);
+            disable(decision.get().definitionId());
+            record(decisionTableKey, "fallback");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Compares results evaluated locally with those returned by the Camunda engine for the same input.
+     * Only the values are compared, as the two engines may report different types for the same value.
+     * Each match counts towards verifying the definition, and a definition whose results differ is not
+     * evaluated locally again.
+     *
+     * @return true if both engines returned the same values
+     */
+    public <T> boolean matches(String decisionTableKey, LocalEvaluation<T> localEvaluation, List<T> remoteResults) {
+        boolean matches = Objects.equals(values(localEvaluation.results()), values(remoteResults));
+        if (matches) {
+            matchCounts.merge(localEvaluation.definitionId(), 1, Integer::sum);
+            record(decisionTableKey, "match");
+        } else {
+            log.warn("Local evaluation of decision table '{}' differs from camunda. local: {} camunda: {}",
+                     decisionTableKey, localEvaluation.results(), remoteResults);
+            disable(localEvaluation.definitionId());
+            record(decisionTableKey, "mismatch");
+        }
+        return matches;
+    }
+
+    private Optional<LoadedDecision> loadDecision(DecisionKey key) {
+        try {
+            DecisionDefinitionXml definition = camundaServiceApi.getDecisionDefinitionXml(
+                serviceAuthTokenGenerator.generate(),
+                key.decisionTableKey(),
+                key.tenantId()
+            );
+            if (disabledDefinitionIds.contains(definition.getId())) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(new LoadedDecision(definition.getId(), dmnEngine.parseDecision(
+                    key.decisionTableKey(),
+                    new ByteArrayInputStream(definition.getDmnXml().getBytes(StandardCharsets.UTF_8))
+                )));
+            } catch (RuntimeException e) {
+                disable(definition.getId());
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not load decision table '{}' for local evaluation", key.decisionTableKey(), e);
+            return Optional.empty();
+        }
+    }
+
+    private boolean isVerified(String definitionId) {
+        return matchCounts.getOrDefault(definitionId, 0) >= verificationCount;
+    }
+
+    private void disable(String definitionId) {
+        disabledDefinitionIds.add(definitionId);
+        matchCounts.remove(definitionId);
+    }
+
+    private Map<String, Object> readJson(String json) throws JsonProcessingException {
+        return json == null ? null : objectMapper.readValue(json, MAP_TYPE);
+    }
+
+    private Map<String, Map<String, Object>> toCamundaValues(DmnDecisionResultEntries entries) {
+        Map<String, Map<String, Object>> camundaValues = new LinkedHashMap<>();
+        entries.getEntryMap().forEach((name, value) -> {
+            Map<String, Object> camundaValue = new HashMap<>();
+            camundaValue.put("value", value);
+            camundaValue.put("type", value == null ? "Null" : value.getClass().getSimpleName());
+            camundaValues.put(name, camundaValue);
+        });
+        return camundaValues;
+    }
+
+    private <T> List<Map<String, Object>> values(List<T> results) {
+        return objectMapper.convertValue(results, RESULTS_TYPE).stream()
+            .map(result -> {
+                Map<String, Object> values = new HashMap<>();
+                result.forEach((name, camundaValue) ->
+                    values.put(name, camundaValue == null ? null : camundaValue.get("value")));
+                values.values().removeIf(Objects::isNull);
+                return values;
+            })
+            .toList();
+    }
+
+    private void record(String decisionTableKey, String outcome) {
+        meterRegistry.counter(METRIC_NAME, "table", decisionTableKey, "outcome", outcome).increment();
+    }
+
+    /**
+     * The results of evaluating a decision table locally.
+     *
+     * @param definitionId the id of the deployed definition that was evaluated
+     * @param results      the results, in the same shape as the Camunda REST api returns them
+     * @param verified     whether the definition has matched the Camunda engine often enough to be trusted
+     */
+    public record LocalEvaluation<T>(String definitionId, List<T> results, boolean verified) {
+    }
+
+    private record DecisionKey(String decisionTableKey, String tenantId) {
+    }
+
+    private record LoadedDecision(String definitionId, DmnDecision decision) {
+    }
+}
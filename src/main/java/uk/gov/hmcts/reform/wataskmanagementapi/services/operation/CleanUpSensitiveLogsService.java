@@ -2,7 +2,6 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.CleanupSensitiveLogsTaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
@@ -29,7 +28,6 @@ public class CleanUpSensitiveLogsService implements TaskOperationPerformService
     }
 
     @Override
-    @Transactional
     public TaskOperationResponse performOperation(TaskOperationRequest taskOperationRequest) {
         if (CLEANUP_SENSITIVE_LOG_ENTRIES.equals(taskOperationRequest.getOperation().getType())) {
             return cleanUpSensitiveLogs(taskOperationRequest);
@@ -1,16 +1,14 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
-import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.MarkTaskToReconfigureTaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskReconfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 
@@ -18,12 +16,15 @@ import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
-import static uk.gov.hmcts.reform.wataskmanagementapi.enums.TaskAction.MARK_FOR_RECONFIGURE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages.TASK_RECONFIGURATION_MARK_TASKS_TO_RECONFIGURE_FAILED;
-import static uk.gov.hmcts.reform.wataskmanagementapi.services.TaskActionAttributesBuilder.setTaskActionAttributes;
 
+/**
+ * Marks the active tasks of the given cases to be reconfigured.
+ * Tasks are marked with one statement per batch of case ids, each in its own transaction, so that the tasks
+ * of a batch that cannot be marked, for example because they are locked by another process, do not stop
+ * the other batches from being marked. A batch that fails is retried once.
+ */
 @Slf4j
 @Component
 @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
@@ -31,11 +32,14 @@ public class MarkTaskReconfigurationService implements TaskOperationPerformServi
 
     private final CFTTaskDatabaseService cftTaskDatabaseService;
     private final IdamTokenGenerator idamTokenGenerator;
+    private final int batchSize;
 
     public MarkTaskReconfigurationService(CFTTaskDatabaseService cftTaskDatabaseService,
-                                          IdamTokenGenerator idamTokenGenerator) {
+                                          IdamTokenGenerator idamTokenGenerator,
+                                          @Value("${config.reconfiguration.markBatchSize}") int batchSize) {
         this.cftTaskDatabaseService = cftTaskDatabaseService;
         this.idamTokenGenerator = idamTokenGenerator;
+        this.batchSize = batchSize;
     }
 
     protected TaskOperationResponse markTasksToReconfigure(List<TaskFilter<?>> taskFilters) {
@@ -43,32 +47,42 @@ public class MarkTaskReconfigurationService implements TaskOperationPerformServi
             .filter(filter -> filter.getKey().equalsIgnoreCase("case_id"))
             .flatMap(filter -> ((MarkTaskToReconfigureTaskFilter) filter).getValues().stream())
             .map(Object::toString)
+            .distinct()
             .toList();
 
-        List<TaskResource> taskResources = cftTaskDatabaseService
-            .getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
-                caseIds, List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
-
-        List<TaskResource> successfulTaskResources = new ArrayList<>();
-        List<String> taskIds = taskResources.stream()
-            .map(TaskResource::getTaskId)
-            .toList();
+        if (caseIds.isEmpty()) {
+            return new TaskOperationResponse(Map.of("successfulTaskResources", 0));
+        }
 
-        List<String> failedTaskIds = updateReconfigureRequestTime(taskIds, successfulTaskResources);
+        String systemUserId = idamTokenGenerator.getUserInfo(idamTokenGenerator.generate()).getUid();
+        OffsetDateTime requestTime = OffsetDateTime.now();
 
-        if (!failedTaskIds.isEmpty()) {
-            failedTaskIds = updateReconfigureRequestTime(failedTaskIds, successfulTaskResources);
+        int successfulTaskResources = 0;
+        List<String> failedCaseIds = new ArrayList<>();
+        for (int from = 0; from < caseIds.size(); from += batchSize) {
+            List<String> batch = caseIds.subList(from, Math.min(from + batchSize, caseIds.size()));
+            try {
+                successfulTaskResources += markBatch(batch, systemUserId, requestTime);
+            } catch (Exception e) {
+                log.warn("Error marking tasks of case-ids {} to reconfigure, retrying", batch, e);
+                try {
+                    successfulTaskResources += markBatch(batch, systemUserId, requestTime);
+                } catch (Exception retryException) {
+                    log.error("Error marking tasks of case-ids {} to reconfigure", batch, retryException);
+                    failedCaseIds.addAll(batch);
+                }
+            }
         }
 
-        if (!failedTaskIds.isEmpty()) {
-            throw new TaskReconfigurationException(TASK_RECONFIGURATION_MARK_TASKS_TO_RECONFIGURE_FAILED, caseIds);
+        if (!failedCaseIds.isEmpty()) {
+            throw new TaskReconfigurationException(
+                TASK_RECONFIGURATION_MARK_TASKS_TO_RECONFIGURE_FAILED, failedCaseIds);
         }
 
-        return new TaskOperationResponse(Map.of("successfulTaskResources", successfulTaskResources.size()));
+        return new TaskOperationResponse(Map.of("successfulTaskResources", successfulTaskResources));
     }
 
     @Override
-    @Transactional(noRollbackFor = TaskReconfigurationException.class)
     public TaskOperationResponse performOperation(TaskOperationRequest taskOperationRequest) {
         if (taskOperationRequest.getOperation().getType().equals(TaskOperationType.MARK_TO_RECONFIGURE)) {
             return markTasksToReconfigure(taskOperationRequest.getTaskFilter());
@@ -76,38 +90,9 @@ public class MarkTaskReconfigurationService implements TaskOperationPerformServi
         return new TaskOperationResponse();
     }
 
-    private List<String> updateReconfigureRequestTime(List<String> taskIds,
-                                                      List<TaskResource> successfulTaskResources) {
-        List<String> failedTaskIds = new ArrayList<>();
-        taskIds.forEach(taskId -> {
-
-            try {
-                log.info("Mark task-id {} to reconfigure", taskId);
-                Optional<TaskResource> optionalTaskResource = cftTaskDatabaseService
-                    .findByIdAndStateInObtainPessimisticWriteLock(
-                        taskId, List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
-
-                if (optionalTaskResource.isPresent()) {
-                    TaskResource taskResource = optionalTaskResource.get();
-                    taskResource.setReconfigureRequestTime(OffsetDateTime.now());
-                    taskResource.setIndexed(false);
-                    updateTaskActionAttributes(taskResource);
-                    successfulTaskResources.add(cftTaskDatabaseService.saveTask(taskResource));
-                }
-            } catch (Exception e) {
-                log.error("Error marking task-id {} to reconfigure", taskId, e);
-                failedTaskIds.add(taskId);
-            }
-        });
-
-        return failedTaskIds;
-    }
-
-    private void updateTaskActionAttributes(TaskResource taskResource) {
-        String systemUserToken = idamTokenGenerator.generate();
-        String systemUserId = idamTokenGenerator.getUserInfo(systemUserToken).getUid();
-        setTaskActionAttributes(taskResource, systemUserId, MARK_FOR_RECONFIGURE);
+    private int markBatch(List<String> caseIds, String systemUserId, OffsetDateTime requestTime) {
+        int marked = cftTaskDatabaseService.markTasksToReconfigure(caseIds, systemUserId, requestTime);
+        log.info("Marked {} tasks of case-ids {} to reconfigure", marked, caseIds);
+        return marked;
     }
-
-
 }
@@ -1,9 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import lombok.extern.slf4j.Slf4j;
-import org.awaitility.core.ConditionTimeoutException;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
@@ -12,27 +10,26 @@ import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskHistoryResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.MIReportingService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReplicationLagMonitor;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReplicationLagMonitor.ReplicationLag;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.Callable;
-import java.util.concurrent.Future;
-import java.util.stream.Collectors;
-
-import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.awaitility.Awaitility.await;
 
 @Slf4j
 @Component
 @Profile("replica | preview")
 public class ReplicationChecker implements TaskOperationPerformService {
     private static final String TASK_REPLICATION_ERROR = "TASK_REPLICATION_ERROR: Task replication not found for [{}]";
+    private final ReplicationLagMonitor replicationLagMonitor;
     private final CFTTaskDatabaseService cftTaskDatabaseService;
     private final MIReportingService miReportingService;
 
-    public ReplicationChecker(CFTTaskDatabaseService cftTaskDatabaseService, MIReportingService miReportingService) {
+    public ReplicationChecker(ReplicationLagMonitor replicationLagMonitor,
+                              CFTTaskDatabaseService cftTaskDatabaseService,
+                              MIReportingService miReportingService) {
+        this.replicationLagMonitor = replicationLagMonitor;
         this.cftTaskDatabaseService = cftTaskDatabaseService;
         this.miReportingService = miReportingService;
     }
@@ -46,45 +43,37 @@ public class ReplicationChecker implements TaskOperationPerformService {
         return new TaskOperationResponse();
     }
 
+    /**
+     * Reads the replication lag, and checks once, without waiting, whether the last updates of the five most
+     * recently updated tasks have reached the replica.
+     */
     public TaskOperationResponse performReplicationCheck() {
+        ReplicationLag lag = replicationLagMonitor.checkLag();
         List<TaskResource> lastUpdatedTasks = cftTaskDatabaseService.findLastFiveUpdatedTasks();
-        List<TaskResource> notReplicated = new ArrayList<>();
-        List<Future<?>> checks = new ArrayList<>();
-
-        try (SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor()) {
-            for (TaskResource task : lastUpdatedTasks) {
-                Future<?> future = executor.submit(() -> {
-                    try {
-                        await()
-                            .pollInterval(1, SECONDS)
-                            .atMost(20, SECONDS)
-                            .until(checkTaskHistory(task));
-                    } catch (ConditionTimeoutException ex) {
-                        replicationLog(task);
-                        notReplicated.add(task);
-                    }
-                });
-                checks.add(future);
-            }
-        }
-
-        waitForCheckCompletion(checks);
+        List<TaskResource> notReplicated = lastUpdatedTasks.stream()
+            .filter(task -> !isReplicated(task))
+            .toList();
+        notReplicated.forEach(this::replicationLog);
 
-
-        return new TaskOperationResponse(Map.of(
-            "replicationCheckedTaskIds",
-            lastUpdatedTasks.stream().map(TaskResource::getTaskId).collect(Collectors.toList()),
-            "notReplicatedTaskIds",
-            notReplicated.stream().map(TaskResource::getTaskId).collect(Collectors.toList())));
+        Map<String, Object> responseMap = new LinkedHashMap<>();
+        responseMap.put("replicationCheckedTaskIds", lastUpdatedTasks.stream().map(TaskResource::getTaskId).toList());
+        responseMap.put("notReplicatedTaskIds", notReplicated.stream().map(TaskResource::getTaskId).toList());
+        responseMap.put("replicationLagging", lag.lagging());
+        responseMap.put("currentLsn", lag.currentLsn());
+        responseMap.put("confirmedFlushLsn", lag.confirmedFlushLsn());
+        responseMap.put("receivedLsn", lag.receivedLsn());
+        responseMap.put("slotLagBytes", lag.slotLagBytes());
+        responseMap.put("subscriptionLagBytes", lag.subscriptionLagBytes());
+        responseMap.put("lagSeconds", lag.lagSeconds());
+        return new TaskOperationResponse(responseMap);
     }
 
-    private void waitForCheckCompletion(List<Future<?>> checks) {
-        while (!checks.isEmpty()) {
-            Optional<Future<?>> future = checks.stream().findAny();
-            if (future.isPresent() && future.get().isDone()) {
-                checks.remove(future.get());
-            }
-        }
+    private boolean isReplicated(TaskResource task) {
+        List<TaskHistoryResource> taskHistoryItems =
+            miReportingService.findByTaskIdOrderByLatestUpdate(task.getTaskId());
+        return taskHistoryItems.stream().anyMatch(h -> h.getUpdated().equals(task.getLastUpdatedTimestamp())
+                                                   && h.getUpdateAction().equals(task.getLastUpdatedAction())
+                                                   && h.getUpdatedBy().equals(task.getLastUpdatedUser()));
     }
 
     private void replicationLog(TaskResource notReplicated) {
@@ -94,14 +83,4 @@ public class ReplicationChecker implements TaskOperationPerformService {
             + ", lastUpdatedAction: " + notReplicated.getLastUpdatedAction()
             + ", lastUpdatedUser: " + notReplicated.getLastUpdatedUser());
     }
-
-    private Callable<Boolean> checkTaskHistory(TaskResource task) {
-        return () -> {
-            List<TaskHistoryResource> taskHistoryItems =
-                miReportingService.findByTaskIdOrderByLatestUpdate(task.getTaskId());
-            return taskHistoryItems.stream().anyMatch(h -> h.getUpdated().equals(task.getLastUpdatedTimestamp())
-                                                       && h.getUpdateAction().equals(task.getLastUpdatedAction())
-                                                       && h.getUpdatedBy().equals(task.getLastUpdatedUser()));
-        };
-    }
 }
@@ -9,32 +9,49 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperation
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.ExecuteReconfigureTaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.SerialisedCaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskExecuteReconfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseConfigurationProviderService;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages.TASK_RECONFIGURATION_EXECUTE_TASKS_TO_RECONFIGURE_FAILED;
 
+/**
+ * Reconfigures the tasks marked for reconfiguration. Tasks are grouped by case so that each case is fetched
+ * from ccd once, and cases are reconfigured in parallel on the task reconfiguration executor, whose size
+ * limits how many cases are in flight. The tasks of one case are reconfigured one after another, each in
+ * its own transaction. If waiting for one case fails, the cases not yet finished are abandoned.
+ */
 @Slf4j
 @Component
-@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+@SuppressWarnings({"PMD.DataflowAnomalyAnalysis", "PMD.DoNotUseThreads"})
 public class TaskReconfigurationService {
 
     private final CFTTaskDatabaseService cftTaskDatabaseService;
     private final TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler;
+    private final CaseConfigurationProviderService caseConfigurationProviderService;
+    private final ExecutorService taskReconfigurationExecutorService;
 
     public TaskReconfigurationService(CFTTaskDatabaseService cftTaskDatabaseService,
-                                      TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler) {
+                                      TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler,
+                                      CaseConfigurationProviderService caseConfigurationProviderService,
+                                      ExecutorService taskReconfigurationExecutorService) {
         this.cftTaskDatabaseService = cftTaskDatabaseService;
         this.taskReconfigurationTransactionHandler = taskReconfigurationTransactionHandler;
+        this.caseConfigurationProviderService = caseConfigurationProviderService;
+        this.taskReconfigurationExecutorService = taskReconfigurationExecutorService;
     }
 
     @Transactional(noRollbackFor = TaskExecuteReconfigurationException.class)
@@ -48,29 +65,38 @@ public class TaskReconfigurationService {
         log.debug("execute tasks toReconfigure request: {}", taskOperationRequest);
         OffsetDateTime reconfigureDateTime = getReconfigureRequestTime(taskOperationRequest.getTaskFilter());
         Objects.requireNonNull(reconfigureDateTime);
-        List<String> taskIds = cftTaskDatabaseService
-            .getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
+        TaskReconfigurationStatistics statistics = new TaskReconfigurationStatistics();
+
+        long lookupStartedAt = System.nanoTime();
+        Map<String, List<String>> taskIdsByCaseId = cftTaskDatabaseService
+            .getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
                 List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED), reconfigureDateTime);
-        List<TaskResource> successfulTaskResources = new ArrayList<>();
+        statistics.recordTaskLookup(lookupStartedAt);
 
-        List<String> failedTaskIds = executeReconfiguration(taskIds,
-                                                            successfulTaskResources,
-                                                            taskOperationRequest.getOperation().getMaxTimeLimit());
+        Map<String, List<String>> failedTaskIds = executeReconfiguration(
+            taskIdsByCaseId,
+            statistics,
+            taskOperationRequest.getOperation().getMaxTimeLimit()
+        );
 
         if (!failedTaskIds.isEmpty()) {
-            executeReconfiguration(
+            failedTaskIds = executeReconfiguration(
                 failedTaskIds,
-                successfulTaskResources,
+                statistics,
                 taskOperationRequest.getOperation().getMaxTimeLimit()
             );
-            taskOperationRequest.getOperation().getMaxTimeLimit();
         }
 
-        if (!failedTaskIds.isEmpty()) {
-            configurationFailLog(failedTaskIds, taskOperationRequest.getOperation().getRetryWindowHours());
+        List<String> remainingFailedTaskIds = failedTaskIds.values().stream().flatMap(List::stream).toList();
+        Map<String, Object> responseMap = statistics.toResponseMap(remainingFailedTaskIds.size());
+        log.info("Task reconfiguration run {} finished: {}",
+                 taskOperationRequest.getOperation().getRunId(), responseMap);
+
+        if (!remainingFailedTaskIds.isEmpty()) {
+            configurationFailLog(remainingFailedTaskIds, taskOperationRequest.getOperation().getRetryWindowHours());
         }
 
-        return new TaskOperationResponse(Map.of("successfulTaskResources", successfulTaskResources.size()));
+        return new TaskOperationResponse(responseMap);
     }
 
     private void configurationFailLog(List<String> failedTaskIds, long retryWindowHours) {
@@ -87,42 +113,91 @@ public class TaskReconfigurationService {
         }
     }
 
-    private List<String> executeReconfiguration(List<String> taskIds,
-                                                List<TaskResource> successfulTaskResources,
-                                                long maxTimeLimit) {
+    private Map<String, List<String>> executeReconfiguration(Map<String, List<String>> taskIdsByCaseId,
+                                                             TaskReconfigurationStatistics statistics,
+                                                             long maxTimeLimit) {
 
         final OffsetDateTime endTimer = OffsetDateTime.now().plusSeconds(maxTimeLimit);
-        List<String> failedTaskIds = reconfigureTasks(taskIds, successfulTaskResources, endTimer);
+        Map<String, List<String>> failedTaskIds = reconfigureCases(taskIdsByCaseId, statistics, endTimer);
 
-        List<String> secondaryFailedTaskIds = new ArrayList<>();
+        Map<String, List<String>> secondaryFailedTaskIds = Map.of();
 
         if (!failedTaskIds.isEmpty()) {
-            secondaryFailedTaskIds = reconfigureTasks(failedTaskIds, successfulTaskResources, endTimer);
+            secondaryFailedTaskIds = reconfigureCases(failedTaskIds, statistics, endTimer);
         }
 
         return secondaryFailedTaskIds;
     }
 
-    private List<String> reconfigureTasks(List<String> taskIds, List<TaskResource> successfulTaskResources,
-                                          OffsetDateTime endTimer) {
-        List<String> failedTaskIds = new ArrayList<>();
-        if (endTimer.isAfter(OffsetDateTime.now())) {
-            taskIds.forEach(taskId -> {
-                try {
-                    log.info("Re-configure task-id {}", taskId);
-                    // Use TaskReconfigurationTransactionHandler to reconfigure the task resource within a
-                    // new transaction. This ensures that any exceptions will trigger a rollback of the transaction.
-                    Optional<TaskResource> taskResource =
-                        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskId);
-                    taskResource.ifPresent(successfulTaskResources::add);
-                } catch (Exception e) {
-                    log.error("Error configuring task (id={}) ", taskId, e);
-                    failedTaskIds.add(taskId);
+    private Map<String, List<String>> reconfigureCases(Map<String, List<String>> taskIdsByCaseId,
+                                                       TaskReconfigurationStatistics statistics,
+                                                       OffsetDateTime endTimer) {
+        AtomicBoolean abandoned = new AtomicBoolean();
+        Map<String, CompletableFuture<List<String>>> caseReconfigurations = new LinkedHashMap<>();
+        try {
+            taskIdsByCaseId.forEach((caseId, taskIds) -> caseReconfigurations.put(
+                caseId,
+                CompletableFuture.supplyAsync(
+                    () -> reconfigureCase(caseId, taskIds, statistics, endTimer, abandoned),
+                    taskReconfigurationExecutorService
+                )
+            ));
+
+            Map<String, List<String>> failedTaskIds = new LinkedHashMap<>();
+            caseReconfigurations.forEach((caseId, caseReconfiguration) -> {
+                List<String> failedCaseTaskIds = caseReconfiguration.join();
+                if (!failedCaseTaskIds.isEmpty()) {
+                    failedTaskIds.put(caseId, failedCaseTaskIds);
                 }
             });
+            return failedTaskIds;
+        } finally {
+            // Only has an effect when a case failed: cases still queued are not started, and cases
+            // already running stop before their next task
+            abandoned.set(true);
+            caseReconfigurations.values().forEach(caseReconfiguration -> caseReconfiguration.cancel(false));
         }
-        return failedTaskIds;
+    }
 
+    private List<String> reconfigureCase(String caseId, List<String> taskIds,
+                                         TaskReconfigurationStatistics statistics,
+                                         OffsetDateTime endTimer,
+                                         AtomicBoolean abandoned) {
+        if (abandoned.get() || !endTimer.isAfter(OffsetDateTime.now())) {
+            return List.of();
+        }
+
+        SerialisedCaseDetails caseDetails;
+        long caseDataStartedAt = System.nanoTime();
+        try {
+            caseDetails = caseConfigurationProviderService.getCaseDetails(caseId);
+        } catch (Exception e) {
+            log.error("Error fetching case data for reconfiguration (caseId={}) ", caseId, e);
+            return taskIds;
+        } finally {
+            statistics.recordCaseData(caseId, caseDataStartedAt);
+        }
+
+        List<String> failedTaskIds = new ArrayList<>();
+        for (String taskId : taskIds) {
+            if (abandoned.get()) {
+                break;
+            }
+            long reconfigureStartedAt = System.nanoTime();
+            try {
+                log.info("Re-configure task-id {}", taskId);
+                // Use TaskReconfigurationTransactionHandler to reconfigure the task resource within a
+                // new transaction. This ensures that any exceptions will trigger a rollback of the transaction.
+                Optional<TaskResource> taskResource =
+                    taskReconfigurationTransactionHandler.reconfigureTaskResource(taskId, caseDetails);
+                statistics.recordReconfigure(reconfigureStartedAt, taskResource.isPresent());
+            } catch (Exception e) {
+                log.error("Error configuring task (id={}) ", taskId, e);
+                statistics.recordReconfigure(reconfigureStartedAt, false);
+                failedTaskIds.add(taskId);
+            }
+        }
+        return failedTaskIds;
     }
 
     private OffsetDateTime getReconfigureRequestTime(List<TaskFilter<?>> taskFilters) {
@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and stage timings for one task reconfiguration run, updated concurrently by the case workers.
+ * The case data and reconfigure stage timings are the totals across all workers, so with several cases
+ * running in parallel they can add up to more than the elapsed time of the run. A case retried within the
+ * run is counted as processed once.
+ */
+final class TaskReconfigurationStatistics {
+
+    private final long startNanos = System.nanoTime();
+    private final Set<String> casesProcessed = ConcurrentHashMap.newKeySet();
+    private final LongAdder successfulTasks = new LongAdder();
+    private final LongAdder caseDataNanos = new LongAdder();
+    private final LongAdder reconfigureNanos = new LongAdder();
+    private volatile long taskLookupNanos;
+
+    void recordTaskLookup(long startedAt) {
+        taskLookupNanos = System.nanoTime() - startedAt;
+    }
+
+    void recordCaseData(String caseId, long startedAt) {
+        casesProcessed.add(caseId);
+        caseDataNanos.add(System.nanoTime() - startedAt);
+    }
+
+    void recordReconfigure(long startedAt, boolean successful) {
+        reconfigureNanos.add(System.nanoTime() - startedAt);
+        if (successful) {
+            successfulTasks.increment();
+        }
+    }
+
+    Map<String, Object> toResponseMap(int failedTasks) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        double tasksPerSecond = elapsedSeconds > 0 ? successfulTasks.sum() / elapsedSeconds : 0;
+        return Map.of(
+            "successfulTaskResources", successfulTasks.intValue(),
+            "failedTaskResources", failedTasks,
+            "casesProcessed", casesProcessed.size(),
+            "elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            "tasksPerSecond", tasksPerSecond,
+            "stageTimingsMillis", Map.of(
+                "taskLookup", TimeUnit.NANOSECONDS.toMillis(taskLookupNanos),
+                "caseData", TimeUnit.NANOSECONDS.toMillis(caseDataNanos.sum()),
+                "reconfigure", TimeUnit.NANOSECONDS.toMillis(reconfigureNanos.sum())
+            )
+        );
+    }
+}
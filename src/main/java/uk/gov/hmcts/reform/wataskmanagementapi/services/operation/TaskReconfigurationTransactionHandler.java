@@ -5,6 +5,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.SerialisedCaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.ServiceMandatoryFieldValidationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
@@ -66,14 +67,15 @@ public class TaskReconfigurationTransactionHandler {
     }
 
     /**
-     * Reconfigures the task resource with the given task ID.
+     * Reconfigures the task resource with the given task ID from case data that has already been fetched.
      * This method runs in a new transaction and rolls back if any exception occurs.
      *
      * @param taskId the ID of the task to reconfigure
+     * @param caseDetails the ccd case the task belongs to
      * @return the reconfigured task resource, or null if the task could not be found
      */
     @Transactional(propagation = Propagation.REQUIRES_NEW, rollbackFor = Exception.class)
-    public Optional<TaskResource> reconfigureTaskResource(String taskId) {
+    public Optional<TaskResource> reconfigureTaskResource(String taskId, SerialisedCaseDetails caseDetails) {
         Optional<TaskResource> optionalTaskResource = cftTaskDatabaseService
             .findByIdAndStateInObtainPessimisticWriteLock(taskId, List.of(
                 CFTTaskState.ASSIGNED,
@@ -83,7 +85,7 @@ public class TaskReconfigurationTransactionHandler {
             TaskResource taskResource = optionalTaskResource.get();
             try {
                 log.info("Re-configure task-id {}", taskId);
-                taskResource = configureTaskService.reconfigureCFTTask(taskResource);
+                taskResource = configureTaskService.reconfigureCFTTask(taskResource, caseDetails);
                 taskMandatoryFieldsValidator.validate(taskResource);
                 taskResource = taskAutoAssignmentService.reAutoAssignCFTTask(taskResource);
                 taskResource.setReconfigureRequestTime(null);
@@ -1,54 +1,79 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskOperation;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Marks unindexed tasks as indexed in batches, each batch in its own transaction.
+ * Batches skip tasks locked by other transactions, so the operation can run on several pods at once.
+ * It stops once a batch comes back short, or when the max time limit of the operation is reached if one is given.
+ */
 @Slf4j
 @Component
 public class UpdateSearchIndexService implements TaskOperationPerformService {
 
     private final CFTTaskDatabaseService cftTaskDatabaseService;
+    private final Clock clock;
+    private final int batchSize;
 
-    public UpdateSearchIndexService(CFTTaskDatabaseService cftTaskDatabaseService) {
+    @Autowired
+    public UpdateSearchIndexService(CFTTaskDatabaseService cftTaskDatabaseService,
+                                    @Value("${config.searchIndex.batchSize}") int batchSize) {
+        this(cftTaskDatabaseService, Clock.systemUTC(), batchSize);
+    }
+
+    UpdateSearchIndexService(CFTTaskDatabaseService cftTaskDatabaseService, Clock clock, int batchSize) {
         this.cftTaskDatabaseService = cftTaskDatabaseService;
+        this.clock = clock;
+        this.batchSize = batchSize;
     }
 
     @Override
     public TaskOperationResponse performOperation(TaskOperationRequest taskOperationRequest) {
         if (taskOperationRequest.getOperation().getType().equals(TaskOperationType.UPDATE_SEARCH_INDEX)) {
-            return updateSearchIndex();
+            return updateSearchIndex(taskOperationRequest.getOperation());
         }
         return new TaskOperationResponse();
     }
 
-    private TaskOperationResponse updateSearchIndex() {
-        List<TaskResource> taskToReIndexed =  cftTaskDatabaseService.findTaskToUpdateIndex();
-        List<TaskResource> successfulTaskResources = new ArrayList<>();
-
-        if (taskToReIndexed != null) {
-            taskToReIndexed.forEach(t -> {
-                log.info("Update search index for task-id {}", t.getTaskId());
-                Optional<TaskResource> optionalTaskResource = cftTaskDatabaseService
-                    .findByIdAndWaitAndObtainPessimisticWriteLock(t.getTaskId());
-
-                if (optionalTaskResource.isPresent()) {
-                    TaskResource taskResource = optionalTaskResource.get();
-                    taskResource.setIndexed(true);
-                    successfulTaskResources.add(cftTaskDatabaseService.saveTask(taskResource));
-                }
-            });
-        }
+    private TaskOperationResponse updateSearchIndex(TaskOperation operation) {
+        final long startNanos = System.nanoTime();
+        final Instant endTimer = operation.getMaxTimeLimit() > 0
+            ? clock.instant().plusSeconds(operation.getMaxTimeLimit())
+            : null;
+
+        int successfulTasks = 0;
+        int batches = 0;
+        int batchTasks;
+        do {
+            batchTasks = cftTaskDatabaseService.markTasksIndexed(batchSize);
+            successfulTasks += batchTasks;
+            batches++;
+        } while (batchTasks == batchSize && (endTimer == null || endTimer.isAfter(clock.instant())));
 
-        return new TaskOperationResponse(Map.of("successfulTaskResources", successfulTaskResources.size()));
+        long remainingTasks = cftTaskDatabaseService.countTasksToUpdateIndex();
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        Map<String, Object> responseMap = Map.of(
+            "successfulTaskResources", successfulTasks,
+            "remainingTaskResources", remainingTasks,
+            "batches", batches,
+            "elapsedMillis", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+            "tasksPerSecond", elapsedSeconds > 0 ? successfulTasks / elapsedSeconds : 0
+        );
+        log.info("Update search index completed {}", responseMap);
+        return new TaskOperationResponse(responseMap);
     }
 }
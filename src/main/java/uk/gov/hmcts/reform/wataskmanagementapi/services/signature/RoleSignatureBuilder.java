@@ -90,7 +90,7 @@ public final class RoleSignatureBuilder {
     }
 
 
-    private static String permissionRequirement(SearchRequest searchTaskRequest) {
+    static String permissionRequirement(SearchRequest searchTaskRequest) {
         if (searchTaskRequest.isAvailableTasksOnly()) {
             //'a' represent own and claim permission in role signature
             return OWN_AND_CLAIM_PERMISSION;
@@ -0,0 +1,133 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.signature;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Memoises the role signatures built by {@link RoleSignatureBuilder}, so repeated searches by the same
+ * user with the same permission and filter dimensions reuse the signatures built for the first one.
+ * The cache is bounded by the total number of signatures held rather than by the number of entries,
+ * as a single user with many case roles can produce thousands of them. Entries are keyed by a digest
+ * of the role assignments and dimensions, so the cache does not hold on to the role assignments themselves.
+ */
+@Component
+public class RoleSignatureCache {
+
+    private static final String CACHE_NAME = "role_signatures";
+    private static final String KEY_ALGORITHM = "SHA-256";
+
+    private final Cache<String, Set<String>> roleSignatures;
+
+    @Autowired
+    public RoleSignatureCache(MeterRegistry meterRegistry,
+                              @Value("${config.search.roleSignatureCache.ttlSeconds}") long cacheTtlSeconds,
+                              @Value("${config.search.roleSignatureCache.maximumSignatures}") long maximumSignatures) {
+        this.roleSignatures = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofSeconds(cacheTtlSeconds))
+            .maximumWeight(maximumSignatures)
+            .weigher((String key, Set<String> signatures) -> Math.max(1, signatures.size()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roleSignatures, CACHE_NAME);
+    }
+
+    /**
+     * Returns the role signatures for the given role assignments and search, building them only
+     * if the same role assignments have not been seen for the same permission and filter dimensions.
+     * The returned set is shared between searches and cannot be modified.
+     */
+    public Set<String> getRoleSignatures(List<RoleAssignment> roleAssignments, SearchRequest searchRequest) {
+        return roleSignatures.get(
+            key(roleAssignments, searchRequest),
+            k -> Set.copyOf(RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest))
+        );
+    }
+
+    private static String key(List<RoleAssignment> roleAssignments, SearchRequest searchRequest) {
+        MessageDigest digest = newDigest();
+        update(digest, roleAssignments.size());
+        roleAssignments.forEach(roleAssignment -> {
+            update(digest, roleAssignment.getId());
+            update(digest, roleAssignment.getActorIdType());
+            update(digest, roleAssignment.getActorId());
+            update(digest, roleAssignment.getRoleType());
+            update(digest, roleAssignment.getRoleName());
+            update(digest, roleAssignment.getClassification());
+            update(digest, roleAssignment.getGrantType());
+            update(digest, roleAssignment.getRoleCategory());
+            update(digest, roleAssignment.isReadOnly());
+            update(digest, roleAssignment.getBeginTime());
+            update(digest, roleAssignment.getEndTime());
+            update(digest, roleAssignment.getCreated());
+            update(digest, roleAssignment.getAttributes());
+            update(digest, roleAssignment.getAuthorisations());
+        });
+        update(digest, RoleSignatureBuilder.permissionRequirement(searchRequest));
+        update(digest, searchRequest.getJurisdictions());
+        update(digest, searchRequest.getRegions());
+        update(digest, searchRequest.getLocations());
+        update(digest, searchRequest.getCaseIds());
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, Collection<?> values) {
+        if (values == null) {
+            update(digest, (Object) null);
+            return;
+        }
+        update(digest, values.size());
+        values.forEach(value -> update(digest, value));
+    }
+
+    private static void update(MessageDigest digest, Map<String, String> values) {
+        if (values == null) {
+            update(digest, (Object) null);
+            return;
+        }
+        update(digest, values.size());
+        new TreeMap<>(values).forEach((name, value) -> {
+            update(digest, name);
+            update(digest, value);
+        });
+    }
+
+    private static void update(MessageDigest digest, Object value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        // Length prefixed, so that no two different sequences of values produce the same input
+        byte[] bytes = String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(KEY_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(
+                "Could not create " + KEY_ALGORITHM + " digest for role signature keys", ex);
+        }
+    }
+}
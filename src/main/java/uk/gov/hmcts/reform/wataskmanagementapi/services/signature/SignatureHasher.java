@@ -0,0 +1,44 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.signature;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+public final class SignatureHasher {
+
+    private static final String ALGORITHM = "MD5";
+
+    private SignatureHasher() {
+        //Utility class constructor
+    }
+
+    /**
+     * Hashes a signature to the same 64 bit value as the cft_task_db.signature_hash database function:
+     * the first 8 bytes of the MD5 digest of the UTF-8 signature text, read as a signed big-endian long.
+     */
+    public static long hash(String signature) {
+        return hash(newDigest(), signature);
+    }
+
+    public static Long[] hashAll(Collection<String> signatures) {
+        MessageDigest digest = newDigest();
+        return signatures.stream()
+            .map(signature -> hash(digest, signature))
+            .toArray(Long[]::new);
+    }
+
+    private static long hash(MessageDigest digest, String signature) {
+        byte[] md5 = digest.digest(signature.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(md5, 0, Long.BYTES).getLong();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not create " + ALGORITHM + " digest for signature hashing", ex);
+        }
+    }
+}
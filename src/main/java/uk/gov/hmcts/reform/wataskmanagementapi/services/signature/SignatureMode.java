@@ -0,0 +1,13 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.signature;
+
+/**
+ * The form in which filter and role signatures are matched against the search index.
+ * <ul>
+ *     <li>TEXT - the colon separated signature text, matched against search_index</li>
+ *     <li>HASH - 64 bit hashes of the signature text, matched against search_index_hashed</li>
+ * </ul>
+ */
+public enum SignatureMode {
+    TEXT,
+    HASH
+}
@@ -0,0 +1,49 @@
+/*
+ * Compact alternative to the text signatures used by the search index.
+ * Each signature is reduced to a 64 bit hash: the first 8 bytes of the
+ * MD5 digest of the UTF-8 signature text, read as a signed big-endian
+ * bigint.  SignatureHasher computes exactly the same value in Java, so the
+ * application can search with bigint[] parameters instead of text[].
+ */
+create or replace function cft_task_db.signature_hash(l_signature text)
+  returns bigint language sql immutable strict parallel safe
+as $$
+select ('x' || substr(md5(l_signature), 1, 16))::bit(64)::bigint;
+$$;
+
+/*
+ * Hashed form of cft_task_db.role_signatures.
+ */
+create or replace function cft_task_db.role_signature_hashes(l_task_id text, l_jurisdiction text, l_region text,
+l_location text, l_case_id text, l_security_classification cft_task_db.security_classification_enum)
+  returns bigint[] language sql immutable
+as $$
+select array_agg(cft_task_db.signature_hash(s))
+from unnest(cft_task_db.role_signatures(l_task_id, l_jurisdiction, l_region, l_location, l_case_id,
+                                        l_security_classification)) s;
+$$;
+
+/*
+ * Hashed form of cft_task_db.filter_signatures.
+ */
+create or replace function cft_task_db.filter_signature_hashes(l_task_id text, l_state cft_task_db.task_state_enum,
+l_jurisdiction text, l_role_category text, l_work_type text, l_region text, l_location text)
+  returns bigint[] language sql immutable
+as $$
+select array_agg(cft_task_db.signature_hash(s))
+from unnest(cft_task_db.filter_signatures(l_task_id, l_state, l_jurisdiction, l_role_category, l_work_type,
+                                          l_region, l_location)) s;
+$$;
+
+/*
+ * GIN index equivalent to search_index, built over the hashed signatures.
+ * Both indexes are kept while the signature modes are compared, and the
+ * application chooses which one to search through config.search.signatureMode.
+ */
+drop index if exists cft_task_db.search_index_hashed;
+create index search_index_hashed on cft_task_db.tasks using gin (
+    cft_task_db.filter_signature_hashes(task_id, state, jurisdiction, role_category, work_type, region, location),
+    cft_task_db.role_signature_hashes(task_id, jurisdiction, region, location, case_id, security_classification),
+    case_id,
+    assignee)
+    where state in ('ASSIGNED','UNASSIGNED') and indexed;
@@ -0,0 +1,11 @@
+/*
+ * Last calendar successfully retrieved from each bank holiday calendar resource,
+ * so that pods start with the calendars and keep using them while a resource is unavailable.
+ */
+CREATE TABLE IF NOT EXISTS cft_task_db.calendar_snapshots
+(
+    uri                     TEXT                        NOT NULL,
+    calendar                JSONB                       NOT NULL,
+    fetched_time            TIMESTAMP WITH TIME ZONE    NOT NULL,
+    PRIMARY KEY (uri)
+);
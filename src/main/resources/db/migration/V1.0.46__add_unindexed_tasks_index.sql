@@ -0,0 +1,6 @@
+/*
+ * Finds the tasks waiting for the search index to be updated without scanning the tasks table.
+ * Only assigned and unassigned tasks that are not indexed are included, so the index stays small.
+ */
+create index if not exists unindexed_tasks_idx on cft_task_db.tasks (task_id)
+    where not indexed and state in ('ASSIGNED', 'UNASSIGNED');
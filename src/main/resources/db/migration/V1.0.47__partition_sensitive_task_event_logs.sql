@@ -0,0 +1,111 @@
+/*
+ * Partitions the sensitive task event logs by month of expiry, so that expired logs can be removed by dropping
+ * whole partitions instead of deleting them row by row.
+ * Logs that expire in a month without a partition are kept in the default partition.
+ */
+drop index if exists cft_task_db.idx_sensitive_task_event_log_exp;
+alter table cft_task_db.sensitive_task_event_logs rename to sensitive_task_event_logs_unpartitioned;
+alter table cft_task_db.sensitive_task_event_logs_unpartitioned
+    rename constraint sensitive_task_event_logs_pkey to sensitive_task_event_logs_unpartitioned_pkey;
+
+create table cft_task_db.sensitive_task_event_logs
+(
+    id                      UUID        NOT NULL,
+    request_id              TEXT        NULL,
+    correlation_id          TEXT        NULL,
+    task_id                 TEXT        NOT NULL,
+    case_id                 TEXT        NOT NULL,
+    message                 TEXT        NOT NULL,
+    user_data               JSONB       NOT NULL,
+    task_data               JSONB       NOT NULL,
+    expiry_time             TIMESTAMP   NOT NULL default CURRENT_TIMESTAMP + interval '90' day,
+    log_event_time          TIMESTAMP   NOT NULL default CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, expiry_time)
+) partition by range (expiry_time);
+
+create index if not exists idx_sensitive_task_event_log_exp
+    on cft_task_db.sensitive_task_event_logs using btree(expiry_time);
+
+create table cft_task_db.sensitive_task_event_logs_default
+    partition of cft_task_db.sensitive_task_event_logs default;
+
+/*
+ * Creates the monthly partitions, named sensitive_task_event_logs_YYYY_MM, for the months from l_from to l_until
+ * that do not have one yet. Logs of those months already in the default partition are moved to the new partition.
+ * Returns the number of partitions created.
+ */
+create or replace function cft_task_db.create_sensitive_task_event_logs_partitions(l_from timestamp,
+                                                                                   l_until timestamp)
+    returns integer language plpgsql
+as $$
+declare
+    l_month timestamp;
+    l_partition text;
+    l_created integer := 0;
+begin
+    for l_month in
+        select generate_series(date_trunc('month', l_from), date_trunc('month', l_until), interval '1 month')
+    loop
+        l_partition := 'sensitive_task_event_logs_' || to_char(l_month, 'YYYY_MM');
+        continue when to_regclass('cft_task_db.' || l_partition) is not null;
+
+        execute format('create temporary table sensitive_task_event_logs_moved on commit drop as '
+                       'select * from cft_task_db.sensitive_task_event_logs_default '
+                       'where expiry_time >= %L and expiry_time < %L',
+                       l_month, l_month + interval '1 month');
+        execute format('delete from cft_task_db.sensitive_task_event_logs_default '
+                       'where expiry_time >= %L and expiry_time < %L',
+                       l_month, l_month + interval '1 month');
+        execute format('create table cft_task_db.%I partition of cft_task_db.sensitive_task_event_logs '
+                       'for values from (%L) to (%L)',
+                       l_partition, l_month, l_month + interval '1 month');
+        execute 'insert into cft_task_db.sensitive_task_event_logs select * from sensitive_task_event_logs_moved';
+        execute 'drop table sensitive_task_event_logs_moved';
+        l_created := l_created + 1;
+    end loop;
+    return l_created;
+end;
+$$;
+
+/*
+ * Drops the monthly partitions whose logs have all expired before l_before.
+ * Returns the number of logs dropped.
+ */
+create or replace function cft_task_db.drop_sensitive_task_event_logs_partitions(l_before timestamp)
+    returns bigint language plpgsql
+as $$
+declare
+    l_partition text;
+    l_rows bigint;
+    l_dropped bigint := 0;
+begin
+    for l_partition in
+        select c.relname
+        from pg_inherits i
+        join pg_class c on c.oid = i.inhrelid
+        where i.inhparent = 'cft_task_db.sensitive_task_event_logs'::regclass
+          and c.relname ~ '^sensitive_task_event_logs_\d{4}_\d{2}$'
+          and to_date(right(c.relname, 7), 'YYYY_MM') + interval '1 month' <= l_before
+        order by c.relname
+    loop
+        execute format('select count(*) from cft_task_db.%I', l_partition) into l_rows;
+        execute format('alter table cft_task_db.sensitive_task_event_logs detach partition cft_task_db.%I',
+                       l_partition);
+        execute format('drop table cft_task_db.%I', l_partition);
+        l_dropped := l_dropped + l_rows;
+    end loop;
+    return l_dropped;
+end;
+$$;
+
+select cft_task_db.create_sensitive_task_event_logs_partitions(
+    least(min(expiry_time), CURRENT_TIMESTAMP::timestamp),
+    (CURRENT_TIMESTAMP + interval '6' month)::timestamp)
+from cft_task_db.sensitive_task_event_logs_unpartitioned;
+
+insert into cft_task_db.sensitive_task_event_logs
+(id, request_id, correlation_id, task_id, case_id, message, user_data, task_data, expiry_time, log_event_time)
+select id, request_id, correlation_id, task_id, case_id, message, user_data, task_data, expiry_time, log_event_time
+from cft_task_db.sensitive_task_event_logs_unpartitioned;
+
+drop table cft_task_db.sensitive_task_event_logs_unpartitioned;
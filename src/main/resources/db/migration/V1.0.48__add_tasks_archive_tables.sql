@@ -0,0 +1,32 @@
+/*
+ * Archive tables for tasks that reached a final state and have not been updated for a while, together with their
+ * task roles, so that the tasks table only holds the tasks still in use.
+ * The archive tables start with the columns of the tables they archive. Columns added to tasks or task_roles
+ * later have to be added to tasks_archive or task_roles_archive as well, and to the column lists that
+ * TaskResourceRepository copies into them.
+ * Archiving deletes tasks from the tasks table, and the deletes are published to the reporting replica like any
+ * other. The replica keeps the tasks deleted in a final state that were not marked for deletion with their case
+ * (dbreplica V1.0.47).
+ */
+create table if not exists cft_task_db.tasks_archive
+(
+    like cft_task_db.tasks including defaults,
+    primary key (task_id)
+);
+
+create index if not exists tasks_archive_case_id_idx on cft_task_db.tasks_archive (case_id);
+
+create table if not exists cft_task_db.task_roles_archive
+(
+    like cft_task_db.task_roles including defaults,
+    primary key (task_role_id)
+);
+
+create index if not exists task_roles_archive_task_id_idx on cft_task_db.task_roles_archive (task_id);
+
+/*
+ * Finds the tasks to archive without scanning the tasks table.
+ */
+create index if not exists archivable_tasks_idx
+    on cft_task_db.tasks (coalesce(last_updated_timestamp, created))
+    where state in ('COMPLETED', 'CANCELLED', 'TERMINATED');
@@ -0,0 +1,25 @@
+--
+-- Function to call from triggers whenever a replicated task record is deleted.
+-- The primary archives tasks that reached a final state by deleting them from its tasks table. Those deletes
+-- are skipped, so that archived tasks are still reported on. Tasks marked for deletion with their case are
+-- deleted as before.
+--
+create or replace function cft_task_db.keep_archived_task()
+  returns trigger
+  language plpgsql
+as $function$
+begin
+  if old.state::text in ('COMPLETED', 'CANCELLED', 'TERMINATED') and old.case_deletion_timestamp is null then
+    return null;
+  end if;
+  return old;
+end $function$;
+
+DROP TRIGGER IF EXISTS trg_keep_archived_task ON cft_task_db.tasks;
+--
+-- Add the archived task trigger. It is named to fire before trg_on_task_delete, and as a replica trigger it
+-- only fires for the deletes applied by the subscription.
+--
+CREATE TRIGGER trg_keep_archived_task before delete on cft_task_db.tasks
+  for each row execute function cft_task_db.keep_archived_task();
+alter table cft_task_db.tasks enable replica trigger trg_keep_archived_task;
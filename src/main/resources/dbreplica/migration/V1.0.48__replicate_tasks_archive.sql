@@ -0,0 +1,41 @@
+--
+-- Archived tasks are published to the replica, so that it sees them being marked for deletion with their case.
+-- The replica keeps the archived tasks in its tasks table (V1.0.47), so the archive copy is only used to carry
+-- the case deletion over to them.
+--
+create table if not exists cft_task_db.tasks_archive
+(
+    like cft_task_db.tasks including defaults,
+    primary key (task_id)
+);
+
+--
+-- Function to call from triggers whenever a replicated archived task record is inserted, updated or deleted.
+-- Marking an archived task for deletion marks the task kept in the tasks table, and deleting a marked archived
+-- task deletes the kept task, as is done for the tasks still in the tasks table.
+--
+create or replace function cft_task_db.on_archived_task_change()
+  returns trigger
+  language plpgsql
+as $function$
+begin
+  if tg_op = 'DELETE' then
+    delete from cft_task_db.tasks
+    where task_id = old.task_id
+      and case_deletion_timestamp is not null;
+    return old;
+  end if;
+
+  if new.case_deletion_timestamp is not null then
+    update cft_task_db.tasks
+    set case_deletion_timestamp = new.case_deletion_timestamp
+    where task_id = new.task_id
+      and case_deletion_timestamp is null;
+  end if;
+  return new;
+end $function$;
+
+DROP TRIGGER IF EXISTS trg_on_archived_task_change ON cft_task_db.tasks_archive;
+CREATE TRIGGER trg_on_archived_task_change after insert or update or delete on cft_task_db.tasks_archive
+  for each row execute function cft_task_db.on_archived_task_change();
+alter table cft_task_db.tasks_archive enable always trigger trg_on_archived_task_change;
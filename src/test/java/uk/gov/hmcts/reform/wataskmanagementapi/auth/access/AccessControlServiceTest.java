@@ -10,9 +10,13 @@ import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserInfo;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.VersionedRoleAssignments;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.NoRoleAssignmentsFoundException;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -21,6 +25,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -39,7 +44,7 @@ class AccessControlServiceTest {
 
     @BeforeEach
     void setUp() {
-        accessControlService = new AccessControlService(idamService, roleAssignmentService);
+        accessControlService = new AccessControlService(idamService, roleAssignmentService, false, 60, 15, 100);
     }
 
     @Test
@@ -188,4 +193,131 @@ class AccessControlServiceTest {
         );
     }
 
+    @Test
+    void should_time_user_lookup_and_role_assignment_fetch_when_returning_access_control_response() {
+
+        final RoleAssignment mockedRoleAssignments = mock(RoleAssignment.class);
+        final UserInfo mockedUserInfo = mock(UserInfo.class);
+        final String idamToken = "someToken";
+        final List<Duration> idamLookups = new ArrayList<>();
+        final List<Duration> roleAssignmentFetches = new ArrayList<>();
+
+        when(idamService.getUserInfo(idamToken))
+            .thenReturn(mockedUserInfo);
+
+        when(roleAssignmentService.getRolesForUser(mockedUserInfo.getUid(), idamToken))
+            .thenReturn(Collections.singletonList(mockedRoleAssignments));
+
+        Optional<AccessControlResponse> result = accessControlService.getAccessControlResponse(
+            idamToken, idamLookups::add, roleAssignmentFetches::add);
+
+        assertTrue(result.isPresent());
+        assertEquals(mockedUserInfo, result.get().getUserInfo());
+        assertEquals(mockedRoleAssignments, result.get().getRoleAssignments().get(0));
+        assertEquals(1, idamLookups.size());
+        assertEquals(1, roleAssignmentFetches.size());
+    }
+
+    @Test
+    void should_return_optional_empty_from_timed_lookup_when_no_role_assignment_found() {
+
+        final UserInfo mockedUserInfo = mock(UserInfo.class);
+        final String idamToken = "someToken";
+        final List<Duration> roleAssignmentFetches = new ArrayList<>();
+
+        when(idamService.getUserInfo(idamToken))
+            .thenReturn(mockedUserInfo);
+
+        when(roleAssignmentService.getRolesForUser(mockedUserInfo.getUid(), idamToken))
+            .thenReturn(Collections.emptyList());
+
+        Optional<AccessControlResponse> result = accessControlService.getAccessControlResponse(
+            idamToken, duration -> { }, roleAssignmentFetches::add);
+
+        assertEquals(Optional.empty(), result);
+        assertEquals(1, roleAssignmentFetches.size());
+    }
+
+    @Test
+    void should_serve_cached_role_assignments_when_cache_is_enabled() {
+        AccessControlService cachingAccessControlService =
+            new AccessControlService(idamService, roleAssignmentService, true, 60, 15, 100);
+        final String idamToken = "someToken";
+        UserInfo userInfo = UserInfo.builder().uid("some user id").build();
+        List<RoleAssignment> roleAssignments = List.of(RoleAssignment.builder().actorId("some user id").build());
+
+        when(idamService.getUserInfo(idamToken)).thenReturn(userInfo);
+        when(roleAssignmentService.getVersionedRolesForUser("some user id", idamToken, null))
+            .thenReturn(new VersionedRoleAssignments(roleAssignments, "\"1\""));
+
+        AccessControlResponse first = cachingAccessControlService.getRoles(idamToken);
+        AccessControlResponse second = cachingAccessControlService.getRoles(idamToken);
+
+        assertEquals(roleAssignments, first.getRoleAssignments());
+        assertEquals(roleAssignments, second.getRoleAssignments());
+        verify(roleAssignmentService, times(1)).getVersionedRolesForUser("some user id", idamToken, null);
+        verify(roleAssignmentService, never()).getRolesForUser("some user id", idamToken);
+    }
+
+    @Test
+    void should_retrieve_role_assignments_again_after_eviction() {
+        AccessControlService cachingAccessControlService =
+            new AccessControlService(idamService, roleAssignmentService, true, 60, 15, 100);
+        List<RoleAssignment> roleAssignments = List.of(RoleAssignment.builder().actorId("some user id").build());
+
+        when(roleAssignmentService.getVersionedRolesForUser("some user id", "Bearer user token", null))
+            .thenReturn(new VersionedRoleAssignments(roleAssignments, "\"1\""));
+
+        cachingAccessControlService.getRolesGivenUserId("some user id", "Bearer user token");
+        cachingAccessControlService.evictRoles("some user id");
+        AccessControlResponse result = cachingAccessControlService.getRolesGivenUserId(
+            "some user id",
+            "Bearer user token"
+        );
+
+        assertEquals(roleAssignments, result.getRoleAssignments());
+        verify(roleAssignmentService, times(2))
+            .getVersionedRolesForUser("some user id", "Bearer user token", null);
+    }
+
+    @Test
+    void should_not_keep_empty_role_assignments_in_cache() {
+        AccessControlService cachingAccessControlService =
+            new AccessControlService(idamService, roleAssignmentService, true, 60, 15, 100);
+        final String idamToken = "someToken";
+        UserInfo userInfo = UserInfo.builder().uid("some user id").build();
+
+        when(idamService.getUserInfo(idamToken)).thenReturn(userInfo);
+        when(roleAssignmentService.getVersionedRolesForUser("some user id", idamToken, null))
+            .thenReturn(new VersionedRoleAssignments(Collections.emptyList(), null));
+
+        assertThrows(NoRoleAssignmentsFoundException.class, () -> cachingAccessControlService.getRoles(idamToken));
+        assertThrows(NoRoleAssignmentsFoundException.class, () -> cachingAccessControlService.getRoles(idamToken));
+
+        verify(roleAssignmentService, times(2)).getVersionedRolesForUser("some user id", idamToken, null);
+    }
+
+    @Test
+    void should_not_keep_empty_role_assignments_in_cache_when_given_user_id() {
+        AccessControlService cachingAccessControlService =
+            new AccessControlService(idamService, roleAssignmentService, true, 60, 15, 100);
+
+        when(roleAssignmentService.getVersionedRolesForUser("some user id", "Bearer user token", null))
+            .thenReturn(new VersionedRoleAssignments(Collections.emptyList(), null));
+
+        AccessControlResponse first = cachingAccessControlService.getRolesGivenUserId(
+            "some user id",
+            "Bearer user token"
+        );
+        AccessControlResponse second = cachingAccessControlService.getRolesGivenUserId(
+            "some user id",
+            "Bearer user token"
+        );
+
+        assertTrue(first.getRoleAssignments().isEmpty());
+        assertTrue(second.getRoleAssignments().isEmpty());
+        verify(roleAssignmentService, times(2))
+            .getVersionedRolesForUser("some user id", "Bearer user token", null);
+    }
+
 }
@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.VersionedRoleAssignments;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.ActorIdType;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
@@ -38,6 +39,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyMap;
@@ -49,10 +53,12 @@ import static org.hamcrest.collection.ArrayMatching.arrayContaining;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -64,6 +70,7 @@ class RoleAssignmentServiceTest {
     private static final String IDAM_USER_TOKEN = "IDAM_USER_TOKEN";
     private static final String S2S_TOKEN = "S2S_SERVICE_TOKEN";
     public static final int MAX_ROLE_ASSIGNMENT_RECORDS = 50;
+    public static final int MAX_CONCURRENT_PAGE_REQUESTS = 2;
 
     @Mock
     private RoleAssignmentServiceApi roleAssignmentServiceApi;
@@ -87,7 +94,9 @@ class RoleAssignmentServiceTest {
             roleAssignmentServiceApi,
             authTokenGenerator,
             idamTokenGenerator,
-            MAX_ROLE_ASSIGNMENT_RECORDS
+            MAX_ROLE_ASSIGNMENT_RECORDS,
+            Executors.newFixedThreadPool(MAX_CONCURRENT_PAGE_REQUESTS),
+            MAX_CONCURRENT_PAGE_REQUESTS
         );
 
         caseId = UUID.randomUUID().toString();
@@ -139,6 +148,41 @@ class RoleAssignmentServiceTest {
         );
     }
 
+    @Test
+    void should_return_role_assignments_with_their_etag() {
+        List<RoleAssignment> roleAssignments = getRoleAssignmentList();
+        when(roleAssignmentServiceApi.getRolesForUserIfNoneMatch("user", "token", S2S_TOKEN, null))
+            .thenReturn(ResponseEntity.ok().eTag("\"1\"").body(new RoleAssignmentResource(roleAssignments)));
+
+        VersionedRoleAssignments result = roleAssignmentService.getVersionedRolesForUser("user", "token", null);
+
+        assertEquals(new VersionedRoleAssignments(roleAssignments, "\"1\""), result);
+    }
+
+    @Test
+    void should_return_previous_role_assignments_when_not_modified() {
+        VersionedRoleAssignments previous = new VersionedRoleAssignments(getRoleAssignmentList(), "\"1\"");
+        FeignException notModified = mock(FeignException.class);
+        when(notModified.status()).thenReturn(304);
+        when(roleAssignmentServiceApi.getRolesForUserIfNoneMatch("user", IDAM_USER_TOKEN, S2S_TOKEN, "\"1\""))
+            .thenThrow(notModified);
+
+        VersionedRoleAssignments result = roleAssignmentService.getVersionedRolesByUserId("user", previous);
+
+        assertEquals(previous, result);
+    }
+
+    @Test
+    void should_throw_unauthorized_exception_when_versioned_role_assignments_cannot_be_retrieved() {
+        when(roleAssignmentServiceApi.getRolesForUserIfNoneMatch("user", "token", S2S_TOKEN, null))
+            .thenThrow(FeignException.class);
+
+        assertThrows(
+            UnAuthorizedException.class,
+            () -> roleAssignmentService.getVersionedRolesForUser("user", "token", null)
+        );
+    }
+
     @NotNull
     private List<RoleAssignment> getRoleAssignmentList() {
         List<RoleAssignment> createdRolesForUser = new ArrayList<>();
@@ -525,6 +569,78 @@ class RoleAssignmentServiceTest {
         assertThat(actualQueryRequest.getAttributes().get("caseId")).contains(caseId);
     }
 
+    @Test
+    void should_fetch_remaining_pages_concurrently_and_preserve_page_order() {
+        MultipleQueryRequest multipleQueryRequest = MultipleQueryRequest.builder().build();
+        IntStream.rangeClosed(0, 4).forEach(page ->
+            when(roleAssignmentServiceApi.queryRoleAssignments(
+                IDAM_USER_TOKEN, S2S_TOKEN, page, MAX_ROLE_ASSIGNMENT_RECORDS, multipleQueryRequest))
+                .thenReturn(ResponseEntity.ok().header(TOTAL_RECORDS, "200")
+                                .body(new RoleAssignmentResource(List.of(
+                                    RoleAssignment.builder().id("page-" + page).build())))));
+
+        RoleAssignmentResource result = roleAssignmentService.performSearch(multipleQueryRequest);
+
+        assertThat(result.getRoleAssignmentResponse())
+            .extracting(RoleAssignment::getId)
+            .containsExactly("page-0", "page-1", "page-2", "page-3", "page-4");
+    }
+
+    @Test
+    void should_throw_server_error_exception_when_a_later_page_fails() {
+        MultipleQueryRequest multipleQueryRequest = MultipleQueryRequest.builder().build();
+        when(roleAssignmentServiceApi.queryRoleAssignments(
+            IDAM_USER_TOKEN, S2S_TOKEN, 0, MAX_ROLE_ASSIGNMENT_RECORDS, multipleQueryRequest))
+            .thenReturn(ResponseEntity.ok().header(TOTAL_RECORDS, "75")
+                            .body(new RoleAssignmentResource(List.of(getRoleAssignment()))));
+        when(roleAssignmentServiceApi.queryRoleAssignments(
+            IDAM_USER_TOKEN, S2S_TOKEN, 1, MAX_ROLE_ASSIGNMENT_RECORDS, multipleQueryRequest))
+            .thenThrow(FeignException.class);
+
+        assertThrows(
+            ServerErrorException.class,
+            () -> roleAssignmentService.performSearch(multipleQueryRequest)
+        );
+    }
+
+    @Test
+    void should_interrupt_pages_in_flight_when_a_page_fails() throws InterruptedException {
+        MultipleQueryRequest multipleQueryRequest = MultipleQueryRequest.builder().build();
+        CountDownLatch secondPageStarted = new CountDownLatch(1);
+        CountDownLatch secondPageInterrupted = new CountDownLatch(1);
+        when(roleAssignmentServiceApi.queryRoleAssignments(
+            IDAM_USER_TOKEN, S2S_TOKEN, 0, MAX_ROLE_ASSIGNMENT_RECORDS, multipleQueryRequest))
+            .thenReturn(ResponseEntity.ok().header(TOTAL_RECORDS, "150")
+                            .body(new RoleAssignmentResource(List.of(getRoleAssignment()))));
+        when(roleAssignmentServiceApi.queryRoleAssignments(
+            IDAM_USER_TOKEN, S2S_TOKEN, 1, MAX_ROLE_ASSIGNMENT_RECORDS, multipleQueryRequest))
+            .thenAnswer(invocation -> {
+                secondPageStarted.await(5, TimeUnit.SECONDS);
+                throw mock(FeignException.class);
+            });
+        when(roleAssignmentServiceApi.queryRoleAssignments(
+            IDAM_USER_TOKEN, S2S_TOKEN, 2, MAX_ROLE_ASSIGNMENT_RECORDS, multipleQueryRequest))
+            .thenAnswer(invocation -> {
+                secondPageStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException ex) {
+                    secondPageInterrupted.countDown();
+                    throw ex;
+                }
+                return ResponseEntity.ok().body(new RoleAssignmentResource(List.of()));
+            });
+
+        assertThrows(
+            ServerErrorException.class,
+            () -> roleAssignmentService.performSearch(multipleQueryRequest)
+        );
+
+        assertTrue(secondPageInterrupted.await(5, TimeUnit.SECONDS));
+        verify(roleAssignmentServiceApi, never()).queryRoleAssignments(
+            IDAM_USER_TOKEN, S2S_TOKEN, 3, MAX_ROLE_ASSIGNMENT_RECORDS, multipleQueryRequest);
+    }
+
     private RoleAssignment getRoleAssignment() {
         return RoleAssignment.builder().roleName("tribunal-caseworker")
             .roleType(RoleType.CASE)
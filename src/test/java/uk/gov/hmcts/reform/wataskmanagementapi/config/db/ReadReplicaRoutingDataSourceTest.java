@@ -0,0 +1,110 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReadReplicaLagMonitor;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primaryDataSource;
+    @Mock
+    private DataSource readReplicaDataSource;
+    @Mock
+    private ReadReplicaLagMonitor readReplicaLagMonitor;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection readReplicaConnection;
+
+    private MeterRegistry meterRegistry;
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        routingDataSource = new ReadReplicaRoutingDataSource(
+            primaryDataSource, readReplicaDataSource, readReplicaLagMonitor, meterRegistry);
+        routingDataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void should_route_read_only_transaction_to_read_replica_when_within_max_lag() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(readReplicaLagMonitor.isWithinMaxLag()).thenReturn(true);
+        when(readReplicaDataSource.getConnection()).thenReturn(readReplicaConnection);
+
+        assertSame(readReplicaConnection, routingDataSource.getConnection());
+        assertEquals(1, routedCount("read_replica", true));
+    }
+
+    @Test
+    void should_route_read_only_transaction_to_primary_when_read_replica_is_lagging() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(readReplicaLagMonitor.isWithinMaxLag()).thenReturn(false);
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1, routedCount("primary", true));
+        verify(readReplicaDataSource, never()).getConnection();
+    }
+
+    @Test
+    void should_route_read_write_transaction_to_primary() throws SQLException {
+        when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertEquals(1, routedCount("primary", false));
+        verify(readReplicaLagMonitor, never()).isWithinMaxLag();
+    }
+
+    @Test
+    void should_route_once_connection_is_used_when_wrapped_in_lazy_proxy() throws SQLException {
+        LazyConnectionDataSourceProxy lazyDataSource = new LazyConnectionDataSourceProxy();
+        lazyDataSource.setTargetDataSource(routingDataSource);
+        lazyDataSource.setDefaultAutoCommit(true);
+        lazyDataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        lazyDataSource.afterPropertiesSet();
+        when(readReplicaLagMonitor.isWithinMaxLag()).thenReturn(true);
+        when(readReplicaDataSource.getConnection()).thenReturn(readReplicaConnection);
+
+        Connection connection = lazyDataSource.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        connection.createStatement();
+
+        verify(readReplicaConnection).createStatement();
+        verify(primaryDataSource, never()).getConnection();
+    }
+
+    private double routedCount(String route, boolean readOnly) {
+        return meterRegistry.get("wa.datasource.connections.routed")
+            .tag("route", route)
+            .tag("read_only", String.valueOf(readOnly))
+            .counter()
+            .count();
+    }
+}
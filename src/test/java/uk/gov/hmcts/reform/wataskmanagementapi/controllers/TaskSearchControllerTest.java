@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.controllers;
 
 import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,32 +21,43 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.SearchTaskReq
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksCompletableResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchOperator;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterList;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.JURISDICTION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.TASK_TYPE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.WORK_TYPE;
 
 @ExtendWith(MockitoExtension.class)
 class TaskSearchControllerTest {
@@ -63,21 +75,24 @@ class TaskSearchControllerTest {
     @Mock
     private CFTTaskDatabaseService cftTaskDatabaseService;
 
+    private SimpleMeterRegistry meterRegistry;
     private TaskSearchController taskSearchController;
 
     @BeforeEach
     void setUp() {
 
+        meterRegistry = new SimpleMeterRegistry();
         taskSearchController = new TaskSearchController(
             accessControlService,
             cftQueryService,
-            cftTaskDatabaseService
+            cftTaskDatabaseService,
+            new TaskSearchMetrics(meterRegistry, List.of("ia"))
         );
     }
 
     @Test
     void should_succeed_when_performing_search_and_return_a_200_ok() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         List<Task> taskList = Lists.newArrayList(mock(Task.class));
@@ -85,7 +100,7 @@ class TaskSearchControllerTest {
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(tasksResponse);
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 1,
+            IDAM_AUTH_TOKEN, 0, 1, null,
             new SearchTaskRequest(
                 singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA")))
             )
@@ -98,7 +113,7 @@ class TaskSearchControllerTest {
 
     @Test
     void should_succeed_when_performing_search_for_returning_available_tasks_and_return_a_200_ok() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         List<Task> taskList = Lists.newArrayList(mock(Task.class));
@@ -106,7 +121,7 @@ class TaskSearchControllerTest {
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(tasksResponse);
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 1,
+            IDAM_AUTH_TOKEN, 0, 1, null,
             new SearchTaskRequest(
                 RequestContext.AVAILABLE_TASKS,
                 singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, List.of("ia")))
@@ -122,7 +137,7 @@ class TaskSearchControllerTest {
     @Test
     void should_succeed_when_performing_search_with_no_pagination_firstResult_and_default_and_return_a_200_ok() {
 
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         List<Task> taskList = Lists.newArrayList(mock(Task.class));
@@ -136,7 +151,7 @@ class TaskSearchControllerTest {
         ReflectionTestUtils.setField(taskSearchController, "defaultMaxResults", 50);
 
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, null, 25, searchTaskRequest);
+            IDAM_AUTH_TOKEN, null, 25, null, searchTaskRequest);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -146,7 +161,7 @@ class TaskSearchControllerTest {
 
     @Test
     void should_succeed_when_performing_search_with_no_pagination_max_results_and_default_and_return_a_200_ok() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         List<Task> taskList = Lists.newArrayList(mock(Task.class));
@@ -160,7 +175,7 @@ class TaskSearchControllerTest {
         ReflectionTestUtils.setField(taskSearchController, "defaultMaxResults", 50);
 
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, null, searchTaskRequest);
+            IDAM_AUTH_TOKEN, 0, null, null, searchTaskRequest);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -169,11 +184,11 @@ class TaskSearchControllerTest {
 
     @Test
     void should_succeed_when_performing_search_with_sorting_and_return_a_200_ok() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 0,
+            IDAM_AUTH_TOKEN, 0, 0, null,
             new SearchTaskRequest(
                 singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA"))),
                 singletonList(new SortingParameter(SortField.DUE_DATE_CAMEL_CASE, SortOrder.DESCENDANT))
@@ -189,7 +204,7 @@ class TaskSearchControllerTest {
 
         ResponseEntity<GetTasksResponse<Task>> response =
             taskSearchController.searchWithCriteria(
-                IDAM_AUTH_TOKEN, 0, 0, new SearchTaskRequest(null)
+                IDAM_AUTH_TOKEN, 0, 0, null, new SearchTaskRequest(null)
             );
 
         assertNotNull(response);
@@ -200,7 +215,7 @@ class TaskSearchControllerTest {
     void should_return_a_400_when_performing_search_with_no_parameters() {
 
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 0, new SearchTaskRequest(emptyList())
+            IDAM_AUTH_TOKEN, 0, 0, null, new SearchTaskRequest(emptyList())
         );
 
         assertNotNull(response);
@@ -257,11 +272,11 @@ class TaskSearchControllerTest {
 
     @Test
     void should_return_200_with_empty_list_for_searchWithCriteria_when_access_control_response_empty() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.empty());
 
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 1,
+            IDAM_AUTH_TOKEN, 0, 1, null,
             new SearchTaskRequest(
                 singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA")))
             )
@@ -273,6 +288,68 @@ class TaskSearchControllerTest {
         assertEquals(0, response.getBody().getTotalRecords());
     }
 
+    @Test
+    void should_record_access_control_stages_as_unknown_when_access_control_response_empty() {
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
+            .thenAnswer(invocation -> {
+                invocation.<Consumer<Duration>>getArgument(1).accept(Duration.ofMillis(5));
+                invocation.<Consumer<Duration>>getArgument(2).accept(Duration.ofMillis(7));
+                return Optional.empty();
+            });
+
+        taskSearchController.searchWithCriteria(
+            IDAM_AUTH_TOKEN, 0, 1, null,
+            new SearchTaskRequest(
+                singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA")))
+            )
+        );
+
+        assertEquals(5, meterRegistry.get("wa.task.search.stage").tag("stage", "idam_lookup")
+            .tag("jurisdiction", "unknown").tag("flavour", "unknown").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(7, meterRegistry.get("wa.task.search.stage").tag("stage", "role_assignment_fetch")
+            .tag("jurisdiction", "unknown").tag("flavour", "unknown").timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void should_return_200_with_empty_list_before_validating_search_when_access_control_response_empty() {
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
+            .thenReturn(Optional.empty());
+
+        ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
+            IDAM_AUTH_TOKEN, 0, 1, null,
+            new SearchTaskRequest(
+                singletonList(new SearchParameterList(WORK_TYPE, SearchOperator.IN, singletonList("unknown")))
+            )
+        );
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, response.getBody().getTotalRecords());
+    }
+
+    @Test
+    void should_record_access_control_stages_with_search_tags() {
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
+            .thenAnswer(invocation -> {
+                invocation.<Consumer<Duration>>getArgument(1).accept(Duration.ofMillis(5));
+                invocation.<Consumer<Duration>>getArgument(2).accept(Duration.ofMillis(7));
+                return Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment)));
+            });
+        when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
+            .thenReturn(new GetTasksResponse<>(emptyList(), 0));
+
+        taskSearchController.searchWithCriteria(
+            IDAM_AUTH_TOKEN, 0, 1, null,
+            new SearchTaskRequest(
+                singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA")))
+            )
+        );
+
+        assertEquals(5, meterRegistry.get("wa.task.search.stage").tag("stage", "idam_lookup")
+            .tag("jurisdiction", "ia").tag("flavour", "other").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(7, meterRegistry.get("wa.task.search.stage").tag("stage", "role_assignment_fetch")
+            .tag("jurisdiction", "ia").tag("flavour", "other").timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
     @Test
     void should_return_200_with_empty_list_for_completable_when_access_control_response_empty() {
         when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
@@ -294,7 +371,7 @@ class TaskSearchControllerTest {
 
     @Test
     void should_succeed_when_performing_search_by_task_type_id() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         List<Task> taskList = Lists.newArrayList(mock(Task.class));
@@ -302,7 +379,7 @@ class TaskSearchControllerTest {
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(tasksResponse);
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 1,
+            IDAM_AUTH_TOKEN, 0, 1, null,
             new SearchTaskRequest(
                 singletonList(new SearchParameterList(
                         TASK_TYPE,
@@ -320,7 +397,7 @@ class TaskSearchControllerTest {
 
     @Test
     void should_succeed_when_performing_search_and_return_termination_process_for_a_task() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         Task mockTask = mock(Task.class);
@@ -331,7 +408,7 @@ class TaskSearchControllerTest {
         when(cftTaskDatabaseService.searchForTasks(anyInt(), anyInt(), any(), any()))
             .thenReturn(tasksResponse);
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 1,
+            IDAM_AUTH_TOKEN, 0, 1, null,
             new SearchTaskRequest(
                 singletonList(new SearchParameterList(
                                   TASK_TYPE,
@@ -352,7 +429,7 @@ class TaskSearchControllerTest {
 
     @Test
     void should_search_by_search_index_with_gin_index() {
-        when(accessControlService.getAccessControlResponse(IDAM_AUTH_TOKEN))
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
             .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
 
         List<Task> taskList = Lists.newArrayList(mock(Task.class));
@@ -361,7 +438,7 @@ class TaskSearchControllerTest {
             .thenReturn(tasksResponse);
 
         ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
-            IDAM_AUTH_TOKEN, 0, 1,
+            IDAM_AUTH_TOKEN, 0, 1, null,
             new SearchTaskRequest(
                 singletonList(new SearchParameterList(
                         TASK_TYPE,
@@ -379,4 +456,81 @@ class TaskSearchControllerTest {
         assertEquals(1, Objects.requireNonNull(response.getBody()).getTotalRecords());
     }
 
+    @Test
+    void should_search_using_keyset_pagination_when_continuation_token_is_provided() {
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
+            .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
+
+        SearchContinuationToken token = new SearchContinuationToken(
+            5000, OffsetDateTime.parse("2024-01-01T10:00:00Z"), 500, "someTaskId");
+        List<Task> taskList = Lists.newArrayList(mock(Task.class));
+        GetTasksResponse<Task> tasksResponse = new GetTasksResponse<>(taskList, 1, "nextToken");
+        when(cftTaskDatabaseService.searchForTasksAfter(eq(1), eq(token), any(), any()))
+            .thenReturn(tasksResponse);
+
+        ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
+            IDAM_AUTH_TOKEN, null, 1, token.encode(),
+            new SearchTaskRequest(
+                singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA")))
+            )
+        );
+
+        verify(cftTaskDatabaseService, never()).searchForTasks(anyInt(), anyInt(), any(), any());
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("nextToken", Objects.requireNonNull(response.getBody()).getContinuationToken());
+    }
+
+    @Test
+    void should_search_first_keyset_page_when_continuation_token_is_empty() {
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
+            .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
+
+        GetTasksResponse<Task> tasksResponse = new GetTasksResponse<>(Lists.newArrayList(mock(Task.class)), 1);
+        when(cftTaskDatabaseService.searchForTasksAfter(eq(1), isNull(), any(), any()))
+            .thenReturn(tasksResponse);
+
+        ResponseEntity<GetTasksResponse<Task>> response = taskSearchController.searchWithCriteria(
+            IDAM_AUTH_TOKEN, 0, 1, "",
+            new SearchTaskRequest(
+                singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA")))
+            )
+        );
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, Objects.requireNonNull(response.getBody()).getTotalRecords());
+    }
+
+    @Test
+    void should_reject_continuation_token_combined_with_first_result() {
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
+            .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
+
+        SearchTaskRequest searchTaskRequest = new SearchTaskRequest(
+            singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA")))
+        );
+
+        assertThatThrownBy(() -> taskSearchController.searchWithCriteria(
+            IDAM_AUTH_TOKEN, 10, 1, "", searchTaskRequest))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("first_result cannot be combined with continuation_token.");
+    }
+
+    @Test
+    void should_reject_continuation_token_combined_with_sorting_parameters() {
+        when(accessControlService.getAccessControlResponse(eq(IDAM_AUTH_TOKEN), any(), any()))
+            .thenReturn(Optional.of(new AccessControlResponse(mockedUserInfo, singletonList(mockedRoleAssignment))));
+
+        SearchTaskRequest searchTaskRequest = new SearchTaskRequest(
+            singletonList(new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA"))),
+            singletonList(new SortingParameter(SortField.CASE_ID, SortOrder.ASCENDANT))
+        );
+
+        assertThatThrownBy(() -> taskSearchController.searchWithCriteria(
+            IDAM_AUTH_TOKEN, null, 1, "", searchTaskRequest))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("sorting_parameters cannot be combined with continuation_token.");
+    }
+
 }
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleCategory;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchCountMode;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchOperator;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
@@ -69,6 +70,18 @@ class SearchTaskRequestMapperTest {
                 new SortingParameter(SortField.CASE_CATEGORY_CAMEL_CASE, SortOrder.DESCENDANT)));
     }
 
+    @Test
+    void shouldMapCountMode() {
+        SearchTaskRequest searchTaskRequest = new SearchTaskRequest(
+            RequestContext.ALL_WORK,
+            List.of(new SearchParameterList(JURISDICTION, SearchOperator.IN, asList("IA", "WA"))),
+            null,
+            SearchCountMode.CAPPED
+        );
+        SearchRequest searchRequest = SearchTaskRequestMapper.map(searchTaskRequest);
+        assertEquals(SearchCountMode.CAPPED, searchRequest.getCountMode());
+    }
+
     @Test
     void shouldMapAvailableTaskOnly() {
         SearchTaskRequest searchTaskRequest = new SearchTaskRequest(
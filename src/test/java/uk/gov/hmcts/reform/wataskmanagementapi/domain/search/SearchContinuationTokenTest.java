@@ -0,0 +1,58 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchContinuationTokenTest {
+
+    @Test
+    void should_round_trip_encoded_token() {
+        SearchContinuationToken token = new SearchContinuationToken(
+            5000, OffsetDateTime.parse("2024-01-01T10:15:30.123456Z"), 500, "8d6cc5cf-c973-11eb-bdba-0242ac11001e");
+
+        String encoded = token.encode();
+
+        assertThat(encoded).doesNotContain("|", "=");
+        assertThat(SearchContinuationToken.decode(encoded)).isEqualTo(token);
+    }
+
+    @Test
+    void should_round_trip_encoded_token_without_priorities() {
+        SearchContinuationToken token = new SearchContinuationToken(
+            null, OffsetDateTime.parse("2024-01-01T10:15:30Z"), null, "8d6cc5cf-c973-11eb-bdba-0242ac11001e");
+
+        SearchContinuationToken decoded = SearchContinuationToken.decode(token.encode());
+
+        assertThat(decoded).isEqualTo(token);
+        assertThat(decoded.getMajorPriority()).isNull();
+        assertThat(decoded.getMinorPriority()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "not base64 !",
+        "v2|5000|2024-01-01T10:15:30Z|500|taskId",
+        "v1|5000|2024-01-01T10:15:30Z|500",
+        "v1|high|2024-01-01T10:15:30Z|500|taskId",
+        "v1|5000|yesterday|500|taskId",
+        "v1|5000|2024-01-01T10:15:30Z|500| "
+    })
+    void should_reject_malformed_token(String raw) {
+        String token = raw.contains("|")
+            ? Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8))
+            : raw;
+
+        assertThatThrownBy(() -> SearchContinuationToken.decode(token))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining(SearchContinuationToken.INVALID_TOKEN_MESSAGE);
+    }
+}
@@ -2,6 +2,8 @@ package uk.gov.hmcts.reform.wataskmanagementapi.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,20 +12,34 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SignatureMode;
 
 import java.math.BigInteger;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceCustomRepositoryImpl.RESULT_MAPPER;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,6 +88,29 @@ class TaskResourceCustomRepositoryImplTest {
         inOrder.verify(query).setParameter("maxResults", 25);
     }
 
+    @Test
+    void when_signature_mode_is_hash_then_build_search_query_with_hashed_signatures() {
+        taskResourceCustomRepository.setSignatureMode(SignatureMode.HASH);
+
+        taskResourceCustomRepository.searchTasksIds(1, 25, filterSignature, roleSignature,
+            null, SearchRequest.builder().build());
+
+        String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
+                       + "AND {h-schema}filter_signature_hashes(t.task_id, t.state, t.jurisdiction, t.role_category, "
+                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS bigint[]) "
+                       + "AND {h-schema}role_signature_hashes(t.task_id, t.jurisdiction, t.region, t.location, "
+                          + "t.case_id, t.security_classification) && CAST(:roleSignature AS bigint[]) "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "ORDER BY major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
+                       + "OFFSET :firstResult LIMIT :maxResults";
+        verify(entityManager).createNativeQuery(queryStr, RESULT_MAPPER);
+        InOrder inOrder = inOrder(query);
+        inOrder.verify(query).setParameter("filterSignature", new Long[]{3683912131801231959L});
+        inOrder.verify(query).setParameter("roleSignature", new Long[]{-8972483864110643308L});
+        inOrder.verify(query).setParameter("firstResult", 1);
+        inOrder.verify(query).setParameter("maxResults", 25);
+    }
+
     @Test
     void when_search_request_with_order_then_build_search_query_with_signatures() {
         taskResourceCustomRepository.searchTasksIds(1, 25, filterSignature, roleSignature,
@@ -411,4 +450,201 @@ class TaskResourceCustomRepositoryImplTest {
         inOrder.verify(query).setParameter("taskType", List.of("TaskType", "TaskType2"));
         inOrder.verify(query).setParameter("excludedCaseId", List.of("caseId", "caseId2"));
     }
+
+    @Test
+    void when_keyset_search_without_token_then_build_search_query_without_offset() {
+        taskResourceCustomRepository.searchTasksIdsAfter(null, 25, filterSignature, roleSignature,
+            null, SearchRequest.builder().build());
+
+        String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
+                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
+                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
+                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
+                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "ORDER BY major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
+                       + "LIMIT :maxResults";
+        verify(entityManager).createNativeQuery(queryStr, RESULT_MAPPER);
+        verify(query, never()).setParameter(eq("firstResult"), anyInt());
+        verify(query).setParameter("maxResults", 25);
+    }
+
+    @Test
+    void when_keyset_search_with_token_then_build_search_query_seeking_after_token() {
+        OffsetDateTime priorityDate = OffsetDateTime.parse("2024-01-01T10:15:30Z");
+        SearchContinuationToken token = new SearchContinuationToken(5000, priorityDate, 500, "taskId");
+
+        taskResourceCustomRepository.searchTasksIdsAfter(token, 25, filterSignature, roleSignature,
+            null, SearchRequest.builder()
+                .requestContext(RequestContext.AVAILABLE_TASKS)
+                .build());
+
+        String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
+                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
+                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
+                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
+                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND assignee IS NULL "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "AND (major_priority IS NULL OR major_priority > :afterMajorPriority "
+                          + "OR (major_priority = :afterMajorPriority AND (priority_date > :afterPriorityDate "
+                          + "OR (priority_date = :afterPriorityDate AND (minor_priority IS NULL "
+                          + "OR minor_priority > :afterMinorPriority "
+                          + "OR (minor_priority = :afterMinorPriority AND task_id > :afterTaskId)))))) "
+                       + "ORDER BY major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
+                       + "LIMIT :maxResults";
+        verify(entityManager).createNativeQuery(queryStr, RESULT_MAPPER);
+        InOrder inOrder = inOrder(query);
+        inOrder.verify(query).setParameter("filterSignature", new String[]{"*:IA:*:*:1:765324"});
+        inOrder.verify(query).setParameter("roleSignature", new String[]{"IA:*:*:tribunal-caseofficer:*:r:U:*"});
+        inOrder.verify(query).setParameter("afterMajorPriority", 5000);
+        inOrder.verify(query).setParameter("afterPriorityDate", priorityDate);
+        inOrder.verify(query).setParameter("afterMinorPriority", 500);
+        inOrder.verify(query).setParameter("afterTaskId", "taskId");
+        inOrder.verify(query).setParameter("maxResults", 25);
+    }
+
+    @Test
+    void when_keyset_search_with_null_priorities_in_token_then_seek_among_tasks_without_priority() {
+        OffsetDateTime priorityDate = OffsetDateTime.parse("2024-01-01T10:15:30Z");
+        SearchContinuationToken token = new SearchContinuationToken(null, priorityDate, null, "taskId");
+
+        taskResourceCustomRepository.searchTasksIdsAfter(token, 25, filterSignature, roleSignature,
+            null, SearchRequest.builder().build());
+
+        String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
+                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
+                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
+                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
+                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "AND (major_priority IS NULL AND (priority_date > :afterPriorityDate "
+                          + "OR (priority_date = :afterPriorityDate "
+                          + "AND (minor_priority IS NULL AND task_id > :afterTaskId)))) "
+                       + "ORDER BY major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
+                       + "LIMIT :maxResults";
+        verify(entityManager).createNativeQuery(queryStr, RESULT_MAPPER);
+        verify(query, never()).setParameter(eq("afterMajorPriority"), any());
+        verify(query, never()).setParameter(eq("afterMinorPriority"), any());
+        verify(query).setParameter("afterPriorityDate", priorityDate);
+        verify(query).setParameter("afterTaskId", "taskId");
+    }
+
+    @Test
+    void when_capped_count_requested_then_build_limited_count_query_with_signatures() {
+        taskResourceCustomRepository.searchTasksCountUpTo(1001, filterSignature, roleSignature, null,
+            SearchRequest.builder().build());
+
+        String queryStr = "SELECT count(*) FROM (SELECT 1 FROM {h-schema}tasks t WHERE indexed "
+                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
+                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
+                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
+                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "LIMIT :countLimit) capped";
+        verify(entityManager).createNativeQuery(queryStr);
+        InOrder inOrder = inOrder(query);
+        inOrder.verify(query).setParameter("filterSignature", new String[]{"*:IA:*:*:1:765324"});
+        inOrder.verify(query).setParameter("roleSignature", new String[]{"IA:*:*:tribunal-caseofficer:*:r:U:*"});
+        inOrder.verify(query).setParameter("countLimit", 1001);
+    }
+
+    @Test
+    void when_archived_task_requested_then_read_detached_task_with_its_roles() {
+        Query taskQuery = mock(Query.class);
+        Query taskRoleQuery = mock(Query.class);
+        TaskResource task = new TaskResource("taskId", "taskName", "taskType", CFTTaskState.COMPLETED);
+        TaskRoleResource taskRole = new TaskRoleResource("tribunal-caseofficer", true, false, false, false, false,
+            false, new String[]{}, 1, false);
+        taskRole.setTaskId("taskId");
+        when(entityManager.createNativeQuery(anyString(), eq(TaskResource.class))).thenReturn(taskQuery);
+        when(taskQuery.setParameter("value", "taskId")).thenReturn(taskQuery);
+        when(taskQuery.getResultList()).thenReturn(List.of(task));
+        when(entityManager.createNativeQuery(anyString(), eq(TaskRoleResource.class))).thenReturn(taskRoleQuery);
+        when(taskRoleQuery.setParameter("taskIds", List.of("taskId"))).thenReturn(taskRoleQuery);
+        when(taskRoleQuery.getResultList()).thenReturn(List.of(taskRole));
+
+        Optional<TaskResource> archivedTask = taskResourceCustomRepository.findArchivedByTaskId("taskId");
+
+        assertTrue(archivedTask.isPresent());
+        assertEquals(Set.of(taskRole), archivedTask.get().getTaskRoleResources());
+        verify(entityManager).createNativeQuery(
+            "SELECT * FROM {h-schema}tasks_archive WHERE task_id = :value", TaskResource.class);
+        verify(entityManager).createNativeQuery(
+            "SELECT * FROM {h-schema}task_roles_archive WHERE task_id IN (:taskIds)", TaskRoleResource.class);
+        verify(entityManager).detach(task);
+        verify(entityManager).detach(taskRole);
+    }
+
+    @Test
+    void when_no_archived_task_found_then_do_not_read_archived_roles() {
+        Query taskQuery = mock(Query.class);
+        when(entityManager.createNativeQuery(anyString(), eq(TaskResource.class))).thenReturn(taskQuery);
+        when(taskQuery.setParameter("value", "caseId")).thenReturn(taskQuery);
+        when(taskQuery.getResultList()).thenReturn(List.of());
+
+        List<TaskResource> archivedTasks = taskResourceCustomRepository.findArchivedByCaseId("caseId");
+
+        assertTrue(archivedTasks.isEmpty());
+        verify(entityManager).createNativeQuery(
+            "SELECT * FROM {h-schema}tasks_archive WHERE case_id = :value", TaskResource.class);
+        verify(entityManager, never()).createNativeQuery(anyString(), eq(TaskRoleResource.class));
+        verify(entityManager, never()).detach(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void when_search_results_requested_then_read_projected_tasks_in_task_id_order_with_matching_roles() {
+        TypedQuery<Tuple> taskQuery = mock(TypedQuery.class);
+        TypedQuery<TaskRoleResource> taskRoleQuery = mock(TypedQuery.class);
+        Tuple firstRow = searchResultRow("taskId1");
+        Tuple secondRow = searchResultRow("taskId2");
+        when(secondRow.get("workTypeId", String.class)).thenReturn("hearing_work");
+        when(secondRow.get("workTypeLabel", String.class)).thenReturn("Hearing work");
+        TaskRoleResource taskRole = new TaskRoleResource("tribunal-caseofficer", true, false, false, false, false,
+            false, new String[]{}, 1, false);
+        taskRole.setTaskId("taskId2");
+        when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(taskQuery);
+        when(taskQuery.setParameter("taskIds", List.of("taskId2", "taskId1"))).thenReturn(taskQuery);
+        when(taskQuery.getResultList()).thenReturn(List.of(firstRow, secondRow));
+        when(entityManager.createQuery(anyString(), eq(TaskRoleResource.class))).thenReturn(taskRoleQuery);
+        when(taskRoleQuery.setParameter(eq("taskIds"), any())).thenReturn(taskRoleQuery);
+        when(taskRoleQuery.setParameter("roleNames", Set.of("tribunal-caseofficer"))).thenReturn(taskRoleQuery);
+        when(taskRoleQuery.getResultList()).thenReturn(List.of(taskRole));
+
+        List<TaskResource> tasks = taskResourceCustomRepository.findSearchResultsByTaskIds(
+            List.of("taskId2", "taskId1"), Set.of("tribunal-caseofficer"));
+
+        assertEquals(List.of("taskId2", "taskId1"), tasks.stream().map(TaskResource::getTaskId).toList());
+        assertEquals(CFTTaskState.ASSIGNED, tasks.get(0).getState());
+        assertEquals("hearing_work", tasks.get(0).getWorkTypeResource().getId());
+        assertEquals(Set.of(taskRole), tasks.get(0).getTaskRoleResources());
+        assertNull(tasks.get(1).getWorkTypeResource());
+        assertTrue(tasks.get(1).getTaskRoleResources().isEmpty());
+        verify(entityManager, never()).createNativeQuery(anyString(), eq(TaskResource.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void when_search_results_requested_without_role_names_then_do_not_read_roles() {
+        TypedQuery<Tuple> taskQuery = mock(TypedQuery.class);
+        Tuple row = searchResultRow("taskId1");
+        when(entityManager.createQuery(anyString(), eq(Tuple.class))).thenReturn(taskQuery);
+        when(taskQuery.setParameter("taskIds", List.of("taskId1"))).thenReturn(taskQuery);
+        when(taskQuery.getResultList()).thenReturn(List.of(row));
+
+        List<TaskResource> tasks = taskResourceCustomRepository.findSearchResultsByTaskIds(
+            List.of("taskId1"), Set.of());
+
+        assertEquals(1, tasks.size());
+        assertTrue(tasks.get(0).getTaskRoleResources().isEmpty());
+        verify(entityManager, never()).createQuery(anyString(), eq(TaskRoleResource.class));
+    }
+
+    private Tuple searchResultRow(String taskId) {
+        Tuple row = mock(Tuple.class);
+        when(row.get("taskId", String.class)).thenReturn(taskId);
+        when(row.get("state", CFTTaskState.class)).thenReturn(CFTTaskState.ASSIGNED);
+        return row;
+    }
 }
@@ -13,21 +13,22 @@ import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogs
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.Optional;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNCONFIGURED;
 
 @ExtendWith(MockitoExtension.class)
 class CFTSensitiveTaskEventLogsDatabaseServiceTest {
 
     @Mock
-    ExecutorService sensitiveTaskEventLogsExecutorService;
+    private SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
 
     @Mock
     private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
@@ -46,7 +47,9 @@ class CFTSensitiveTaskEventLogsDatabaseServiceTest {
             new CFTSensitiveTaskEventLogsDatabaseService(
                 sensitiveTaskEventLogsRepository,
                 cftTaskDatabaseService,
-                sensitiveTaskEventLogsExecutorService
+                sensitiveTaskEventLogWriter,
+                2,
+                6
             );
     }
 
@@ -63,32 +66,33 @@ class CFTSensitiveTaskEventLogsDatabaseServiceTest {
         );
         taskResource.setCreated(OffsetDateTime.now());
         taskResource.setCaseId(caseId);
+        when(cftTaskDatabaseService.findByIdOnly(taskId)).thenReturn(Optional.of(taskResource));
 
-        cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
-            taskId,
-            List.of(roleAssignments),
-            ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
-        );
+        SensitiveTaskEventLog sensitiveTaskEventLog = cftSensitiveTaskEventLogsDatabaseService
+            .processSensitiveTaskEventLog(
+                taskId,
+                List.of(roleAssignments),
+                ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
+            );
 
-        ExecutorService executorService = new ScheduledThreadPoolExecutor(1);
-        executorService.execute(() -> {
-            verify(sensitiveTaskEventLogsRepository, times(1)).save(any(SensitiveTaskEventLog.class));
-        });
+        assertEquals(ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE.getDetail(),
+            sensitiveTaskEventLog.getMessage());
+        verify(sensitiveTaskEventLogWriter, times(1)).write(sensitiveTaskEventLog);
     }
 
     @Test
-    void should_process_and_log_error_when_db_exception_happens() {
+    void should_not_write_sensitive_task_event_log_when_task_is_not_found() {
         String taskId = "someTaskId";
-        doThrow(new RuntimeException("some unexpected error"))
-            .when(sensitiveTaskEventLogsRepository).save(any(SensitiveTaskEventLog.class));
+        when(cftTaskDatabaseService.findByIdOnly(taskId)).thenReturn(Optional.empty());
 
-        cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
-            taskId,
-            List.of(roleAssignments),
-            ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
-        );
-        assertThatThrownBy(() -> cftSensitiveTaskEventLogsDatabaseService.saveSensitiveTaskEventLog(any(
-            SensitiveTaskEventLog.class)))
-            .isInstanceOf(RuntimeException.class);
+        SensitiveTaskEventLog sensitiveTaskEventLog = cftSensitiveTaskEventLogsDatabaseService
+            .processSensitiveTaskEventLog(
+                taskId,
+                List.of(roleAssignments),
+                ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
+            );
+
+        assertNull(sensitiveTaskEventLog);
+        verify(sensitiveTaskEventLogWriter, never()).write(any(SensitiveTaskEventLog.class));
     }
 }
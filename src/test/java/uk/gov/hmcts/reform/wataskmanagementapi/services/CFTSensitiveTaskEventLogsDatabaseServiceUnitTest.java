@@ -3,6 +3,8 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
@@ -14,11 +16,12 @@ import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogs
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -28,7 +31,7 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNC
 class CFTSensitiveTaskEventLogsDatabaseServiceUnitTest {
 
     @Mock
-    ExecutorService sensitiveTaskEventLogsExecutorService;
+    private SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
     @Mock
     private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
 
@@ -46,7 +49,9 @@ class CFTSensitiveTaskEventLogsDatabaseServiceUnitTest {
             new CFTSensitiveTaskEventLogsDatabaseService(
                 sensitiveTaskEventLogsRepository,
                 cftTaskDatabaseService,
-                sensitiveTaskEventLogsExecutorService
+                sensitiveTaskEventLogWriter,
+                2,
+                6
             );
     }
 
@@ -63,33 +68,58 @@ class CFTSensitiveTaskEventLogsDatabaseServiceUnitTest {
         );
         taskResource.setCreated(OffsetDateTime.now());
         taskResource.setCaseId(caseId);
+        when(cftTaskDatabaseService.findByIdOnly(taskId)).thenReturn(Optional.of(taskResource));
 
-        cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
-            taskId,
-            List.of(roleAssignments),
-            ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
-        );
+        SensitiveTaskEventLog sensitiveTaskEventLog = cftSensitiveTaskEventLogsDatabaseService
+            .processSensitiveTaskEventLog(
+                taskId,
+                List.of(roleAssignments),
+                ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
+            );
+
+        assertEquals(taskId, sensitiveTaskEventLog.getTaskId());
+        assertEquals(caseId, sensitiveTaskEventLog.getCaseId());
+        assertEquals(List.of(taskResource), sensitiveTaskEventLog.getTaskData());
+        verify(sensitiveTaskEventLogWriter, times(1)).write(sensitiveTaskEventLog);
+        verify(sensitiveTaskEventLogsRepository, never()).save(any(SensitiveTaskEventLog.class));
+    }
+
+    @Test
+    void should_drop_expired_partitions_and_delete_remaining_expired_logs_in_chunks() {
+
+        LocalDateTime timeStamp = LocalDateTime.now();
+
+        when(sensitiveTaskEventLogsRepository.createPartitions(any(), any())).thenReturn(1);
+        when(sensitiveTaskEventLogsRepository.dropExpiredPartitions(timeStamp)).thenReturn(10L);
+        when(sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp, 2))
+            .thenReturn(2, 2, 1);
+
+        int deletedRows = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(timeStamp);
+
+        assertEquals(15, deletedRows);
 
-        ExecutorService executorService = new ScheduledThreadPoolExecutor(1);
-        executorService.execute(() -> {
-            verify(sensitiveTaskEventLogsRepository, times(1)).save(any(SensitiveTaskEventLog.class));
-        });
+        InOrder inOrder = inOrder(sensitiveTaskEventLogsRepository);
+        inOrder.verify(sensitiveTaskEventLogsRepository).createPartitions(any(), any());
+        inOrder.verify(sensitiveTaskEventLogsRepository).dropExpiredPartitions(timeStamp);
+        inOrder.verify(sensitiveTaskEventLogsRepository, times(3))
+            .cleanUpSensitiveLogs(timeStamp, 2);
     }
 
     @Test
-    void should_delete_sensitive_task_event_log() {
+    void should_create_partitions_for_the_coming_months_when_cleaning_up() {
 
         LocalDateTime timeStamp = LocalDateTime.now();
 
-        when(sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp))
-            .thenReturn(1);
+        when(sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp, 2)).thenReturn(0);
 
         int deletedRows = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(timeStamp);
 
-        assertEquals(1, deletedRows);
+        assertEquals(0, deletedRows);
 
-        verify(sensitiveTaskEventLogsRepository, times(1))
-            .cleanUpSensitiveLogs(timeStamp);
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> until = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(sensitiveTaskEventLogsRepository).createPartitions(from.capture(), until.capture());
+        assertEquals(from.getValue().plusMonths(6), until.getValue());
     }
 
 }
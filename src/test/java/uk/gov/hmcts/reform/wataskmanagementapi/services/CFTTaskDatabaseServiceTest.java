@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.LockTimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -7,11 +8,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Sort;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessControlResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchContinuationToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
@@ -19,6 +20,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
 
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
@@ -26,22 +28,24 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -50,11 +54,6 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.ASS
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNASSIGNED;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentTestUtils.roleAssignmentWithStandardGrantType;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentTestUtils.roleAssignmentWithoutAttributes;
-import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.CASE_NAME;
-import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.MAJOR_PRIORITY;
-import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.MINOR_PRIORITY;
-import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.PRIORITY_DATE;
-import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.TASK_ID;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("unchecked")
@@ -70,7 +69,10 @@ class CFTTaskDatabaseServiceTest {
 
     @BeforeEach
     void setUp() {
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper,
+            new TaskSearchCountService(taskResourceRepository, new SimpleMeterRegistry(), 1000, 30, 10000),
+            new RoleSignatureCache(new SimpleMeterRegistry(), 300, 500000),
+            new TaskSearchMetrics(new SimpleMeterRegistry(), List.of("ia", "wa")));
 
         taskId = UUID.randomUUID().toString();
     }
@@ -162,6 +164,51 @@ class CFTTaskDatabaseServiceTest {
         assertEquals(someTaskResource, actualTaskResource.get(0));
     }
 
+    @Test
+    void should_find_archived_task_by_id_when_task_is_not_in_tasks_table() {
+        TaskResource archivedTaskResource = mock(TaskResource.class);
+
+        when(taskResourceRepository.getByTaskId(taskId)).thenReturn(Optional.empty());
+        when(taskResourceRepository.findArchivedByTaskId(taskId)).thenReturn(Optional.of(archivedTaskResource));
+
+        final Optional<TaskResource> actualTaskResource = cftTaskDatabaseService.findByIdOnly(taskId);
+
+        assertTrue(actualTaskResource.isPresent());
+        assertEquals(archivedTaskResource, actualTaskResource.get());
+    }
+
+    @Test
+    void should_not_look_in_archive_when_task_is_in_tasks_table() {
+        TaskResource someTaskResource = mock(TaskResource.class);
+
+        when(taskResourceRepository.getByTaskId(taskId)).thenReturn(Optional.of(someTaskResource));
+
+        cftTaskDatabaseService.findByIdOnly(taskId);
+
+        verify(taskResourceRepository, never()).findArchivedByTaskId(taskId);
+    }
+
+    @Test
+    void should_not_find_case_id_of_archived_task() {
+        when(taskResourceRepository.getByTaskId(taskId)).thenReturn(Optional.empty());
+
+        assertTrue(cftTaskDatabaseService.findCaseId(taskId).isEmpty());
+        verify(taskResourceRepository, never()).findArchivedByTaskId(taskId);
+    }
+
+    @Test
+    void should_find_by_case_id_including_archived_tasks() {
+        TaskResource someTaskResource = mock(TaskResource.class);
+        TaskResource archivedTaskResource = mock(TaskResource.class);
+
+        when(taskResourceRepository.getByCaseId("12345")).thenReturn(List.of(someTaskResource));
+        when(taskResourceRepository.findArchivedByCaseId("12345")).thenReturn(List.of(archivedTaskResource));
+
+        final List<TaskResource> actualTaskResource = cftTaskDatabaseService.findByCaseIdOnly("12345");
+
+        assertEquals(List.of(someTaskResource, archivedTaskResource), actualTaskResource);
+    }
+
     @Test
     void should_find_by_case_ids_states_reconfiguration_time_is_null() {
         TaskResource someTaskResource = mock(TaskResource.class);
@@ -176,6 +223,17 @@ class CFTTaskDatabaseServiceTest {
         assertEquals(someTaskResource, actualTaskResource.get(0));
     }
 
+    @Test
+    void should_mark_tasks_of_case_ids_to_reconfigure() {
+        OffsetDateTime requestTime = OffsetDateTime.now();
+        when(taskResourceRepository.markTasksToReconfigure(
+            List.of("1234", "4567"), requestTime, "system-user", "MarkForReconfigure")).thenReturn(3);
+
+        int marked = cftTaskDatabaseService.markTasksToReconfigure(List.of("1234", "4567"), "system-user", requestTime);
+
+        assertEquals(3, marked);
+    }
+
     @Test
     void should_find_by_state_and_reconfigure_request_time_is_not_null() {
         OffsetDateTime reconfigureRequestTime = OffsetDateTime.now().minusHours(1L);
@@ -292,9 +350,6 @@ class CFTTaskDatabaseServiceTest {
     @Test
     void should_return_task_list_and_count_when_search_find_some_task_and_sort_default_order() {
         List<String> taskIds = List.of("1");
-        List<Sort.Order> orders = Stream.of(MAJOR_PRIORITY, PRIORITY_DATE, MINOR_PRIORITY, TASK_ID)
-            .map(s -> Sort.Order.asc(s.value()))
-            .collect(Collectors.toList()); //NOSONAR List needs to be mutable to allow sorting.
         TaskResource taskResource = mock(TaskResource.class);
         Task task = mock(Task.class);
         List<TaskResource> taskResources = List.of(taskResource);
@@ -314,7 +369,7 @@ class CFTTaskDatabaseServiceTest {
             searchRequest
         ))
             .thenReturn(taskIds);
-        when(taskResourceRepository.findAllByTaskIdIn(taskIds, Sort.by(orders)))
+        when(taskResourceRepository.findSearchResultsByTaskIds(taskIds, Set.of("hmcts-judiciary")))
             .thenReturn(taskResources);
         when(taskResourceRepository.searchTasksCount(
             Set.of("*:IA:*:*:*:765324"),
@@ -339,9 +394,6 @@ class CFTTaskDatabaseServiceTest {
     @Test
     void should_return_task_list_and_count_when_search_find_some_task_and_sort_request_order() {
         List<String> taskIds = List.of("1");
-        List<Sort.Order> orders = Stream.of(CASE_NAME, MAJOR_PRIORITY, PRIORITY_DATE, MINOR_PRIORITY, TASK_ID)
-            .map(s -> Sort.Order.asc(s.value()))
-            .collect(Collectors.toList()); //NOSONAR List needs to be mutable to allow sorting.
         TaskResource taskResource = mock(TaskResource.class);
         Task task = mock(Task.class);
         List<TaskResource> taskResources = List.of(taskResource);
@@ -362,7 +414,7 @@ class CFTTaskDatabaseServiceTest {
             searchRequest
         ))
             .thenReturn(taskIds);
-        when(taskResourceRepository.findAllByTaskIdIn(taskIds, Sort.by(orders)))
+        when(taskResourceRepository.findSearchResultsByTaskIds(taskIds, Set.of("hmcts-judiciary")))
             .thenReturn(taskResources);
         when(taskResourceRepository.searchTasksCount(
             Set.of("*:IA:*:*:*:765324"),
@@ -388,9 +440,6 @@ class CFTTaskDatabaseServiceTest {
     void should_return_task_list_and_count_when_search_find_some_task_other_than_from_excluded_case() {
         List<String> taskIds = List.of("1");
         List<String> caseIds = List.of("1623278362431003");
-        List<Sort.Order> orders = Stream.of(MAJOR_PRIORITY, PRIORITY_DATE, MINOR_PRIORITY, TASK_ID)
-            .map(s -> Sort.Order.asc(s.value()))
-            .collect(Collectors.toList()); //NOSONAR List needs to be mutable to allow sorting.
         TaskResource taskResource = mock(TaskResource.class);
         Task task = mock(Task.class);
         List<TaskResource> taskResources = List.of(taskResource);
@@ -410,7 +459,8 @@ class CFTTaskDatabaseServiceTest {
             searchRequest
         ))
             .thenReturn(taskIds);
-        when(taskResourceRepository.findAllByTaskIdIn(taskIds, Sort.by(orders)))
+        when(taskResourceRepository.findSearchResultsByTaskIds(
+            taskIds, Set.of("hmcts-judiciary", "tribunal-caseworker")))
             .thenReturn(taskResources);
         when(taskResourceRepository.searchTasksCount(
             Set.of("*:IA:*:*:*:765324"),
@@ -433,16 +483,129 @@ class CFTTaskDatabaseServiceTest {
     }
 
     @Test
-    void should_find_task_to_update_index_return_list_of_tasks() {
-        TaskResource someTaskResource = mock(TaskResource.class);
+    void should_return_continuation_token_when_keyset_search_fills_the_page() {
+        List<String> taskIds = List.of("1", "2");
+        OffsetDateTime priorityDate = OffsetDateTime.parse("2024-01-01T10:15:30Z");
+        TaskResource firstTask = mock(TaskResource.class);
+        TaskResource lastTask = mock(TaskResource.class);
+        when(lastTask.getMajorPriority()).thenReturn(5000);
+        when(lastTask.getPriorityDate()).thenReturn(priorityDate);
+        when(lastTask.getMinorPriority()).thenReturn(500);
+        when(lastTask.getTaskId()).thenReturn("2");
+        SearchContinuationToken previousToken = new SearchContinuationToken(5000, priorityDate, 500, "0");
+        AccessControlResponse accessControlResponse = mock((AccessControlResponse.class));
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .locations(List.of("765324"))
+            .build();
 
-        when(taskResourceRepository.findByIndexedFalseAndStateIn(List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(List.of(someTaskResource));
+        when(accessControlResponse.getRoleAssignments())
+            .thenReturn(roleAssignmentWithoutAttributes(Classification.PUBLIC));
+        when(taskResourceRepository.searchTasksIdsAfter(previousToken, 2,
+            Set.of("*:IA:*:*:*:765324"),
+            Set.of("*:*:*:hmcts-judiciary:*:r:U:*"),
+            List.of(),
+            searchRequest
+        ))
+            .thenReturn(taskIds);
+        when(taskResourceRepository.findSearchResultsByTaskIds(taskIds, Set.of("hmcts-judiciary")))
+            .thenReturn(List.of(firstTask, lastTask));
+        when(taskResourceRepository.searchTasksCount(
+            Set.of("*:IA:*:*:*:765324"),
+            Set.of("*:*:*:hmcts-judiciary:*:r:U:*"),
+            List.of(),
+            searchRequest
+        ))
+            .thenReturn(5L);
+
+        GetTasksResponse<Task> response = cftTaskDatabaseService.searchForTasksAfter(2, previousToken,
+            searchRequest, accessControlResponse
+        );
 
-        final List<TaskResource> actualTaskResource = cftTaskDatabaseService.findTaskToUpdateIndex();
+        assertEquals(5, response.getTotalRecords());
+        assertEquals(2, response.getTasks().size());
+        assertEquals(new SearchContinuationToken(5000, priorityDate, 500, "2"),
+            SearchContinuationToken.decode(response.getContinuationToken()));
+        verify(taskResourceRepository, never()).searchTasksIds(anyInt(), anyInt(), any(), any(), any(), any());
+    }
 
-        assertNotNull(actualTaskResource);
-        assertEquals(1, actualTaskResource.size());
+    @Test
+    void should_return_continuation_token_when_last_task_on_page_has_no_priorities() {
+        List<String> taskIds = List.of("1", "2");
+        OffsetDateTime priorityDate = OffsetDateTime.parse("2024-01-01T10:15:30Z");
+        TaskResource firstTask = mock(TaskResource.class);
+        TaskResource lastTask = mock(TaskResource.class);
+        when(lastTask.getMajorPriority()).thenReturn(null);
+        when(lastTask.getPriorityDate()).thenReturn(priorityDate);
+        when(lastTask.getMinorPriority()).thenReturn(null);
+        when(lastTask.getTaskId()).thenReturn("2");
+        AccessControlResponse accessControlResponse = mock((AccessControlResponse.class));
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .locations(List.of("765324"))
+            .build();
+
+        when(accessControlResponse.getRoleAssignments())
+            .thenReturn(roleAssignmentWithoutAttributes(Classification.PUBLIC));
+        when(taskResourceRepository.searchTasksIdsAfter(isNull(), eq(2), any(Set.class), any(Set.class),
+            eq(List.of()), eq(searchRequest)))
+            .thenReturn(taskIds);
+        when(taskResourceRepository.findSearchResultsByTaskIds(eq(taskIds), any(Set.class)))
+            .thenReturn(List.of(firstTask, lastTask));
+        when(taskResourceRepository.searchTasksCount(any(Set.class), any(Set.class), eq(List.of()),
+            eq(searchRequest)))
+            .thenReturn(5L);
+
+        GetTasksResponse<Task> response = cftTaskDatabaseService.searchForTasksAfter(2, null,
+            searchRequest, accessControlResponse
+        );
+
+        assertEquals(2, response.getTasks().size());
+        assertEquals(new SearchContinuationToken(null, priorityDate, null, "2"),
+            SearchContinuationToken.decode(response.getContinuationToken()));
+    }
+
+    @Test
+    void should_not_return_continuation_token_when_keyset_search_reaches_last_page() {
+        List<String> taskIds = List.of("1");
+        TaskResource taskResource = mock(TaskResource.class);
+        AccessControlResponse accessControlResponse = mock((AccessControlResponse.class));
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .locations(List.of("765324"))
+            .build();
+
+        when(accessControlResponse.getRoleAssignments())
+            .thenReturn(roleAssignmentWithoutAttributes(Classification.PUBLIC));
+        when(taskResourceRepository.searchTasksIdsAfter(isNull(), eq(25), any(Set.class), any(Set.class),
+            eq(List.of()), eq(searchRequest)))
+            .thenReturn(taskIds);
+        when(taskResourceRepository.findSearchResultsByTaskIds(eq(taskIds), any(Set.class)))
+            .thenReturn(List.of(taskResource));
+        when(taskResourceRepository.searchTasksCount(any(Set.class), any(Set.class), eq(List.of()),
+            eq(searchRequest)))
+            .thenReturn(1L);
+
+        GetTasksResponse<Task> response = cftTaskDatabaseService.searchForTasksAfter(25, null,
+            searchRequest, accessControlResponse
+        );
+
+        assertEquals(1, response.getTotalRecords());
+        assertNull(response.getContinuationToken());
+    }
+
+    @Test
+    void should_mark_tasks_indexed_in_a_batch() {
+        when(taskResourceRepository.markTasksIndexed(100)).thenReturn(42);
+
+        assertEquals(42, cftTaskDatabaseService.markTasksIndexed(100));
+    }
+
+    @Test
+    void should_count_tasks_to_update_index() {
+        when(taskResourceRepository.countByIndexedFalseAndStateIn(List.of(ASSIGNED, UNASSIGNED))).thenReturn(7L);
+
+        assertEquals(7L, cftTaskDatabaseService.countTasksToUpdateIndex());
     }
 
     @Test
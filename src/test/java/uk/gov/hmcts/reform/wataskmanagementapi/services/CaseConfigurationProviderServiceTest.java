@@ -3,8 +3,11 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.google.common.collect.ImmutableMap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -35,6 +38,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -42,6 +49,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.lenient;
@@ -72,9 +80,14 @@ class CaseConfigurationProviderServiceTest {
     @Mock
     private CaseDetails caseDetails;
 
+    private ExecutorService executorService;
+
     @BeforeEach
     void setUp() {
         objectMapper.setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        // Registered by JacksonConfiguration on the application's mapper
+        objectMapper.registerModule(new Jdk8Module());
+        executorService = Executors.newSingleThreadExecutor();
         caseConfigurationProviderService = new CaseConfigurationProviderService(
             ccdDataService,
             dmnEvaluationService,
@@ -84,7 +97,10 @@ class CaseConfigurationProviderServiceTest {
                     new DueDateCalculator(),
                     new DueDateIntervalCalculator(new WorkingDayIndicator(publicHolidaysCollection)),
                     new DueDateTimeCalculator()
-                ))
+                )),
+            executorService,
+            new SimpleMeterRegistry(),
+            5000
         );
 
         lenient().when(caseDetails.getCaseType()).thenReturn("Asylum");
@@ -107,6 +123,11 @@ class CaseConfigurationProviderServiceTest {
         lenient().when(publicHolidaysCollection.getPublicHolidays(List.of(CALENDAR_URI))).thenReturn(localDates);
     }
 
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
     public static Stream<Arguments> scenarioProvider() {
         return Stream.of(
             Arguments.of(Map.of("taskType", "some task id"), "{\"taskType\":\"some task id\"}"),
@@ -269,6 +290,63 @@ class CaseConfigurationProviderServiceTest {
             .hasMessage("Assignee Configuration Error: Multiple assignee should be declared as separate rules.");
     }
 
+    @Test
+    void should_rethrow_exception_when_permissions_dmn_evaluation_fails() {
+        String someCaseId = "someCaseId";
+
+        when(ccdDataService.getCaseData(someCaseId)).thenReturn(caseDetails);
+        when(dmnEvaluationService.evaluateTaskConfigurationDmn("IA", "Asylum", "{}", "{}"))
+            .thenReturn(List.of());
+        when(dmnEvaluationService.evaluateTaskPermissionsDmn("IA", "Asylum", "{}", "{}"))
+            .thenThrow(new IllegalStateException("Could not evaluate from decision table"));
+
+        assertThatThrownBy(() -> caseConfigurationProviderService.getCaseRelatedConfiguration(
+            someCaseId, Map.of(), false))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Could not evaluate from decision table");
+    }
+
+    @Test
+    void should_throw_exception_and_interrupt_evaluation_when_permissions_dmn_evaluation_times_out()
+        throws InterruptedException {
+        String someCaseId = "someCaseId";
+        caseConfigurationProviderService = new CaseConfigurationProviderService(
+            ccdDataService,
+            dmnEvaluationService,
+            objectMapper,
+            new DateTypeConfigurator(List.of(new DueDateCalculator())),
+            executorService,
+            new SimpleMeterRegistry(),
+            10
+        );
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        when(ccdDataService.getCaseData(someCaseId)).thenReturn(caseDetails);
+        when(dmnEvaluationService.evaluateTaskConfigurationDmn("IA", "Asylum", "{}", "{}"))
+            .thenReturn(List.of());
+        when(dmnEvaluationService.evaluateTaskPermissionsDmn("IA", "Asylum", "{}", "{}"))
+            .thenAnswer(invocation -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+                return List.of();
+            });
+
+        try {
+            assertThatThrownBy(() -> caseConfigurationProviderService.getCaseRelatedConfiguration(
+                someCaseId, Map.of(), false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Dmn evaluation did not complete within 10 ms");
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
     @Test
     void should_consider_permissions_when_case_access_category_column_matches_with_different_sets() {
         String someCaseId = "someCaseId";
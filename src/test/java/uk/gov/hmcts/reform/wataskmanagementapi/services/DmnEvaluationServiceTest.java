@@ -26,10 +26,14 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.EvaluationResponse
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.DmnEvaluationMode;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.LocalDmnEvaluator;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.LocalDmnEvaluator.LocalEvaluation;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static java.util.Arrays.asList;
@@ -38,11 +42,14 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -67,6 +74,8 @@ class DmnEvaluationServiceTest {
     private AuthTokenGenerator authTokenGenerator;
     @Mock
     private CamundaObjectMapper camundaObjectMapper;
+    @Mock
+    private LocalDmnEvaluator localDmnEvaluator;
 
     DmnRequest<DecisionTableRequest> dmnRequest = new DmnRequest<>();
     DmnEvaluationService dmnEvaluationService;
@@ -79,10 +88,11 @@ class DmnEvaluationServiceTest {
         dmnEvaluationService = new DmnEvaluationService(
             camundaServiceApi,
             authTokenGenerator,
-            camundaObjectMapper
+            camundaObjectMapper,
+            localDmnEvaluator
         );
 
-        when(authTokenGenerator.generate()).thenReturn(BEARER_SERVICE_TOKEN);
+        lenient().when(authTokenGenerator.generate()).thenReturn(BEARER_SERVICE_TOKEN);
         ReflectionTestUtils.setField(dmnEvaluationService,
                                      "fieldsToExcludeFromTrim", List.of("description", "title"));
         ReflectionTestUtils.setField(dmnEvaluationService,
@@ -217,6 +227,126 @@ class DmnEvaluationServiceTest {
             .hasCauseInstanceOf(FeignException.class);
     }
 
+    @Test
+    void should_return_verified_local_configurations_when_evaluation_mode_is_local() {
+        String ccdData = getCcdData();
+        ReflectionTestUtils.setField(dmnEvaluationService, "evaluationMode", DmnEvaluationMode.LOCAL);
+        List<ConfigurationDmnEvaluationResponse> localResponse = List.of(
+            new ConfigurationDmnEvaluationResponse(stringValue("someConfigName1"), stringValue("someConfigValue1"))
+        );
+        when(localDmnEvaluator.evaluate(
+            WA_TASK_CONFIGURATION.getTableKey("ia", "asylum"), "ia", ccdData, TASK_ATTRIBUTES,
+            ConfigurationDmnEvaluationResponse.class
+        )).thenReturn(Optional.of(new LocalEvaluation<>("definition-id", localResponse, true)));
+
+        List<ConfigurationDmnEvaluationResponse> response = dmnEvaluationService.evaluateTaskConfigurationDmn(
+            "ia",
+            "Asylum",
+            ccdData,
+            TASK_ATTRIBUTES
+        );
+
+        assertThat(response, is(localResponse));
+        verify(camundaServiceApi, never()).evaluateConfigurationDmnTable(any(), any(), any(), any());
+    }
+
+    @Test
+    void should_return_camunda_configurations_until_local_ones_are_verified_when_evaluation_mode_is_local() {
+        String ccdData = getCcdData();
+        ReflectionTestUtils.setField(dmnEvaluationService, "evaluationMode", DmnEvaluationMode.LOCAL);
+        String tableKey = WA_TASK_CONFIGURATION.getTableKey("ia", "asylum");
+        LocalEvaluation<ConfigurationDmnEvaluationResponse> localEvaluation = new LocalEvaluation<>(
+            "definition-id",
+            List.of(new ConfigurationDmnEvaluationResponse(stringValue("someConfigName1"), stringValue("value"))),
+            false
+        );
+        List<ConfigurationDmnEvaluationResponse> remoteResponse = List.of(
+            new ConfigurationDmnEvaluationResponse(stringValue("someConfigName1"), stringValue("value"))
+        );
+        when(localDmnEvaluator.evaluate(tableKey, "ia", ccdData, TASK_ATTRIBUTES,
+                                        ConfigurationDmnEvaluationResponse.class))
+            .thenReturn(Optional.of(localEvaluation));
+        doReturn(remoteResponse).when(camundaServiceApi).evaluateConfigurationDmnTable(
+            BEARER_SERVICE_TOKEN,
+            tableKey,
+            "ia",
+            new DmnRequest<>(new DecisionTableRequest(jsonValue(ccdData), jsonValue(TASK_ATTRIBUTES)))
+        );
+
+        List<ConfigurationDmnEvaluationResponse> response = dmnEvaluationService.evaluateTaskConfigurationDmn(
+            "ia",
+            "Asylum",
+            ccdData,
+            TASK_ATTRIBUTES
+        );
+
+        assertThat(response, is(remoteResponse));
+        verify(localDmnEvaluator).matches(tableKey, localEvaluation, remoteResponse);
+    }
+
+    @Test
+    void should_fall_back_to_camunda_when_decision_table_cannot_be_evaluated_locally() {
+        String ccdData = getCcdData();
+        ReflectionTestUtils.setField(dmnEvaluationService, "evaluationMode", DmnEvaluationMode.LOCAL);
+        List<PermissionsDmnEvaluationResponse> remoteResponse = List.of(
+            new PermissionsDmnEvaluationResponse(stringValue("tribunal-caseworker"), stringValue("Read,Own"),
+                                                 null, null, null, null, null)
+        );
+        when(localDmnEvaluator.evaluate(
+            WA_TASK_PERMISSIONS.getTableKey("ia", "asylum"), "ia", ccdData, TASK_ATTRIBUTES,
+            PermissionsDmnEvaluationResponse.class
+        )).thenReturn(Optional.empty());
+        doReturn(remoteResponse).when(camundaServiceApi).evaluatePermissionsDmnTable(
+            BEARER_SERVICE_TOKEN,
+            WA_TASK_PERMISSIONS.getTableKey("ia", "asylum"),
+            "ia",
+            new DmnRequest<>(new DecisionTableRequest(jsonValue(ccdData), jsonValue(TASK_ATTRIBUTES)))
+        );
+
+        List<PermissionsDmnEvaluationResponse> response = dmnEvaluationService.evaluateTaskPermissionsDmn(
+            "ia",
+            "Asylum",
+            ccdData,
+            TASK_ATTRIBUTES
+        );
+
+        assertThat(response, is(remoteResponse));
+    }
+
+    @Test
+    void should_return_camunda_configurations_and_compare_local_ones_when_evaluation_mode_is_shadow() {
+        String ccdData = getCcdData();
+        ReflectionTestUtils.setField(dmnEvaluationService, "evaluationMode", DmnEvaluationMode.SHADOW);
+        String tableKey = WA_TASK_CONFIGURATION.getTableKey("ia", "asylum");
+        LocalEvaluation<ConfigurationDmnEvaluationResponse> localEvaluation = new LocalEvaluation<>(
+            "definition-id",
+            List.of(new ConfigurationDmnEvaluationResponse(stringValue("someConfigName1"), stringValue("localValue"))),
+            true
+        );
+        List<ConfigurationDmnEvaluationResponse> remoteResponse = List.of(
+            new ConfigurationDmnEvaluationResponse(stringValue("someConfigName1"), stringValue("remoteValue"))
+        );
+        when(localDmnEvaluator.evaluate(tableKey, "ia", ccdData, TASK_ATTRIBUTES,
+                                        ConfigurationDmnEvaluationResponse.class))
+            .thenReturn(Optional.of(localEvaluation));
+        doReturn(remoteResponse).when(camundaServiceApi).evaluateConfigurationDmnTable(
+            BEARER_SERVICE_TOKEN,
+            tableKey,
+            "ia",
+            new DmnRequest<>(new DecisionTableRequest(jsonValue(ccdData), jsonValue(TASK_ATTRIBUTES)))
+        );
+
+        List<ConfigurationDmnEvaluationResponse> response = dmnEvaluationService.evaluateTaskConfigurationDmn(
+            "ia",
+            "Asylum",
+            ccdData,
+            TASK_ATTRIBUTES
+        );
+
+        assertThat(response, is(remoteResponse));
+        verify(localDmnEvaluator).matches(tableKey, localEvaluation, remoteResponse);
+    }
+
     @Test
     void should_succeed_and_return_a_list_of_task_type_dmn() {
 
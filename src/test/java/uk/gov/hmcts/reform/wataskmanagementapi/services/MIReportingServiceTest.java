@@ -122,6 +122,33 @@ class MIReportingServiceTest {
         assertTrue(miReportingService.isWorkTypesInPublication());
     }
 
+    @Test
+    void given_no_tasks_archive_in_publication_should_return_false_and_add_it() {
+        TaskResourceRepository taskResourceRepository = mock(TaskResourceRepository.class);
+        when(taskResourceRepository.countReplicationSlots()).thenReturn(1);
+        when(taskResourceRepository.countPublications()).thenReturn(1);
+        when(taskResourceRepository.countPublicationTables()).thenReturn(2);
+        when(taskResourceRepository.countTasksArchiveInPublication()).thenReturn(0);
+        when(taskResourceRepository.showWalLevel()).thenReturn("logical");
+
+        SubscriptionCreator subscriptionCreator = mock(SubscriptionCreator.class);
+
+        TaskHistoryResourceRepository taskHistoryResourceRepository = mock(TaskHistoryResourceRepository.class);
+        when(taskHistoryResourceRepository.countSubscriptions()).thenReturn(1);
+
+        miReportingService = new MIReportingService(taskHistoryResourceRepository, taskResourceRepository,
+            null, null, subscriptionCreator);
+
+        assertTrue(miReportingService.isWorkTypesInPublication());
+        assertFalse(miReportingService.isTasksArchiveInPublication());
+
+        miReportingService.logicalReplicationCheck();
+
+        verify(taskResourceRepository, never()).addWorkTypesToPublication();
+        verify(taskResourceRepository, times(1)).addTasksArchiveToPublication();
+        verify(subscriptionCreator, times(1)).refreshSubscription();
+    }
+
     @Test
     void given_zero_replication_slots_should_return_false() {
         TaskResourceRepository taskResourceRepository = mock(TaskResourceRepository.class);
@@ -583,7 +610,8 @@ class MIReportingServiceTest {
         when(taskResourceRepository.showWalLevel()).thenReturn("logical");
         when(taskResourceRepository.countReplicationSlots()).thenReturn(1);
         when(taskResourceRepository.countPublications()).thenReturn(1);
-        when(taskResourceRepository.countPublicationTables()).thenReturn(2); // work types present
+        when(taskResourceRepository.countPublicationTables()).thenReturn(3); // work types present
+        when(taskResourceRepository.countTasksArchiveInPublication()).thenReturn(1);
         when(taskHistoryResourceRepository.countSubscriptions()).thenReturn(1);
 
         SubscriptionCreator subscriptionCreator = mock(SubscriptionCreator.class);
@@ -599,6 +627,7 @@ class MIReportingServiceTest {
         verify(taskResourceRepository, never()).createReplicationSlot();
         verify(taskResourceRepository, never()).createPublication();
         verify(taskResourceRepository, never()).addWorkTypesToPublication();
+        verify(taskResourceRepository, never()).addTasksArchiveToPublication();
         verify(subscriptionCreator, never()).createSubscription();
         verify(subscriptionCreator, never()).refreshSubscription();
     }
@@ -0,0 +1,121 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaLagMonitorTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Mock
+    private JdbcTemplate readReplicaJdbcTemplate;
+
+    private MeterRegistry meterRegistry;
+    private MutableClock clock;
+    private ReadReplicaLagMonitor readReplicaLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(NOW);
+        readReplicaLagMonitor = new ReadReplicaLagMonitor(readReplicaJdbcTemplate, clock, meterRegistry, 5);
+    }
+
+    @Test
+    void should_not_read_from_replica_before_lag_is_checked() {
+        assertFalse(readReplicaLagMonitor.isWithinMaxLag());
+        assertTrue(Double.isNaN(meterRegistry.get("wa.datasource.read_replica.lag.seconds").gauge().value()));
+    }
+
+    @Test
+    void should_read_from_replica_while_lag_is_within_max_lag() {
+        when(readReplicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(1.5);
+
+        readReplicaLagMonitor.checkLag();
+
+        assertTrue(readReplicaLagMonitor.isWithinMaxLag());
+        assertEquals(1.5, meterRegistry.get("wa.datasource.read_replica.lag.seconds").gauge().value());
+    }
+
+    @Test
+    void should_not_read_from_replica_when_lag_exceeds_max_lag() {
+        when(readReplicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(7.0);
+
+        readReplicaLagMonitor.checkLag();
+
+        assertFalse(readReplicaLagMonitor.isWithinMaxLag());
+    }
+
+    @Test
+    void should_count_time_since_last_check_as_lag() {
+        when(readReplicaJdbcTemplate.queryForObject(anyString(), eq(Double.class))).thenReturn(1.0);
+        readReplicaLagMonitor.checkLag();
+
+        clock.advance(Duration.ofSeconds(5));
+
+        assertFalse(readReplicaLagMonitor.isWithinMaxLag());
+        assertEquals(6.0, meterRegistry.get("wa.datasource.read_replica.lag.seconds").gauge().value());
+    }
+
+    @Test
+    void should_not_read_from_replica_when_lag_cannot_be_checked() {
+        when(readReplicaJdbcTemplate.queryForObject(anyString(), eq(Double.class)))
+            .thenReturn(0.0)
+            .thenThrow(new DataAccessResourceFailureException("replica unavailable"));
+        readReplicaLagMonitor.checkLag();
+        assertTrue(readReplicaLagMonitor.isWithinMaxLag());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> readReplicaLagMonitor.checkLag());
+
+        assertFalse(readReplicaLagMonitor.isWithinMaxLag());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
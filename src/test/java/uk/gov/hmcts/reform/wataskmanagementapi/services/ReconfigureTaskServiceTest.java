@@ -9,6 +9,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TaskSystem;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.SerialisedCaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskConfigurationResults;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.ExecutionTypeResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
@@ -18,13 +20,13 @@ import uk.gov.hmcts.reform.wataskmanagementapi.services.configurators.TaskConfig
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyMap;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -40,6 +42,8 @@ class ReconfigureTaskServiceTest {
     private TaskAutoAssignmentService autoAssignmentService;
     private CaseConfigurationProviderService caseConfigurationProviderService;
     private CFTTaskMapper cftTaskMapper;
+    private final SerialisedCaseDetails caseDetails = new SerialisedCaseDetails(
+        new CaseDetails("IA", "Asylum", "PUBLIC", Map.of()), "{}");
 
     @BeforeEach
     void setup() {
@@ -66,10 +70,10 @@ class ReconfigureTaskServiceTest {
             configurationDmnResponse(true),
             permissionsResponse()
         );
-        when(caseConfigurationProviderService.getCaseRelatedConfiguration(anyString(), anyMap(), eq(true)))
+        when(caseConfigurationProviderService.getCaseRelatedConfiguration(eq(caseDetails), anyMap(), eq(true)))
             .thenReturn(results);
 
-        TaskResource reconfiguredTaskResource = configureTaskService.reconfigureCFTTask(taskResource);
+        TaskResource reconfiguredTaskResource = configureTaskService.reconfigureCFTTask(taskResource, caseDetails);
         assertEquals(taskResource.getTitle(), reconfiguredTaskResource.getTitle());
         assertEquals(taskResource.getDescription(), reconfiguredTaskResource.getDescription());
         assertEquals(taskResource.getCaseName(), reconfiguredTaskResource.getCaseName());
@@ -99,10 +103,10 @@ class ReconfigureTaskServiceTest {
             configurationDmnResponse(false),
             permissionsResponse()
         );
-        when(caseConfigurationProviderService.getCaseRelatedConfiguration(anyString(), anyMap(), eq(true)))
+        when(caseConfigurationProviderService.getCaseRelatedConfiguration(eq(caseDetails), anyMap(), eq(true)))
             .thenReturn(results);
 
-        TaskResource reconfiguredTaskResource = configureTaskService.reconfigureCFTTask(taskResource);
+        TaskResource reconfiguredTaskResource = configureTaskService.reconfigureCFTTask(taskResource, caseDetails);
         assertEquals(taskResource.getTitle(), reconfiguredTaskResource.getTitle());
         assertEquals(taskResource.getDescription(), reconfiguredTaskResource.getDescription());
         assertEquals(taskResource.getCaseName(), reconfiguredTaskResource.getCaseName());
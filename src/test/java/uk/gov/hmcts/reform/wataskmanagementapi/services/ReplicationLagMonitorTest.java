@@ -0,0 +1,142 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.replicarepository.TaskHistoryResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.ReplicationSlotPosition;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReplicationLagMonitor.ReplicationLag;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicationLagMonitorTest {
+
+    @Mock
+    private TaskResourceRepository taskResourceRepository;
+    @Mock
+    private TaskHistoryResourceRepository taskHistoryResourceRepository;
+
+    private MeterRegistry meterRegistry;
+    private ReplicationLagMonitor replicationLagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        replicationLagMonitor = new ReplicationLagMonitor(
+            taskResourceRepository, taskHistoryResourceRepository, meterRegistry, 20, 1024);
+    }
+
+    @Test
+    void should_convert_wal_position_to_bytes() {
+        assertEquals(0L, ReplicationLagMonitor.toBytes("0/0"));
+        assertEquals(0x16B374D848L, ReplicationLagMonitor.toBytes("16/B374D848"));
+    }
+
+    @Test
+    void should_measure_lag_between_primary_and_replica_positions() {
+        ReplicationSlotPosition position = slotPosition("1/00000100", "1/00000000", 1.5);
+        when(taskResourceRepository.findReplicationSlotPosition()).thenReturn(Optional.of(position));
+        when(taskHistoryResourceRepository.findSubscriptionReceivedLsn()).thenReturn("0/FFFFFF00");
+
+        ReplicationLag lag = replicationLagMonitor.checkLag();
+
+        assertEquals(256L, lag.slotLagBytes());
+        assertEquals(512L, lag.subscriptionLagBytes());
+        assertEquals(1.5, lag.lagSeconds());
+        assertFalse(lag.lagging());
+        assertEquals(256.0, meterRegistry.get("wa.replication.lag.bytes").tag("position", "slot").gauge().value());
+        assertEquals(512.0,
+                     meterRegistry.get("wa.replication.lag.bytes").tag("position", "subscription").gauge().value());
+        assertEquals(1.5, meterRegistry.get("wa.replication.lag.seconds").gauge().value());
+        assertEquals(Optional.of(lag), replicationLagMonitor.getLastLag());
+    }
+
+    @Test
+    void should_report_unknown_lag_in_seconds_once_subscription_has_caught_up() {
+        ReplicationSlotPosition position = slotPosition("0/3000100", "0/3000100", null);
+        when(taskResourceRepository.findReplicationSlotPosition()).thenReturn(Optional.of(position));
+        when(taskHistoryResourceRepository.findSubscriptionReceivedLsn()).thenReturn("0/3000100");
+
+        ReplicationLag lag = replicationLagMonitor.checkLag();
+
+        assertEquals(0L, lag.slotLagBytes());
+        assertEquals(0L, lag.subscriptionLagBytes());
+        assertNull(lag.lagSeconds());
+        assertFalse(lag.lagging());
+        assertTrue(Double.isNaN(meterRegistry.get("wa.replication.lag.seconds").gauge().value()));
+    }
+
+    @Test
+    void should_compare_wal_positions_when_replay_lag_is_not_reported() {
+        ReplicationSlotPosition position = slotPosition("0/3000800", "0/3000000", null);
+        when(taskResourceRepository.findReplicationSlotPosition()).thenReturn(Optional.of(position));
+        when(taskHistoryResourceRepository.findSubscriptionReceivedLsn()).thenReturn("0/3000000");
+
+        ReplicationLag lag = replicationLagMonitor.checkLag();
+
+        assertEquals(2048L, lag.slotLagBytes());
+        assertNull(lag.lagSeconds());
+        assertTrue(lag.lagging());
+    }
+
+    @Test
+    void should_not_report_lagging_when_replay_lag_is_not_reported_and_slot_is_within_maximum() {
+        ReplicationSlotPosition position = slotPosition("0/3000100", "0/3000000", null);
+        when(taskResourceRepository.findReplicationSlotPosition()).thenReturn(Optional.of(position));
+        when(taskHistoryResourceRepository.findSubscriptionReceivedLsn()).thenReturn("0/3000000");
+
+        assertFalse(replicationLagMonitor.checkLag().lagging());
+    }
+
+    @Test
+    void should_report_lagging_when_replay_lag_exceeds_maximum() {
+        ReplicationSlotPosition position = slotPosition("0/3000100", "0/3000000", 25.0);
+        when(taskResourceRepository.findReplicationSlotPosition()).thenReturn(Optional.of(position));
+        when(taskHistoryResourceRepository.findSubscriptionReceivedLsn()).thenReturn("0/3000000");
+
+        assertTrue(replicationLagMonitor.checkLag().lagging());
+    }
+
+    @Test
+    void should_report_lagging_when_replication_is_not_set_up() {
+        when(taskResourceRepository.findReplicationSlotPosition()).thenReturn(Optional.empty());
+        when(taskHistoryResourceRepository.findSubscriptionReceivedLsn()).thenReturn(null);
+
+        ReplicationLag lag = replicationLagMonitor.checkLag();
+
+        assertTrue(lag.lagging());
+        assertNull(lag.slotLagBytes());
+        assertNull(lag.subscriptionLagBytes());
+        assertNull(lag.lagSeconds());
+        assertTrue(Double.isNaN(meterRegistry.get("wa.replication.lag.seconds").gauge().value()));
+    }
+
+    @Test
+    void should_publish_no_lag_before_first_check() {
+        assertTrue(replicationLagMonitor.getLastLag().isEmpty());
+        assertTrue(Double.isNaN(
+            meterRegistry.get("wa.replication.lag.bytes").tag("position", "slot").gauge().value()));
+    }
+
+    private ReplicationSlotPosition slotPosition(String currentLsn, String confirmedFlushLsn, Double lagSeconds) {
+        ReplicationSlotPosition position = mock(ReplicationSlotPosition.class);
+        lenient().when(position.getCurrentLsn()).thenReturn(currentLsn);
+        lenient().when(position.getConfirmedFlushLsn()).thenReturn(confirmedFlushLsn);
+        lenient().when(position.getReplayLagSeconds()).thenReturn(lagSeconds);
+        return position;
+    }
+}
@@ -0,0 +1,120 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentTestUtils;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RoleSignatureCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private RoleSignatureCache roleSignatureCache;
+    private List<RoleAssignment> roleAssignments;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        roleSignatureCache = new RoleSignatureCache(meterRegistry, 300, 1000);
+        roleAssignments = RoleAssignmentTestUtils.roleAssignmentWithStandardGrantTypeForSearchTask(
+            Classification.PUBLIC);
+    }
+
+    @Test
+    void should_return_same_signatures_as_builder() {
+        SearchRequest searchRequest = SearchRequest.builder().requestContext(RequestContext.ALL_WORK).build();
+
+        Set<String> signatures = roleSignatureCache.getRoleSignatures(roleAssignments, searchRequest);
+
+        assertEquals(RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest), signatures);
+    }
+
+    @Test
+    void should_reuse_signatures_for_equal_role_assignments_and_request_shape() {
+        SearchRequest searchRequest = SearchRequest.builder().jurisdictions(List.of("IA")).build();
+        SearchRequest sameShapeRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .taskTypes(List.of("reviewTheAppeal"))
+            .build();
+
+        Set<String> first = roleSignatureCache.getRoleSignatures(roleAssignments, searchRequest);
+        Set<String> second = roleSignatureCache.getRoleSignatures(new ArrayList<>(roleAssignments), sameShapeRequest);
+
+        assertSame(first, second);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "role_signatures").tag("result", "hit")
+            .functionCounter().count());
+    }
+
+    @Test
+    void should_build_separate_signatures_per_permission() {
+        SearchRequest availableTasks = SearchRequest.builder().requestContext(RequestContext.AVAILABLE_TASKS).build();
+        SearchRequest allWork = SearchRequest.builder().requestContext(RequestContext.ALL_WORK).build();
+
+        Set<String> available = roleSignatureCache.getRoleSignatures(roleAssignments, availableTasks);
+        Set<String> manage = roleSignatureCache.getRoleSignatures(roleAssignments, allWork);
+
+        assertNotSame(available, manage);
+        assertEquals(RoleSignatureBuilder.buildRoleSignatures(roleAssignments, availableTasks), available);
+        assertEquals(RoleSignatureBuilder.buildRoleSignatures(roleAssignments, allWork), manage);
+    }
+
+    @Test
+    void should_build_separate_signatures_per_filter_dimensions() {
+        SearchRequest ia = SearchRequest.builder().jurisdictions(List.of("IA")).build();
+        SearchRequest wa = SearchRequest.builder().jurisdictions(List.of("WA")).build();
+
+        Set<String> iaSignatures = roleSignatureCache.getRoleSignatures(roleAssignments, ia);
+        Set<String> waSignatures = roleSignatureCache.getRoleSignatures(roleAssignments, wa);
+
+        assertEquals(1, iaSignatures.size());
+        assertEquals(0, waSignatures.size());
+    }
+
+    @Test
+    void should_build_separate_signatures_when_role_assignments_change() {
+        SearchRequest searchRequest = SearchRequest.builder().jurisdictions(List.of("IA")).build();
+        List<RoleAssignment> movedRoleAssignments = roleAssignments.stream()
+            .map(roleAssignment -> RoleAssignment.builder()
+                .roleName(roleAssignment.getRoleName())
+                .roleType(roleAssignment.getRoleType())
+                .classification(roleAssignment.getClassification())
+                .attributes(Map.of("jurisdiction", "IA", "region", "2", "baseLocation", "765324"))
+                .grantType(roleAssignment.getGrantType())
+                .beginTime(roleAssignment.getBeginTime())
+                .endTime(roleAssignment.getEndTime())
+                .build())
+            .toList();
+
+        Set<String> signatures = roleSignatureCache.getRoleSignatures(roleAssignments, searchRequest);
+        Set<String> movedSignatures = roleSignatureCache.getRoleSignatures(movedRoleAssignments, searchRequest);
+
+        assertNotEquals(signatures, movedSignatures);
+        assertEquals(RoleSignatureBuilder.buildRoleSignatures(movedRoleAssignments, searchRequest), movedSignatures);
+    }
+
+    @Test
+    void should_return_unmodifiable_signatures() {
+        SearchRequest searchRequest = SearchRequest.builder().build();
+
+        Set<String> signatures = roleSignatureCache.getRoleSignatures(roleAssignments, searchRequest);
+
+        assertThrows(UnsupportedOperationException.class, () -> signatures.add("extra"));
+    }
+}
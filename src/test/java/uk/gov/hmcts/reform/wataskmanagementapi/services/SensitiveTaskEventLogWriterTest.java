@@ -0,0 +1,167 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.Users;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.ASSIGNED;
+
+@ExtendWith(MockitoExtension.class)
+class SensitiveTaskEventLogWriterTest {
+
+    @Mock
+    private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void should_write_queued_logs_with_one_insert_per_batch() throws Exception {
+        when(sensitiveTaskEventLogsRepository.insertAll(anyString())).thenReturn(2, 1);
+        SensitiveTaskEventLogWriter writer = writer(10, 2, 0);
+        SensitiveTaskEventLog first = sensitiveTaskEventLog("taskId1");
+
+        assertTrue(writer.write(first));
+        assertTrue(writer.write(sensitiveTaskEventLog("taskId2")));
+        assertTrue(writer.write(sensitiveTaskEventLog("taskId3")));
+        writer.flush();
+
+        ArgumentCaptor<String> logs = ArgumentCaptor.forClass(String.class);
+        verify(sensitiveTaskEventLogsRepository, times(2)).insertAll(logs.capture());
+        JsonNode firstBatch = new ObjectMapper().readTree(logs.getAllValues().get(0));
+        assertEquals(2, firstBatch.size());
+        assertEquals("taskId1", firstBatch.get(0).get("task_id").asText());
+        assertEquals("caseId", firstBatch.get(0).get("case_id").asText());
+        assertEquals("taskId1", firstBatch.get(0).get("task_data").get(0).get("taskId").asText());
+        assertNotNull(first.getId());
+        assertEquals(first.getId().toString(), firstBatch.get(0).get("id").asText());
+        assertTrue(firstBatch.get(0).hasNonNull("expiry_time"));
+        assertEquals(1, new ObjectMapper().readTree(logs.getAllValues().get(1)).size());
+        assertEquals(3, meterRegistry.counter("wa.sensitive_task_event_logs.written").count());
+        verify(sensitiveTaskEventLogsRepository, never()).save(any());
+    }
+
+    @Test
+    void should_count_overflow_and_drop_log_when_queue_stays_full() {
+        SensitiveTaskEventLogWriter writer = writer(1, 10, 0);
+
+        assertTrue(writer.write(sensitiveTaskEventLog("taskId1")));
+        assertFalse(writer.write(sensitiveTaskEventLog("taskId2")));
+
+        assertEquals(1, meterRegistry.counter("wa.sensitive_task_event_logs.overflow").count());
+        assertEquals(1, meterRegistry.counter("wa.sensitive_task_event_logs.dropped").count());
+        assertEquals(1, meterRegistry.get("wa.sensitive_task_event_logs.queue.size").gauge().value());
+    }
+
+    @Test
+    void should_save_logs_one_by_one_when_batch_insert_fails() {
+        when(sensitiveTaskEventLogsRepository.insertAll(anyString()))
+            .thenThrow(new RuntimeException("failed"))
+            .thenReturn(1)
+            .thenThrow(new RuntimeException("failed"));
+        SensitiveTaskEventLogWriter writer = writer(10, 10, 0);
+
+        writer.write(sensitiveTaskEventLog("taskId1"));
+        writer.write(sensitiveTaskEventLog("taskId2"));
+        writer.flush();
+
+        verify(sensitiveTaskEventLogsRepository, times(3)).insertAll(anyString());
+        assertEquals(1, meterRegistry.counter("wa.sensitive_task_event_logs.written").count());
+        assertEquals(1, meterRegistry.counter("wa.sensitive_task_event_logs.failed").count());
+    }
+
+    @Test
+    void should_write_logs_straight_away_once_stopped() {
+        when(sensitiveTaskEventLogsRepository.insertAll(anyString())).thenReturn(1);
+        SensitiveTaskEventLogWriter writer = writer(10, 10, 0);
+
+        writer.write(sensitiveTaskEventLog("taskId1"));
+        writer.stop();
+        writer.write(sensitiveTaskEventLog("taskId2"));
+
+        verify(sensitiveTaskEventLogsRepository, times(2)).insertAll(anyString());
+    }
+
+    @Test
+    void should_write_logs_in_background_once_flush_interval_passes() {
+        when(sensitiveTaskEventLogsRepository.insertAll(anyString())).thenReturn(1);
+        SensitiveTaskEventLogWriter writer = new SensitiveTaskEventLogWriter(
+            sensitiveTaskEventLogsRepository, meterRegistry, 10, 10, 50, 0);
+        writer.start();
+
+        writer.write(sensitiveTaskEventLog("taskId1"));
+
+        await().atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> verify(sensitiveTaskEventLogsRepository, times(1)).insertAll(anyString()));
+
+        assertTrue(writer.isRunning());
+        writer.stop();
+        assertFalse(writer.isRunning());
+    }
+
+    @Test
+    void should_write_logs_still_queued_when_stopped() {
+        when(sensitiveTaskEventLogsRepository.insertAll(anyString()))
+            .thenAnswer(invocation -> new ObjectMapper().readTree(invocation.<String>getArgument(0)).size());
+        SensitiveTaskEventLogWriter writer = new SensitiveTaskEventLogWriter(
+            sensitiveTaskEventLogsRepository, meterRegistry, 10, 10, 60_000, 0);
+        writer.start();
+
+        writer.write(sensitiveTaskEventLog("taskId1"));
+        writer.write(sensitiveTaskEventLog("taskId2"));
+        writer.stop();
+
+        assertEquals(2, meterRegistry.counter("wa.sensitive_task_event_logs.written").count());
+        assertEquals(0, meterRegistry.get("wa.sensitive_task_event_logs.queue.size").gauge().value());
+    }
+
+    private SensitiveTaskEventLogWriter writer(int queueCapacity, int batchSize, long offerTimeoutMillis) {
+        return new SensitiveTaskEventLogWriter(sensitiveTaskEventLogsRepository, meterRegistry,
+            queueCapacity, batchSize, 1000, offerTimeoutMillis);
+    }
+
+    private SensitiveTaskEventLog sensitiveTaskEventLog(String taskId) {
+        TaskResource taskResource = new TaskResource(taskId, "taskName", "taskType", ASSIGNED);
+        return new SensitiveTaskEventLog(
+            "requestId",
+            "",
+            taskId,
+            "caseId",
+            "message",
+            List.of(taskResource),
+            new Users(List.of()),
+            OffsetDateTime.now().plusDays(90),
+            OffsetDateTime.now()
+        );
+    }
+}
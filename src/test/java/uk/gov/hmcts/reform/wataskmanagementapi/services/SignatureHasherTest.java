@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SignatureHasher;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SignatureHasherTest {
+
+    /*
+     * Expected values are those returned by cft_task_db.signature_hash for the same text, e.g.
+     * select ('x' || substr(md5('*:IA:*:*:1:765324'), 1, 16))::bit(64)::bigint;
+     */
+    @Test
+    void should_hash_signature_as_leading_md5_bytes() {
+        assertEquals(3683912131801231959L, SignatureHasher.hash("*:IA:*:*:1:765324"));
+        assertEquals(-8972483864110643308L, SignatureHasher.hash("IA:*:*:tribunal-caseofficer:*:r:U:*"));
+        assertEquals(-3162216497309240828L, SignatureHasher.hash(""));
+    }
+
+    @Test
+    void should_hash_all_signatures_in_order() {
+        Long[] hashes = SignatureHasher.hashAll(List.of("*:IA:*:*:1:765324", "IA:*:*:tribunal-caseofficer:*:r:U:*"));
+
+        assertArrayEquals(new Long[]{3683912131801231959L, -8972483864110643308L}, hashes);
+    }
+}
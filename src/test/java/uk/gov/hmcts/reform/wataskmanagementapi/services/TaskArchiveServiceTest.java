@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskArchiveServiceTest {
+
+    @Mock
+    private TaskResourceRepository taskResourceRepository;
+
+    private MeterRegistry meterRegistry;
+    private TaskArchiveService taskArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskArchiveService = new TaskArchiveService(taskResourceRepository, meterRegistry, 90, 2, 3);
+    }
+
+    @Test
+    void should_archive_tasks_in_batches_until_a_batch_is_not_full() {
+        when(taskResourceRepository.archiveTasks(any(), eq(2))).thenReturn(2, 1);
+
+        assertEquals(3, taskArchiveService.archiveTasks());
+
+        ArgumentCaptor<OffsetDateTime> archiveBefore = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(taskResourceRepository, times(2)).archiveTasks(archiveBefore.capture(), eq(2));
+        assertTrue(archiveBefore.getValue().isBefore(OffsetDateTime.now().minusDays(89)));
+        assertTrue(archiveBefore.getValue().isAfter(OffsetDateTime.now().minusDays(91)));
+        assertEquals(3, meterRegistry.counter("wa.tasks.archived").count());
+    }
+
+    @Test
+    void should_archive_no_more_than_the_maximum_number_of_batches() {
+        when(taskResourceRepository.archiveTasks(any(), eq(2))).thenReturn(2);
+
+        assertEquals(6, taskArchiveService.archiveTasks());
+
+        verify(taskResourceRepository, times(3)).archiveTasks(any(), eq(2));
+    }
+}
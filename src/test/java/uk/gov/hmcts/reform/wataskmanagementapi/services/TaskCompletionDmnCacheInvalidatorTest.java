@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wataskmanagementapi.clients.CamundaServiceApi;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinition;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wataskmanagementapi.config.CaffeineConfiguration.TASK_COMPLETION_DMN_CACHE;
+
+@ExtendWith(MockitoExtension.class)
+class TaskCompletionDmnCacheInvalidatorTest {
+
+    private static final String SERVICE_TOKEN = "serviceToken";
+
+    @Mock
+    private CamundaServiceApi camundaServiceApi;
+    @Mock
+    private AuthTokenGenerator authTokenGenerator;
+
+    private Cache cache;
+    private TaskCompletionDmnCacheInvalidator taskCompletionDmnCacheInvalidator;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of(TASK_COMPLETION_DMN_CACHE));
+        cache = cacheManager.getCache(TASK_COMPLETION_DMN_CACHE);
+        cache.put(List.of("ia", "asylum", "decideAnApplication"), List.of());
+        when(authTokenGenerator.generate()).thenReturn(SERVICE_TOKEN);
+        taskCompletionDmnCacheInvalidator =
+            new TaskCompletionDmnCacheInvalidator(camundaServiceApi, authTokenGenerator, cacheManager);
+    }
+
+    @Test
+    void should_keep_cached_results_on_first_check_and_while_no_table_is_deployed() {
+        when(camundaServiceApi.getDecisionDefinitions(SERVICE_TOKEN, "wa-task-completion%", true))
+            .thenReturn(List.of(definition("wa-task-completion-ia-asylum:1:id")));
+
+        assertFalse(taskCompletionDmnCacheInvalidator.checkDeployments());
+        assertFalse(taskCompletionDmnCacheInvalidator.checkDeployments());
+
+        assertNotNull(cache.get(List.of("ia", "asylum", "decideAnApplication")));
+    }
+
+    @Test
+    void should_clear_cached_results_when_a_table_is_deployed() {
+        when(camundaServiceApi.getDecisionDefinitions(SERVICE_TOKEN, "wa-task-completion%", true))
+            .thenReturn(List.of(definition("wa-task-completion-ia-asylum:1:id")))
+            .thenReturn(List.of(definition("wa-task-completion-ia-asylum:2:id")));
+
+        assertFalse(taskCompletionDmnCacheInvalidator.checkDeployments());
+        assertTrue(taskCompletionDmnCacheInvalidator.checkDeployments());
+
+        assertNull(cache.get(List.of("ia", "asylum", "decideAnApplication")));
+    }
+
+    private DecisionDefinition definition(String id) {
+        return new DecisionDefinition(id, "wa-task-completion-ia-asylum", "ia", 1);
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchCount;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchCountMode;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchCountServiceTest {
+
+    private static final Set<String> FILTER_SIGNATURE = Set.of("*:IA:*:*:*:765324");
+    private static final Set<String> ROLE_SIGNATURE = Set.of("*:*:*:hmcts-judiciary:*:r:U:*");
+
+    @Mock
+    private TaskResourceRepository taskResourceRepository;
+
+    private MeterRegistry meterRegistry;
+    private TaskSearchCountService taskSearchCountService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskSearchCountService = new TaskSearchCountService(taskResourceRepository, meterRegistry, 1000, 30, 100);
+    }
+
+    @Test
+    void should_run_exact_count_when_no_count_mode_requested() {
+        SearchRequest searchRequest = SearchRequest.builder().jurisdictions(List.of("IA")).build();
+        when(taskResourceRepository.searchTasksCount(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest))
+            .thenReturn(5L);
+
+        SearchCount count = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest);
+
+        assertEquals(SearchCount.exact(5), count);
+        assertEquals(1, countWork("exact", TaskSearchCountService.RESULT_EXECUTED));
+    }
+
+    @Test
+    void should_skip_count_when_count_mode_is_none() {
+        SearchRequest searchRequest = SearchRequest.builder().countMode(SearchCountMode.NONE).build();
+
+        SearchCount count = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest);
+
+        assertEquals(SearchCount.notCounted(), count);
+        verify(taskResourceRepository, never()).searchTasksCount(any(), any(), any(), any());
+        verify(taskResourceRepository, never()).searchTasksCountUpTo(anyInt(), any(), any(), any(), any());
+        assertEquals(1, countWork("none", TaskSearchCountService.RESULT_SKIPPED));
+    }
+
+    @Test
+    void should_return_capped_count_when_matches_exceed_cap() {
+        SearchRequest searchRequest = SearchRequest.builder().countMode(SearchCountMode.CAPPED).build();
+        when(taskResourceRepository.searchTasksCountUpTo(1001, FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(),
+            searchRequest)).thenReturn(1001L);
+
+        SearchCount count = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest);
+
+        assertEquals(new SearchCount(1000, true), count);
+        assertEquals(1, countWork("capped", TaskSearchCountService.RESULT_CAPPED));
+    }
+
+    @Test
+    void should_return_uncapped_count_when_matches_within_cap() {
+        SearchRequest searchRequest = SearchRequest.builder().countMode(SearchCountMode.CAPPED).build();
+        when(taskResourceRepository.searchTasksCountUpTo(1001, FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(),
+            searchRequest)).thenReturn(42L);
+
+        SearchCount count = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest);
+
+        assertEquals(new SearchCount(42, false), count);
+    }
+
+    @Test
+    void should_serve_cached_count_for_same_signatures_regardless_of_sorting() {
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .countMode(SearchCountMode.CACHED)
+            .build();
+        SearchRequest sortedSearchRequest = searchRequest.toBuilder()
+            .sortingParameters(List.of(new SortingParameter(SortField.CASE_ID, SortOrder.ASCENDANT)))
+            .build();
+        when(taskResourceRepository.searchTasksCount(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest))
+            .thenReturn(7L);
+
+        SearchCount first = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest);
+        SearchCount second = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(),
+            sortedSearchRequest);
+
+        assertEquals(SearchCount.exact(7), first);
+        assertEquals(SearchCount.exact(7), second);
+        verify(taskResourceRepository, times(1)).searchTasksCount(any(), any(), any(), any());
+        assertEquals(1, countWork("cached", TaskSearchCountService.RESULT_EXECUTED));
+        assertEquals(1, countWork("cached", TaskSearchCountService.RESULT_CACHE_HIT));
+    }
+
+    @Test
+    void should_not_serve_cached_count_for_different_search_filters() {
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .countMode(SearchCountMode.CACHED)
+            .build();
+        SearchRequest otherSearchRequest = searchRequest.toBuilder()
+            .locations(List.of("765324"))
+            .build();
+        when(taskResourceRepository.searchTasksCount(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest))
+            .thenReturn(7L);
+        when(taskResourceRepository.searchTasksCount(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), otherSearchRequest))
+            .thenReturn(3L);
+
+        SearchCount first = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(), searchRequest);
+        SearchCount second = taskSearchCountService.count(FILTER_SIGNATURE, ROLE_SIGNATURE, List.of(),
+            otherSearchRequest);
+
+        assertEquals(SearchCount.exact(7), first);
+        assertEquals(SearchCount.exact(3), second);
+        assertEquals(2, countWork("cached", TaskSearchCountService.RESULT_EXECUTED));
+    }
+
+    private double countWork(String mode, String result) {
+        return meterRegistry.get(TaskSearchCountService.COUNT_METRIC)
+            .tag("mode", mode)
+            .tag("result", result)
+            .counter()
+            .count();
+    }
+}
@@ -0,0 +1,131 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics.SearchTags;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics.SignatureType;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchMetrics.Stage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskSearchMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private TaskSearchMetrics taskSearchMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskSearchMetrics = new TaskSearchMetrics(meterRegistry, List.of("IA", "wa"));
+    }
+
+    @Test
+    void should_tag_search_with_its_allowed_jurisdiction() {
+        SearchTags tags = taskSearchMetrics.tags(SearchRequest.builder().jurisdictions(List.of("IA")).build());
+
+        assertEquals("ia", tags.jurisdiction());
+    }
+
+    @Test
+    void should_tag_search_without_jurisdiction_as_none() {
+        assertEquals("none", taskSearchMetrics.tags(SearchRequest.builder().build()).jurisdiction());
+        assertEquals("none", taskSearchMetrics.tags(
+            SearchRequest.builder().jurisdictions(List.of()).build()).jurisdiction());
+    }
+
+    @Test
+    void should_tag_search_across_jurisdictions_as_multiple() {
+        SearchTags tags = taskSearchMetrics.tags(SearchRequest.builder().jurisdictions(List.of("IA", "WA")).build());
+
+        assertEquals("multiple", tags.jurisdiction());
+    }
+
+    @Test
+    void should_tag_search_with_unknown_jurisdiction_as_other() {
+        SearchTags tags = taskSearchMetrics.tags(SearchRequest.builder().jurisdictions(List.of("unknown")).build());
+
+        assertEquals("other", tags.jurisdiction());
+    }
+
+    @Test
+    void should_tag_search_with_its_flavour() {
+        assertEquals("available", taskSearchMetrics.tags(
+            SearchRequest.builder().requestContext(RequestContext.AVAILABLE_TASKS).build()).flavour());
+        assertEquals("all_work", taskSearchMetrics.tags(
+            SearchRequest.builder().requestContext(RequestContext.ALL_WORK).build()).flavour());
+        assertEquals("my_work", taskSearchMetrics.tags(
+            SearchRequest.builder().users(List.of("someUser")).build()).flavour());
+        assertEquals("other", taskSearchMetrics.tags(SearchRequest.builder().build()).flavour());
+    }
+
+    @Test
+    void should_time_stage_with_search_tags() {
+        SearchTags tags = new SearchTags("ia", "all_work");
+
+        String result = taskSearchMetrics.time(Stage.ID_QUERY, tags, () -> "ids");
+        taskSearchMetrics.stop(taskSearchMetrics.start(), Stage.SIGNATURE_BUILDING, tags);
+
+        assertEquals("ids", result);
+        assertEquals(1, stageTimer("id_query").count());
+        assertEquals(1, stageTimer("signature_building").count());
+    }
+
+    @Test
+    void should_record_signature_set_sizes() {
+        SearchTags tags = new SearchTags("ia", "available");
+
+        taskSearchMetrics.recordSignatures(SignatureType.FILTER, tags, 12);
+        taskSearchMetrics.recordSignatures(SignatureType.ROLE, tags, 340);
+
+        assertEquals(12, meterRegistry.get(TaskSearchMetrics.SIGNATURES_METRIC)
+            .tag("signature", "filter").summary().totalAmount());
+        assertEquals(340, meterRegistry.get(TaskSearchMetrics.SIGNATURES_METRIC)
+            .tag("signature", "role").tag("jurisdiction", "ia").tag("flavour", "available")
+            .summary().totalAmount());
+    }
+
+    @Test
+    void should_record_pending_stages_once_tags_are_known() {
+        TaskSearchMetrics.PendingStages pending = taskSearchMetrics.pending();
+
+        pending.recorder(Stage.IDAM_LOOKUP).accept(Duration.ofMillis(5));
+        pending.record(new SearchTags("ia", "all_work"));
+
+        assertEquals(5, stageTimer("idam_lookup").totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void should_tag_search_ended_before_mapping_as_unknown() {
+        assertEquals(new SearchTags("unknown", "unknown"), taskSearchMetrics.unknownTags());
+    }
+
+    @Test
+    void should_reuse_meters_for_the_same_stage_and_tags() {
+        SearchTags tags = new SearchTags("ia", "all_work");
+
+        taskSearchMetrics.time(Stage.ID_QUERY, tags, () -> "ids");
+        taskSearchMetrics.time(Stage.ID_QUERY, new SearchTags("ia", "all_work"), () -> "ids");
+        taskSearchMetrics.recordSignatures(SignatureType.FILTER, tags, 1);
+        taskSearchMetrics.recordSignatures(SignatureType.FILTER, tags, 2);
+
+        assertEquals(2, stageTimer("id_query").count());
+        assertEquals(2, meterRegistry.getMeters().size());
+    }
+
+    private Timer stageTimer(String stage) {
+        return meterRegistry.get(TaskSearchMetrics.STAGE_METRIC)
+            .tag("stage", stage)
+            .tag("jurisdiction", "ia")
+            .tag("flavour", "all_work")
+            .timer();
+    }
+}
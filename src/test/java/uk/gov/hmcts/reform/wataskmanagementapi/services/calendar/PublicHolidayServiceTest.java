@@ -0,0 +1,191 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.calendar.BankHolidays;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CalendarSnapshot;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PublicHolidayServiceTest {
+
+    private static final String CALENDAR_URI = "https://www.gov.uk/bank-holidays/england-and-wales.json";
+
+    @Mock
+    private PublicHolidayClient publicHolidayClient;
+    @Mock
+    private CalendarSnapshotService calendarSnapshotService;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private PublicHolidayService publicHolidayService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publicHolidayService = publicHolidayService(true);
+    }
+
+    @Test
+    void should_retrieve_calendar_once_and_store_a_snapshot() {
+        BankHolidays calendar = calendar("2022-12-26");
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI)).thenReturn(calendar);
+
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+
+        verify(publicHolidayClient, times(1)).fetchPublicHolidays(CALENDAR_URI);
+        verify(calendarSnapshotService).saveSnapshot(any(CalendarSnapshot.class));
+        assertTrue(meterRegistry.get("wa.calendar.refresh.age").tag("calendar", CALENDAR_URI).gauge().value() >= 0);
+    }
+
+    @Test
+    void should_refresh_calendar_in_the_background_before_it_expires() {
+        BankHolidays calendar = calendar("2022-12-26");
+        BankHolidays refreshedCalendar = calendar("2022-12-27");
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI))
+            .thenReturn(calendar)
+            .thenReturn(refreshedCalendar);
+        publicHolidayService.getPublicHolidays(CALENDAR_URI);
+
+        nanos.addAndGet(TimeUnit.HOURS.toNanos(21));
+
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> publicHolidayService.getPublicHolidays(CALENDAR_URI) == refreshedCalendar);
+    }
+
+    @Test
+    void should_keep_current_calendar_when_refresh_fails() {
+        BankHolidays calendar = calendar("2022-12-26");
+        FeignException unavailable = mock(FeignException.class);
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI))
+            .thenReturn(calendar)
+            .thenThrow(unavailable);
+        publicHolidayService.getPublicHolidays(CALENDAR_URI);
+
+        nanos.addAndGet(TimeUnit.HOURS.toNanos(21));
+        publicHolidayService.getPublicHolidays(CALENDAR_URI);
+
+        await().atMost(5, TimeUnit.SECONDS).ignoreExceptions().until(() -> failures() == 1);
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+    }
+
+    @Test
+    void should_use_recent_snapshot_without_retrieving_calendar() {
+        BankHolidays calendar = calendar("2022-12-26");
+        when(calendarSnapshotService.findSnapshot(CALENDAR_URI))
+            .thenReturn(Optional.of(new CalendarSnapshot(CALENDAR_URI, calendar, OffsetDateTime.now().minusHours(1))));
+
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+
+        verify(publicHolidayClient, never()).fetchPublicHolidays(CALENDAR_URI);
+    }
+
+    @Test
+    void should_refresh_calendar_taken_from_snapshot_once_the_snapshot_is_older_than_refresh_duration() {
+        BankHolidays calendar = calendar("2022-12-26");
+        BankHolidays refreshedCalendar = calendar("2022-12-27");
+        when(calendarSnapshotService.findSnapshot(CALENDAR_URI))
+            .thenReturn(Optional.of(new CalendarSnapshot(CALENDAR_URI, calendar, OffsetDateTime.now().minusHours(19))));
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI)).thenReturn(refreshedCalendar);
+        publicHolidayService.getPublicHolidays(CALENDAR_URI);
+
+        nanos.addAndGet(TimeUnit.HOURS.toNanos(2));
+
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+        await().atMost(5, TimeUnit.SECONDS)
+            .until(() -> publicHolidayService.getPublicHolidays(CALENDAR_URI) == refreshedCalendar);
+        verify(publicHolidayClient, times(1)).fetchPublicHolidays(CALENDAR_URI);
+    }
+
+    @Test
+    void should_return_calendar_when_snapshot_cannot_be_stored() {
+        BankHolidays calendar = calendar("2022-12-26");
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI)).thenReturn(calendar);
+        doThrow(new IllegalStateException("database unavailable"))
+            .when(calendarSnapshotService).saveSnapshot(any(CalendarSnapshot.class));
+
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+    }
+
+    @Test
+    void should_use_old_snapshot_when_calendar_cannot_be_retrieved() {
+        BankHolidays calendar = calendar("2022-12-26");
+        when(calendarSnapshotService.findSnapshot(CALENDAR_URI))
+            .thenReturn(Optional.of(new CalendarSnapshot(CALENDAR_URI, calendar, OffsetDateTime.now().minusDays(3))));
+        FeignException unavailable = mock(FeignException.class);
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI)).thenThrow(unavailable);
+
+        assertSame(calendar, publicHolidayService.getPublicHolidays(CALENDAR_URI));
+        assertEquals(1, failures());
+    }
+
+    @Test
+    void should_throw_when_calendar_cannot_be_retrieved_and_there_is_no_snapshot() {
+        FeignException unavailable = mock(FeignException.class);
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI)).thenThrow(unavailable);
+
+        assertThrows(FeignException.class, () -> publicHolidayService.getPublicHolidays(CALENDAR_URI));
+    }
+
+    @Test
+    void should_not_use_snapshots_when_disabled() {
+        publicHolidayService = publicHolidayService(false);
+        when(publicHolidayClient.fetchPublicHolidays(CALENDAR_URI)).thenReturn(calendar("2022-12-26"));
+
+        publicHolidayService.getPublicHolidays(CALENDAR_URI);
+
+        verifyNoInteractions(calendarSnapshotService);
+    }
+
+    private PublicHolidayService publicHolidayService(boolean snapshotEnabled) {
+        return new PublicHolidayService(
+            publicHolidayClient,
+            calendarSnapshotService,
+            nanos::get,
+            meterRegistry,
+            24,
+            TimeUnit.HOURS,
+            20,
+            TimeUnit.HOURS,
+            snapshotEnabled
+        );
+    }
+
+    private double failures() {
+        return meterRegistry.get("wa.calendar.refresh.failures").tag("calendar", CALENDAR_URI).counter().count();
+    }
+
+    private static BankHolidays calendar(String date) {
+        return BankHolidays.builder()
+            .division("england-and-wales")
+            .events(List.of(BankHolidays.EventDate.builder().date(date).build()))
+            .build();
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.calendar.BankHolidays;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PublicHolidaysCollectionTest {
+
+    private static final String ENGLAND_AND_WALES = "https://www.gov.uk/bank-holidays/england-and-wales.json";
+    private static final String OVERRIDES = "https://raw.githubusercontent.com/hmcts/calendar/overrides.json";
+
+    @Mock
+    private PublicHolidayService publicHolidayService;
+
+    private PublicHolidaysCollection publicHolidaysCollection;
+
+    @BeforeEach
+    void setUp() {
+        publicHolidaysCollection = new PublicHolidaysCollection(publicHolidayService);
+    }
+
+    @Test
+    void should_merge_calendars_in_order() {
+        when(publicHolidayService.getPublicHolidays(ENGLAND_AND_WALES))
+            .thenReturn(calendar(event("2022-12-26", false), event("2022-12-27", false)));
+        when(publicHolidayService.getPublicHolidays(OVERRIDES))
+            .thenReturn(calendar(event("2022-12-27", true), event("2022-12-28", false)));
+
+        Set<LocalDate> publicHolidays =
+            publicHolidaysCollection.getPublicHolidays(List.of(ENGLAND_AND_WALES, OVERRIDES));
+
+        assertEquals(Set.of(LocalDate.of(2022, 12, 26), LocalDate.of(2022, 12, 28)), publicHolidays);
+    }
+
+    @Test
+    void should_return_the_same_public_holidays_until_a_calendar_is_refreshed() {
+        BankHolidays calendar = calendar(event("2022-12-26", false));
+        when(publicHolidayService.getPublicHolidays(ENGLAND_AND_WALES))
+            .thenReturn(calendar)
+            .thenReturn(calendar)
+            .thenReturn(calendar(event("2022-12-26", false)));
+
+        Set<LocalDate> first = publicHolidaysCollection.getPublicHolidays(List.of(ENGLAND_AND_WALES));
+        Set<LocalDate> second = publicHolidaysCollection.getPublicHolidays(List.of(ENGLAND_AND_WALES));
+        Set<LocalDate> refreshed = publicHolidaysCollection.getPublicHolidays(List.of(ENGLAND_AND_WALES));
+
+        assertSame(first, second);
+        assertNotSame(first, refreshed);
+        assertEquals(first, refreshed);
+    }
+
+    private static BankHolidays calendar(BankHolidays.EventDate... events) {
+        return BankHolidays.builder().division("england-and-wales").events(List.of(events)).build();
+    }
+
+    private static BankHolidays.EventDate event(String date, boolean workingDay) {
+        return BankHolidays.EventDate.builder().date(date).workingDay(workingDay).build();
+    }
+}
@@ -0,0 +1,92 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkingDayCalendarTest {
+
+    private static final Set<DayOfWeek> WEEKEND = Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+    private static final Set<LocalDate> PUBLIC_HOLIDAYS = Set.of(
+        LocalDate.of(2022, 12, 26),
+        LocalDate.of(2022, 12, 27),
+        LocalDate.of(2023, 1, 2)
+    );
+
+    @Test
+    void should_move_by_working_days_over_weekends_and_public_holidays() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(PUBLIC_HOLIDAYS, WEEKEND);
+
+        assertEquals(LocalDate.of(2022, 12, 28), calendar.plusWorkingDays(LocalDate.of(2022, 12, 23), 1));
+        assertEquals(LocalDate.of(2023, 1, 4), calendar.plusWorkingDays(LocalDate.of(2022, 12, 23), 5));
+        assertEquals(LocalDate.of(2022, 12, 23), calendar.plusWorkingDays(LocalDate.of(2022, 12, 28), -1));
+        assertEquals(LocalDate.of(2022, 12, 22), calendar.plusWorkingDays(LocalDate.of(2022, 12, 25), -2));
+        assertEquals(LocalDate.of(2022, 12, 25), calendar.plusWorkingDays(LocalDate.of(2022, 12, 25), 0));
+    }
+
+    @Test
+    void should_tell_working_days_apart_from_non_working_days() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(PUBLIC_HOLIDAYS, WEEKEND);
+
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2022, 12, 23)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2022, 12, 24)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2022, 12, 26)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2023, 1, 2)));
+    }
+
+    @Test
+    void should_give_the_same_dates_as_stepping_one_working_day_at_a_time() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(PUBLIC_HOLIDAYS, WEEKEND);
+        LocalDate start = LocalDate.of(2022, 12, 20);
+
+        for (int workingDays = -40; workingDays <= 40; workingDays++) {
+            assertEquals(stepWorkingDays(calendar, start, workingDays), calendar.plusWorkingDays(start, workingDays));
+        }
+    }
+
+    @Test
+    void should_step_through_dates_outside_of_the_indexed_years() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(PUBLIC_HOLIDAYS, WEEKEND);
+        LocalDate farFuture = LocalDate.of(Year.now().getValue() + 10, 1, 1);
+
+        LocalDate nextWorkingDay = calendar.plusWorkingDays(farFuture, 1);
+
+        assertTrue(nextWorkingDay.isAfter(farFuture));
+        assertFalse(WEEKEND.contains(nextWorkingDay.getDayOfWeek()));
+        assertEquals(LocalDate.of(2019, 12, 31), calendar.plusWorkingDays(LocalDate.of(2020, 1, 1), -1));
+    }
+
+    @Test
+    void should_only_be_built_from_the_same_public_holidays() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(PUBLIC_HOLIDAYS, WEEKEND);
+
+        assertTrue(calendar.isBuiltFrom(PUBLIC_HOLIDAYS));
+        assertFalse(calendar.isBuiltFrom(Set.of(LocalDate.of(2022, 12, 26))));
+    }
+
+    @Test
+    void should_reject_moving_when_every_day_is_a_non_working_day() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(Set.of(), Set.of(DayOfWeek.values()));
+
+        assertThrows(IllegalArgumentException.class, () -> calendar.plusWorkingDays(LocalDate.of(2022, 12, 23), 1));
+    }
+
+    private LocalDate stepWorkingDays(WorkingDayCalendar calendar, LocalDate date, int workingDays) {
+        int step = workingDays < 0 ? -1 : 1;
+        LocalDate calculatedDate = date;
+        for (int remaining = Math.abs(workingDays); remaining > 0; remaining--) {
+            do {
+                calculatedDate = calculatedDate.plusDays(step);
+            } while (!calendar.isWorkingDay(calculatedDate));
+        }
+        return calculatedDate;
+    }
+}
@@ -142,5 +142,26 @@ class WorkingDayIndicatorTest {
 
         assertEquals(NEXT_WORKING_DAY_AFTER_BANK_HOLIDAY, nextWorkingDay);
     }
-}
 
+    @Test
+    void shouldMoveByWorkingDaysInOneCall() {
+        when(publicHolidaysCollection.getPublicHolidays(List.of(URI))).thenReturn(
+            new HashSet<>(Collections.singletonList(BANK_HOLIDAY))
+        );
+
+        assertEquals(MONDAY, service.plusWorkingDays(toDate("2017-05-26"), 5, List.of(URI),
+                                                     List.of("SATURDAY", "SUNDAY")));
+        assertEquals(toDate("2017-05-26"), service.plusWorkingDays(MONDAY, -5, List.of(URI),
+                                                                   List.of("SATURDAY", "SUNDAY")));
+    }
+
+    @Test
+    void shouldUseLatestPublicHolidaysWhenTheyChange() {
+        when(publicHolidaysCollection.getPublicHolidays(List.of(URI)))
+            .thenReturn(Collections.emptySet())
+            .thenReturn(new HashSet<>(Collections.singletonList(MONDAY)));
+
+        assertTrue(service.isWorkingDay(MONDAY, List.of(URI), List.of("SATURDAY", "SUNDAY")));
+        assertFalse(service.isWorkingDay(MONDAY, List.of(URI), List.of("SATURDAY", "SUNDAY")));
+    }
+}
@@ -0,0 +1,202 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.dmn;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wataskmanagementapi.clients.CamundaServiceApi;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinitionXml;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.LocalDmnEvaluator.LocalEvaluation;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue.booleanValue;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue.stringValue;
+
+@ExtendWith(MockitoExtension.class)
+class LocalDmnEvaluatorTest {
+
+    private static final String SERVICE_TOKEN = "Bearer service token";
+    private static final String TABLE_KEY = "wa-task-configuration-ia-asylum";
+    private static final String TENANT_ID = "ia";
+    private static final String CASE_DATA = "{\"appealType\": \"protection\"}";
+    private static final String TASK_ATTRIBUTES = "{\"taskType\": \"reviewTheAppeal\"}";
+    private static final String DMN_XML = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <definitions xmlns="https://www.omg.org/spec/DMN/20191111/MODEL/" id="definitions"
+                     name="definitions" namespace="http://camunda.org/schema/1.0/dmn">
+          <decision id="wa-task-configuration-ia-asylum" name="Task configuration">
+            <decisionTable id="decisionTable" hitPolicy="COLLECT">
+              <input id="appealType" label="Appeal type">
+                <inputExpression id="appealTypeExpression" typeRef="string">
+                  <text>caseData.appealType</text>
+                </inputExpression>
+              </input>
+              <output id="name" name="name" typeRef="string" />
+              <output id="value" name="value" typeRef="string" />
+              <output id="canReconfigure" name="canReconfigure" typeRef="boolean" />
+              <rule id="caseManagementCategory">
+                <inputEntry id="caseManagementCategoryInput"><text>"protection"</text></inputEntry>
+                <outputEntry id="caseManagementCategoryName"><text>"caseManagementCategory"</text></outputEntry>
+                <outputEntry id="caseManagementCategoryValue"><text>"Protection"</text></outputEntry>
+                <outputEntry id="caseManagementCategoryReconfigure"><text>true</text></outputEntry>
+              </rule>
+              <rule id="region">
+                <inputEntry id="regionInput"><text></text></inputEntry>
+                <outputEntry id="regionName"><text>"region"</text></outputEntry>
+                <outputEntry id="regionValue"><text>"1"</text></outputEntry>
+                <outputEntry id="regionReconfigure"><text>false</text></outputEntry>
+              </rule>
+            </decisionTable>
+          </decision>
+        </definitions>
+        """;
+
+    @Mock
+    private CamundaServiceApi camundaServiceApi;
+    @Mock
+    private AuthTokenGenerator authTokenGenerator;
+
+    private MeterRegistry meterRegistry;
+    private LocalDmnEvaluator localDmnEvaluator;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        localDmnEvaluator = new LocalDmnEvaluator(
+            camundaServiceApi, authTokenGenerator, meterRegistry, new ObjectMapper(), 300, 2);
+        lenient().when(authTokenGenerator.generate()).thenReturn(SERVICE_TOKEN);
+    }
+
+    @Test
+    void should_evaluate_decision_table_in_process() {
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID))
+            .thenReturn(new DecisionDefinitionXml("definition-id", DMN_XML));
+
+        Optional<LocalEvaluation<ConfigurationDmnEvaluationResponse>> evaluation = localDmnEvaluator.evaluate(
+            TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES, ConfigurationDmnEvaluationResponse.class);
+
+        assertTrue(evaluation.isPresent());
+        assertEquals("definition-id", evaluation.get().definitionId());
+        assertFalse(evaluation.get().verified());
+        List<ConfigurationDmnEvaluationResponse> results = evaluation.get().results();
+        assertEquals(2, results.size());
+        assertEquals(stringValue("caseManagementCategory"), results.get(0).getName());
+        assertEquals(stringValue("Protection"), results.get(0).getValue());
+        assertTrue(results.get(0).getCanReconfigure().getValue());
+        assertEquals(stringValue("region"), results.get(1).getName());
+        assertEquals(stringValue("1"), results.get(1).getValue());
+    }
+
+    @Test
+    void should_download_decision_definition_once() {
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID))
+            .thenReturn(new DecisionDefinitionXml("definition-id", DMN_XML));
+
+        localDmnEvaluator.evaluate(TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES,
+                                   ConfigurationDmnEvaluationResponse.class);
+        localDmnEvaluator.evaluate(TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES,
+                                   ConfigurationDmnEvaluationResponse.class);
+
+        verify(camundaServiceApi, times(1)).getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID);
+        assertEquals(2, meterRegistry.get("wa.dmn.local.evaluations").tag("outcome", "local").counter().count());
+    }
+
+    @Test
+    void should_return_empty_when_decision_definition_cannot_be_parsed() {
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID))
+            .thenReturn(new DecisionDefinitionXml("definition-id", "<not-dmn/>"));
+
+        Optional<LocalEvaluation<ConfigurationDmnEvaluationResponse>> evaluation = localDmnEvaluator.evaluate(
+            TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES, ConfigurationDmnEvaluationResponse.class);
+
+        assertFalse(evaluation.isPresent());
+        assertEquals(1, meterRegistry.get("wa.dmn.local.evaluations").tag("outcome", "fallback").counter().count());
+    }
+
+    @Test
+    void should_verify_definition_once_it_has_matched_camunda_often_enough() {
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID))
+            .thenReturn(new DecisionDefinitionXml("definition-id", DMN_XML));
+
+        for (int i = 0; i < 2; i++) {
+            LocalEvaluation<ConfigurationDmnEvaluationResponse> evaluation = localDmnEvaluator.evaluate(
+                TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES, ConfigurationDmnEvaluationResponse.class
+            ).orElseThrow();
+            assertFalse(evaluation.verified());
+            assertTrue(localDmnEvaluator.matches(TABLE_KEY, evaluation, evaluation.results()));
+        }
+
+        assertTrue(localDmnEvaluator.evaluate(TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES,
+                                              ConfigurationDmnEvaluationResponse.class).orElseThrow().verified());
+    }
+
+    @Test
+    void should_stop_evaluating_locally_once_results_differ_from_camunda() {
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID))
+            .thenReturn(new DecisionDefinitionXml("definition-id", DMN_XML));
+        LocalEvaluation<ConfigurationDmnEvaluationResponse> evaluation = localDmnEvaluator.evaluate(
+            TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES, ConfigurationDmnEvaluationResponse.class).orElseThrow();
+        List<ConfigurationDmnEvaluationResponse> remoteResults = List.of(
+            new ConfigurationDmnEvaluationResponse(stringValue("region"), stringValue("2"))
+        );
+
+        boolean matches = localDmnEvaluator.matches(TABLE_KEY, evaluation, remoteResults);
+
+        assertFalse(matches);
+        assertFalse(localDmnEvaluator.evaluate(TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES,
+                                               ConfigurationDmnEvaluationResponse.class).isPresent());
+    }
+
+    @Test
+    void should_keep_definition_disabled_after_it_is_downloaded_again() {
+        localDmnEvaluator = new LocalDmnEvaluator(
+            camundaServiceApi, authTokenGenerator, meterRegistry, new ObjectMapper(), 0, 2);
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID))
+            .thenReturn(new DecisionDefinitionXml("definition-id", DMN_XML))
+            .thenReturn(new DecisionDefinitionXml("definition-id", DMN_XML))
+            .thenReturn(new DecisionDefinitionXml("new-definition-id", DMN_XML));
+        LocalEvaluation<ConfigurationDmnEvaluationResponse> evaluation = localDmnEvaluator.evaluate(
+            TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES, ConfigurationDmnEvaluationResponse.class).orElseThrow();
+        localDmnEvaluator.matches(TABLE_KEY, evaluation, List.of());
+
+        assertFalse(localDmnEvaluator.evaluate(TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES,
+                                               ConfigurationDmnEvaluationResponse.class).isPresent());
+        assertEquals("new-definition-id", localDmnEvaluator.evaluate(
+            TABLE_KEY, TENANT_ID, CASE_DATA, TASK_ATTRIBUTES, ConfigurationDmnEvaluationResponse.class
+        ).orElseThrow().definitionId());
+        verify(camundaServiceApi, times(3)).getDecisionDefinitionXml(SERVICE_TOKEN, TABLE_KEY, TENANT_ID);
+    }
+
+    @Test
+    void should_match_results_with_the_same_values_and_different_types() {
+        List<ConfigurationDmnEvaluationResponse> localResults = List.of(
+            new ConfigurationDmnEvaluationResponse(stringValue("region"), stringValue("1"), booleanValue(false))
+        );
+        List<ConfigurationDmnEvaluationResponse> remoteResults = List.of(
+            new ConfigurationDmnEvaluationResponse(
+                stringValue("region"),
+                stringValue("1"),
+                new CamundaValue<>(false, "Boolean")
+            )
+        );
+
+        assertTrue(localDmnEvaluator.matches(
+            TABLE_KEY, new LocalEvaluation<>("definition-id", localResults, false), remoteResults));
+    }
+}
@@ -1,9 +1,10 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.CapturedOutput;
@@ -16,20 +17,36 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.Task
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskFilterOperator;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.SerialisedCaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseConfigurationProviderService;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,9 +59,27 @@ class ExecuteTaskReconfigurationServiceTest {
 
     @Mock
     TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler;
-    @InjectMocks
+    @Mock
+    private CaseConfigurationProviderService caseConfigurationProviderService;
+
+    private ExecutorService executorService;
     private TaskReconfigurationService taskReconfigurationService;
 
+    @BeforeEach
+    void setUp() {
+        executorService = Executors.newFixedThreadPool(2);
+        taskReconfigurationService = new TaskReconfigurationService(
+            cftTaskDatabaseService,
+            taskReconfigurationTransactionHandler,
+            caseConfigurationProviderService,
+            executorService
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
 
     @Test
     void should_get_tasks_with_reconfigure_request_time_and_set_to_null() {
@@ -52,9 +87,9 @@ class ExecuteTaskReconfigurationServiceTest {
         List<TaskFilter<?>> taskFilters = createReconfigureTaskFilters();
         List<TaskResource> taskResources = taskResourcesToReconfigure(OffsetDateTime.now());
 
-        when(cftTaskDatabaseService.getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
-            anyList(), any())).thenReturn(taskResources.stream().map(TaskResource::getTaskId).toList());
-        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(anyString()))
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(taskIdsByCaseId(taskResources));
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(anyString(), any()))
             .thenReturn(Optional.of(taskResources.get(0)))
             .thenReturn(Optional.of(taskResources.get(1)));
 
@@ -73,7 +108,7 @@ class ExecuteTaskReconfigurationServiceTest {
         int tasks = (int) responseMap.get("successfulTaskResources");
         assertEquals(2, tasks);
 
-        verify(taskReconfigurationTransactionHandler, times(2)).reconfigureTaskResource(any());
+        verify(taskReconfigurationTransactionHandler, times(2)).reconfigureTaskResource(any(), any());
 
     }
 
@@ -82,8 +117,8 @@ class ExecuteTaskReconfigurationServiceTest {
 
         List<TaskFilter<?>> taskFilters = createReconfigureTaskFilters();
 
-        when(cftTaskDatabaseService.getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
-            anyList(), any())).thenReturn(List.of());
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(Map.of());
 
         TaskOperationRequest request = new TaskOperationRequest(
             TaskOperation.builder()
@@ -98,7 +133,7 @@ class ExecuteTaskReconfigurationServiceTest {
         int tasks = (int) responseMap.get("successfulTaskResources");
         assertEquals(0, tasks);
 
-        verify(taskReconfigurationTransactionHandler, times(0)).reconfigureTaskResource(any());
+        verify(taskReconfigurationTransactionHandler, times(0)).reconfigureTaskResource(any(), any());
     }
 
     @Test
@@ -136,10 +171,10 @@ class ExecuteTaskReconfigurationServiceTest {
         taskResources.get(3).setReconfigureRequestTime(OffsetDateTime.now());
         taskResources.get(4).setReconfigureRequestTime(OffsetDateTime.now());
 
-        when(cftTaskDatabaseService.getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(anyList(), any()))
-            .thenReturn(taskResources.stream().filter(taskResource -> (
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(anyList(), any()))
+            .thenReturn(taskIdsByCaseId(taskResources.stream().filter(taskResource -> (
                 taskResource.getState() == CFTTaskState.UNASSIGNED || taskResource.getState() == CFTTaskState.ASSIGNED))
-                            .map(TaskResource::getTaskId).toList());
+                            .toList()));
 
         List<TaskFilter<?>> taskFilters = createReconfigureTaskFilters();
 
@@ -153,7 +188,7 @@ class ExecuteTaskReconfigurationServiceTest {
             );
         taskReconfigurationService.performTaskReconfiguration(request);
 
-        verify(taskReconfigurationTransactionHandler, times(3)).reconfigureTaskResource(any());
+        verify(taskReconfigurationTransactionHandler, times(3)).reconfigureTaskResource(any(), any());
     }
 
     @Test
@@ -164,11 +199,11 @@ class ExecuteTaskReconfigurationServiceTest {
         taskResources.get(0).setReconfigureRequestTime(OffsetDateTime.now());
         taskResources.get(1).setReconfigureRequestTime(OffsetDateTime.now());
 
-        when(cftTaskDatabaseService.getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
-            anyList(), any())).thenReturn(taskResources.stream().map(TaskResource::getTaskId).toList());
-        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId()))
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(taskIdsByCaseId(taskResources));
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(eq(taskResources.get(0).getTaskId()), any()))
             .thenThrow(new OptimisticLockException("locked")).thenReturn(Optional.of(taskResources.get(0)));
-        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId()))
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(eq(taskResources.get(1).getTaskId()), any()))
             .thenReturn(Optional.of(taskResources.get(1)));
 
         TaskOperationRequest request = new TaskOperationRequest(
@@ -184,7 +219,7 @@ class ExecuteTaskReconfigurationServiceTest {
         // Attempt to reconfigure both tasks initially, calling the method twice.
         // If an OptimisticLockException is thrown for the first task, it will be retried,
         // resulting in a total of three method calls.
-        verify(taskReconfigurationTransactionHandler, times(3)).reconfigureTaskResource(any());
+        verify(taskReconfigurationTransactionHandler, times(3)).reconfigureTaskResource(any(), any());
     }
 
     @Test
@@ -192,8 +227,8 @@ class ExecuteTaskReconfigurationServiceTest {
 
         List<TaskResource> taskResources = taskResourcesToReconfigure(OffsetDateTime.now());
 
-        when(cftTaskDatabaseService.getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
-            anyList(), any())).thenReturn(taskResources.stream().map(TaskResource::getTaskId).toList());
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(taskIdsByCaseId(taskResources));
 
         List<TaskFilter<?>> taskFilters = createReconfigureTaskFilters();
         TaskOperationRequest request = new TaskOperationRequest(
@@ -209,7 +244,130 @@ class ExecuteTaskReconfigurationServiceTest {
         int tasks = (int) responseMap.get("successfulTaskResources");
         assertEquals(0, tasks);
 
-        verify(taskReconfigurationTransactionHandler, times(0)).reconfigureTaskResource(any());
+        verify(taskReconfigurationTransactionHandler, times(0)).reconfigureTaskResource(any(), any());
+    }
+
+    @Test
+    void should_fetch_case_data_once_per_case_and_report_statistics() {
+        TaskResource otherCaseTask = new TaskResource(
+            "7890",
+            "someTaskName",
+            "someTaskType",
+            CFTTaskState.UNASSIGNED,
+            "otherCaseId"
+        );
+        List<TaskResource> taskResources = new ArrayList<>(taskResourcesToReconfigure(OffsetDateTime.now()));
+        taskResources.add(otherCaseTask);
+        SerialisedCaseDetails someCase = new SerialisedCaseDetails(
+            new CaseDetails("IA", "Asylum", "PUBLIC", Map.of()), "{}");
+        SerialisedCaseDetails otherCase = new SerialisedCaseDetails(
+            new CaseDetails("WA", "WaCaseType", "PUBLIC", Map.of()), "{}");
+
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(taskIdsByCaseId(taskResources));
+        when(caseConfigurationProviderService.getCaseDetails("someCaseId")).thenReturn(someCase);
+        when(caseConfigurationProviderService.getCaseDetails("otherCaseId")).thenReturn(otherCase);
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(anyString(), any()))
+            .thenAnswer(invocation -> taskResources.stream()
+                .filter(task -> task.getTaskId().equals(invocation.getArgument(0)))
+                .findFirst());
+
+        TaskOperationRequest request = new TaskOperationRequest(
+            TaskOperation.builder()
+                .type(TaskOperationType.EXECUTE_RECONFIGURE)
+                .maxTimeLimit(30)
+                .runId("")
+                .build(), createReconfigureTaskFilters()
+        );
+
+        Map<String, Object> responseMap = taskReconfigurationService.performTaskReconfiguration(request)
+            .getNow(new TaskOperationResponse()).getResponseMap();
+
+        assertEquals(3, responseMap.get("successfulTaskResources"));
+        assertEquals(0, responseMap.get("failedTaskResources"));
+        assertEquals(2, responseMap.get("casesProcessed"));
+        assertTrue(responseMap.containsKey("elapsedMillis"));
+        assertTrue(responseMap.containsKey("tasksPerSecond"));
+        assertEquals(Set.of("taskLookup", "caseData", "reconfigure"),
+                     ((Map<?, ?>) responseMap.get("stageTimingsMillis")).keySet());
+
+        verify(caseConfigurationProviderService, times(1)).getCaseDetails("someCaseId");
+        verify(caseConfigurationProviderService, times(1)).getCaseDetails("otherCaseId");
+        verify(taskReconfigurationTransactionHandler).reconfigureTaskResource("1234", someCase);
+        verify(taskReconfigurationTransactionHandler).reconfigureTaskResource("4567", someCase);
+        verify(taskReconfigurationTransactionHandler).reconfigureTaskResource("7890", otherCase);
+    }
+
+    @Test
+    void should_fail_tasks_of_case_when_case_data_cannot_be_fetched() {
+        List<TaskResource> taskResources = taskResourcesToReconfigure(OffsetDateTime.now());
+
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(taskIdsByCaseId(taskResources));
+        when(caseConfigurationProviderService.getCaseDetails("someCaseId"))
+            .thenThrow(new IllegalStateException("ccd unavailable"));
+
+        TaskOperationRequest request = new TaskOperationRequest(
+            TaskOperation.builder()
+                .type(TaskOperationType.EXECUTE_RECONFIGURE)
+                .runId("")
+                .retryWindowHours(1L)
+                .maxTimeLimit(30)
+                .build(), createReconfigureTaskFilters()
+        );
+
+        Map<String, Object> responseMap = taskReconfigurationService.performTaskReconfiguration(request)
+            .getNow(new TaskOperationResponse()).getResponseMap();
+
+        assertEquals(0, responseMap.get("successfulTaskResources"));
+        assertEquals(2, responseMap.get("failedTaskResources"));
+        assertEquals(1, responseMap.get("casesProcessed"));
+        verify(caseConfigurationProviderService, times(4)).getCaseDetails("someCaseId");
+        verify(taskReconfigurationTransactionHandler, times(0)).reconfigureTaskResource(any(), any());
+        verify(cftTaskDatabaseService).getTasksByTaskIdAndStateInAndReconfigureRequestTimeIsLessThanRetry(
+            eq(List.of("1234", "4567")), anyList(), any());
+    }
+
+    @Test
+    void should_abandon_other_cases_when_a_case_fails() throws InterruptedException {
+        TaskResource failingCaseTask = new TaskResource(
+            "1234", "someTaskName", "someTaskType", CFTTaskState.UNASSIGNED, "failingCaseId");
+        TaskResource otherCaseTask = new TaskResource(
+            "7890", "someTaskName", "someTaskType", CFTTaskState.UNASSIGNED, "otherCaseId");
+        CountDownLatch failed = new CountDownLatch(1);
+
+        when(cftTaskDatabaseService.getActiveTaskIdsByCaseIdAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(taskIdsByCaseId(List.of(failingCaseTask, otherCaseTask)));
+        when(caseConfigurationProviderService.getCaseDetails("failingCaseId"))
+            .thenThrow(new AssertionError("unexpected failure"));
+        when(caseConfigurationProviderService.getCaseDetails("otherCaseId"))
+            .thenAnswer(invocation -> {
+                failed.await(5, TimeUnit.SECONDS);
+                return new SerialisedCaseDetails(new CaseDetails("WA", "WaCaseType", "PUBLIC", Map.of()), "{}");
+            });
+
+        TaskOperationRequest request = new TaskOperationRequest(
+            TaskOperation.builder()
+                .type(TaskOperationType.EXECUTE_RECONFIGURE)
+                .maxTimeLimit(30)
+                .runId("")
+                .build(), createReconfigureTaskFilters()
+        );
+
+        assertThrows(CompletionException.class, () -> taskReconfigurationService.performTaskReconfiguration(request));
+        failed.countDown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(5, TimeUnit.SECONDS));
+
+        verify(taskReconfigurationTransactionHandler, never()).reconfigureTaskResource(any(), any());
+    }
+
+    private Map<String, List<String>> taskIdsByCaseId(List<TaskResource> taskResources) {
+        return taskResources.stream().collect(Collectors.groupingBy(
+            TaskResource::getCaseId,
+            LinkedHashMap::new,
+            Collectors.mapping(TaskResource::getTaskId, Collectors.toList())
+        ));
     }
 
     private List<TaskFilter<?>> createReconfigureTaskFilters() {
@@ -1,5 +1,6 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -16,18 +17,20 @@ import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskHistoryResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.MIReportingService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReplicationLagMonitor;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReplicationLagMonitor.ReplicationLag;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
-import static java.util.concurrent.TimeUnit.SECONDS;
-import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -42,22 +45,50 @@ class ReplicationCheckerTest {
         List.of()
     );
     @Mock
+    private ReplicationLagMonitor replicationLagMonitor;
+    @Mock
     private CFTTaskDatabaseService cftTaskDatabaseService;
     @Mock
     private MIReportingService miReportingService;
     @InjectMocks
     private ReplicationChecker replicationChecker;
 
+    @BeforeEach
+    void setUp() {
+        lenient().when(replicationLagMonitor.checkLag()).thenReturn(new ReplicationLag(
+            "0/3000100", "0/3000000", "0/3000080", 256L, 128L, 0.5, false, OffsetDateTime.now()));
+    }
+
     @Test
     void should_process_replication_checker_operation() {
         Map<String, Object> resourceMap = replicationChecker.performOperation(request).getResponseMap();
-        List<?> tasks = (List<?>) resourceMap.get("replicationCheckedTaskIds");
-        assertEquals(0, tasks.size());
-        List<?> notReplicated = (List<?>) resourceMap.get("notReplicatedTaskIds");
-        assertEquals(0, notReplicated.size());
+
+        assertFalse((Boolean) resourceMap.get("replicationLagging"));
+        assertEquals("0/3000100", resourceMap.get("currentLsn"));
+        assertEquals("0/3000000", resourceMap.get("confirmedFlushLsn"));
+        assertEquals("0/3000080", resourceMap.get("receivedLsn"));
+        assertEquals(256L, resourceMap.get("slotLagBytes"));
+        assertEquals(128L, resourceMap.get("subscriptionLagBytes"));
+        assertEquals(0.5, resourceMap.get("lagSeconds"));
+        assertEquals(List.of(), resourceMap.get("replicationCheckedTaskIds"));
+        assertEquals(List.of(), resourceMap.get("notReplicatedTaskIds"));
+        verify(replicationLagMonitor, times(1)).checkLag();
         verify(cftTaskDatabaseService, times(1)).findLastFiveUpdatedTasks();
     }
 
+    @Test
+    void should_report_lagging_when_subscription_position_is_not_reported() {
+        when(replicationLagMonitor.checkLag()).thenReturn(new ReplicationLag(
+            "0/3000100", "0/3000000", null, 256L, null, null, true, OffsetDateTime.now()));
+
+        Map<String, Object> resourceMap = replicationChecker.performOperation(request).getResponseMap();
+
+        assertTrue((Boolean) resourceMap.get("replicationLagging"));
+        assertNull(resourceMap.get("receivedLsn"));
+        assertNull(resourceMap.get("subscriptionLagBytes"));
+        assertNull(resourceMap.get("lagSeconds"));
+    }
+
     @Test
     void should_return_empty_response_for_other_operation_type() {
         Map<String, Object> resourceMap = replicationChecker.performOperation(new TaskOperationRequest(
@@ -65,19 +96,8 @@ class ReplicationCheckerTest {
                 .type(TaskOperationType.UPDATE_SEARCH_INDEX).build(),
             List.of())).getResponseMap();
         assertNull(resourceMap);
-        verify(cftTaskDatabaseService, times(0)).findLastFiveUpdatedTasks();
-    }
-
-    @Test
-    void should_process_replication_checker_operation_for_empty_list() {
-        when(cftTaskDatabaseService.findLastFiveUpdatedTasks()).thenReturn(List.of());
-
-        Map<String, Object> resourceMap = replicationChecker.performOperation(request).getResponseMap();
-        List<?> tasks = (List<?>) resourceMap.get("replicationCheckedTaskIds");
-        assertEquals(0, tasks.size());
-        List<?> notReplicated = (List<?>) resourceMap.get("notReplicatedTaskIds");
-        assertEquals(0, notReplicated.size());
-        verify(cftTaskDatabaseService, times(1)).findLastFiveUpdatedTasks();
+        verify(replicationLagMonitor, never()).checkLag();
+        verify(cftTaskDatabaseService, never()).findLastFiveUpdatedTasks();
     }
 
     @Test
@@ -96,15 +116,7 @@ class ReplicationCheckerTest {
         assertEquals(0, notReplicated.size());
 
         verify(cftTaskDatabaseService, times(1)).findLastFiveUpdatedTasks();
-
-        await()
-            .pollInterval(1, SECONDS)
-            .atMost(20, SECONDS)
-            .until(() -> {
-                verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("1");
-                return true;
-            });
-
+        verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("1");
     }
 
     @ParameterizedTest
@@ -128,14 +140,7 @@ class ReplicationCheckerTest {
         assertEquals(1, notReplicated.size());
 
         verify(cftTaskDatabaseService, times(1)).findLastFiveUpdatedTasks();
-
-        await()
-            .pollInterval(1, SECONDS)
-            .atMost(20, SECONDS)
-            .until(() -> {
-                verify(miReportingService, atLeast(2)).findByTaskIdOrderByLatestUpdate("1");
-                return true;
-            });
+        verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("1");
 
         assertTrue(capturedOutput.getOut().contains(scenario.expectedOutput));
     }
@@ -161,16 +166,8 @@ class ReplicationCheckerTest {
         assertEquals(0, notReplicated.size());
 
         verify(cftTaskDatabaseService, times(1)).findLastFiveUpdatedTasks();
-
-        await()
-            .pollInterval(1, SECONDS)
-            .atMost(20, SECONDS)
-            .until(() -> {
-                verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("1");
-                verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("2");
-                return true;
-            });
-
+        verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("1");
+        verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("2");
     }
 
     @Test
@@ -198,16 +195,9 @@ class ReplicationCheckerTest {
         assertEquals(1, notReplicated.size());
 
         verify(cftTaskDatabaseService, times(1)).findLastFiveUpdatedTasks();
-
-        await()
-            .pollInterval(1, SECONDS)
-            .atMost(20, SECONDS)
-            .until(() -> {
-                verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("1");
-                verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("2");
-                verify(miReportingService, atLeast(2)).findByTaskIdOrderByLatestUpdate("3");
-                return true;
-            });
+        verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("1");
+        verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("2");
+        verify(miReportingService, times(1)).findByTaskIdOrderByLatestUpdate("3");
 
         assertTrue(capturedOutput.getOut().contains("TASK_REPLICATION_ERROR: Task replication not found for "
                                                     + "[taskId: 3, "
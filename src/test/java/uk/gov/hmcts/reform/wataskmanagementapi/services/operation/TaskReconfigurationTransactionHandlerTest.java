@@ -9,6 +9,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.SerialisedCaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.ServiceMandatoryFieldValidationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
@@ -18,6 +20,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.services.utils.TaskMandatoryField
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -50,6 +53,9 @@ class TaskReconfigurationTransactionHandlerTest {
     @InjectMocks
     TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler;
 
+    private final SerialisedCaseDetails caseDetails = new SerialisedCaseDetails(
+        new CaseDetails("IA", "Asylum", "PUBLIC", Map.of()), "{}");
+
     @Test
     void should_skip_reconfigure_if_task_is_locked() {
 
@@ -62,7 +68,7 @@ class TaskReconfigurationTransactionHandlerTest {
             taskResources.get(1).getTaskId(), List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED)))
             .thenReturn(Optional.of(taskResources.get(1)));
 
-        when(configureTaskService.reconfigureCFTTask(any()))
+        when(configureTaskService.reconfigureCFTTask(any(), any()))
             .thenReturn(taskResources.get(1));
         when(taskAutoAssignmentService.reAutoAssignCFTTask(any()))
             .thenReturn(taskResources.get(1));
@@ -70,12 +76,12 @@ class TaskReconfigurationTransactionHandlerTest {
             .thenReturn(taskResources.get(1));
 
 
-        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId());
-        verify(configureTaskService, times(0)).reconfigureCFTTask(any());
+        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId(), caseDetails);
+        verify(configureTaskService, times(0)).reconfigureCFTTask(any(), any());
         verify(taskAutoAssignmentService, times(0)).reAutoAssignCFTTask(any());
 
-        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId());
-        verify(configureTaskService, times(1)).reconfigureCFTTask(any());
+        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId(), caseDetails);
+        verify(configureTaskService, times(1)).reconfigureCFTTask(any(), any());
         verify(taskAutoAssignmentService, times(1)).reAutoAssignCFTTask(any());
 
     }
@@ -91,7 +97,7 @@ class TaskReconfigurationTransactionHandlerTest {
             taskResources.get(1).getTaskId(), List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED)))
             .thenReturn(Optional.of(taskResources.get(1)));
 
-        when(configureTaskService.reconfigureCFTTask(any()))
+        when(configureTaskService.reconfigureCFTTask(any(), any()))
             .thenReturn(taskResources.get(1));
         when(taskAutoAssignmentService.reAutoAssignCFTTask(any()))
             .thenReturn(taskResources.get(1));
@@ -99,12 +105,12 @@ class TaskReconfigurationTransactionHandlerTest {
             .thenReturn(taskResources.get(1));
 
 
-        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId());
-        verify(configureTaskService, times(0)).reconfigureCFTTask(any());
+        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId(), caseDetails);
+        verify(configureTaskService, times(0)).reconfigureCFTTask(any(), any());
         verify(taskAutoAssignmentService, times(0)).reAutoAssignCFTTask(any());
 
-        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId());
-        verify(configureTaskService, times(1)).reconfigureCFTTask(any());
+        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId(), caseDetails);
+        verify(configureTaskService, times(1)).reconfigureCFTTask(any(), any());
         verify(taskAutoAssignmentService, times(1)).reAutoAssignCFTTask(any());
     }
 
@@ -121,7 +127,7 @@ class TaskReconfigurationTransactionHandlerTest {
             taskResources.get(1).getTaskId(), List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED)))
             .thenReturn(Optional.of(taskResources.get(1)));
 
-        when(configureTaskService.reconfigureCFTTask(any()))
+        when(configureTaskService.reconfigureCFTTask(any(), any()))
             .thenReturn(taskResources.get(0))
             .thenReturn(taskResources.get(1));
         when(taskAutoAssignmentService.reAutoAssignCFTTask(any()))
@@ -135,8 +141,8 @@ class TaskReconfigurationTransactionHandlerTest {
         assertEquals(false,taskResources.get(0).getIndexed());
         assertEquals(false,taskResources.get(1).getIndexed());
 
-        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId());
-        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId());
+        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId(), caseDetails);
+        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId(), caseDetails);
 
         assertEquals(CFTTaskState.UNASSIGNED, taskResources.get(0).getState());
         assertEquals(CFTTaskState.ASSIGNED, taskResources.get(1).getState());
@@ -159,9 +165,9 @@ class TaskReconfigurationTransactionHandlerTest {
             .thenThrow(new OptimisticLockException("locked"));
 
         assertThrows(OptimisticLockException.class, () -> taskReconfigurationTransactionHandler
-            .reconfigureTaskResource(taskResources.get(0).getTaskId()));
+            .reconfigureTaskResource(taskResources.get(0).getTaskId(), caseDetails));
         assertThrows(OptimisticLockException.class, () -> taskReconfigurationTransactionHandler
-            .reconfigureTaskResource(taskResources.get(1).getTaskId()));
+            .reconfigureTaskResource(taskResources.get(1).getTaskId(), caseDetails));
 
         verifyNoInteractions(configureTaskService);
         verifyNoInteractions(taskAutoAssignmentService);
@@ -173,7 +179,7 @@ class TaskReconfigurationTransactionHandlerTest {
         when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
             taskResources.get(0).getTaskId(), List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED)))
             .thenReturn(Optional.of(taskResources.get(0)));
-        when(configureTaskService.reconfigureCFTTask(any()))
+        when(configureTaskService.reconfigureCFTTask(any(), any()))
             .thenReturn(taskResources.get(0));
 
         doThrow(new ServiceMandatoryFieldValidationException("Mandatory field validation failed"))
@@ -181,7 +187,7 @@ class TaskReconfigurationTransactionHandlerTest {
         String taskId = taskResources.get(0).getTaskId();
 
         assertThrows(ServiceMandatoryFieldValidationException.class, () -> taskReconfigurationTransactionHandler
-            .reconfigureTaskResource(taskId));
+            .reconfigureTaskResource(taskId, caseDetails));
         verifyNoInteractions(taskAutoAssignmentService);
         await().ignoreException(AssertionError.class)
             .pollDelay(5, SECONDS)
@@ -1,37 +1,38 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskOperation;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
-import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.spy;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class UpdateSearchIndexServiceTest {
 
+    private static final int BATCH_SIZE = 2;
+
     @Mock
     private CFTTaskDatabaseService cftTaskDatabaseService;
+    @Mock
+    private Clock clock;
 
-    @InjectMocks
     private UpdateSearchIndexService updateSearchIndexService;
 
     private final TaskOperationRequest request = new TaskOperationRequest(
@@ -40,81 +41,77 @@ class UpdateSearchIndexServiceTest {
         List.of()
     );
 
-    @Test
-    void should_process_update_search_index_operation() {
-        Map<String, Object> resourceMap = updateSearchIndexService.performOperation(request).getResponseMap();
-        int tasks = (int) resourceMap.get("successfulTaskResources");
-        assertEquals(0, tasks);
-        verify(cftTaskDatabaseService, times(1)).findTaskToUpdateIndex();
+    @BeforeEach
+    void setUp() {
+        updateSearchIndexService = new UpdateSearchIndexService(cftTaskDatabaseService, clock, BATCH_SIZE);
     }
 
     @Test
-    void should_process_update_search_index_operation_for_empty_list() {
-        when(cftTaskDatabaseService.findTaskToUpdateIndex()).thenReturn(List.of());
-
+    void should_process_update_search_index_operation_when_no_tasks_to_index() {
         Map<String, Object> resourceMap = updateSearchIndexService.performOperation(request).getResponseMap();
-        int tasks = (int) resourceMap.get("successfulTaskResources");
 
-        assertEquals(0, tasks);
-        verify(cftTaskDatabaseService, times(1)).findTaskToUpdateIndex();
+        assertEquals(0, resourceMap.get("successfulTaskResources"));
+        assertEquals(0L, resourceMap.get("remainingTaskResources"));
+        assertEquals(1, resourceMap.get("batches"));
+        verify(cftTaskDatabaseService, times(1)).markTasksIndexed(BATCH_SIZE);
+        verify(cftTaskDatabaseService, times(1)).countTasksToUpdateIndex();
     }
 
     @Test
-    void should_process_update_search_index_operation_for_not_found_task() {
-        TaskResource resource = new TaskResource("1", "newTask", "review", CFTTaskState.UNASSIGNED);
-        when(cftTaskDatabaseService.findTaskToUpdateIndex()).thenReturn(List.of(resource));
+    void should_mark_tasks_indexed_in_batches_until_a_batch_is_short() {
+        when(cftTaskDatabaseService.markTasksIndexed(BATCH_SIZE)).thenReturn(2, 2, 1);
 
         Map<String, Object> resourceMap = updateSearchIndexService.performOperation(request).getResponseMap();
-        int tasks = (int) resourceMap.get("successfulTaskResources");
 
-        assertEquals(0, tasks);
-        verify(cftTaskDatabaseService, times(1)).findTaskToUpdateIndex();
+        assertEquals(5, resourceMap.get("successfulTaskResources"));
+        assertEquals(3, resourceMap.get("batches"));
+        assertTrue(resourceMap.containsKey("elapsedMillis"));
+        assertTrue(resourceMap.containsKey("tasksPerSecond"));
+        verify(cftTaskDatabaseService, times(3)).markTasksIndexed(BATCH_SIZE);
     }
 
     @Test
-    void should_process_update_search_index_operation_if_task_not_found() {
-        TaskResource resource = new TaskResource("1", "newTask", "review", CFTTaskState.UNASSIGNED);
-        when(cftTaskDatabaseService.findTaskToUpdateIndex()).thenReturn(List.of(resource));
-        when(cftTaskDatabaseService.findByIdAndWaitAndObtainPessimisticWriteLock("1")).thenReturn(Optional.empty());
+    void should_report_tasks_still_to_be_indexed() {
+        when(cftTaskDatabaseService.markTasksIndexed(BATCH_SIZE)).thenReturn(1);
+        when(cftTaskDatabaseService.countTasksToUpdateIndex()).thenReturn(3L);
 
         Map<String, Object> resourceMap = updateSearchIndexService.performOperation(request).getResponseMap();
-        int tasks = (int) resourceMap.get("successfulTaskResources");
 
-        assertEquals(0, tasks);
-        verify(cftTaskDatabaseService, times(1)).findTaskToUpdateIndex();
+        assertEquals(1, resourceMap.get("successfulTaskResources"));
+        assertEquals(3L, resourceMap.get("remainingTaskResources"));
     }
 
     @Test
-    void should_process_update_search_index_operation_and_save_task() {
-        TaskResource resource = new TaskResource("1", "newTask", "review", CFTTaskState.UNASSIGNED);
-        when(cftTaskDatabaseService.findTaskToUpdateIndex()).thenReturn(List.of(resource));
-        when(cftTaskDatabaseService.findByIdAndWaitAndObtainPessimisticWriteLock("1"))
-            .thenReturn(Optional.of(resource));
-        when(cftTaskDatabaseService.saveTask(any(TaskResource.class))).thenReturn(resource);
-
-        Map<String, Object> resourceMap = updateSearchIndexService.performOperation(request).getResponseMap();
-        int tasks = (int) resourceMap.get("successfulTaskResources");
-        assertEquals(1, tasks);
-        verify(cftTaskDatabaseService, times(1)).findTaskToUpdateIndex();
-        verify(cftTaskDatabaseService, times(1)).findByIdAndWaitAndObtainPessimisticWriteLock("1");
-        verify(cftTaskDatabaseService, times(1)).saveTask(any(TaskResource.class));
+    void should_stop_marking_tasks_indexed_once_max_time_limit_is_reached() {
+        Instant start = Instant.parse("2024-01-01T10:00:00Z");
+        when(clock.instant()).thenReturn(start, start.plusSeconds(1));
+        when(cftTaskDatabaseService.markTasksIndexed(BATCH_SIZE)).thenReturn(BATCH_SIZE);
+        TaskOperationRequest timeLimitedRequest = new TaskOperationRequest(
+            TaskOperation.builder()
+                .type(TaskOperationType.UPDATE_SEARCH_INDEX)
+                .maxTimeLimit(1)
+                .build(),
+            List.of()
+        );
+
+        Map<String, Object> resourceMap = updateSearchIndexService.performOperation(timeLimitedRequest)
+            .getResponseMap();
+
+        assertEquals(2, resourceMap.get("successfulTaskResources"));
+        verify(cftTaskDatabaseService, times(1)).markTasksIndexed(BATCH_SIZE);
     }
 
     @Test
-    void should_process_update_search_index_operation_and_save_for_multiple_tasks() {
-        TaskResource resource = spy(TaskResource.class);
-        when(resource.getTaskId()).thenReturn("1");
-        when(cftTaskDatabaseService.findTaskToUpdateIndex()).thenReturn(List.of(resource, resource));
-        lenient().when(cftTaskDatabaseService.findByIdAndWaitAndObtainPessimisticWriteLock("1"))
-            .thenReturn(Optional.of(resource));
-        lenient().when(cftTaskDatabaseService.saveTask(argThat(t -> t.getTaskId().equals("1")))).thenReturn(resource);
+    void should_not_process_other_operations() {
+        TaskOperationRequest otherRequest = new TaskOperationRequest(
+            TaskOperation.builder()
+                .type(TaskOperationType.MARK_TO_RECONFIGURE).build(),
+            List.of()
+        );
 
-        Map<String, Object> resourceMap = updateSearchIndexService.performOperation(request).getResponseMap();
-        int tasks = (int) resourceMap.get("successfulTaskResources");
-        assertEquals(2, tasks);
-        verify(cftTaskDatabaseService, times(1)).findTaskToUpdateIndex();
-        verify(cftTaskDatabaseService, times(2)).findByIdAndWaitAndObtainPessimisticWriteLock("1");
-        verify(cftTaskDatabaseService, times(2)).saveTask(any(TaskResource.class));
-    }
+        Map<String, Object> resourceMap = updateSearchIndexService.performOperation(otherRequest).getResponseMap();
 
+        assertNull(resourceMap);
+        verifyNoInteractions(cftTaskDatabaseService);
+    }
 }
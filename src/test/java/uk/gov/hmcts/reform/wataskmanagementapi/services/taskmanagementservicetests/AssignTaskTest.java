@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.AccessControlService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessControlResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserInfo;
@@ -57,6 +58,8 @@ class AssignTaskTest extends CamundaHelpers {
     @Mock
     CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
     @Mock
+    AccessControlService accessControlService;
+    @Mock
     CftQueryService cftQueryService;
     @Mock
     CFTTaskMapper cftTaskMapper;
@@ -86,7 +89,8 @@ class AssignTaskTest extends CamundaHelpers {
         roleAssignmentVerification = new RoleAssignmentVerificationService(
             cftTaskDatabaseService,
             cftQueryService,
-            cftSensitiveTaskEventLogsDatabaseService);
+            cftSensitiveTaskEventLogsDatabaseService,
+            accessControlService);
         taskManagementService = new TaskManagementService(
             camundaService,
             cftTaskDatabaseService,